@@ -0,0 +1,56 @@
+package com.github.adchilds.jython.benchmark;
+
+import com.github.adchilds.jython.JythonEngine;
+import com.github.adchilds.jython.exception.JythonScriptException;
+import org.openjdk.jmh.annotations.*;
+import org.python.core.PyCode;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the overhead of an asynchronous {@link JythonEngine} evaluation over a synchronous one: handing the script
+ * to the engine's executor, and the trace function installed so that the future can be cancelled. Two scripts are
+ * measured: a recursive one executing thousands of calls ({@code fibonacci}), and a loop of one short line per
+ * iteration ({@code loop}), on which the per-line cost of tracing is greatest.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AsyncBenchmark {
+
+    @Param({ "fibonacci", "loop" })
+    public String script;
+
+    private JythonEngine engine;
+    private PyCode pyCode;
+    private int argument;
+
+    @Setup
+    public void setUp() {
+        engine = JythonEngine.builder().poolSize(1).build();
+        pyCode = BenchmarkScripts.compile(BenchmarkScripts.BENCHMARK_SCRIPT_BASE_PATH + script + ".py");
+        argument = "loop".equals(script) ? 10_000 : 15;
+    }
+
+    @TearDown
+    public void tearDown() {
+        engine.close();
+    }
+
+    @Benchmark
+    public Object evaluate() throws JythonScriptException {
+        return engine.evaluate(pyCode, argument);
+    }
+
+    @Benchmark
+    public Object evaluateAsync() {
+        return engine.evaluateAsync(pyCode, argument).join();
+    }
+
+}
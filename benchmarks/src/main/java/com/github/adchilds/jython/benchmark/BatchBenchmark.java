@@ -0,0 +1,86 @@
+package com.github.adchilds.jython.benchmark;
+
+import com.github.adchilds.jython.JythonEngine;
+import com.github.adchilds.jython.JythonScript;
+import com.github.adchilds.jython.ParallelEvaluation;
+import com.github.adchilds.jython.exception.JythonScriptException;
+import org.openjdk.jmh.annotations.*;
+import org.python.core.PyCode;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares evaluating one compiled script over many argument sets with a loop of {@link
+ * JythonEngine#evaluate(org.python.core.PyCode, Object...)} calls, which borrows an interpreter per evaluation,
+ * against {@link JythonEngine#evaluateBatch(PyCode, List, int)} and {@link JythonEngine#parallelEvaluate(PyCode,
+ * Collection, int)} at increasing degrees of parallelism.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BatchBenchmark {
+
+    @Param({ "10000" })
+    public int size;
+
+    @Param({ "1", "4" })
+    public int parallelism;
+
+    private PyCode evaluateScript;
+    private PyCode inputScript;
+    private List<Object[]> argumentSets;
+    private List<Integer> inputs;
+    private JythonEngine engine;
+
+    @Setup
+    public void setUp() throws JythonScriptException {
+        evaluateScript = BenchmarkScripts.compile(BenchmarkScripts.JYTHON_SCRIPT_BASE_PATH + "testEvaluate.py");
+
+        // The same multiplication, taking its single input from 'sys.argv[1]'
+        inputScript = JythonScript.compileString("import sys\n\ndef multiply(a, b):\n    return a * b\n\n" +
+                "result = multiply(sys.argv[1], 7)");
+        engine = JythonEngine.builder().poolSize(parallelism).build();
+
+        argumentSets = new ArrayList<>(size);
+        inputs = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            argumentSets.add(new Object[] { i, 7 });
+            inputs.add(i);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        engine.close();
+    }
+
+    @Benchmark
+    public List<Object> evaluate_loop() throws JythonScriptException {
+        final List<Object> results = new ArrayList<>(size);
+        for (final Object[] args : argumentSets) {
+            results.add(engine.evaluate(evaluateScript, args));
+        }
+
+        return results;
+    }
+
+    @Benchmark
+    public List<Object> evaluateBatch() throws JythonScriptException {
+        return engine.evaluateBatch(evaluateScript, argumentSets, parallelism);
+    }
+
+    @Benchmark
+    public ParallelEvaluation parallelEvaluate() throws JythonScriptException {
+        return engine.parallelEvaluate(inputScript, inputs, parallelism);
+    }
+
+}
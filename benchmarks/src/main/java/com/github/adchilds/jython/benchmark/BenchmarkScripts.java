@@ -0,0 +1,75 @@
+package com.github.adchilds.jython.benchmark;
+
+import com.github.adchilds.jython.JythonScript;
+import com.github.adchilds.jython.exception.JythonScriptException;
+import com.github.adchilds.util.FileUtils;
+import org.python.core.PyCode;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Loads the Jython scripts used by the benchmarks from the classpath. Scripts under {@link #JYTHON_SCRIPT_BASE_PATH}
+ * are shared with the JythonScript unit tests, while synthetic scripts live under {@link #BENCHMARK_SCRIPT_BASE_PATH}.
+ * All are read as classpath resources so that the benchmarks also run from within the packaged benchmarks JAR.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+final class BenchmarkScripts {
+
+    static final String JYTHON_SCRIPT_BASE_PATH = "script/jython/";
+    static final String BENCHMARK_SCRIPT_BASE_PATH = "script/benchmark/";
+
+    /**
+     * Reads the contents of the given script.
+     *
+     * @param scriptPath the classpath location of the script
+     * @return the source of the script
+     * @since 3.0
+     */
+    static String read(final String scriptPath) {
+        try (InputStream inputStream = open(scriptPath)) {
+            return FileUtils.readFully(inputStream, "UTF-8");
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read benchmark script. script=[" + scriptPath + "]", e);
+        }
+    }
+
+    /**
+     * Opens a new {@link InputStream} over the given script.
+     *
+     * @param scriptPath the classpath location of the script
+     * @return a new stream over the script's source
+     * @since 3.0
+     */
+    static InputStream open(final String scriptPath) {
+        final InputStream inputStream = BenchmarkScripts.class.getClassLoader()
+                .getResourceAsStream(scriptPath);
+
+        if (inputStream == null) {
+            throw new IllegalStateException("Benchmark script not found. script=[" + scriptPath + "]");
+        }
+
+        return inputStream;
+    }
+
+    /**
+     * Compiles the given script.
+     *
+     * @param scriptPath the classpath location of the script
+     * @return the compiled script
+     * @since 3.0
+     */
+    static PyCode compile(final String scriptPath) {
+        try {
+            return JythonScript.compileString(read(scriptPath));
+        } catch (JythonScriptException e) {
+            throw new IllegalStateException("Could not compile benchmark script. script=[" + scriptPath + "]", e);
+        }
+    }
+
+    // Don't allow this class to be instantiated
+    private BenchmarkScripts() { }
+
+}
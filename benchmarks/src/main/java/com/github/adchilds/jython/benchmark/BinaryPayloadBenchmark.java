@@ -0,0 +1,89 @@
+package com.github.adchilds.jython.benchmark;
+
+import com.github.adchilds.jython.JythonEngine;
+import com.github.adchilds.jython.SharedBytes;
+import com.github.adchilds.jython.exception.JythonScriptException;
+import org.openjdk.jmh.annotations.*;
+import org.python.core.PyCode;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures passing a large binary payload into a script which reads its length, header and trailer. The {@code
+ * *_memoryview} benchmarks wrap the payload in {@link SharedBytes}, passing it as a memoryview sharing the memory of the
+ * {@code byte[]} or {@link ByteBuffer}; the {@code *_copied} benchmarks pass it unwrapped, as {@link
+ * org.python.core.Py#java2py(Object)} converts it, an {@code array('b')} or a Java ByteBuffer object, which the script
+ * must copy into a str before reading it as bytes.
+ *
+ * Run with {@code -prof gc} to compare the allocation of each path.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class BinaryPayloadBenchmark {
+
+    // 100 MB
+    @Param({ "104857600" })
+    public int size;
+
+    private JythonEngine engine;
+    private PyCode binaryPayload;
+
+    private byte[] bytes;
+    private ByteBuffer heapBuffer;
+    private ByteBuffer directBuffer;
+
+    @Setup
+    public void setUp() {
+        engine = JythonEngine.builder().poolSize(1).build();
+        binaryPayload = BenchmarkScripts.compile(BenchmarkScripts.BENCHMARK_SCRIPT_BASE_PATH + "binaryPayload.py");
+
+        bytes = new byte[size];
+        for (int i = 0; i < size; i++) {
+            bytes[i] = (byte) i;
+        }
+
+        heapBuffer = ByteBuffer.wrap(bytes);
+
+        directBuffer = ByteBuffer.allocateDirect(size);
+        directBuffer.put(bytes).flip();
+    }
+
+    @TearDown
+    public void tearDown() {
+        engine.close();
+    }
+
+    @Benchmark
+    public Object byteArray_memoryview() throws JythonScriptException {
+        return engine.evaluate(binaryPayload, SharedBytes.of(bytes));
+    }
+
+    @Benchmark
+    public Object byteArray_copied() throws JythonScriptException {
+        return engine.evaluate(binaryPayload, (Object) bytes);
+    }
+
+    @Benchmark
+    public Object heapBuffer_memoryview() throws JythonScriptException {
+        return engine.evaluate(binaryPayload, SharedBytes.of(heapBuffer));
+    }
+
+    @Benchmark
+    public Object directBuffer_memoryview() throws JythonScriptException {
+        return engine.evaluate(binaryPayload, SharedBytes.of(directBuffer));
+    }
+
+    @Benchmark
+    public Object directBuffer_copied() throws JythonScriptException {
+        return engine.evaluate(binaryPayload, directBuffer);
+    }
+
+}
@@ -0,0 +1,76 @@
+package com.github.adchilds.jython.benchmark;
+
+import com.github.adchilds.jython.Bindings;
+import com.github.adchilds.jython.JythonEngine;
+import com.github.adchilds.jython.JythonScript;
+import com.github.adchilds.jython.exception.JythonScriptException;
+import org.openjdk.jmh.annotations.*;
+import org.python.core.PyCode;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares passing arguments to a script through {@code sys.argv} against binding them directly into the script's
+ * namespace with {@link Bindings}, both through a pooled {@link JythonEngine} and through the static {@link
+ * JythonScript} facade. The {@code _prebuilt} benchmarks reuse a single {@link Bindings} instance across calls, while
+ * the {@code _perCall} benchmarks build a new one on every call.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BindingsBenchmark {
+
+    private JythonEngine engine;
+
+    private PyCode multiplyArgv;
+    private PyCode multiplyBindings;
+
+    private Bindings bindings;
+
+    @Setup
+    public void setUp() {
+        engine = JythonEngine.builder().poolSize(1).build();
+
+        multiplyArgv = BenchmarkScripts.compile(BenchmarkScripts.BENCHMARK_SCRIPT_BASE_PATH + "multiplyArgv.py");
+        multiplyBindings = BenchmarkScripts.compile(BenchmarkScripts.BENCHMARK_SCRIPT_BASE_PATH + "multiplyBindings.py");
+
+        bindings = Bindings.builder().bind("a", 6).bind("b", 7).build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        engine.close();
+    }
+
+    @Benchmark
+    public Object engine_argv() throws JythonScriptException {
+        return engine.evaluate(multiplyArgv, 6, 7);
+    }
+
+    @Benchmark
+    public Object engine_bindings_prebuilt() throws JythonScriptException {
+        return engine.evaluate(multiplyBindings, bindings);
+    }
+
+    @Benchmark
+    public Object engine_bindings_perCall() throws JythonScriptException {
+        return engine.evaluate(multiplyBindings, Bindings.builder().bind("a", 6).bind("b", 7).build());
+    }
+
+    @Benchmark
+    public Object jythonScript_argv() throws JythonScriptException {
+        return JythonScript.evaluate(multiplyArgv, 6, 7);
+    }
+
+    @Benchmark
+    public Object jythonScript_bindings_prebuilt() throws JythonScriptException {
+        return JythonScript.evaluate(multiplyBindings, bindings);
+    }
+
+}
@@ -0,0 +1,161 @@
+package com.github.adchilds.jython.benchmark;
+
+import com.github.adchilds.jython.BytecodeCache;
+import com.github.adchilds.jython.JythonCompiler;
+import com.github.adchilds.jython.exception.JythonScriptException;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Measures the time for a freshly started JVM to compile a fleet of distinct scripts, as an application does while
+ * booting. Every measurement runs in its own fork, so no class loading or JIT compilation carries over between them.
+ * The Jython runtime itself is initialized beforehand, as its cost is the same with or without a {@link BytecodeCache}.
+ *
+ * The {@code cache} parameter selects how the scripts are compiled:
+ * <ul>
+ *     <li>{@code none}: a plain {@link JythonCompiler}, parsing and generating bytecode for every script</li>
+ *     <li>{@code cold}: a {@link BytecodeCache} over an empty directory; the first boot of a new deployment</li>
+ *     <li>{@code warm}: a {@link BytecodeCache} populated by a separate JVM; every later boot</li>
+ * </ul>
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(5)
+@State(Scope.Benchmark)
+public class BytecodeCacheBenchmark {
+
+    @Param({ "100" })
+    public int scripts;
+
+    @Param({ "none", "cold", "warm" })
+    public String cache;
+
+    private Path directory;
+    private JythonCompiler compiler;
+
+    @Setup
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("jythonscript-bytecode-");
+
+        if ("warm".equals(cache)) {
+            populate(directory, scripts);
+        }
+
+        compiler = "none".equals(cache) ? new JythonCompiler() : new JythonCompiler(new BytecodeCache(directory));
+
+        // Initialize the Jython runtime outside of the measurement
+        new JythonCompiler().compile("pass");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    @Benchmark
+    public void compileFleet(final Blackhole blackhole) throws JythonScriptException {
+        for (int i = 0; i < scripts; i++) {
+            blackhole.consume(compiler.compile(script(i), "script" + i + ".py"));
+        }
+    }
+
+    /**
+     * Compiles every script into the given directory from a separate JVM, so that the measured JVM starts cold.
+     *
+     * @param directory the cache directory to populate
+     * @param scripts the number of scripts to compile
+     */
+    private static void populate(final Path directory, final int scripts) throws IOException, InterruptedException {
+        final String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        final Process process = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                BytecodeCacheBenchmark.class.getName(), directory.toString(), String.valueOf(scripts))
+                .inheritIO()
+                .start();
+
+        if (process.waitFor() != 0) {
+            throw new IllegalStateException("Could not populate the bytecode cache. exitValue=[" +
+                    process.exitValue() + "]");
+        }
+    }
+
+    /**
+     * Builds a distinct script of moderate size, standing in for one script of an application's fleet.
+     *
+     * @param index identifies the script
+     * @return the source of the script
+     */
+    private static String script(final int index) {
+        return "import sys\n" +
+                "\n" +
+                "SCALE = " + index + "\n" +
+                "\n" +
+                "class Order(object):\n" +
+                "    def __init__(self, sku, quantity, price):\n" +
+                "        self.sku = sku\n" +
+                "        self.quantity = quantity\n" +
+                "        self.price = price\n" +
+                "\n" +
+                "    def total(self):\n" +
+                "        return self.quantity * self.price * SCALE\n" +
+                "\n" +
+                "    def __repr__(self):\n" +
+                "        return 'Order(%s, %d, %.2f)' % (self.sku, self.quantity, self.price)\n" +
+                "\n" +
+                "def discount(order, tiers):\n" +
+                "    for threshold, rate in sorted(tiers.items(), reverse=True):\n" +
+                "        if order.total() >= threshold:\n" +
+                "            return order.total() * (1 - rate)\n" +
+                "    return order.total()\n" +
+                "\n" +
+                "def summarize(orders):\n" +
+                "    totals = {}\n" +
+                "    for order in orders:\n" +
+                "        totals.setdefault(order.sku, []).append(order.total())\n" +
+                "    return dict((sku, (len(values), sum(values), max(values))) for sku, values in totals.items())\n" +
+                "\n" +
+                "def validate(order):\n" +
+                "    try:\n" +
+                "        if order.quantity <= 0:\n" +
+                "            raise ValueError('quantity must be positive: %r' % order)\n" +
+                "        return True\n" +
+                "    except ValueError as e:\n" +
+                "        sys.stderr.write(str(e))\n" +
+                "        return False\n" +
+                "\n" +
+                "if __name__ == '__main__':\n" +
+                "    orders = [Order('sku-%d' % (i % 7), i % 5, i * 1.25) for i in range(100)]\n" +
+                "    tiers = {100: 0.05, 500: 0.1, 1000: 0.15}\n" +
+                "    valid = [order for order in orders if validate(order)]\n" +
+                "    result = (summarize(valid), [discount(order, tiers) for order in valid])\n";
+    }
+
+    /**
+     * Populates a bytecode cache directory; invoked in a separate JVM by {@link #populate(Path, int)}.
+     *
+     * @param args the cache directory and the number of scripts to compile
+     */
+    public static void main(final String[] args) throws JythonScriptException {
+        final JythonCompiler compiler = new JythonCompiler(new BytecodeCache(Paths.get(args[0])));
+
+        for (int i = 0; i < Integer.parseInt(args[1]); i++) {
+            compiler.compile(script(i), "script" + i + ".py");
+        }
+    }
+
+}
@@ -0,0 +1,48 @@
+package com.github.adchilds.jython.benchmark;
+
+import com.github.adchilds.jython.JythonCompiler;
+import com.github.adchilds.jython.exception.JythonScriptException;
+import org.openjdk.jmh.annotations.*;
+import org.python.core.PyCode;
+import org.python.util.PythonInterpreter;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of compiling a script by constructing a throwaway {@link PythonInterpreter}, as JythonScript
+ * originally did, against compiling with a {@link JythonCompiler} against the shared runtime.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CompileBenchmark {
+
+    @Param({ "testEvaluate.py", "testReturnDict.py", "testOOP.py" })
+    public String scriptName;
+
+    private String source;
+    private JythonCompiler compiler;
+
+    @Setup
+    public void setUp() {
+        source = BenchmarkScripts.read(BenchmarkScripts.JYTHON_SCRIPT_BASE_PATH + scriptName);
+        compiler = new JythonCompiler();
+    }
+
+    @Benchmark
+    public PyCode compile_interpreter() {
+        return new PythonInterpreter().compile(source);
+    }
+
+    @Benchmark
+    public PyCode compile_compiler() throws JythonScriptException {
+        return compiler.compile(source, scriptName);
+    }
+
+}
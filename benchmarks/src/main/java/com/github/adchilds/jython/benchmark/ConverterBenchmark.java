@@ -0,0 +1,144 @@
+package com.github.adchilds.jython.benchmark;
+
+import com.github.adchilds.jython.ResultConverters;
+import org.openjdk.jmh.annotations.*;
+import org.python.core.Py;
+import org.python.core.PyBoolean;
+import org.python.core.PyDictionary;
+import org.python.core.PyFloat;
+import org.python.core.PyInteger;
+import org.python.core.PyList;
+import org.python.core.PyLong;
+import org.python.core.PyObject;
+import org.python.core.PySet;
+import org.python.core.PyString;
+import org.python.core.PySystemState;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the type-keyed {@link ResultConverters} registry against the {@code instanceof} chain it replaced, kept
+ * here as {@link #legacyParse(PyObject)}. Both convert the same pre-built Python result directly, without executing a
+ * script, in one of three shapes: a list of ints ({@code uniform}), a list rotating through five scalar types
+ * ({@code mixed}), and a list of small dicts each holding a list ({@code nested}). The first two are dominated by
+ * type dispatch, the last by traversal and container allocation.
+ *
+ * Run with {@code -prof gc} to compare the allocation rate of each conversion.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConverterBenchmark {
+
+    @Param({ "1000", "100000" })
+    public int size;
+
+    @Param({ "uniform", "mixed", "nested" })
+    public String shape;
+
+    private PyObject result;
+
+    @Setup
+    public void setUp() {
+        PySystemState.initialize();
+
+        final PyList list = new PyList();
+        for (int i = 0; i < size; i++) {
+            if ("uniform".equals(shape)) {
+                list.append(Py.newInteger(i));
+            } else if ("mixed".equals(shape)) {
+                list.append(mixedScalar(i));
+            } else if (i % 10 == 0) {
+                // As many elements in total as the other shapes
+                final PyDictionary dict = new PyDictionary();
+                dict.__setitem__(Py.newString("id"), Py.newInteger(i));
+                dict.__setitem__(Py.newString("values"), new PyList(new PyObject[] {
+                        Py.newInteger(i), Py.newFloat(i), Py.newString("v" + i) }));
+                list.append(dict);
+            }
+        }
+
+        result = list;
+    }
+
+    @Benchmark
+    public Object registry() {
+        return ResultConverters.convert(result);
+    }
+
+    @Benchmark
+    public Object instanceofChain() {
+        return legacyParse(result);
+    }
+
+    private static PyObject mixedScalar(final int i) {
+        switch (i % 5) {
+            case 0:
+                return Py.newInteger(i);
+            case 1:
+                return Py.newString(String.valueOf(i));
+            case 2:
+                return Py.newFloat(i);
+            case 3:
+                return Py.newLong(i);
+            default:
+                return Py.newBoolean(i % 2 == 0);
+        }
+    }
+
+    /**
+     * The recursive {@code instanceof} chain used to convert results before {@link ResultConverters}.
+     */
+    private static Object legacyParse(final PyObject object) {
+        if (object == null) {
+            return null;
+        }
+
+        if (object instanceof PyBoolean) {
+            return Py.py2boolean(object);
+        } else if (object instanceof PyInteger) {
+            return Py.py2int(object);
+        } else if (object instanceof PyString) {
+            return ((PyString) object).getString();
+        } else if (object instanceof PyFloat) {
+            return Py.py2float(object);
+        } else if (object instanceof PyLong) {
+            return Py.py2long(object);
+        } else if (object instanceof PyList) {
+            final PyObject[] pyObjects = ((PyList) object).getArray();
+            final Object[] objects = new Object[pyObjects.length];
+            for (int i = 0; i < pyObjects.length; i++) {
+                objects[i] = legacyParse(pyObjects[i]);
+            }
+
+            return objects;
+        } else if (object instanceof PyDictionary) {
+            final Map<Object, Object> objects = new HashMap<>();
+            for (final Map.Entry<PyObject, PyObject> entry : ((PyDictionary) object).getMap().entrySet()) {
+                objects.put(legacyParse(entry.getKey()), legacyParse(entry.getValue()));
+            }
+
+            return objects;
+        } else if (object instanceof PySet) {
+            final Set<Object> objects = new HashSet<>();
+            for (final PyObject pyObject : ((PySet) object).getSet()) {
+                objects.add(legacyParse(pyObject));
+            }
+
+            return objects;
+        }
+
+        return object;
+    }
+
+}
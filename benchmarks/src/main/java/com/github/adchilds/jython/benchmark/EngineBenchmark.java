@@ -0,0 +1,62 @@
+package com.github.adchilds.jython.benchmark;
+
+import com.github.adchilds.jython.JythonEngine;
+import com.github.adchilds.jython.JythonScript;
+import com.github.adchilds.jython.exception.JythonScriptException;
+import org.openjdk.jmh.annotations.*;
+import org.python.core.PyCode;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the per-call latency of evaluating a short compiled script through the static {@link JythonScript} facade,
+ * which builds a new interpreter for every call, against a pooled {@link JythonEngine}.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EngineBenchmark {
+
+    private PyCode evaluateScript;
+    private JythonEngine engine;
+
+    @Setup
+    public void setUp() {
+        evaluateScript = BenchmarkScripts.compile(BenchmarkScripts.JYTHON_SCRIPT_BASE_PATH + "testEvaluate.py");
+        engine = JythonEngine.builder().build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        engine.close();
+    }
+
+    @Benchmark
+    public Object evaluate_jythonScript() throws JythonScriptException {
+        return JythonScript.evaluate(evaluateScript, 6, 7);
+    }
+
+    @Benchmark
+    public Object evaluate_pooledEngine() throws JythonScriptException {
+        return engine.evaluate(evaluateScript, 6, 7);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Object evaluate_jythonScript_4threads() throws JythonScriptException {
+        return JythonScript.evaluate(evaluateScript, 6, 7);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Object evaluate_pooledEngine_4threads() throws JythonScriptException {
+        return engine.evaluate(evaluateScript, 6, 7);
+    }
+
+}
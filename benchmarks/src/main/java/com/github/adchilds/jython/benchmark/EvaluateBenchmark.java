@@ -0,0 +1,82 @@
+package com.github.adchilds.jython.benchmark;
+
+import com.github.adchilds.jython.JythonEngine;
+import com.github.adchilds.jython.JythonScript;
+import com.github.adchilds.jython.exception.JythonScriptException;
+import org.openjdk.jmh.annotations.*;
+import org.python.core.PyCode;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures evaluating and executing the JythonScript test scripts from an {@link InputStream}, which parses the script
+ * on every call, against evaluating and executing a pre-compiled {@link PyCode}, both through the static {@link
+ * JythonScript} facade and through a pooled {@link JythonEngine}.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EvaluateBenchmark {
+
+    @Param({ "testEvaluate.py", "testReturnDict.py", "testOOP.py" })
+    public String scriptName;
+
+    private String scriptPath;
+    private PyCode pyCode;
+    private JythonEngine engine;
+
+    @Setup
+    public void setUp() {
+        scriptPath = BenchmarkScripts.JYTHON_SCRIPT_BASE_PATH + scriptName;
+        pyCode = BenchmarkScripts.compile(scriptPath);
+        engine = JythonEngine.builder().poolSize(1).build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        engine.close();
+    }
+
+    @Benchmark
+    public Object evaluate_inputStream() throws JythonScriptException, IOException {
+        try (InputStream inputStream = BenchmarkScripts.open(scriptPath)) {
+            return JythonScript.evaluate(inputStream, 10, 10);
+        }
+    }
+
+    @Benchmark
+    public Object evaluate_pyCode() throws JythonScriptException {
+        return JythonScript.evaluate(pyCode, 10, 10);
+    }
+
+    @Benchmark
+    public void execute_pyCode() throws JythonScriptException {
+        JythonScript.execute(pyCode, 10, 10);
+    }
+
+    @Benchmark
+    public Object evaluate_engine_inputStream() throws JythonScriptException, IOException {
+        try (InputStream inputStream = BenchmarkScripts.open(scriptPath)) {
+            return engine.evaluate(inputStream, 10, 10);
+        }
+    }
+
+    @Benchmark
+    public Object evaluate_engine_pyCode() throws JythonScriptException {
+        return engine.evaluate(pyCode, 10, 10);
+    }
+
+    @Benchmark
+    public void execute_engine_pyCode() throws JythonScriptException {
+        engine.execute(pyCode, 10, 10);
+    }
+
+}
@@ -0,0 +1,53 @@
+package com.github.adchilds.jython.benchmark;
+
+import com.github.adchilds.jython.JythonEngine;
+import com.github.adchilds.jython.JythonMetrics;
+import com.github.adchilds.jython.exception.JythonScriptException;
+import org.openjdk.jmh.annotations.*;
+import org.python.core.PyCode;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the overhead of {@link JythonMetrics} on a pooled {@link JythonEngine} evaluation, with metrics disabled,
+ * which should be indistinguishable from no metrics at all, and enabled.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MetricsBenchmark {
+
+    @Param({ "false", "true" })
+    private boolean enabled;
+
+    private JythonEngine engine;
+    private PyCode multiplyArgv;
+
+    @Setup
+    public void setUp() {
+        JythonMetrics.setEnabled(enabled);
+
+        engine = JythonEngine.builder().poolSize(1).build();
+        multiplyArgv = BenchmarkScripts.compile(BenchmarkScripts.BENCHMARK_SCRIPT_BASE_PATH + "multiplyArgv.py");
+    }
+
+    @TearDown
+    public void tearDown() {
+        engine.close();
+
+        JythonMetrics.setEnabled(false);
+        JythonMetrics.reset();
+    }
+
+    @Benchmark
+    public Object evaluate() throws JythonScriptException {
+        return engine.evaluate(multiplyArgv, 6, 7);
+    }
+
+}
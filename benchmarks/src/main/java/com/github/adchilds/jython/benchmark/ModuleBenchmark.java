@@ -0,0 +1,53 @@
+package com.github.adchilds.jython.benchmark;
+
+import com.github.adchilds.jython.JythonEngine;
+import com.github.adchilds.jython.JythonModule;
+import com.github.adchilds.jython.exception.JythonScriptException;
+import org.openjdk.jmh.annotations.*;
+import org.python.core.PyCode;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares evaluating {@code testEvaluate.py} on a pooled {@link JythonEngine}, which re-executes the module body and
+ * redefines {@code multiply} on every call, against calling {@code multiply} directly on the script loaded once as a
+ * {@link JythonModule}.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ModuleBenchmark {
+
+    private JythonEngine engine;
+    private PyCode evaluateScript;
+    private JythonModule module;
+
+    @Setup
+    public void setUp() throws JythonScriptException {
+        engine = JythonEngine.builder().poolSize(1).build();
+        evaluateScript = BenchmarkScripts.compile(BenchmarkScripts.JYTHON_SCRIPT_BASE_PATH + "testEvaluate.py");
+        module = JythonModule.load(evaluateScript);
+    }
+
+    @TearDown
+    public void tearDown() {
+        engine.close();
+    }
+
+    @Benchmark
+    public Object engineEvaluate() throws JythonScriptException {
+        return engine.evaluate(evaluateScript, 6, 7);
+    }
+
+    @Benchmark
+    public Object moduleInvoke() throws JythonScriptException {
+        return module.invoke("multiply", 6, 7);
+    }
+
+}
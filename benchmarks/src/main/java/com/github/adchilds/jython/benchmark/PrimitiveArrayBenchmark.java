@@ -0,0 +1,104 @@
+package com.github.adchilds.jython.benchmark;
+
+import com.github.adchilds.jython.JythonEngine;
+import com.github.adchilds.jython.exception.JythonScriptException;
+import org.openjdk.jmh.annotations.*;
+import org.python.core.Py;
+import org.python.core.PyCode;
+import org.python.core.PyList;
+import org.python.core.PyObject;
+import org.python.core.imp;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares extracting large numeric results through {@link JythonEngine#evaluate(PyCode, Object...)}, which boxes
+ * each element into an {@code Object[]}, against the primitive extractors such as {@link
+ * JythonEngine#evaluateToIntArray(PyCode, Object...)}. As in {@link ResultConversionBenchmark}, pre-built Python
+ * containers are handed straight back from a trivial script so that little more than conversion is measured.
+ *
+ * Run with {@code -prof gc} to compare the allocation rate of each path.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PrimitiveArrayBenchmark {
+
+    @Param({ "1000000" })
+    public int size;
+
+    private JythonEngine engine;
+    private PyCode passthrough;
+
+    private PyObject intList;
+    private PyObject floatList;
+    private PyObject intArray;
+    private PyObject doubleArray;
+
+    @Setup
+    public void setUp() {
+        engine = JythonEngine.builder().poolSize(1).build();
+        passthrough = BenchmarkScripts.compile(BenchmarkScripts.BENCHMARK_SCRIPT_BASE_PATH + "passthrough.py");
+
+        final PyList ints = new PyList();
+        final PyList floats = new PyList();
+        for (int i = 0; i < size; i++) {
+            ints.append(Py.newInteger(i));
+            floats.append(Py.newFloat(i * 0.5));
+        }
+
+        final PyObject array = imp.importName("array", true).__getattr__("array");
+
+        intList = ints;
+        floatList = floats;
+        intArray = array.__call__(Py.newString("i"), ints);
+        doubleArray = array.__call__(Py.newString("d"), floats);
+    }
+
+    @TearDown
+    public void tearDown() {
+        engine.close();
+    }
+
+    @Benchmark
+    public Object intList_objectArray() throws JythonScriptException {
+        return engine.evaluate(passthrough, intList);
+    }
+
+    @Benchmark
+    public int[] intList_intArray() throws JythonScriptException {
+        return engine.evaluateToIntArray(passthrough, intList);
+    }
+
+    @Benchmark
+    public long[] intList_longArray() throws JythonScriptException {
+        return engine.evaluateToLongArray(passthrough, intList);
+    }
+
+    @Benchmark
+    public Object floatList_objectArray() throws JythonScriptException {
+        return engine.evaluate(passthrough, floatList);
+    }
+
+    @Benchmark
+    public double[] floatList_doubleArray() throws JythonScriptException {
+        return engine.evaluateToDoubleArray(passthrough, floatList);
+    }
+
+    @Benchmark
+    public int[] pyArray_intArray() throws JythonScriptException {
+        return engine.evaluateToIntArray(passthrough, intArray);
+    }
+
+    @Benchmark
+    public double[] pyArray_doubleArray() throws JythonScriptException {
+        return engine.evaluateToDoubleArray(passthrough, doubleArray);
+    }
+
+}
@@ -0,0 +1,62 @@
+package com.github.adchilds.jython.benchmark;
+
+import com.github.adchilds.jython.JythonEngine;
+import com.github.adchilds.jython.JythonScript;
+import com.github.adchilds.jython.exception.JythonScriptException;
+import org.openjdk.jmh.annotations.*;
+import org.python.core.PyCode;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares calling {@code SomeClass.compute} from {@code testOOP.py} by evaluating the whole script on a pooled {@link
+ * JythonEngine}, which creates a new instance every time, against calling it through a Java interface bound once via
+ * {@link JythonScript#proxy(PyCode, String, Class, Object...)}.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProxyBenchmark {
+
+    private JythonEngine engine;
+    private PyCode oopScript;
+    private Computer computer;
+
+    @Setup
+    public void setUp() throws JythonScriptException {
+        engine = JythonEngine.builder().poolSize(1).build();
+        oopScript = BenchmarkScripts.compile(BenchmarkScripts.JYTHON_SCRIPT_BASE_PATH + "testOOP.py");
+        computer = JythonScript.proxy(oopScript, "SomeClass", Computer.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        engine.close();
+    }
+
+    @Benchmark
+    public Object engineEvaluate() throws JythonScriptException {
+        return engine.evaluate(oopScript, 3, 4);
+    }
+
+    @Benchmark
+    public int proxyCompute() {
+        return computer.compute(3, 4);
+    }
+
+    /**
+     * The Java view of {@code SomeClass}.
+     */
+    public interface Computer {
+
+        int compute(int x, int y);
+
+    }
+
+}
@@ -0,0 +1,118 @@
+package com.github.adchilds.jython.benchmark;
+
+import com.github.adchilds.jython.JythonEngine;
+import com.github.adchilds.jython.ResultConversion;
+import com.github.adchilds.jython.exception.JythonScriptException;
+import org.openjdk.jmh.annotations.*;
+import org.python.core.Py;
+import org.python.core.PyCode;
+import org.python.core.PyDictionary;
+import org.python.core.PyList;
+import org.python.core.PyObject;
+import org.python.core.PySet;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of converting large Python results into Java types. The {@code convert_*} benchmarks hand a
+ * pre-built Python container straight back from a trivial script, so that they measure little more than result
+ * conversion ({@code convert_baseline} gives the fixed cost of the script itself). The {@code evaluate_*} benchmarks
+ * build the container within the script, as a real script would.
+ *
+ * Each benchmark runs under every {@link ResultConversion}; the lazy conversions return views in constant time, so
+ * their cost is deferred to whichever elements the caller later reads.
+ *
+ * Run with {@code -prof gc} to report the allocation rate of each conversion.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResultConversionBenchmark {
+
+    @Param({ "1000", "100000" })
+    public int size;
+
+    @Param({ "EAGER", "LAZY", "LAZY_MEMOIZED" })
+    public ResultConversion conversion;
+
+    private JythonEngine engine;
+
+    private PyCode passthrough;
+    private PyCode largeList;
+    private PyCode largeDict;
+    private PyCode largeSet;
+
+    private PyObject pyList;
+    private PyObject pyDict;
+    private PyObject pySet;
+
+    @Setup
+    public void setUp() {
+        engine = JythonEngine.builder().poolSize(1).resultConversion(conversion).build();
+
+        passthrough = BenchmarkScripts.compile(BenchmarkScripts.BENCHMARK_SCRIPT_BASE_PATH + "passthrough.py");
+        largeList = BenchmarkScripts.compile(BenchmarkScripts.BENCHMARK_SCRIPT_BASE_PATH + "largeList.py");
+        largeDict = BenchmarkScripts.compile(BenchmarkScripts.BENCHMARK_SCRIPT_BASE_PATH + "largeDict.py");
+        largeSet = BenchmarkScripts.compile(BenchmarkScripts.BENCHMARK_SCRIPT_BASE_PATH + "largeSet.py");
+
+        final PyList list = new PyList();
+        final PyDictionary dict = new PyDictionary();
+        final PySet set = new PySet();
+        for (int i = 0; i < size; i++) {
+            list.append(i % 2 == 0 ? Py.newInteger(i) : Py.newString(String.valueOf(i)));
+            dict.__setitem__(Py.newString("key" + i), Py.newInteger(i));
+            set.add(Py.newInteger(i));
+        }
+
+        pyList = list;
+        pyDict = dict;
+        pySet = set;
+    }
+
+    @TearDown
+    public void tearDown() {
+        engine.close();
+    }
+
+    @Benchmark
+    public Object convert_baseline() throws JythonScriptException {
+        return engine.evaluate(passthrough, 1);
+    }
+
+    @Benchmark
+    public Object convert_list() throws JythonScriptException {
+        return engine.evaluate(passthrough, pyList);
+    }
+
+    @Benchmark
+    public Object convert_dict() throws JythonScriptException {
+        return engine.evaluate(passthrough, pyDict);
+    }
+
+    @Benchmark
+    public Object convert_set() throws JythonScriptException {
+        return engine.evaluate(passthrough, pySet);
+    }
+
+    @Benchmark
+    public Object evaluate_list() throws JythonScriptException {
+        return engine.evaluate(largeList, size);
+    }
+
+    @Benchmark
+    public Object evaluate_dict() throws JythonScriptException {
+        return engine.evaluate(largeDict, size);
+    }
+
+    @Benchmark
+    public Object evaluate_set() throws JythonScriptException {
+        return engine.evaluate(largeSet, size);
+    }
+
+}
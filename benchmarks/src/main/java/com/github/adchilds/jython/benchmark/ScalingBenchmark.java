@@ -0,0 +1,93 @@
+package com.github.adchilds.jython.benchmark;
+
+import com.github.adchilds.jython.JythonEngine;
+import com.github.adchilds.jython.exception.JythonScriptException;
+import org.openjdk.jmh.annotations.*;
+import org.python.core.PyCode;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how the throughput of evaluating a short compiled script scales from 1 to 8 threads, for a pooled {@link
+ * JythonEngine} sized to 8 interpreters and a thread-confined engine whose threads each own their interpreter. Ideally
+ * throughput grows linearly with the number of threads, up to the number of available processors.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ScalingBenchmark {
+
+    private static final int MAX_THREADS = 8;
+
+    private PyCode evaluateScript;
+    private JythonEngine pooled;
+    private JythonEngine threadConfined;
+
+    @Setup
+    public void setUp() {
+        evaluateScript = BenchmarkScripts.compile(BenchmarkScripts.JYTHON_SCRIPT_BASE_PATH + "testEvaluate.py");
+        pooled = JythonEngine.builder().poolSize(MAX_THREADS).build();
+        threadConfined = JythonEngine.builder().poolSize(MAX_THREADS).threadConfined(true).build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        pooled.close();
+        threadConfined.close();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Object pooled_1thread() throws JythonScriptException {
+        return pooled.evaluate(evaluateScript, 6, 7);
+    }
+
+    @Benchmark
+    @Threads(2)
+    public Object pooled_2threads() throws JythonScriptException {
+        return pooled.evaluate(evaluateScript, 6, 7);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Object pooled_4threads() throws JythonScriptException {
+        return pooled.evaluate(evaluateScript, 6, 7);
+    }
+
+    @Benchmark
+    @Threads(MAX_THREADS)
+    public Object pooled_8threads() throws JythonScriptException {
+        return pooled.evaluate(evaluateScript, 6, 7);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Object threadConfined_1thread() throws JythonScriptException {
+        return threadConfined.evaluate(evaluateScript, 6, 7);
+    }
+
+    @Benchmark
+    @Threads(2)
+    public Object threadConfined_2threads() throws JythonScriptException {
+        return threadConfined.evaluate(evaluateScript, 6, 7);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Object threadConfined_4threads() throws JythonScriptException {
+        return threadConfined.evaluate(evaluateScript, 6, 7);
+    }
+
+    @Benchmark
+    @Threads(MAX_THREADS)
+    public Object threadConfined_8threads() throws JythonScriptException {
+        return threadConfined.evaluate(evaluateScript, 6, 7);
+    }
+
+}
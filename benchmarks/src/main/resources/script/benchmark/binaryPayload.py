@@ -0,0 +1,18 @@
+import sys
+import jarray
+from java.nio import ByteBuffer
+
+if __name__ == '__main__':
+    payload = sys.argv[1]
+
+    # Unless wrapped in SharedBytes, a byte[] arrives as an array('b') and a ByteBuffer as a Java object, both of which
+    # must be copied into a str before they can be read as bytes
+    if isinstance(payload, ByteBuffer):
+        copy = jarray.zeros(payload.remaining(), 'b')
+        payload.duplicate().get(copy)
+        payload = copy.tostring()
+    elif not isinstance(payload, memoryview):
+        payload = payload.tostring()
+
+    # Read the length, header and trailer, as a script parsing a framed payload would
+    result = len(payload) + len(payload[:16]) + len(payload[-16:])
@@ -0,0 +1,11 @@
+import sys
+
+def fibonacci(n):
+    if n < 2:
+        return n
+
+    return fibonacci(n - 1) + fibonacci(n - 2)
+
+if __name__ == '__main__':
+    # Recursive and line-heavy, so that tracing dominates any overhead of a budget
+    result = [fibonacci(i) for i in xrange(sys.argv[1])]
@@ -0,0 +1,7 @@
+import sys
+
+if __name__ == '__main__':
+    # Build a dictionary of sys.argv[1] string keys to integer values
+    size = sys.argv[1]
+
+    result = dict(('key%d' % i, i) for i in xrange(size))
@@ -0,0 +1,7 @@
+import sys
+
+if __name__ == '__main__':
+    # Build a list of sys.argv[1] mixed type elements
+    size = sys.argv[1]
+
+    result = [i if i % 2 == 0 else str(i) for i in xrange(size)]
@@ -0,0 +1,7 @@
+import sys
+
+if __name__ == '__main__':
+    # Build a set of sys.argv[1] integers
+    size = sys.argv[1]
+
+    result = set(xrange(size))
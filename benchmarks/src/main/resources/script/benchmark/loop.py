@@ -0,0 +1,9 @@
+import sys
+
+if __name__ == '__main__':
+    # One short line per iteration, so that any per-line cost dominates
+    total = 0
+    for i in xrange(sys.argv[1]):
+        total += i
+
+    result = total
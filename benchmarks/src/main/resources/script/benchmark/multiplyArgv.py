@@ -0,0 +1,5 @@
+import sys
+
+if __name__ == '__main__':
+    # Read both operands from sys.argv, as JythonScript arguments are normally passed
+    result = sys.argv[1] * sys.argv[2]
@@ -0,0 +1,3 @@
+if __name__ == '__main__':
+    # Read both operands from names bound directly into the script's namespace
+    result = a * b
@@ -0,0 +1,5 @@
+import sys
+
+if __name__ == '__main__':
+    # Hand the first argument straight back, so that only the cost of converting it to Java is measured
+    result = sys.argv[1]
@@ -0,0 +1,217 @@
+package com.github.adchilds.jython;
+
+import com.github.adchilds.jython.exception.JythonScriptException;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs script executions on an {@link Executor}, completing a {@link CompletableFuture} with each result and recording
+ * queue depth and latency statistics along the way.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+final class AsyncDispatcher {
+
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    private final Executor executor;
+    private final ExecutorService ownedExecutor;
+
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder totalQueueNanos = new LongAdder();
+    private final LongAdder totalExecutionNanos = new LongAdder();
+    private final LongAccumulator maxQueueNanos = new LongAccumulator(Math::max, 0);
+    private final LongAccumulator maxExecutionNanos = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Creates a dispatcher that runs scripts on the given, externally managed, {@link Executor}.
+     *
+     * @param executor the executor to run scripts on
+     * @since 3.0
+     */
+    AsyncDispatcher(final Executor executor) {
+        this.executor = executor;
+        this.ownedExecutor = null;
+    }
+
+    /**
+     * Creates a dispatcher that owns its executor, which is shut down when this dispatcher is closed.
+     *
+     * @param executor the executor to run scripts on
+     * @since 3.0
+     */
+    private AsyncDispatcher(final ExecutorService executor) {
+        this.executor = executor;
+        this.ownedExecutor = executor;
+    }
+
+    /**
+     * Creates a dispatcher backed by a bounded pool of {@code threads} daemon threads, queueing at most {@code
+     * queueCapacity} scripts before rejecting further submissions.
+     *
+     * @param threads the number of worker threads
+     * @param queueCapacity the maximum number of scripts waiting for a worker thread
+     * @return a new dispatcher
+     * @since 3.0
+     */
+    static AsyncDispatcher bounded(final int threads, final int queueCapacity) {
+        final ThreadFactory threadFactory = runnable -> {
+            final Thread thread = new Thread(runnable, "jythonscript-async-" + THREAD_COUNT.incrementAndGet());
+            thread.setDaemon(true);
+
+            return thread;
+        };
+
+        return new AsyncDispatcher(new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory));
+    }
+
+    /**
+     * Creates a dispatcher that runs each script on its own virtual thread. Virtual threads are only available on Java
+     * 21 and later; on earlier versions this falls back to {@link #bounded(int, int)}.
+     *
+     * @param threads the number of worker threads to use if virtual threads are unavailable
+     * @param queueCapacity the maximum queued scripts to use if virtual threads are unavailable
+     * @return a new dispatcher
+     * @since 3.0
+     */
+    static AsyncDispatcher virtual(final int threads, final int queueCapacity) {
+        try {
+            final Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+
+            return new AsyncDispatcher((ExecutorService) factory.invoke(null));
+        } catch (ReflectiveOperationException e) {
+            return bounded(threads, queueCapacity);
+        }
+    }
+
+    /**
+     * Submits the given task for asynchronous execution. Cancelling, or otherwise completing, the returned future
+     * while the task runs stops any script it is running.
+     *
+     * @param task the script execution to run
+     * @return a future completed with the task's result, or exceptionally with the exception it threw
+     * @since 3.0
+     */
+    <T> CompletableFuture<T> submit(final AsyncTask<T> task) {
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        final long submittedAt = System.nanoTime();
+
+        submitted.increment();
+        queueDepth.incrementAndGet();
+
+        try {
+            executor.execute(() -> run(task, future, submittedAt));
+        } catch (RejectedExecutionException e) {
+            queueDepth.decrementAndGet();
+            rejected.increment();
+
+            future.completeExceptionally(new JythonScriptException("Asynchronous execution was rejected; the queue " +
+                    "is full or the engine is closed.", e));
+        }
+
+        return future;
+    }
+
+    /**
+     * @return a point-in-time snapshot of this dispatcher's statistics
+     * @since 3.0
+     */
+    AsyncStats getStats() {
+        return new AsyncStats(submitted.sum(), completed.sum(), failed.sum(), rejected.sum(), queueDepth.get(),
+                active.get(), totalQueueNanos.sum(), maxQueueNanos.get(), totalExecutionNanos.sum(),
+                maxExecutionNanos.get());
+    }
+
+    /**
+     * Shuts down the executor if it is owned by this dispatcher. Scripts that are already queued are still run.
+     *
+     * @since 3.0
+     */
+    void close() {
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdown();
+        }
+    }
+
+    /**
+     * Runs the given task on a worker thread, recording its queue and execution time.
+     *
+     * @param task the script execution to run
+     * @param future the future to complete
+     * @param submittedAt the {@link System#nanoTime()} at which the task was submitted
+     * @since 3.0
+     */
+    private <T> void run(final AsyncTask<T> task, final CompletableFuture<T> future, final long submittedAt) {
+        final long startedAt = System.nanoTime();
+
+        queueDepth.decrementAndGet();
+        active.incrementAndGet();
+        totalQueueNanos.add(startedAt - submittedAt);
+        maxQueueNanos.accumulate(startedAt - submittedAt);
+
+        // Skip the work entirely if the caller gave up on it while it was queued
+        if (future.isDone()) {
+            active.decrementAndGet();
+            return;
+        }
+
+        // Stop the script if the caller cancels, or otherwise completes, the future while it runs. The trace function
+        // must be installed before the script starts, as Jython only picks it up when a frame is entered
+        final ExecutionControl control = ExecutionControl.cancellable();
+        future.whenComplete((ignored, cause) -> control.cancel());
+
+        T result = null;
+        Throwable failure = null;
+        try {
+            result = control.run(task::call);
+        } catch (Throwable t) {
+            failure = t;
+        }
+
+        // Record statistics before completing the future, so that callers observing the result also observe its stats
+        final long executionNanos = System.nanoTime() - startedAt;
+
+        totalExecutionNanos.add(executionNanos);
+        maxExecutionNanos.accumulate(executionNanos);
+        (failure == null ? completed : failed).increment();
+        active.decrementAndGet();
+
+        if (failure == null) {
+            future.complete(result);
+        } else {
+            future.completeExceptionally(failure);
+        }
+    }
+
+    /**
+     * A script execution to be run asynchronously.
+     *
+     * @since 3.0
+     */
+    @FunctionalInterface
+    interface AsyncTask<T> {
+
+        T call() throws Exception;
+
+    }
+
+}
@@ -0,0 +1,147 @@
+package com.github.adchilds.jython;
+
+/**
+ * A point-in-time snapshot of the asynchronous execution statistics of a {@link JythonEngine}. Queue time is measured
+ * from submission until a worker thread begins executing the script; execution time is measured from then until the
+ * script completes.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+public final class AsyncStats {
+
+    private final long submittedCount;
+    private final long completedCount;
+    private final long failedCount;
+    private final long rejectedCount;
+    private final int queueDepth;
+    private final int activeCount;
+    private final long totalQueueTimeNanos;
+    private final long maxQueueTimeNanos;
+    private final long totalExecutionTimeNanos;
+    private final long maxExecutionTimeNanos;
+
+    AsyncStats(final long submittedCount, final long completedCount, final long failedCount, final long rejectedCount,
+               final int queueDepth, final int activeCount, final long totalQueueTimeNanos,
+               final long maxQueueTimeNanos, final long totalExecutionTimeNanos, final long maxExecutionTimeNanos) {
+        this.submittedCount = submittedCount;
+        this.completedCount = completedCount;
+        this.failedCount = failedCount;
+        this.rejectedCount = rejectedCount;
+        this.queueDepth = queueDepth;
+        this.activeCount = activeCount;
+        this.totalQueueTimeNanos = totalQueueTimeNanos;
+        this.maxQueueTimeNanos = maxQueueTimeNanos;
+        this.totalExecutionTimeNanos = totalExecutionTimeNanos;
+        this.maxExecutionTimeNanos = maxExecutionTimeNanos;
+    }
+
+    /**
+     * @return the number of scripts submitted for asynchronous execution, including those that were rejected
+     * @since 3.0
+     */
+    public long getSubmittedCount() {
+        return submittedCount;
+    }
+
+    /**
+     * @return the number of asynchronous scripts that completed successfully
+     * @since 3.0
+     */
+    public long getCompletedCount() {
+        return completedCount;
+    }
+
+    /**
+     * @return the number of asynchronous scripts that completed with an exception
+     * @since 3.0
+     */
+    public long getFailedCount() {
+        return failedCount;
+    }
+
+    /**
+     * @return the number of scripts rejected because the executor's queue was full
+     * @since 3.0
+     */
+    public long getRejectedCount() {
+        return rejectedCount;
+    }
+
+    /**
+     * @return the number of scripts waiting to be picked up by a worker thread
+     * @since 3.0
+     */
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    /**
+     * @return the number of scripts currently executing
+     * @since 3.0
+     */
+    public int getActiveCount() {
+        return activeCount;
+    }
+
+    /**
+     * @return the total time, in nanoseconds, that started scripts spent waiting in the queue
+     * @since 3.0
+     */
+    public long getTotalQueueTimeNanos() {
+        return totalQueueTimeNanos;
+    }
+
+    /**
+     * @return the longest time, in nanoseconds, that a single script spent waiting in the queue
+     * @since 3.0
+     */
+    public long getMaxQueueTimeNanos() {
+        return maxQueueTimeNanos;
+    }
+
+    /**
+     * @return the average time, in nanoseconds, that started scripts spent waiting in the queue
+     * @since 3.0
+     */
+    public long getAverageQueueTimeNanos() {
+        final long started = completedCount + failedCount + activeCount;
+
+        return started == 0 ? 0 : totalQueueTimeNanos / started;
+    }
+
+    /**
+     * @return the total time, in nanoseconds, spent executing scripts
+     * @since 3.0
+     */
+    public long getTotalExecutionTimeNanos() {
+        return totalExecutionTimeNanos;
+    }
+
+    /**
+     * @return the longest time, in nanoseconds, spent executing a single script
+     * @since 3.0
+     */
+    public long getMaxExecutionTimeNanos() {
+        return maxExecutionTimeNanos;
+    }
+
+    /**
+     * @return the average time, in nanoseconds, spent executing a single script
+     * @since 3.0
+     */
+    public long getAverageExecutionTimeNanos() {
+        final long finished = completedCount + failedCount;
+
+        return finished == 0 ? 0 : totalExecutionTimeNanos / finished;
+    }
+
+    @Override
+    public String toString() {
+        return "AsyncStats[submitted=" + submittedCount + ", completed=" + completedCount + ", failed=" + failedCount +
+                ", rejected=" + rejectedCount + ", queueDepth=" + queueDepth + ", active=" + activeCount +
+                ", averageQueueTimeNanos=" + getAverageQueueTimeNanos() +
+                ", averageExecutionTimeNanos=" + getAverageExecutionTimeNanos() + "]";
+    }
+
+}
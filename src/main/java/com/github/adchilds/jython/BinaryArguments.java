@@ -0,0 +1,33 @@
+package com.github.adchilds.jython;
+
+import org.python.core.Py;
+import org.python.core.PyObject;
+
+/**
+ * Converts the arguments passed to scripts into Python objects. {@link SharedBytes} are passed as Python {@code
+ * memoryview}s over the Java memory itself; all other arguments, including unwrapped {@code byte[]}s and {@link
+ * java.nio.ByteBuffer}s, are converted by {@link Py#java2py(Object)}.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+final class BinaryArguments {
+
+    /**
+     * @param value a Java argument, or null
+     * @return the Python equivalent of the given argument: a memoryview over the memory of {@link SharedBytes},
+     * otherwise as converted by {@link Py#java2py(Object)}
+     * @since 3.0
+     */
+    static PyObject toPy(final Object value) {
+        if (value instanceof SharedBytes) {
+            return ((SharedBytes) value).toPy();
+        }
+
+        return Py.java2py(value);
+    }
+
+    // Don't allow this class to be instantiated
+    private BinaryArguments() { }
+
+}
@@ -0,0 +1,157 @@
+package com.github.adchilds.jython;
+
+import com.github.adchilds.util.StringUtils;
+import org.python.core.PyObject;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable set of named values to be injected directly into a script's '__main__' namespace, where the script can
+ * read them as ordinary variables rather than by indexing 'sys.argv':
+ * <pre>
+ * {@code Bindings bindings = Bindings.builder().bind("width", 6).bind("height", 7).build();
+ * engine.evaluate(compiledScript, bindings);  // result = width * height
+ * }
+ * </pre>
+ *
+ * Every value is converted to its Python equivalent once, when the bindings are built, so a single Bindings instance
+ * can be reused across any number of evaluations, and by any number of threads, without converting its values again.
+ * Note that values are shared rather than copied between evaluations; a script that mutates a bound container will be
+ * observed by later evaluations using the same Bindings.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+public final class Bindings {
+
+    private static final Bindings EMPTY = new Bindings(new String[0], new PyObject[0]);
+
+    private final String[] names;
+    private final PyObject[] values;
+
+    private Bindings(final String[] names, final PyObject[] values) {
+        this.names = names;
+        this.values = values;
+    }
+
+    /**
+     * @return a new {@link Builder}
+     * @since 3.0
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return bindings that bind no names
+     * @since 3.0
+     */
+    public static Bindings empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Creates bindings holding each entry of the given map, keyed by the name each value is bound to.
+     *
+     * @param values the values to bind, keyed by name
+     * @return new bindings
+     * @throws IllegalArgumentException when the given map is null, or any name is null or blank
+     * @since 3.0
+     */
+    public static Bindings of(final Map<String, ?> values) {
+        if (values == null) {
+            throw new IllegalArgumentException("Values must not be null.");
+        }
+
+        final Builder builder = builder();
+        for (final Map.Entry<String, ?> entry : values.entrySet()) {
+            builder.bind(entry.getKey(), entry.getValue());
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * @return the number of names bound
+     * @since 3.0
+     */
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * @return the bound names, in the order in which they were bound
+     * @since 3.0
+     */
+    public List<String> getNames() {
+        final List<String> result = new ArrayList<>(names.length);
+        for (final String name : names) {
+            result.add(name);
+        }
+
+        return result;
+    }
+
+    /**
+     * Stores every bound value in the given namespace.
+     *
+     * @param namespace the namespace of the script about to be executed
+     * @since 3.0
+     */
+    void bindTo(final PyObject namespace) {
+        for (int i = 0; i < names.length; i++) {
+            namespace.__setitem__(names[i], values[i]);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Bindings" + getNames();
+    }
+
+    /**
+     * Builds {@link Bindings} instances. Binding a name that is already bound replaces its value.
+     *
+     * @author Adam Childs
+     * @since 3.0
+     */
+    public static final class Builder {
+
+        private final Map<String, PyObject> values = new LinkedHashMap<>();
+
+        private Builder() { }
+
+        /**
+         * Binds the given value, converted to its Python equivalent, to the given name. {@link SharedBytes} are bound as
+         * a memoryview sharing their memory.
+         *
+         * @param name the name by which the script reads the value
+         * @param value the value to bind; null is bound as Python's None
+         * @return this builder
+         * @throws IllegalArgumentException when the given name is null or blank
+         * @since 3.0
+         */
+        public Builder bind(final String name, final Object value) {
+            if (StringUtils.isBlank(name)) {
+                throw new IllegalArgumentException("Binding name must not be null or empty. name=[" + name + "]");
+            }
+
+            // Interned, as are the names within compiled scripts, so that namespace lookups can short-circuit on identity
+            values.put(name.intern(), BinaryArguments.toPy(value));
+            return this;
+        }
+
+        /**
+         * @return new, immutable {@link Bindings}
+         * @since 3.0
+         */
+        public Bindings build() {
+            return new Bindings(values.keySet().toArray(new String[0]), values.values().toArray(new PyObject[0]));
+        }
+
+    }
+
+}
@@ -0,0 +1,385 @@
+package com.github.adchilds.jython;
+
+import com.github.adchilds.util.DigestUtils;
+import com.github.adchilds.util.StringUtils;
+import org.python.Version;
+import org.python.core.BytecodeLoader;
+import org.python.core.PyCode;
+import org.python.core.imp;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.CRC32;
+
+/**
+ * A persistent, on-disk cache of compiled Jython scripts. Parsing a script and generating its Java bytecode is by far
+ * the most expensive part of compiling it; a {@link JythonCompiler} backed by a BytecodeCache writes the bytecode it
+ * generates to disk, so that later JVMs compiling the same script only need to load the stored class.
+ *
+ * Each entry is keyed by the SHA-256 hash of the script's source, the filename attributed to it in tracebacks, and the
+ * version of the Jython runtime that compiled it. Upgrading Jython therefore never loads stale bytecode. Entries are
+ * also checksummed; an entry that is truncated, corrupt, or cannot be loaded is deleted and its script recompiled.
+ *
+ * Entries are written to a temporary file and atomically moved into place, so any number of threads or JVMs may safely
+ * share a single cache directory. The cache is best-effort: failing to read or write an entry never causes compilation
+ * to fail, and is instead reflected in {@link #getStats()}.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+public class BytecodeCache {
+
+    /**
+     * The system property naming a directory in which {@link JythonCompiler#JythonCompiler()}, and therefore the static
+     * {@link JythonScript} functions, cache compiled bytecode. When unset, no bytecode is cached on disk.
+     */
+    public static final String DIRECTORY_PROPERTY = "jythonscript.bytecodeCache.directory";
+
+    private static final String ENTRY_SUFFIX = ".jsc";
+    private static final String CLASS_NAME_PREFIX = "org.python.pycode._jsc_";
+
+    // "JSBC"; identifies files written by this class
+    private static final int MAGIC = 0x4A534243;
+    private static final int FORMAT_VERSION = 1;
+
+    private final Path directory;
+    private final String runtimeVersion;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final LongAdder writeFailures = new LongAdder();
+
+    /**
+     * Creates a new cache storing entries within the given directory, which is created when the first entry is
+     * written if it does not already exist.
+     *
+     * @param directory the directory in which to store compiled scripts
+     * @since 3.0
+     */
+    public BytecodeCache(final Path directory) {
+        this(directory, Version.PY_VERSION + "/" + imp.getAPIVersion());
+    }
+
+    /**
+     * Creates a new cache storing entries within the given directory, attributing them to the given Jython runtime.
+     *
+     * @param directory the directory in which to store compiled scripts
+     * @param runtimeVersion identifies the Jython runtime that generated the stored bytecode
+     * @since 3.0
+     */
+    BytecodeCache(final Path directory, final String runtimeVersion) {
+        if (directory == null) {
+            throw new IllegalArgumentException("Directory must not be null.");
+        }
+
+        this.directory = directory;
+        this.runtimeVersion = runtimeVersion;
+    }
+
+    /**
+     * @return a cache in the directory named by the {@link #DIRECTORY_PROPERTY} system property, or null if it is unset
+     * @since 3.0
+     */
+    static BytecodeCache fromSystemProperty() {
+        final String directory = System.getProperty(DIRECTORY_PROPERTY);
+
+        return StringUtils.isBlank(directory) ? null : new BytecodeCache(Paths.get(directory));
+    }
+
+    /**
+     * @return the directory in which this cache stores compiled scripts
+     * @since 3.0
+     */
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * @return a point-in-time snapshot of this cache's statistics
+     * @since 3.0
+     */
+    public Stats getStats() {
+        return new Stats(hits.sum(), misses.sum(), invalidations.sum(), writeFailures.sum());
+    }
+
+    /**
+     * Returns the compiled form of the given source, loading its bytecode from disk when present, or otherwise
+     * compiling the source and storing its bytecode for next time.
+     *
+     * @param source the Jython script to compile
+     * @param filename the name attributed to the compiled code in tracebacks
+     * @return a compiled Jython script
+     * @throws Exception when the given script cannot be compiled
+     * @since 3.0
+     */
+    PyCode get(final String source, final String filename) throws Exception {
+        return get(DigestUtils.sha256Hex(source), filename,
+                className -> JythonCompiler.compileToBytecode(source, filename, className));
+    }
+
+    /**
+     * Returns the compiled form of the given encoded source, such as the contents of a file, loading its bytecode from
+     * disk when present, or otherwise compiling the source and storing its bytecode for next time.
+     *
+     * @param source the encoded Jython script to compile
+     * @param filename the name attributed to the compiled code in tracebacks
+     * @return a compiled Jython script
+     * @throws Exception when the given script cannot be compiled
+     * @since 3.0
+     */
+    PyCode get(final byte[] source, final String filename) throws Exception {
+        // Encoded source is decoded by its own rules, so is never given the entry of identical String source
+        return get("bytes:" + DigestUtils.sha256Hex(source), filename,
+                className -> JythonCompiler.compileToBytecode(source, filename, className));
+    }
+
+    /**
+     * @param sourceHash identifies the script's source
+     * @param filename the name attributed to the compiled code in tracebacks
+     * @param compilation generates the bytecode of the script as a class of the given name
+     * @return a compiled Jython script
+     * @throws Exception when the script cannot be compiled
+     * @since 3.0
+     */
+    private PyCode get(final String sourceHash, final String filename, final Compilation compilation)
+            throws Exception {
+        final String key = DigestUtils.sha256Hex(sourceHash + '\0' + filename + '\0' + runtimeVersion);
+        final String className = CLASS_NAME_PREFIX + key;
+        final Path entry = directory.resolve(key + ENTRY_SUFFIX);
+
+        // Fast path; the script was compiled by an earlier run
+        final byte[] stored = read(entry, sourceHash, filename);
+        if (stored != null) {
+            try {
+                final PyCode pyCode = BytecodeLoader.makeCode(className, stored, filename);
+                hits.increment();
+
+                return pyCode;
+            } catch (RuntimeException | LinkageError e) {
+                invalidate(entry);
+            }
+        }
+
+        misses.increment();
+
+        final byte[] bytecode = compilation.compile(className);
+        write(entry, sourceHash, filename, bytecode);
+
+        return BytecodeLoader.makeCode(className, bytecode, filename);
+    }
+
+    /**
+     * Reads the bytecode stored in the given entry, verifying that it was written by this runtime for the given script.
+     *
+     * @param entry the file holding the entry
+     * @param sourceHash the SHA-256 hash of the script's source
+     * @param filename the name attributed to the compiled code in tracebacks
+     * @return the stored bytecode, or null if the entry does not exist or is invalid
+     * @since 3.0
+     */
+    private byte[] read(final Path entry, final String sourceHash, final String filename) {
+        final byte[] contents;
+        try {
+            contents = Files.readAllBytes(entry);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            invalidate(entry);
+            return null;
+        }
+
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(contents))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION || !runtimeVersion.equals(in.readUTF()) ||
+                    !sourceHash.equals(in.readUTF()) || !filename.equals(in.readUTF())) {
+                invalidate(entry);
+                return null;
+            }
+
+            final long checksum = in.readLong();
+            final int length = in.readInt();
+            if (length < 0 || length > in.available()) {
+                invalidate(entry);
+                return null;
+            }
+
+            final byte[] bytecode = new byte[length];
+            in.readFully(bytecode);
+
+            if (checksum != checksum(bytecode) || in.read() != -1) {
+                invalidate(entry);
+                return null;
+            }
+
+            return bytecode;
+        } catch (IOException | RuntimeException e) {
+            // Truncated or otherwise malformed
+            invalidate(entry);
+            return null;
+        }
+    }
+
+    /**
+     * Writes the given bytecode to the given entry, replacing any existing entry.
+     *
+     * @param entry the file to hold the entry
+     * @param sourceHash the SHA-256 hash of the script's source
+     * @param filename the name attributed to the compiled code in tracebacks
+     * @param bytecode the compiled script's bytecode
+     * @since 3.0
+     */
+    private void write(final Path entry, final String sourceHash, final String filename, final byte[] bytecode) {
+        final ByteArrayOutputStream contents = new ByteArrayOutputStream(bytecode.length + 256);
+        try (DataOutputStream out = new DataOutputStream(contents)) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeUTF(runtimeVersion);
+            out.writeUTF(sourceHash);
+            out.writeUTF(filename);
+            out.writeLong(checksum(bytecode));
+            out.writeInt(bytecode.length);
+            out.write(bytecode);
+        } catch (IOException e) {
+            // e.g. a filename too long to encode; leave the script uncached
+            writeFailures.increment();
+            return;
+        }
+
+        Path temporary = null;
+        try {
+            Files.createDirectories(directory);
+
+            // Write alongside the entry, then move it into place so that readers never observe a partial entry
+            temporary = Files.createTempFile(directory, entry.getFileName().toString(), ".tmp");
+            Files.write(temporary, contents.toByteArray());
+
+            try {
+                Files.move(temporary, entry, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary, entry, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            writeFailures.increment();
+
+            if (temporary != null) {
+                try {
+                    Files.deleteIfExists(temporary);
+                } catch (IOException ignored) {
+                    // Nothing more can be done
+                }
+            }
+        }
+    }
+
+    /**
+     * Deletes the given invalid entry, so that it is rewritten once its script has been recompiled.
+     *
+     * @param entry the file holding the entry
+     * @since 3.0
+     */
+    private void invalidate(final Path entry) {
+        invalidations.increment();
+
+        try {
+            Files.deleteIfExists(entry);
+        } catch (IOException ignored) {
+            // Rewriting the entry replaces it regardless
+        }
+    }
+
+    /**
+     * @param bytecode the bytes to checksum
+     * @return the CRC-32 checksum of the given bytes
+     * @since 3.0
+     */
+    private static long checksum(final byte[] bytecode) {
+        final CRC32 crc = new CRC32();
+        crc.update(bytecode, 0, bytecode.length);
+
+        return crc.getValue();
+    }
+
+    /**
+     * A point-in-time snapshot of a {@link BytecodeCache}'s statistics.
+     *
+     * @author Adam Childs
+     * @since 3.0
+     */
+    public static final class Stats {
+
+        private final long hitCount;
+        private final long missCount;
+        private final long invalidationCount;
+        private final long writeFailureCount;
+
+        private Stats(final long hitCount, final long missCount, final long invalidationCount,
+                      final long writeFailureCount) {
+            this.hitCount = hitCount;
+            this.missCount = missCount;
+            this.invalidationCount = invalidationCount;
+            this.writeFailureCount = writeFailureCount;
+        }
+
+        /**
+         * @return the number of scripts loaded from disk without compiling
+         * @since 3.0
+         */
+        public long getHitCount() {
+            return hitCount;
+        }
+
+        /**
+         * @return the number of scripts that required compiling
+         * @since 3.0
+         */
+        public long getMissCount() {
+            return missCount;
+        }
+
+        /**
+         * @return the number of entries discarded because they were corrupt, or could not be read or loaded
+         * @since 3.0
+         */
+        public long getInvalidationCount() {
+            return invalidationCount;
+        }
+
+        /**
+         * @return the number of entries that could not be written
+         * @since 3.0
+         */
+        public long getWriteFailureCount() {
+            return writeFailureCount;
+        }
+
+        @Override
+        public String toString() {
+            return "Stats[hits=" + hitCount + ", misses=" + missCount + ", invalidations=" + invalidationCount +
+                    ", writeFailures=" + writeFailureCount + "]";
+        }
+
+    }
+
+    /**
+     * Generates the bytecode of a script.
+     *
+     * @since 3.0
+     */
+    @FunctionalInterface
+    private interface Compilation {
+
+        byte[] compile(String className) throws Exception;
+
+    }
+
+}
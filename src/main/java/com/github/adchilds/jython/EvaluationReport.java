@@ -0,0 +1,71 @@
+package com.github.adchilds.jython;
+
+import org.python.core.PyCode;
+
+/**
+ * The result of a single evaluation alongside the resources it consumed, returned by functions such as {@link
+ * JythonEngine#evaluateWithReport(PyCode, Object...)}:
+ * <pre>
+ * {@code EvaluationReport report = engine.evaluateWithReport(compiledScript, 5, 5);
+ *
+ * Object result = report.getResult();
+ * long cpuNanos = report.getUsage().getCpuNanos();
+ * long allocatedBytes = report.getUsage().getAllocatedBytes();
+ * }
+ * </pre>
+ *
+ * The same usage is added to the script's running totals, available via {@link MetricsSnapshot#getUsage(String)}.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+public final class EvaluationReport {
+
+    private final Object result;
+    private final ResourceUsage usage;
+    private final long elapsedNanos;
+
+    EvaluationReport(final Object result, final ResourceUsage usage, final long elapsedNanos) {
+        this.result = result;
+        this.usage = usage;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * @return the result of the script, converted to its equivalent Java type
+     * @since 3.0
+     */
+    public Object getResult() {
+        return result;
+    }
+
+    /**
+     * @return the filename of the evaluated script
+     * @since 3.0
+     */
+    public String getScript() {
+        return usage.getScript();
+    }
+
+    /**
+     * @return the CPU time and allocation of each phase of the evaluation
+     * @since 3.0
+     */
+    public ResourceUsage getUsage() {
+        return usage;
+    }
+
+    /**
+     * @return the wall clock time of the evaluation, in nanoseconds, including any time spent waiting for an interpreter
+     * @since 3.0
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "EvaluationReport[result=" + result + ", usage=" + usage + ", elapsedNanos=" + elapsedNanos + "]";
+    }
+
+}
@@ -0,0 +1,253 @@
+package com.github.adchilds.jython;
+
+import com.github.adchilds.jython.exception.JythonScriptBudgetExceededException;
+import org.python.core.PyArray;
+import org.python.core.PyDictionary;
+import org.python.core.PyList;
+import org.python.core.PyObject;
+import org.python.core.PySet;
+import org.python.core.PyTuple;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Limits the resources a single script execution may consume, so that a pathological script, such as one stuck in a
+ * loop or recursing without end, fails quickly rather than starving its callers:
+ * <pre>
+ * {@code ExecutionBudget budget = ExecutionBudget.builder()
+ *         .maxLines(1_000_000)
+ *         .maxRecursionDepth(100)
+ *         .maxResultSize(10_000)
+ *         .build();
+ *
+ * Object result = engine.evaluate(compiledScript, budget, 5, 5);
+ * }
+ * </pre>
+ *
+ * A script exceeding any limit is stopped with a {@link JythonScriptBudgetExceededException}. Limits that are not set
+ * are not enforced, and a script run without a budget pays nothing for them; with a line or recursion limit, every line
+ * executed by the script is traced.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+public final class ExecutionBudget {
+
+    private static final ExecutionBudget UNLIMITED = builder().build();
+
+    private final long maxLines;
+    private final int maxRecursionDepth;
+    private final long maxResultSize;
+
+    private ExecutionBudget(final long maxLines, final int maxRecursionDepth, final long maxResultSize) {
+        this.maxLines = maxLines;
+        this.maxRecursionDepth = maxRecursionDepth;
+        this.maxResultSize = maxResultSize;
+    }
+
+    /**
+     * @return a new {@link Builder}
+     * @since 3.0
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return a budget that enforces no limits
+     * @since 3.0
+     */
+    public static ExecutionBudget unlimited() {
+        return UNLIMITED;
+    }
+
+    /**
+     * @return the maximum number of lines a script may execute, counting each iteration of a loop, or 0 if unlimited
+     * @since 3.0
+     */
+    public long getMaxLines() {
+        return maxLines;
+    }
+
+    /**
+     * @return the maximum depth of nested Python function calls, or 0 if unlimited
+     * @since 3.0
+     */
+    public int getMaxRecursionDepth() {
+        return maxRecursionDepth;
+    }
+
+    /**
+     * @return the maximum number of elements in a script's result, or 0 if unlimited
+     * @since 3.0
+     */
+    public long getMaxResultSize() {
+        return maxResultSize;
+    }
+
+    @Override
+    public String toString() {
+        return "ExecutionBudget[maxLines=" + maxLines + ", maxRecursionDepth=" + maxRecursionDepth +
+                ", maxResultSize=" + maxResultSize + "]";
+    }
+
+    /**
+     * @return whether executing a script within this budget requires tracing its lines
+     * @since 3.0
+     */
+    boolean isTraced() {
+        return maxLines > 0 || maxRecursionDepth > 0;
+    }
+
+    /**
+     * Verifies that the given result is within this budget's maximum result size, before it is converted. The size of a
+     * result is the total number of elements within it, including those of nested lists, tuples, dicts and sets; a
+     * container nested more than once is only counted once.
+     *
+     * @param result the value of a script's 'result' variable
+     * @throws JythonScriptBudgetExceededException when the result has more elements than allowed
+     * @since 3.0
+     */
+    void checkResultSize(final PyObject result) throws JythonScriptBudgetExceededException {
+        if (maxResultSize <= 0 || result == null) {
+            return;
+        }
+
+        final Set<PyObject> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        final Deque<PyObject> pending = new ArrayDeque<>();
+        pending.push(result);
+
+        long size = 0;
+        while (!pending.isEmpty()) {
+            final PyObject object = pending.pop();
+
+            if (object instanceof PyList || object instanceof PyTuple) {
+                if (!visited.add(object)) {
+                    continue;
+                }
+
+                final PyObject[] elements = object instanceof PyList ?
+                        ((PyList) object).getArray() : ((PyTuple) object).getArray();
+
+                size += elements.length;
+                for (final PyObject element : elements) {
+                    pending.push(element);
+                }
+            } else if (object instanceof PyDictionary) {
+                if (!visited.add(object)) {
+                    continue;
+                }
+
+                final Map<PyObject, PyObject> map = ((PyDictionary) object).getMap();
+
+                size += map.size();
+                for (final Map.Entry<PyObject, PyObject> entry : map.entrySet()) {
+                    pending.push(entry.getKey());
+                    pending.push(entry.getValue());
+                }
+            } else if (object instanceof PySet) {
+                if (!visited.add(object)) {
+                    continue;
+                }
+
+                final Set<PyObject> set = ((PySet) object).getSet();
+
+                size += set.size();
+                for (final PyObject element : set) {
+                    pending.push(element);
+                }
+            } else if (object instanceof PyArray) {
+                size += object.__len__();
+            }
+
+            // Stop as soon as the limit is passed, however large the rest of the result
+            if (size > maxResultSize) {
+                throw new JythonScriptBudgetExceededException("Script result exceeded its maximum size. " +
+                        "maxResultSize=[" + maxResultSize + "]");
+            }
+        }
+    }
+
+    /**
+     * Builds {@link ExecutionBudget} instances. Each limit defaults to 0, meaning unlimited.
+     *
+     * @author Adam Childs
+     * @since 3.0
+     */
+    public static final class Builder {
+
+        private long maxLines;
+        private int maxRecursionDepth;
+        private long maxResultSize;
+
+        private Builder() { }
+
+        /**
+         * Limits the number of lines a script may execute, counting every line each time it runs, including those of
+         * any Python functions it calls.
+         *
+         * @param maxLines the maximum number of lines; must be at least 1
+         * @return this builder
+         * @since 3.0
+         */
+        public Builder maxLines(final long maxLines) {
+            if (maxLines < 1) {
+                throw new IllegalArgumentException("Max lines must be at least 1. maxLines=[" + maxLines + "]");
+            }
+
+            this.maxLines = maxLines;
+            return this;
+        }
+
+        /**
+         * Limits the depth of nested Python function calls a script may make. The script's own module-level code is at
+         * depth 1.
+         *
+         * @param maxRecursionDepth the maximum call depth; must be at least 1
+         * @return this builder
+         * @since 3.0
+         */
+        public Builder maxRecursionDepth(final int maxRecursionDepth) {
+            if (maxRecursionDepth < 1) {
+                throw new IllegalArgumentException("Max recursion depth must be at least 1. maxRecursionDepth=[" +
+                        maxRecursionDepth + "]");
+            }
+
+            this.maxRecursionDepth = maxRecursionDepth;
+            return this;
+        }
+
+        /**
+         * Limits the total number of elements in a script's result, including those of nested containers, checked
+         * before the result is converted to Java.
+         *
+         * @param maxResultSize the maximum number of elements; must be at least 1
+         * @return this builder
+         * @since 3.0
+         */
+        public Builder maxResultSize(final long maxResultSize) {
+            if (maxResultSize < 1) {
+                throw new IllegalArgumentException("Max result size must be at least 1. maxResultSize=[" +
+                        maxResultSize + "]");
+            }
+
+            this.maxResultSize = maxResultSize;
+            return this;
+        }
+
+        /**
+         * @return a new {@link ExecutionBudget}
+         * @since 3.0
+         */
+        public ExecutionBudget build() {
+            return new ExecutionBudget(maxLines, maxRecursionDepth, maxResultSize);
+        }
+
+    }
+
+}
@@ -0,0 +1,417 @@
+package com.github.adchilds.jython;
+
+import com.github.adchilds.jython.exception.JythonScriptBudgetExceededException;
+import com.github.adchilds.jython.exception.JythonScriptCancelledException;
+import com.github.adchilds.jython.exception.JythonScriptException;
+import com.github.adchilds.jython.exception.JythonScriptTimeoutException;
+import org.python.core.Py;
+import org.python.core.PyException;
+import org.python.core.PyFrame;
+import org.python.core.PyObject;
+import org.python.core.ThreadState;
+import org.python.core.TraceFunction;
+
+import java.time.Duration;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Stops a script running on the current thread once its deadline passes, it is cancelled from another thread, or it
+ * exceeds its {@link ExecutionBudget}.
+ *
+ * Jython never checks for thread interruption while running Python code, so while a controlled task runs, a trace
+ * function is installed on the thread's Jython {@link ThreadState}; it is called at every line of the script, and once
+ * the task has been stopped it throws on each of them, so that no handler within the script can keep it running.
+ * Threads blocked in Java code, such as {@code time.sleep()} or waiting for a pooled interpreter, are interrupted as
+ * well. Under a budget, the same trace function counts the lines executed and tracks the depth of each frame; a budget
+ * limiting only the size of the result is checked once the script has run, so its scripts are not traced at all.
+ *
+ * The trace function is removed, and any interrupt raised by this class is cleared, before {@link #run} returns, so
+ * that the thread, and any pooled interpreter it used, is left clean for its next script.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+final class ExecutionControl {
+
+    private static final int RUNNING = 0;
+    private static final int TIMED_OUT = 1;
+    private static final int CANCELLED = 2;
+    private static final int BUDGET_EXCEEDED = 3;
+    private static final int FINISHED = 4;
+
+    private final long timeoutNanos;
+    private final ExecutionBudget budget;
+    private final AtomicInteger state = new AtomicInteger(RUNNING);
+    private final StopTrace trace;
+
+    private Thread thread;
+    private boolean interrupted;
+    private boolean done;
+
+    // Only accessed by the thread running the task
+    private long lines;
+    private String budgetExceeded;
+
+    /**
+     * @param timeoutNanos the maximum duration of the task, or 0 if it may run until cancelled
+     * @param budget the limits of the task, or null if unlimited
+     * @since 3.0
+     */
+    private ExecutionControl(final long timeoutNanos, final ExecutionBudget budget) {
+        this.timeoutNanos = timeoutNanos;
+        this.budget = budget;
+        if (budget == null) {
+            this.trace = new StopTrace();
+        } else {
+            this.trace = budget.isTraced() ? new BudgetTrace(0) : null;
+        }
+    }
+
+    /**
+     * @param timeout the maximum duration of the task
+     * @return a control stopping its task once the given timeout elapses
+     * @throws JythonScriptException when the given timeout is null, zero or negative
+     * @since 3.0
+     */
+    static ExecutionControl withTimeout(final Duration timeout) throws JythonScriptException {
+        if (timeout == null || timeout.isZero() || timeout.isNegative()) {
+            throw new JythonScriptException("Timeout must be a positive duration. timeout=[" + timeout + "]");
+        }
+
+        // Durations beyond ~292 years saturate rather than overflow
+        long nanos;
+        try {
+            nanos = timeout.toNanos();
+        } catch (ArithmeticException e) {
+            nanos = Long.MAX_VALUE;
+        }
+
+        return new ExecutionControl(nanos, null);
+    }
+
+    /**
+     * @return a control stopping its task only once {@link #cancel()} is called
+     * @since 3.0
+     */
+    static ExecutionControl cancellable() {
+        return new ExecutionControl(0, null);
+    }
+
+    /**
+     * @param budget the line and recursion limits of the task
+     * @return a control stopping its task once it exceeds the given budget, or {@link #cancel()} is called; if the
+     * budget limits neither lines nor recursion, the task is not traced and is only stopped by cancelling it while it
+     * is blocked
+     * @throws JythonScriptException when the given budget is null
+     * @since 3.0
+     */
+    static ExecutionControl withBudget(final ExecutionBudget budget) throws JythonScriptException {
+        if (budget == null) {
+            throw new JythonScriptException("Cannot execute a Jython script within a budget that doesn't exist! ExecutionBudget is null.");
+        }
+
+        return new ExecutionControl(0, budget);
+    }
+
+    /**
+     * Runs the given task on the current thread, stopping any script it runs once this control's deadline passes or it
+     * is cancelled. A control may only run a single task.
+     *
+     * @param task the work to perform
+     * @param <T> the type of the task's result
+     * @param <E> the type of exception thrown by the task
+     * @return the task's result
+     * @throws JythonScriptTimeoutException when the deadline passes before the task completes
+     * @throws JythonScriptCancelledException when this control is cancelled before the task completes
+     * @throws JythonScriptBudgetExceededException when a script run by the task exceeds this control's budget
+     * @throws E when the task otherwise fails
+     * @since 3.0
+     */
+    <T, E extends Exception> T run(final ControlledTask<T, E> task) throws E, JythonScriptException {
+        synchronized (this) {
+            if (thread != null) {
+                throw new IllegalStateException("An ExecutionControl may only run a single task.");
+            }
+
+            thread = Thread.currentThread();
+        }
+
+        final ThreadState threadState = Py.getThreadState();
+        final TraceFunction previousTrace = threadState.tracefunc;
+        final PyFrame previousFrame = threadState.frame;
+        final ScheduledFuture<?> deadline = timeoutNanos > 0 ?
+                Scheduler.INSTANCE.schedule(() -> stop(TIMED_OUT), timeoutNanos, TimeUnit.NANOSECONDS) : null;
+
+        if (trace != null) {
+            threadState.tracefunc = trace;
+        }
+
+        try {
+            // Cancelled before the task even started
+            checkStopped(null);
+
+            final T result = task.call();
+
+            checkStopped(null);
+
+            return result;
+        } catch (Exception e) {
+            checkStopped(e);
+
+            throw e;
+        } finally {
+            threadState.tracefunc = previousTrace;
+
+            // Frames left behind by the stopped script would otherwise still be traced by later scripts
+            threadState.frame = previousFrame;
+
+            if (deadline != null) {
+                deadline.cancel(false);
+            }
+
+            finish();
+        }
+    }
+
+    /**
+     * Stops the running task, or the task once it starts. Has no effect once the task has completed.
+     *
+     * @since 3.0
+     */
+    void cancel() {
+        stop(CANCELLED);
+    }
+
+    /**
+     * @return whether this control's task was stopped because its deadline passed
+     * @since 3.0
+     */
+    boolean isTimedOut() {
+        return state.get() == TIMED_OUT;
+    }
+
+    /**
+     * @return whether this control's task was stopped because it was cancelled
+     * @since 3.0
+     */
+    boolean isCancelled() {
+        return state.get() == CANCELLED;
+    }
+
+    /**
+     * @return whether this control's task was stopped because it exceeded its budget
+     * @since 3.0
+     */
+    boolean isBudgetExceeded() {
+        return state.get() == BUDGET_EXCEEDED;
+    }
+
+    /**
+     * Marks the task as stopped and interrupts its thread, unless it has already completed or been stopped.
+     *
+     * @param reason either {@link #TIMED_OUT} or {@link #CANCELLED}
+     * @since 3.0
+     */
+    private void stop(final int reason) {
+        if (!state.compareAndSet(RUNNING, reason)) {
+            return;
+        }
+
+        synchronized (this) {
+            // Never interrupt a thread that has already moved on to other work
+            if (thread != null && !done) {
+                interrupted = true;
+                thread.interrupt();
+            }
+        }
+    }
+
+    /**
+     * Marks the task as having exceeded its budget. The task is running on the current thread, so rather than being
+     * interrupted it is stopped by its trace function at its next line.
+     *
+     * @param reason a description of the exceeded limit
+     * @since 3.0
+     */
+    private void exceedBudget(final String reason) {
+        if (state.get() == RUNNING) {
+            budgetExceeded = reason;
+            state.compareAndSet(RUNNING, BUDGET_EXCEEDED);
+        }
+    }
+
+    /**
+     * Marks the task as completed, clearing any interrupt raised by {@link #stop(int)}.
+     *
+     * @since 3.0
+     */
+    private void finish() {
+        state.compareAndSet(RUNNING, FINISHED);
+
+        synchronized (this) {
+            done = true;
+
+            if (interrupted) {
+                Thread.interrupted();
+            }
+        }
+    }
+
+    /**
+     * @param cause the failure of the task, or null if it has not failed
+     * @throws JythonScriptException when the task has been stopped
+     * @since 3.0
+     */
+    private void checkStopped(final Throwable cause) throws JythonScriptException {
+        switch (state.get()) {
+            case TIMED_OUT:
+                throw new JythonScriptTimeoutException("Script execution timed out. timeout=[" +
+                        TimeUnit.NANOSECONDS.toMillis(timeoutNanos) + "ms]", cause);
+            case CANCELLED:
+                throw new JythonScriptCancelledException("Script execution was cancelled.", cause);
+            case BUDGET_EXCEEDED:
+                throw new JythonScriptBudgetExceededException(budgetExceeded, cause);
+            default:
+                break;
+        }
+    }
+
+    /**
+     * The work performed under an {@link ExecutionControl}.
+     *
+     * @param <T> the type of the task's result
+     * @param <E> the type of exception thrown by the task
+     * @since 3.0
+     */
+    @FunctionalInterface
+    interface ControlledTask<T, E extends Exception> {
+
+        T call() throws E;
+
+    }
+
+    /**
+     * Thrown into a script from its trace function once it has been stopped.
+     *
+     * @since 3.0
+     */
+    private static final class ScriptStopped extends RuntimeException {
+
+        private ScriptStopped() {
+            super("Script execution was stopped.", null, false, false);
+        }
+
+    }
+
+    /**
+     * Traces every frame of a controlled script, throwing at its next line once it has been stopped. Only line events
+     * throw; Jython calls the others while it is still setting up or tearing down a frame, where an exception would
+     * leave the thread's frame stack inconsistent.
+     *
+     * @since 3.0
+     */
+    private class StopTrace extends TraceFunction {
+
+        @Override
+        public TraceFunction traceCall(final PyFrame frame) {
+            return this;
+        }
+
+        @Override
+        public TraceFunction traceReturn(final PyFrame frame, final PyObject ret) {
+            return this;
+        }
+
+        @Override
+        public TraceFunction traceLine(final PyFrame frame, final int line) {
+            final int current = state.get();
+
+            if (current != RUNNING && current != FINISHED) {
+                throw new ScriptStopped();
+            }
+
+            return this;
+        }
+
+        @Override
+        public TraceFunction traceException(final PyFrame frame, final PyException exc) {
+            return this;
+        }
+
+    }
+
+    /**
+     * Traces a single frame of a script run within a budget, counting its lines and recording its depth, the number of
+     * Python frames of the same script beneath it including itself. A frame's depth is derived from its caller's trace
+     * function, so that frames popped by an exception, which are never passed to {@link #traceReturn}, need no
+     * bookkeeping. A frame too deep is marked in {@link #traceCall}, and stopped once its first line is traced.
+     *
+     * @since 3.0
+     */
+    private final class BudgetTrace extends StopTrace {
+
+        private final int depth;
+
+        private BudgetTrace(final int depth) {
+            this.depth = depth;
+        }
+
+        @Override
+        public TraceFunction traceCall(final PyFrame frame) {
+            final TraceFunction caller = frame.f_back == null ? null : frame.f_back.tracefunc;
+            final int callerDepth = caller instanceof BudgetTrace && ((BudgetTrace) caller).isOwnedBy(ExecutionControl.this) ?
+                    ((BudgetTrace) caller).depth : 0;
+
+            final int maxRecursionDepth = budget.getMaxRecursionDepth();
+            if (maxRecursionDepth > 0 && callerDepth >= maxRecursionDepth) {
+                exceedBudget("Script exceeded its maximum recursion depth. maxRecursionDepth=[" + maxRecursionDepth + "]");
+            }
+
+            return new BudgetTrace(callerDepth + 1);
+        }
+
+        @Override
+        public TraceFunction traceLine(final PyFrame frame, final int line) {
+            final long maxLines = budget.getMaxLines();
+            if (maxLines > 0 && ++lines > maxLines) {
+                exceedBudget("Script exceeded its maximum number of executed lines. maxLines=[" + maxLines + "]");
+            }
+
+            return super.traceLine(frame, line);
+        }
+
+        private boolean isOwnedBy(final ExecutionControl control) {
+            return ExecutionControl.this == control;
+        }
+
+    }
+
+    /**
+     * Lazily creates the single daemon thread on which deadlines fire.
+     *
+     * @since 3.0
+     */
+    private static final class Scheduler {
+
+        private static final ScheduledThreadPoolExecutor INSTANCE = create();
+
+        private static ScheduledThreadPoolExecutor create() {
+            final ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+                final Thread thread = new Thread(runnable, "jythonscript-timeout");
+                thread.setDaemon(true);
+
+                return thread;
+            });
+
+            // Most scripts finish well before their deadline; don't keep their cancelled deadlines queued
+            scheduler.setRemoveOnCancelPolicy(true);
+
+            return scheduler;
+        }
+
+    }
+
+}
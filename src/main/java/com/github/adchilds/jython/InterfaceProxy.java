@@ -0,0 +1,265 @@
+package com.github.adchilds.jython;
+
+import com.github.adchilds.jython.exception.JythonScriptException;
+import com.github.adchilds.jython.exception.UncheckedJythonScriptException;
+import org.python.core.Py;
+import org.python.core.PyCode;
+import org.python.core.PyObject;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Implements a Java interface by calling the same-named methods of a Python object. Every method is resolved to its
+ * bound Python method, and its return conversion chosen, once when the proxy is created, so that each call is a map
+ * lookup, the conversion of its arguments and a single Python call.
+ *
+ * Default methods the Python object does not define run their Java implementation, and methods with the signature of
+ * an {@link Object} method, such as {@link java.util.Comparator#equals(Object)}, behave as they do for any proxy.
+ *
+ * Failures within a Python method are thrown as an {@link UncheckedJythonScriptException}, as interface methods cannot
+ * be assumed to declare a checked exception.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+final class InterfaceProxy implements InvocationHandler {
+
+    // InvocationHandler.invokeDefault, on Java 16 and later
+    private static final Method INVOKE_DEFAULT = findInvokeDefault();
+
+    private final JythonObject target;
+    private final Map<Method, Dispatch> dispatches;
+    private final Map<Method, MethodHandle> defaults;
+
+    private InterfaceProxy(final JythonObject target, final Map<Method, Dispatch> dispatches,
+                           final Map<Method, MethodHandle> defaults) {
+        this.target = target;
+        this.dispatches = dispatches;
+        this.defaults = defaults;
+    }
+
+    /**
+     * Creates an implementation of the given interface backed by the given Python object. If the object's class already
+     * implements the interface in Python, the object itself is returned.
+     *
+     * @param pyCode the script the object's class was defined by
+     * @param target the Python object implementing the interface's methods
+     * @param type the interface to implement
+     * @param <T> the type of the interface
+     * @return an implementation of the given interface
+     * @throws JythonScriptException when the given type is null or not an interface, or the object lacks one of its
+     * abstract methods
+     * @since 3.0
+     */
+    static <T> T create(final PyCode pyCode, final JythonObject target, final Class<T> type) throws JythonScriptException {
+        if (type == null || !type.isInterface()) {
+            throw new JythonScriptException("Python objects can only be bound to Java interfaces. type=[" + type + "]");
+        }
+
+        // A Python class extending the interface is already a Java implementation of it
+        final Object java = target.getPyObject().__tojava__(type);
+        if (java != Py.NoConversion && type.isInstance(java)) {
+            return type.cast(java);
+        }
+
+        final Map<Method, Dispatch> dispatches = new HashMap<>();
+        final Map<Method, MethodHandle> defaults = new HashMap<>();
+        for (final Method method : type.getMethods()) {
+            // Proxies always dispatch Object's methods as Object's, even where the interface redeclares them
+            if (Modifier.isStatic(method.getModifiers()) || isObjectMethod(method)) {
+                continue;
+            }
+
+            final PyObject callable = target.getPyObject().__findattr__(method.getName());
+            if (callable != null && callable.isCallable()) {
+                dispatches.put(method, new Dispatch(pyCode, method, callable));
+            } else if (method.isDefault()) {
+                defaults.put(method, findDefault(type, method));
+            } else {
+                throw new JythonScriptException("Python object does not implement interface method. type=[" +
+                        type.getName() + "], method=[" + method.getName() + "]");
+            }
+        }
+
+        final Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type },
+                new InterfaceProxy(target, dispatches, defaults));
+
+        return type.cast(proxy);
+    }
+
+    @Override
+    public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+        final Dispatch dispatch = dispatches.get(method);
+
+        if (dispatch != null) {
+            return dispatch.call(args);
+        }
+
+        if (defaults.containsKey(method)) {
+            return invokeDefault(proxy, method, args);
+        }
+
+        // Methods of Object, which the interface does not declare
+        switch (method.getName()) {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "toString":
+                return "InterfaceProxy[" + target + "]";
+            default:
+                throw new UnsupportedOperationException("Method not implemented by Python object. method=[" + method + "]");
+        }
+    }
+
+    /**
+     * Runs the Java implementation of the given default method.
+     *
+     * @param proxy the proxy the method was called on
+     * @param method the default method
+     * @param args the arguments of the method, or null if it has none
+     * @return the result of the default method
+     * @throws Throwable whatever the default method throws
+     * @since 3.0
+     */
+    private Object invokeDefault(final Object proxy, final Method method, final Object[] args) throws Throwable {
+        if (INVOKE_DEFAULT != null) {
+            try {
+                return INVOKE_DEFAULT.invoke(null, proxy, method, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        return defaults.get(method).bindTo(proxy).invokeWithArguments(args == null ? new Object[0] : args);
+    }
+
+    /**
+     * @param method an interface method
+     * @return true if the given method has the signature of a public method of {@link Object}
+     * @since 3.0
+     */
+    private static boolean isObjectMethod(final Method method) {
+        try {
+            Object.class.getMethod(method.getName(), method.getParameterTypes());
+
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Resolves a handle on the given default method, for Java versions which cannot invoke it through {@link
+     * #INVOKE_DEFAULT}. Java 9 to 15 look it up through {@code MethodHandles.privateLookupIn}, and Java 8 through a
+     * {@link MethodHandles.Lookup} with private access to the method's interface.
+     *
+     * @param type the interface being implemented
+     * @param method a default method of the interface
+     * @return a handle on the default method, or null where {@link #INVOKE_DEFAULT} is available
+     * @throws JythonScriptException when the default method cannot be accessed
+     * @since 3.0
+     */
+    private static MethodHandle findDefault(final Class<?> type, final Method method) throws JythonScriptException {
+        if (INVOKE_DEFAULT != null) {
+            return null;
+        }
+
+        final Class<?> declaringClass = method.getDeclaringClass();
+        try {
+            MethodHandles.Lookup lookup;
+            try {
+                final Method privateLookupIn = MethodHandles.class.getMethod("privateLookupIn", Class.class,
+                        MethodHandles.Lookup.class);
+
+                lookup = (MethodHandles.Lookup) privateLookupIn.invoke(null, declaringClass, MethodHandles.lookup());
+            } catch (NoSuchMethodException e) {
+                final Constructor<MethodHandles.Lookup> constructor =
+                        MethodHandles.Lookup.class.getDeclaredConstructor(Class.class, int.class);
+                constructor.setAccessible(true);
+
+                lookup = constructor.newInstance(declaringClass, MethodHandles.Lookup.PRIVATE);
+            }
+
+            return lookup.unreflectSpecial(method, declaringClass);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            throw new JythonScriptException("Python object does not implement interface method, and its default " +
+                    "cannot be accessed. type=[" + type.getName() + "], method=[" + method.getName() + "]", e);
+        }
+    }
+
+    /**
+     * @return {@code InvocationHandler.invokeDefault}, or null before Java 16
+     * @since 3.0
+     */
+    private static Method findInvokeDefault() {
+        try {
+            return InvocationHandler.class.getMethod("invokeDefault", Object.class, Method.class, Object[].class);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    /**
+     * A single interface method, resolved to its bound Python method.
+     *
+     * @since 3.0
+     */
+    private static final class Dispatch {
+
+        private final PyCode pyCode;
+        private final String name;
+        private final PyObject callable;
+        private final Class<?> returnType;
+
+        private Dispatch(final PyCode pyCode, final Method method, final PyObject callable) {
+            this.pyCode = pyCode;
+            this.name = method.getName();
+            this.callable = callable;
+            this.returnType = method.getReturnType();
+        }
+
+        /**
+         * @param args the arguments of the interface method, or null if it has none
+         * @return the result of the Python method, converted to the interface method's return type
+         * @throws UncheckedJythonScriptException when the call fails or its result cannot be converted
+         * @since 3.0
+         */
+        private Object call(final Object[] args) {
+            final PyObject result;
+            try {
+                result = JythonModule.callRaw(pyCode, callable, name, args);
+            } catch (JythonScriptException e) {
+                throw new UncheckedJythonScriptException(e);
+            }
+
+            if (returnType == void.class) {
+                return null;
+            }
+
+            if (returnType == Object.class) {
+                return ResultParser.parse(result);
+            }
+
+            final Object converted = result.__tojava__(returnType);
+            if (converted == Py.NoConversion || (converted == null && returnType.isPrimitive())) {
+                throw new UncheckedJythonScriptException(new JythonScriptException("Python method returned a value " +
+                        "that cannot be converted. method=[" + name + "], returnType=[" + returnType.getName() +
+                        "], type=[" + result.getType().getName() + "]"));
+            }
+
+            return converted;
+        }
+
+    }
+
+}
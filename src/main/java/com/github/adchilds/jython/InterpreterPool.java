@@ -0,0 +1,167 @@
+package com.github.adchilds.jython;
+
+import com.github.adchilds.jython.exception.JythonScriptException;
+import org.python.core.PyCode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A bounded pool of pre-initialized {@link ScriptInterpreter}s. Interpreters are borrowed for the duration of a single
+ * script execution and reset before being returned, so that the expensive construction of a {@link
+ * org.python.core.PySystemState} and {@link org.python.util.PythonInterpreter} is paid once per pooled interpreter
+ * rather than once per execution.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+final class InterpreterPool implements InterpreterSource {
+
+    private final BlockingQueue<ScriptInterpreter> idle;
+    private final int size;
+    private final long borrowTimeoutNanos;
+
+    private volatile boolean closed;
+
+    /**
+     * Creates a new pool, eagerly initializing {@code size} interpreters.
+     *
+     * @param size the number of interpreters to maintain
+     * @param borrowTimeout the maximum amount of time to wait for an interpreter to become available
+     * @param unit the {@link TimeUnit} of the {@code borrowTimeout}
+     * @since 3.0
+     */
+    InterpreterPool(final int size, final long borrowTimeout, final TimeUnit unit) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Pool size must be at least 1. size=[" + size + "]");
+        }
+
+        this.idle = new ArrayBlockingQueue<>(size);
+        this.size = size;
+        this.borrowTimeoutNanos = unit.toNanos(borrowTimeout);
+
+        // Pay the cost of initializing each interpreter up front, rather than on first use
+        for (int i = 0; i < size; i++) {
+            idle.add(new ScriptInterpreter());
+        }
+    }
+
+    /**
+     * Borrows an interpreter from this pool, waiting up to the configured borrow timeout for one to become available.
+     * Every borrowed interpreter must be handed back via {@link #release(ScriptInterpreter)}.
+     *
+     * @return an idle {@link ScriptInterpreter}
+     * @throws JythonScriptException when the pool is closed, the timeout elapses, or the calling thread is interrupted
+     * @since 3.0
+     */
+    @Override
+    public ScriptInterpreter borrow() throws JythonScriptException {
+        if (closed) {
+            throw new JythonScriptException("Cannot borrow an interpreter from a closed pool.");
+        }
+
+        final ScriptInterpreter interpreter;
+        try {
+            interpreter = idle.poll(borrowTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+
+            throw new JythonScriptException("Interrupted while waiting for an available interpreter.", e);
+        }
+
+        if (interpreter == null) {
+            throw new JythonScriptException("Timed out waiting for an available interpreter. timeout=[" +
+                    TimeUnit.NANOSECONDS.toMillis(borrowTimeoutNanos) + "ms]");
+        }
+
+        return interpreter;
+    }
+
+    /**
+     * Resets the given interpreter and returns it to this pool.
+     *
+     * @param interpreter the interpreter previously obtained from {@link #borrow()}
+     * @since 3.0
+     */
+    @Override
+    public void release(final ScriptInterpreter interpreter) {
+        interpreter.reset();
+
+        if (closed) {
+            interpreter.close();
+            return;
+        }
+
+        idle.offer(interpreter);
+
+        // The pool may have been closed while this interpreter was being returned
+        if (closed && idle.remove(interpreter)) {
+            interpreter.close();
+        }
+    }
+
+    /**
+     * Executes the given script once in every interpreter of this pool, keeping the modules it imports loaded across
+     * later resets. Every interpreter is borrowed at once, so that each one is visited exactly once.
+     *
+     * @param imports the compiled script to execute in each interpreter
+     * @throws JythonScriptException when an interpreter cannot be borrowed or the script fails
+     * @since 3.0
+     */
+    @Override
+    public void initialize(final PyCode imports) throws JythonScriptException {
+        final List<ScriptInterpreter> interpreters = new ArrayList<>(size);
+
+        try {
+            for (int i = 0; i < size; i++) {
+                final ScriptInterpreter interpreter = borrow();
+                interpreters.add(interpreter);
+
+                JythonEngine.exec(interpreter.prepare(), imports);
+                interpreter.snapshot();
+            }
+        } finally {
+            for (final ScriptInterpreter interpreter : interpreters) {
+                release(interpreter);
+            }
+        }
+    }
+
+    /**
+     * @return the total number of interpreters managed by this pool
+     * @since 3.0
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the number of interpreters currently available to be borrowed
+     * @since 3.0
+     */
+    @Override
+    public int available() {
+        return idle.size();
+    }
+
+    /**
+     * Closes this pool. Idle interpreters are cleaned up immediately; interpreters that are currently borrowed are
+     * cleaned up as they are released.
+     *
+     * @since 3.0
+     */
+    @Override
+    public void close() {
+        closed = true;
+
+        ScriptInterpreter interpreter;
+        while ((interpreter = idle.poll()) != null) {
+            interpreter.close();
+        }
+    }
+
+}
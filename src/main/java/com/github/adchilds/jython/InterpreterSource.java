@@ -0,0 +1,63 @@
+package com.github.adchilds.jython;
+
+import com.github.adchilds.jython.exception.JythonScriptException;
+import org.python.core.PyCode;
+
+/**
+ * Supplies the {@link ScriptInterpreter}s used by a {@link JythonEngine}: either a shared {@link InterpreterPool}, or
+ * {@link ThreadConfinedInterpreters} owned by each calling thread.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+interface InterpreterSource {
+
+    /**
+     * Obtains an interpreter for the exclusive use of the calling thread. Every interpreter obtained must be handed
+     * back via {@link #release(ScriptInterpreter)}.
+     *
+     * @return an idle {@link ScriptInterpreter}
+     * @throws JythonScriptException when this source is closed, or no interpreter becomes available
+     * @since 3.0
+     */
+    ScriptInterpreter borrow() throws JythonScriptException;
+
+    /**
+     * Resets the given interpreter and hands it back to this source. May be called from any thread.
+     *
+     * @param interpreter the interpreter previously obtained from {@link #borrow()}
+     * @since 3.0
+     */
+    void release(ScriptInterpreter interpreter);
+
+    /**
+     * Executes the given script, typically a warm-up's imports, in this source's interpreters, so that the modules it
+     * imports remain loaded for later scripts.
+     *
+     * @param imports the compiled script to execute in each interpreter
+     * @throws JythonScriptException when an interpreter cannot be obtained or the script fails
+     * @since 3.0
+     */
+    void initialize(PyCode imports) throws JythonScriptException;
+
+    /**
+     * @return the number of scripts this source is sized to execute concurrently
+     * @since 3.0
+     */
+    int size();
+
+    /**
+     * @return the number of interpreters currently idle
+     * @since 3.0
+     */
+    int available();
+
+    /**
+     * Closes this source. Idle interpreters are cleaned up immediately; interpreters that are in use are cleaned up as
+     * they are released.
+     *
+     * @since 3.0
+     */
+    void close();
+
+}
@@ -0,0 +1,46 @@
+package com.github.adchilds.jython;
+
+import org.python.core.PyCode;
+
+import javax.script.CompiledScript;
+import javax.script.ScriptContext;
+import javax.script.ScriptEngine;
+import javax.script.ScriptException;
+
+/**
+ * A script compiled by a {@link JythonScriptEngine}, which may be evaluated repeatedly without being parsed or compiled
+ * again. Its {@link PyCode} is that held by the engine's {@link ScriptCache}, and may also be given to a {@link
+ * JythonEngine} or {@link JythonScript} directly.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+public final class JythonCompiledScript extends CompiledScript {
+
+    private final JythonScriptEngine engine;
+    private final PyCode pyCode;
+
+    JythonCompiledScript(final JythonScriptEngine engine, final PyCode pyCode) {
+        this.engine = engine;
+        this.pyCode = pyCode;
+    }
+
+    @Override
+    public Object eval(final ScriptContext context) throws ScriptException {
+        return engine.eval(pyCode, context);
+    }
+
+    @Override
+    public ScriptEngine getEngine() {
+        return engine;
+    }
+
+    /**
+     * @return the compiled Jython script
+     * @since 3.0
+     */
+    public PyCode getPyCode() {
+        return pyCode;
+    }
+
+}
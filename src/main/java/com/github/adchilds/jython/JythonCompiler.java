@@ -0,0 +1,432 @@
+package com.github.adchilds.jython;
+
+import com.github.adchilds.jython.exception.JythonScriptException;
+import com.github.adchilds.util.StringUtils;
+import org.python.antlr.base.mod;
+import org.python.compiler.Module;
+import org.python.core.CompileMode;
+import org.python.core.CompilerFlags;
+import org.python.core.ParserFacade;
+import org.python.core.Py;
+import org.python.core.PyCode;
+import org.python.core.PySystemState;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Compiles Jython source into {@link PyCode} objects without constructing a {@link org.python.util.PythonInterpreter}.
+ * All compilation happens against the single, shared Jython runtime, which is initialized once on first use (see {@link
+ * RuntimeConfiguration}).
+ *
+ * A JythonCompiler is stateless and thread-safe; any number of scripts may be compiled concurrently, either by calling
+ * {@link #compile(String, String)} from many threads or by handing a batch of scripts to {@link #compileAll(Map)}.
+ *
+ * A JythonCompiler may be backed by a {@link BytecodeCache}, in which case the bytecode generated for each script is
+ * persisted to disk and reused by later JVMs rather than compiling the script again.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+public class JythonCompiler {
+
+    /**
+     * The filename attributed to compiled code when no filename is given.
+     */
+    public static final String DEFAULT_FILENAME = "<script>";
+
+    private static final Object RUNTIME_LOCK = new Object();
+    private static volatile RuntimeConfiguration runtimeConfiguration;
+
+    private final BytecodeCache bytecodeCache;
+
+    /**
+     * Creates a new compiler. If the {@link BytecodeCache#DIRECTORY_PROPERTY} system property names a directory,
+     * compiled bytecode is cached within it; otherwise nothing is cached on disk.
+     *
+     * @since 3.0
+     */
+    public JythonCompiler() {
+        this.bytecodeCache = BytecodeCache.fromSystemProperty();
+    }
+
+    /**
+     * Creates a new compiler that persists the bytecode of each compiled script in the given {@link BytecodeCache}.
+     *
+     * @param bytecodeCache the on-disk cache of compiled scripts
+     * @since 3.0
+     */
+    public JythonCompiler(final BytecodeCache bytecodeCache) {
+        if (bytecodeCache == null) {
+            throw new IllegalArgumentException("Bytecode cache must not be null.");
+        }
+
+        this.bytecodeCache = bytecodeCache;
+    }
+
+    /**
+     * Compiles the given Jython source, attributing it to {@link #DEFAULT_FILENAME} in tracebacks.
+     *
+     * @param source the Jython script to compile
+     * @return a compiled Jython script
+     * @throws JythonScriptException when the given script is null, empty or cannot be compiled
+     * @since 3.0
+     */
+    public PyCode compile(final String source) throws JythonScriptException {
+        if (StringUtils.isBlank(source)) {
+            throw new JythonScriptException("Given script was null or empty; cannot be compiled into PyCode.");
+        }
+
+        return compile(source, DEFAULT_FILENAME);
+    }
+
+    /**
+     * Compiles the given Jython source, attributing it to the given {@code filename} in tracebacks. Empty source, such
+     * as that of an empty file, compiles to code which does nothing.
+     *
+     * @param source the Jython script to compile
+     * @param filename the name attributed to the compiled code in tracebacks
+     * @return a compiled Jython script
+     * @throws JythonScriptException when the given script is null or cannot be compiled
+     * @since 3.0
+     */
+    public PyCode compile(final String source, final String filename) throws JythonScriptException {
+        if (source == null) {
+            throw new JythonScriptException("Given script was null; cannot be compiled into PyCode.");
+        }
+
+        initializeRuntime();
+
+        final String name = filename == null ? DEFAULT_FILENAME : filename;
+        final long start = JythonMetrics.start();
+
+        // Compile the script, returning the associated PyCode object
+        final PyCode pyCode;
+        try {
+            if (bytecodeCache != null) {
+                pyCode = bytecodeCache.get(source, name);
+            } else {
+                pyCode = Py.compile_flags(source, name, CompileMode.exec, new CompilerFlags());
+            }
+        } catch (Exception e) {
+            JythonMetrics.recordError(name, e);
+
+            throw new JythonScriptException("Could not compile the given script. filename=[" + name + "]", e);
+        }
+
+        JythonMetrics.record(JythonMetrics.Phase.COMPILE, name, start);
+
+        return pyCode;
+    }
+
+    /**
+     * Compiles the given Jython file, attributing it to the file's absolute path in tracebacks. The file is decoded as
+     * {@link org.python.util.PythonInterpreter#execfile(java.io.InputStream)} would, honouring any PEP 263 encoding
+     * declaration, such as {@code # -*- coding: latin-1 -*-}, and keeping the encoded bytes of {@code str} literals.
+     *
+     * @param file the Jython file to compile
+     * @return a compiled Jython script
+     * @throws JythonScriptException when the given file is null, cannot be read or cannot be compiled
+     * @since 3.0
+     */
+    public PyCode compile(final File file) throws JythonScriptException {
+        if (file == null) {
+            throw new JythonScriptException("Given file is null; cannot be compiled into PyCode.");
+        }
+
+        return compile(read(file), file.getAbsolutePath());
+    }
+
+    /**
+     * Compiles the given encoded Jython source, such as the contents of a file, attributing it to the given {@code
+     * filename} in tracebacks. The source is decoded according to its PEP 263 encoding declaration, if it has one.
+     *
+     * @param source the encoded Jython script to compile
+     * @param filename the name attributed to the compiled code in tracebacks
+     * @return a compiled Jython script
+     * @throws JythonScriptException when the given script is null or cannot be compiled
+     * @since 3.0
+     */
+    PyCode compile(final byte[] source, final String filename) throws JythonScriptException {
+        if (source == null) {
+            throw new JythonScriptException("Given script was null; cannot be compiled into PyCode.");
+        }
+
+        initializeRuntime();
+
+        final String name = filename == null ? DEFAULT_FILENAME : filename;
+        final long start = JythonMetrics.start();
+
+        final PyCode pyCode;
+        try {
+            if (bytecodeCache != null) {
+                pyCode = bytecodeCache.get(source, name);
+            } else {
+                pyCode = Py.compile_flags(new ByteArrayInputStream(source), name, CompileMode.exec,
+                        new CompilerFlags());
+            }
+        } catch (Exception e) {
+            JythonMetrics.recordError(name, e);
+
+            throw new JythonScriptException("Could not compile the given script. filename=[" + name + "]", e);
+        }
+
+        JythonMetrics.record(JythonMetrics.Phase.COMPILE, name, start);
+
+        return pyCode;
+    }
+
+    /**
+     * Reads the bytes of the given Jython file, recording the time taken in {@link JythonMetrics}. The bytes are left
+     * for the compiler to decode, as the file may declare its own encoding.
+     *
+     * @param file the Jython file to read
+     * @return the contents of the given file
+     * @throws JythonScriptException when the given file cannot be read
+     * @since 3.0
+     */
+    static byte[] read(final File file) throws JythonScriptException {
+        final long start = JythonMetrics.start();
+
+        final byte[] source;
+        try {
+            source = Files.readAllBytes(file.toPath());
+        } catch (IOException e) {
+            JythonMetrics.recordError(file.getAbsolutePath(), e);
+
+            throw new JythonScriptException("Could not read the contents of the given file. file=[" +
+                    file.getAbsolutePath() + "]", e);
+        }
+
+        JythonMetrics.record(JythonMetrics.Phase.READ, file.getAbsolutePath(), start);
+
+        return source;
+    }
+
+    /**
+     * Compiles each of the given scripts concurrently on a pool of daemon threads shared by all compilers, with one
+     * thread per available processor. Idle threads exit after a minute.
+     *
+     * @param sources the scripts to compile, keyed by the filename attributed to each in tracebacks
+     * @return the compiled scripts, keyed by filename in the iteration order of {@code sources}
+     * @throws JythonScriptException when the given scripts are null, or any of them cannot be compiled
+     * @since 3.0
+     */
+    public Map<String, PyCode> compileAll(final Map<String, String> sources) throws JythonScriptException {
+        return compileAll(sources, CompilerThreads.EXECUTOR);
+    }
+
+    /**
+     * Compiles each of the given scripts concurrently using the given {@link Executor}.
+     *
+     * @param sources the scripts to compile, keyed by the filename attributed to each in tracebacks
+     * @param executor the executor to compile the scripts on
+     * @return the compiled scripts, keyed by filename in the iteration order of {@code sources}
+     * @throws JythonScriptException when the given scripts or executor are null, or any of the scripts cannot be
+     * compiled
+     * @since 3.0
+     */
+    public Map<String, PyCode> compileAll(final Map<String, String> sources, final Executor executor)
+            throws JythonScriptException {
+        if (sources == null) {
+            throw new JythonScriptException("Given scripts were null; cannot be compiled into PyCode.");
+        }
+
+        if (executor == null) {
+            throw new JythonScriptException("Given executor was null; cannot compile scripts without one.");
+        }
+
+        final List<String> filenames = new ArrayList<>(sources.keySet());
+        final List<CompletableFuture<PyCode>> futures = new ArrayList<>(filenames.size());
+
+        for (final String filename : filenames) {
+            final String source = sources.get(filename);
+
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return compile(source, filename);
+                } catch (JythonScriptException e) {
+                    throw new CompletionException(e);
+                }
+            }, executor));
+        }
+
+        final Map<String, PyCode> compiled = new LinkedHashMap<>();
+        for (int i = 0; i < filenames.size(); i++) {
+            try {
+                compiled.put(filenames.get(i), futures.get(i).join());
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof JythonScriptException) {
+                    throw (JythonScriptException) e.getCause();
+                }
+
+                throw new JythonScriptException("Could not compile the given script. filename=[" +
+                        filenames.get(i) + "]", e.getCause());
+            }
+        }
+
+        return compiled;
+    }
+
+    /**
+     * Initializes the shared Jython runtime with {@link RuntimeConfiguration#defaults()}, if it has not been
+     * initialized already.
+     *
+     * @since 3.0
+     */
+    static void initializeRuntime() {
+        if (runtimeConfiguration == null) {
+            synchronized (RUNTIME_LOCK) {
+                if (runtimeConfiguration == null) {
+                    RuntimeConfiguration.defaults().apply();
+                    runtimeConfiguration = RuntimeConfiguration.defaults();
+                }
+            }
+        }
+    }
+
+    /**
+     * Initializes the shared Jython runtime with the given {@link RuntimeConfiguration}.
+     *
+     * @param configuration the configuration to initialize the runtime with
+     * @throws JythonScriptException when the runtime has already been initialized
+     * @since 3.0
+     */
+    static void configureRuntime(final RuntimeConfiguration configuration) throws JythonScriptException {
+        synchronized (RUNTIME_LOCK) {
+            // Jython silently ignores any attempt to initialize it a second time
+            if (runtimeConfiguration != null || PySystemState.registry != null) {
+                throw new JythonScriptException("The Jython runtime has already been initialized; it must be " +
+                        "configured before any script is compiled or executed. configuration=[" +
+                        runtimeConfiguration + "]");
+            }
+
+            configuration.apply();
+            runtimeConfiguration = configuration;
+        }
+    }
+
+    /**
+     * @return the configuration the shared Jython runtime was initialized with, or null if it is not yet initialized
+     * @since 3.0
+     */
+    static RuntimeConfiguration getRuntimeConfiguration() {
+        return runtimeConfiguration;
+    }
+
+    /**
+     * @return the on-disk cache backing this compiler, or null if compiled scripts are not cached on disk
+     * @since 3.0
+     */
+    public BytecodeCache getBytecodeCache() {
+        return bytecodeCache;
+    }
+
+    /**
+     * Compiles the given Jython source into the bytecode of a Java class named {@code className}, exactly as {@link
+     * Py#compile_flags(String, String, CompileMode, CompilerFlags)} does before loading the class.
+     *
+     * @param source the Jython script to compile
+     * @param filename the name attributed to the compiled code in tracebacks
+     * @param className the fully qualified name of the generated class
+     * @return the generated class file
+     * @throws Exception when the given script cannot be compiled
+     * @since 3.0
+     */
+    static byte[] compileToBytecode(final String source, final String filename, final String className)
+            throws Exception {
+        if (source.contains("\0")) {
+            throw Py.TypeError("compile() expected string without null bytes");
+        }
+
+        final CompilerFlags flags = new CompilerFlags();
+        final mod node = ParserFacade.parse(source + "\n\n", CompileMode.exec, filename, flags);
+
+        return compileToBytecode(node, filename, className, flags);
+    }
+
+    /**
+     * Compiles the given encoded Jython source into the bytecode of a Java class named {@code className}, exactly as
+     * {@link Py#compile_flags(java.io.InputStream, String, CompileMode, CompilerFlags)} does before loading the class.
+     *
+     * @param source the encoded Jython script to compile
+     * @param filename the name attributed to the compiled code in tracebacks
+     * @param className the fully qualified name of the generated class
+     * @return the generated class file
+     * @throws Exception when the given script cannot be compiled
+     * @since 3.0
+     */
+    static byte[] compileToBytecode(final byte[] source, final String filename, final String className)
+            throws Exception {
+        // Parsing records the declared encoding in the flags, which the compiler encodes str literals with
+        final CompilerFlags flags = new CompilerFlags();
+        final mod node = ParserFacade.parse(new ByteArrayInputStream(source), CompileMode.exec, filename, flags);
+
+        return compileToBytecode(node, filename, className, flags);
+    }
+
+    /**
+     * @param node the parsed script
+     * @param filename the name attributed to the compiled code in tracebacks
+     * @param className the fully qualified name of the generated class
+     * @param flags the flags the script was parsed with
+     * @return the generated class file
+     * @throws Exception when the given script cannot be compiled
+     * @since 3.0
+     */
+    private static byte[] compileToBytecode(final mod node, final String filename, final String className,
+                                            final CompilerFlags flags) throws Exception {
+        final ByteArrayOutputStream bytecode = new ByteArrayOutputStream();
+        Module.compile(node, bytecode, className, filename, true, false, flags);
+
+        return bytecode.toByteArray();
+    }
+
+    /**
+     * Holds the threads {@link #compileAll(Map)} compiles on, which are created on first use.
+     *
+     * @since 3.0
+     */
+    private static final class CompilerThreads {
+
+        private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+        private static final Executor EXECUTOR = create();
+
+        /**
+         * @return a pool of daemon threads, one per available processor, whose idle threads exit after a minute
+         * @since 3.0
+         */
+        private static Executor create() {
+            final ThreadFactory threadFactory = runnable -> {
+                final Thread thread = new Thread(runnable, "jythonscript-compiler-" + THREAD_COUNT.incrementAndGet());
+                thread.setDaemon(true);
+
+                return thread;
+            };
+
+            final int threads = Runtime.getRuntime().availableProcessors();
+            final ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(), threadFactory);
+            executor.allowCoreThreadTimeOut(true);
+
+            return executor;
+        }
+
+    }
+
+}
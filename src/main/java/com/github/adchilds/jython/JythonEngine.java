@@ -0,0 +1,1648 @@
+package com.github.adchilds.jython;
+
+import com.github.adchilds.jython.exception.JythonResultNotFoundException;
+import com.github.adchilds.jython.exception.JythonScriptBudgetExceededException;
+import com.github.adchilds.jython.exception.JythonScriptException;
+import com.github.adchilds.jython.exception.JythonScriptTimeoutException;
+import com.github.adchilds.jython.exception.UncheckedJythonScriptException;
+import org.python.core.PyCode;
+import org.python.core.PyObject;
+import org.python.util.PythonInterpreter;
+
+import java.io.File;
+import java.io.InputStream;
+import java.net.URL;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * {@link JythonEngine} is an instance-based alternative to the static {@link JythonScript} facade. Where JythonScript
+ * constructs a brand new {@link org.python.core.PySystemState} and {@link PythonInterpreter} for every call, a
+ * JythonEngine maintains a bounded pool of pre-initialized interpreters which are borrowed for each execution, cleaned
+ * and then returned to the pool. This removes interpreter construction from the per-call cost of short scripts.
+ *
+ * Scripts executed by a JythonEngine follow exactly the same rules as those executed by JythonScript: they must be
+ * setup as a standard Python main module, evaluation results must be stored in a local variable named 'result', and
+ * arguments are available via 'sys.argv' beginning at the second index.
+ *
+ * Between executions, a pooled interpreter's '__main__' namespace, 'sys.argv', 'sys.path', standard streams and loaded
+ * modules are restored, so a module imported by one script is imported again by the next; import frequently used
+ * modules with a {@link Warmup} to keep them loaded. Changes made to a module's contents, such as replacing one of its
+ * functions, are not undone and are seen by later scripts on the same interpreter.
+ *
+ * <pre>
+ * {@code try (JythonEngine engine = JythonEngine.builder().poolSize(4).build()) {
+ *     PyCode compiledScript = JythonScript.compile(filePath);
+ *     Object result = engine.evaluate(compiledScript, 5, 5);
+ * }
+ * }
+ * </pre>
+ *
+ * A JythonEngine is thread-safe; concurrent callers are limited only by the size of its interpreter pool. Engines
+ * should be closed when no longer needed to release the pooled interpreters.
+ *
+ * Alternatively, an engine built with {@link Builder#threadConfined(boolean)} gives each calling thread its own
+ * long-lived interpreter, so that concurrent scripts never contend over a shared pool.
+ *
+ * Each {@code #evaluate(...)} and {@code #execute(...)} function that accepts a compiled script or script location has
+ * an asynchronous counterpart, such as {@link #evaluateAsync(PyCode, Object...)}, which returns a {@link
+ * CompletableFuture} immediately and runs the script on the engine's bounded executor. Queue depth and latency of
+ * asynchronous executions are available via {@link #getAsyncStats()}. Cancelling the returned future, or completing
+ * it by other means such as {@code orTimeout}, stops the script at its next line, or interrupts it if it is blocked;
+ * {@link #evaluate(PyCode, Duration, Object...)} similarly stops scripts that run past a timeout, and {@link
+ * #evaluate(PyCode, ExecutionBudget, Object...)} scripts that exceed an {@link ExecutionBudget}. So that it can be
+ * stopped, each asynchronous execution is traced at every line of its script, costing a few percent on scripts which
+ * spend their time running short Python lines.
+ *
+ * To evaluate one compiled script over many argument sets, use {@link #evaluateBatch(PyCode, List, int)}, which keeps
+ * one interpreter per worker for the whole batch rather than borrowing an interpreter for every evaluation.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+public class JythonEngine implements AutoCloseable {
+
+    private static final String EVALUATION_RESULT_LOCAL_VARIABLE = "result";
+    private static final int CHUNKS_PER_WORKER = 4;
+    private static final int MAX_CHUNK_SIZE = 1024;
+    private static final AtomicInteger BATCH_THREAD_COUNT = new AtomicInteger();
+
+    private final InterpreterSource pool;
+    private final ScriptCache scriptCache;
+    private final ResultConversion resultConversion;
+    private final AsyncDispatcher asyncDispatcher;
+    private final ThreadPoolExecutor batchExecutor;
+    private final CompletableFuture<Void> readiness;
+
+    /**
+     * Creates a new engine from the given {@link Builder}'s configuration.
+     *
+     * @param builder the configuration for this engine
+     * @since 3.0
+     */
+    private JythonEngine(final Builder builder) {
+        this.pool = builder.threadConfined
+                ? new ThreadConfinedInterpreters(builder.poolSize)
+                : new InterpreterPool(builder.poolSize, builder.borrowTimeout, builder.borrowTimeoutUnit);
+        this.scriptCache = builder.scriptCache;
+        this.resultConversion = builder.resultConversion;
+
+        if (builder.asyncExecutor != null) {
+            this.asyncDispatcher = new AsyncDispatcher(builder.asyncExecutor);
+        } else if (builder.virtualThreads) {
+            this.asyncDispatcher = AsyncDispatcher.virtual(builder.poolSize, builder.asyncQueueCapacity);
+        } else {
+            this.asyncDispatcher = AsyncDispatcher.bounded(builder.poolSize, builder.asyncQueueCapacity);
+        }
+
+        this.batchExecutor = batchExecutor(builder.poolSize);
+
+        this.readiness = builder.warmup == null ? CompletableFuture.completedFuture(null) : warmup(builder.warmup);
+    }
+
+    /**
+     * @return a new {@link Builder} for configuring a {@link JythonEngine}
+     * @since 3.0
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Evaluates the Jython script at the given {@code scriptPath}, returning the result as its equivalent Java type.
+     *
+     * @param scriptPath the fully qualified path of the Jython script to execute
+     * @param args arguments to be passed to the script via 'sys.argv'
+     * @return the result from executing the given script
+     * @throws JythonScriptException when the given file path is null, a directory, or cannot be found
+     * @see JythonScript#evaluate(String, Object...)
+     * @since 3.0
+     */
+    public Object evaluate(final String scriptPath, final Object... args) throws JythonScriptException {
+        return evaluate(scriptCache.get(JythonScript.resolveScript(scriptPath)), args);
+    }
+
+    /**
+     * Evaluates the Jython script at the given {@code scriptUrl}, returning the result as its equivalent Java type.
+     *
+     * @param scriptUrl the {@link URL} to a Jython script to execute
+     * @param args arguments to be passed to the script via 'sys.argv'
+     * @return the result from executing the given script
+     * @throws JythonScriptException when the given script is null, a directory, or cannot be found
+     * @see JythonScript#evaluate(URL, Object...)
+     * @since 3.0
+     */
+    public Object evaluate(final URL scriptUrl, final Object... args) throws JythonScriptException {
+        return evaluate(scriptCache.get(JythonScript.resolveScript(scriptUrl)), args);
+    }
+
+    /**
+     * Evaluates the given Jython script, returning the result as its equivalent Java type.
+     *
+     * @param scriptFile the Jython script to execute
+     * @param args arguments to be passed to the script via 'sys.argv'
+     * @return the result from executing the given script
+     * @throws JythonScriptException when the given file is null, a directory, or cannot be found
+     * @see JythonScript#evaluate(File, Object...)
+     * @since 3.0
+     */
+    public Object evaluate(final File scriptFile, final Object... args) throws JythonScriptException {
+        return evaluate(scriptCache.get(JythonScript.resolveScript(scriptFile)), args);
+    }
+
+    /**
+     * Evaluates the given Jython script, returning the result as its equivalent Java type.
+     *
+     * @param inputStream the {@link InputStream} that represents the Jython script to be executed
+     * @param args arguments to be passed to the script via 'sys.argv'
+     * @return the result from executing the given script
+     * @throws JythonScriptException when a script execution error occurs or when a local Python variable named 'result' is not found
+     * @see JythonScript#evaluate(InputStream, Object...)
+     * @since 3.0
+     */
+    public Object evaluate(final InputStream inputStream, final Object... args) throws JythonScriptException {
+        if (inputStream == null) {
+            throw new JythonScriptException("Cannot execute a Jython script that doesn't exist! InputStream is null.");
+        }
+
+        return withInterpreter(args, interpreter -> {
+            execfile(interpreter, inputStream);
+
+            return getResult(interpreter, null);
+        });
+    }
+
+    /**
+     * Evaluates the given compiled Jython script, returning the result as its equivalent Java type.
+     *
+     * @param pyCode the compiled Jython script to evaluate
+     * @param args arguments to be passed to the script via 'sys.argv'
+     * @return the result from executing the given script
+     * @throws JythonScriptException when a script execution error occurs or when a local Python variable named 'result' is not found
+     * @see JythonScript#evaluate(PyCode, Object...)
+     * @since 3.0
+     */
+    public Object evaluate(final PyCode pyCode, final Object... args) throws JythonScriptException {
+        if (pyCode == null) {
+            throw new JythonScriptException("Cannot execute a Jython script that doesn't exist! PyCode is null.");
+        }
+
+        return withInterpreter(args, interpreter -> {
+            exec(interpreter, pyCode);
+
+            return getResult(interpreter, pyCode);
+        });
+    }
+
+    /**
+     * Evaluates the given compiled Jython script, returning the result as its equivalent Java type, or stopping the
+     * script if it does not complete within the given timeout. The timeout includes any time spent waiting for an
+     * available interpreter. A stopped script's interpreter is reset and returned to the pool as usual.
+     *
+     * @param pyCode the compiled Jython script to evaluate
+     * @param timeout the maximum time to wait for the script to complete
+     * @param args arguments to be passed to the script via 'sys.argv'
+     * @return the result from executing the given script
+     * @throws JythonScriptTimeoutException when the script does not complete within the given timeout
+     * @throws JythonScriptException when the timeout is not positive, a script execution error occurs or when a local
+     * Python variable named 'result' is not found
+     * @see JythonScript#evaluate(PyCode, Duration, Object...)
+     * @since 3.0
+     */
+    public Object evaluate(final PyCode pyCode, final Duration timeout, final Object... args) throws JythonScriptException {
+        return ExecutionControl.withTimeout(timeout).run(() -> evaluate(pyCode, args));
+    }
+
+    /**
+     * Evaluates the given compiled Jython script, returning the result as its equivalent Java type, or stopping the
+     * script as soon as it exceeds any limit of the given {@link ExecutionBudget}. The result's size is checked before
+     * it is converted. A stopped script's interpreter is reset and returned to the pool as usual.
+     *
+     * @param pyCode the compiled Jython script to evaluate
+     * @param budget the limits the script must execute within
+     * @param args arguments to be passed to the script via 'sys.argv'
+     * @return the result from executing the given script
+     * @throws JythonScriptBudgetExceededException when the script or its result exceeds the given budget
+     * @throws JythonScriptException when the given PyCode or budget is null, a script execution error occurs or when a
+     * local Python variable named 'result' is not found
+     * @see JythonScript#evaluate(PyCode, ExecutionBudget, Object...)
+     * @since 3.0
+     */
+    public Object evaluate(final PyCode pyCode, final ExecutionBudget budget, final Object... args) throws JythonScriptException {
+        if (pyCode == null) {
+            throw new JythonScriptException("Cannot execute a Jython script that doesn't exist! PyCode is null.");
+        }
+
+        final ExecutionControl control = ExecutionControl.withBudget(budget);
+
+        return withInterpreter(args, interpreter -> {
+            // Only the script itself is traced, not borrowing or resetting its interpreter
+            control.run(() -> {
+                exec(interpreter, pyCode);
+                return null;
+            });
+
+            final PyObject result = getPyResult(interpreter);
+            budget.checkResultSize(result);
+
+            return JythonMetrics.convert(pyCode, result, converted -> ResultParser.parse(converted, resultConversion));
+        });
+    }
+
+    /**
+     * Evaluates the Jython script at the given {@code scriptPath}, returning its result alongside the CPU time and heap
+     * allocation of compiling the script, which is free once it is cached, executing it, and converting its result.
+     *
+     * @param scriptPath the fully qualified path of the Jython script to evaluate
+     * @param args arguments to be passed to the script via 'sys.argv'
+     * @return a report of the result and resource usage of the evaluation
+     * @throws JythonScriptException when the given script is null, a directory, or cannot be found, a script execution
+     * error occurs or when a local Python variable named 'result' is not found
+     * @see JythonScript#evaluateWithReport(String, Object...)
+     * @since 3.0
+     */
+    public EvaluationReport evaluateWithReport(final String scriptPath, final Object... args) throws JythonScriptException {
+        final ResourceMeter meter = new ResourceMeter();
+        final File scriptFile = JythonScript.resolveScript(scriptPath);
+
+        return evaluateWithReport(meter, meter.measure(JythonMetrics.Phase.COMPILE, () -> scriptCache.get(scriptFile)), args);
+    }
+
+    /**
+     * Evaluates the given Jython script file, returning its result alongside the CPU time and heap allocation of
+     * compiling the script, which is free once it is cached, executing it, and converting its result.
+     *
+     * @param scriptFile the Jython script to evaluate
+     * @param args arguments to be passed to the script via 'sys.argv'
+     * @return a report of the result and resource usage of the evaluation
+     * @throws JythonScriptException when the given script is null, a directory, or cannot be found, a script execution
+     * error occurs or when a local Python variable named 'result' is not found
+     * @see JythonScript#evaluateWithReport(File, Object...)
+     * @since 3.0
+     */
+    public EvaluationReport evaluateWithReport(final File scriptFile, final Object... args) throws JythonScriptException {
+        final ResourceMeter meter = new ResourceMeter();
+        final File resolvedFile = JythonScript.resolveScript(scriptFile);
+
+        return evaluateWithReport(meter, meter.measure(JythonMetrics.Phase.COMPILE, () -> scriptCache.get(resolvedFile)), args);
+    }
+
+    /**
+     * Evaluates the given compiled Jython script, returning its result alongside the CPU time and heap allocation of
+     * executing it and converting its result. The same usage is added to the script's totals, available via {@link
+     * MetricsSnapshot#getUsage(String)}, whether or not the evaluation succeeds.
+     *
+     * @param pyCode the compiled Jython script to evaluate
+     * @param args arguments to be passed to the script via 'sys.argv'
+     * @return a report of the result and resource usage of the evaluation
+     * @throws JythonScriptException when a script execution error occurs or when a local Python variable named 'result'
+     * is not found
+     * @see JythonScript#evaluateWithReport(PyCode, Object...)
+     * @since 3.0
+     */
+    public EvaluationReport evaluateWithReport(final PyCode pyCode, final Object... args) throws JythonScriptException {
+        return evaluateWithReport(new ResourceMeter(), pyCode, args);
+    }
+
+    /**
+     * Evaluates the given compiled Jython script, returning its result alongside the CPU time and heap allocation of
+     * executing it, converting its result, and, if the given meter has already measured it, compiling it.
+     *
+     * @param meter the meter measuring the evaluation
+     * @param pyCode the compiled Jython script to evaluate
+     * @param args arguments to be passed to the script via 'sys.argv'
+     * @return a report of the result and resource usage of the evaluation
+     * @throws JythonScriptException when a script execution error occurs or when a local Python variable named 'result'
+     * is not found
+     * @since 3.0
+     */
+    private EvaluationReport evaluateWithReport(final ResourceMeter meter, final PyCode pyCode, final Object... args)
+            throws JythonScriptException {
+        if (pyCode == null) {
+            throw new JythonScriptException("Cannot execute a Jython script that doesn't exist! PyCode is null.");
+        }
+
+        final String script = JythonMetrics.scriptName(pyCode);
+
+        try {
+            return withInterpreter(args, interpreter -> {
+                meter.measure(JythonMetrics.Phase.EXECUTE, () -> {
+                    exec(interpreter, pyCode);
+                    return null;
+                });
+
+                return meter.report(script, meter.measure(JythonMetrics.Phase.CONVERT, () -> getResult(interpreter, pyCode)));
+            });
+        } finally {
+            meter.charge(script);
+        }
+    }
+
+    /**
+     * Evaluates the given compiled Jython script, returning its result, a {@code list}, {@code tuple} or {@code
+     * array.array} of integers, as a {@code int[]}. Elements are read directly into the array without being boxed.
+     *
+     * @param pyCode the compiled Jython script to evaluate
+     * @param args arguments to be passed to the script via 'sys.argv'
+     * @return the result from executing the given script
+     * @throws JythonScriptException when a script execution error occurs, a local Python variable named 'result' is
+     * not found, or the result cannot be converted to a {@code int[]}
+     * @see JythonScript#evaluateToIntArray(PyCode, Object...)
+     * @since 3.0
+     */
+    public int[] evaluateToIntArray(final PyCode pyCode, final Object... args) throws JythonScriptException {
+        if (pyCode == null) {
+            throw new JythonScriptException("Cannot execute a Jython script that doesn't exist! PyCode is null.");
+        }
+
+        return withInterpreter(args, interpreter -> {
+            exec(interpreter, pyCode);
+
+            return JythonMetrics.convert(pyCode, getPyResult(interpreter), ResultParser::parseIntArray);
+        });
+    }
+
+    /**
+     * Evaluates the given compiled Jython script, returning its result, a {@code list}, {@code tuple} or {@code
+     * array.array} of integers, as a {@code long[]}. Elements are read directly into the array without being boxed.
+     *
+     * @param pyCode the compiled Jython script to evaluate
+     * @param args arguments to be passed to the script via 'sys.argv'
+     * @return the result from executing the given script
+     * @throws JythonScriptException when a script execution error occurs, a local Python variable named 'result' is
+     * not found, or the result cannot be converted to a {@code long[]}
+     * @see JythonScript#evaluateToLongArray(PyCode, Object...)
+     * @since 3.0
+     */
+    public long[] evaluateToLongArray(final PyCode pyCode, final Object... args) throws JythonScriptException {
+        if (pyCode == null) {
+            throw new JythonScriptException("Cannot execute a Jython script that doesn't exist! PyCode is null.");
+        }
+
+        return withInterpreter(args, interpreter -> {
+            exec(interpreter, pyCode);
+
+            return JythonMetrics.convert(pyCode, getPyResult(interpreter), ResultParser::parseLongArray);
+        });
+    }
+
+    /**
+     * Evaluates the given compiled Jython script, returning its result, a {@code list}, {@code tuple} or {@code
+     * array.array} of numbers, as a {@code double[]}. Elements are read directly into the array without being boxed.
+     *
+     * @param pyCode the compiled Jython script to evaluate
+     * @param args arguments to be passed to the script via 'sys.argv'
+     * @return the result from executing the given script
+     * @throws JythonScriptException when a script execution error occurs, a local Python variable named 'result' is
+     * not found, or the result cannot be converted to a {@code double[]}
+     * @see JythonScript#evaluateToDoubleArray(PyCode, Object...)
+     * @since 3.0
+     */
+    public double[] evaluateToDoubleArray(final PyCode pyCode, final Object... args) throws JythonScriptException {
+        if (pyCode == null) {
+            throw new JythonScriptException("Cannot execute a Jython script that doesn't exist! PyCode is null.");
+        }
+
+        return withInterpreter(args, interpreter -> {
+            exec(interpreter, pyCode);
+
+            return JythonMetrics.convert(pyCode, getPyResult(interpreter), ResultParser::parseDoubleArray);
+        });
+    }
+
+    /**
+     * Evaluates the given compiled Jython script, returning an iterator that pulls items from its 'result', typically a
+     * generator, one at a time as the iterator advances. Each item is converted according to this engine's {@link
+     * ResultConversion}.
+     *
+     * The interpreter that ran the script stays borrowed from the pool until the returned iterator is exhausted or
+     * closed, so callers must always do one or the other, preferably with try-with-resources.
+     *
+     * @param pyCode the compiled Jython script to evaluate
+     * @param args arguments to be passed to the script via 'sys.argv'
+     * @return an iterator over the items of the script's result
+     * @throws JythonScriptException when a script execution error occurs, a local Python variable named 'result' is
+     * not found, or the result is not iterable
+     * @see JythonScript#evaluateToIterator(PyCode, Object...)
+     * @since 3.0
+     */
+    public ResultIterator evaluateToIterator(final PyCode pyCode, final Object... args) throws JythonScriptException {
+        if (pyCode == null) {
+            throw new JythonScriptException("Cannot execute a Jython script that doesn't exist! PyCode is null.");
+        }
+
+        final ScriptInterpreter interpreter = pool.borrow();
+
+        try {
+            final PythonInterpreter prepared = interpreter.prepare(args);
+            exec(prepared, pyCode);
+
+            final PyObject iterator = ResultIterator.iterate(getPyResult(prepared));
+
+            return new ResultIterator(iterator, resultConversion, () -> pool.release(interpreter));
+        } catch (JythonScriptException | RuntimeException e) {
+            pool.release(interpreter);
+
+            throw e;
+        }
+    }
+
+    /**
+     * Evaluates the given compiled Jython script, returning a {@link Stream} that pulls items from its 'result',
+     * typically a generator, one at a time. As with {@link #evaluateToIterator(PyCode, Object...)}, the stream holds a
+     * pooled interpreter until it is exhausted or closed.
+     *
+     * @param pyCode the compiled Jython script to evaluate
+     * @param args arguments to be passed to the script via 'sys.argv'
+     * @return a stream over the items of the script's result
+     * @throws JythonScriptException when a script execution error occurs, a local Python variable named 'result' is
+     * not found, or the result is not iterable
+     * @see ResultIterator#stream(int)
+     * @since 3.0
+     */
+    public Stream<Object> evaluateToStream(final PyCode pyCode, final Object... args) throws JythonScriptException {
+        return evaluateToIterator(pyCode, args).stream();
+    }
+
+    /**
+     * Executes the Jython script at the given {@code scriptPath}.
+     *
+     * @param scriptPath the fully qualified path of the Jython script to execute
+     * @param args arguments to be passed to the script via 'sys.argv'
+     * @throws JythonScriptException when the given file path is null, a directory, or cannot be found
+     * @see JythonScript#execute(String, Object...)
+     * @since 3.0
+     */
+    public void execute(final String scriptPath, final Object... args) throws JythonScriptException {
+        execute(scriptCache.get(JythonScript.resolveScript(scriptPath)), args);
+    }
+
+    /**
+     * Executes the Jython script at the given {@code scriptUrl}.
+     *
+     * @param scriptUrl the {@link URL} to a Jython script to execute
+     * @param args arguments to be passed to the script via 'sys.argv'
+     * @throws JythonScriptException when the given script is null, a directory, or cannot be found
+     * @see JythonScript#execute(URL, Object...)
+     * @since 3.0
+     */
+    public void execute(final URL scriptUrl, final Object... args) throws JythonScriptException {
+        execute(scriptCache.get(JythonScript.resolveScript(scriptUrl)), args);
+    }
+
+    /**
+     * Executes the given Jython script.
+     *
+     * @param scriptFile the Jython script to execute
+     * @param args arguments to be passed to the script via 'sys.argv'
+     * @throws JythonScriptException when the given file is null, a directory, or cannot be found
+     * @see JythonScript#execute(File, Object...)
+     * @since 3.0
+     */
+    public void execute(final File scriptFile, final Object... args) throws JythonScriptException {
+        execute(scriptCache.get(JythonScript.resolveScript(scriptFile)), args);
+    }
+
+    /**
+     * Executes the given Jython script.
+     *
+     * @param inputStream the {@link InputStream} that represents the Jython script to be executed
+     * @param args arguments to be passed to the script via 'sys.argv'
+     * @throws JythonScriptException when the given inputstream is null or a script execution error occurs
+     * @see JythonScript#execute(InputStream, Object...)
+     * @since 3.0
+     */
+    public void execute(final InputStream inputStream, final Object... args) throws JythonScriptException {
+        if (inputStream == null) {
+            throw new JythonScriptException("Cannot execute a Jython script that doesn't exist! InputStream is null.");
+        }
+
+        withInterpreter(args, interpreter -> {
+            execfile(interpreter, inputStream);
+
+            return null;
+        });
+    }
+
+    /**
+     * Executes the given compiled Jython script.
+     *
+     * @param pyCode the compiled Jython script to execute
+     * @param args arguments to be passed to the script via 'sys.argv'
+     * @throws JythonScriptException when the given PyCode is null or a script execution error occurs
+     * @see JythonScript#execute(PyCode, Object...)
+     * @since 3.0
+     */
+    public void execute(final PyCode pyCode, final Object... args) throws JythonScriptException {
+        if (pyCode == null) {
+            throw new JythonScriptException("Cannot execute a Jython script that doesn't exist! PyCode is null.");
+        }
+
+        withInterpreter(args, interpreter -> {
+            exec(interpreter, pyCode);
+
+            return null;
+        });
+    }
+
+    /**
+     * Executes the given compiled Jython script, stopping it if it does not complete within the given timeout.
+     *
+     * @param pyCode the compiled Jython script to execute
+     * @param timeout the maximum time to wait for the script to complete
+     * @param args arguments to be passed to the script via 'sys.argv'
+     * @throws JythonScriptTimeoutException when the script does not complete within the given timeout
+     * @throws JythonScriptException when the given PyCode is null, the timeout is not positive, or a script execution
+     * error occurs
+     * @see JythonScript#execute(PyCode, Duration, Object...)
+     * @since 3.0
+     */
+    public void execute(final PyCode pyCode, final Duration timeout, final Object... args) throws JythonScriptException {
+        ExecutionControl.withTimeout(timeout).run(() -> {
+            execute(pyCode, args);
+            return null;
+        });
+    }
+
+    /**
+     * Executes the given compiled Jython script, stopping it as soon as it exceeds the line or recursion limits of the
+     * given {@link ExecutionBudget}.
+     *
+     * @param pyCode the compiled Jython script to execute
+     * @param budget the limits the script must execute within
+     * @param args arguments to be passed to the script via 'sys.argv'
+     * @throws JythonScriptBudgetExceededException when the script exceeds the given budget
+     * @throws JythonScriptException when the given PyCode or budget is null, or a script execution error occurs
+     * @see JythonScript#execute(PyCode, ExecutionBudget, Object...)
+     * @since 3.0
+     */
+    public void execute(final PyCode pyCode, final ExecutionBudget budget, final Object... args) throws JythonScriptException {
+        if (pyCode == null) {
+            throw new JythonScriptException("Cannot execute a Jython script that doesn't exist! PyCode is null.");
+        }
+
+        final ExecutionControl control = ExecutionControl.withBudget(budget);
+
+        withInterpreter(args, interpreter -> control.run(() -> {
+            exec(interpreter, pyCode);
+            return null;
+        }));
+    }
+
+    /**
+     * Evaluates the given compiled Jython script with the given {@link Bindings} stored directly in its '__main__'
+     * namespace, returning the result as its equivalent Java type. Unlike {@link #evaluate(PyCode, Object...)}, scripts
+     * read their inputs as ordinary variables, and reusing the same Bindings skips converting its values each time.
+     *
+     * @param pyCode the compiled Jython script to evaluate
+     * @param bindings the named values made available to the script
+     * @return the result from executing the given script
+     * @throws JythonScriptException when the given PyCode or bindings are null, a script execution error occurs or
+     * when a local Python variable named 'result' is not found
+     * @see JythonScript#evaluate(PyCode, Bindings)
+     * @since 3.0
+     */
+    public Object evaluate(final PyCode pyCode, final Bindings bindings) throws JythonScriptException {
+        if (pyCode == null) {
+            throw new JythonScriptException("Cannot execute a Jython script that doesn't exist! PyCode is null.");
+        }
+
+        return withInterpreter(bindings, interpreter -> {
+            exec(interpreter, pyCode);
+
+            return getResult(interpreter, pyCode);
+        });
+    }
+
+    /**
+     * Executes the given compiled Jython script with the given {@link Bindings} stored directly in its '__main__'
+     * namespace.
+     *
+     * @param pyCode the compiled Jython script to execute
+     * @param bindings the named values made available to the script
+     * @throws JythonScriptException when the given PyCode or bindings are null, or a script execution error occurs
+     * @see JythonScript#execute(PyCode, Bindings)
+     * @since 3.0
+     */
+    public void execute(final PyCode pyCode, final Bindings bindings) throws JythonScriptException {
+        if (pyCode == null) {
+            throw new JythonScriptException("Cannot execute a Jython script that doesn't exist! PyCode is null.");
+        }
+
+        withInterpreter(bindings, interpreter -> {
+            exec(interpreter, pyCode);
+
+            return null;
+        });
+    }
+
+    /**
+     * Evaluates the given compiled Jython script once for each of the given argument sets, returning the results in the
+     * same order. Work is spread across as many pooled interpreters as there are in the pool; see {@link
+     * #evaluateBatch(PyCode, List, int)}.
+     *
+     * @param pyCode the compiled Jython script to evaluate
+     * @param argumentSets the arguments for each evaluation, each passed to the script via 'sys.argv'
+     * @return the result of each evaluation, in the order of {@code argumentSets}
+     * @throws JythonScriptException when the given PyCode or argument sets are null, or any evaluation fails
+     * @since 3.0
+     */
+    public List<Object> evaluateBatch(final PyCode pyCode, final List<Object[]> argumentSets) throws JythonScriptException {
+        return evaluateBatch(pyCode, argumentSets, pool.size());
+    }
+
+    /**
+     * Evaluates the given compiled Jython script once for each of the given argument sets, returning the results in the
+     * same order.
+     *
+     * Unlike calling {@link #evaluate(PyCode, Object...)} in a loop, each worker borrows a single interpreter for the
+     * whole batch and only resets its '__main__' namespace and 'sys.argv' between evaluations. The calling thread acts
+     * as one worker; any others run on the engine's own batch threads. If an evaluation fails, the
+     * remaining evaluations are abandoned and the failure is thrown.
+     *
+     * @param pyCode the compiled Jython script to evaluate
+     * @param argumentSets the arguments for each evaluation, each passed to the script via 'sys.argv'
+     * @param parallelism the maximum number of interpreters to evaluate with at once; must be at least 1
+     * @return the result of each evaluation, in the order of {@code argumentSets}
+     * @throws JythonScriptException when the given PyCode or argument sets are null, or any evaluation fails
+     * @since 3.0
+     */
+    public List<Object> evaluateBatch(final PyCode pyCode, final List<Object[]> argumentSets, final int parallelism)
+            throws JythonScriptException {
+        if (pyCode == null) {
+            throw new JythonScriptException("Cannot execute a Jython script that doesn't exist! PyCode is null.");
+        }
+
+        if (argumentSets == null) {
+            throw new JythonScriptException("Cannot evaluate a batch without argument sets! argumentSets is null.");
+        }
+
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1. parallelism=[" + parallelism + "]");
+        }
+
+        final Object[] results = new Object[argumentSets.size()];
+        final AtomicInteger nextIndex = new AtomicInteger();
+        final int workers = Math.min(Math.min(parallelism, pool.size()), results.length);
+
+        runWorkers(workers, () -> evaluateBatchRange(pyCode, argumentSets, results, nextIndex));
+
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Evaluates the given compiled Jython script once for each element of the given inputs, returning the results in
+     * the same order along with the timing of each chunk of inputs. Work is spread across as many pooled interpreters
+     * as there are in the pool; see {@link #parallelEvaluate(PyCode, Collection, int)}.
+     *
+     * @param pyCode the compiled Jython script to evaluate
+     * @param inputs the inputs to evaluate, each passed to the script as 'sys.argv[1]'
+     * @return the result of each evaluation, in the iteration order of {@code inputs}, and the timing of each chunk
+     * @throws JythonScriptException when the given PyCode or inputs are null, or any evaluation fails
+     * @since 3.0
+     */
+    public ParallelEvaluation parallelEvaluate(final PyCode pyCode, final Collection<?> inputs) throws JythonScriptException {
+        return parallelEvaluate(pyCode, inputs, pool.size());
+    }
+
+    /**
+     * Evaluates the given compiled Jython script once for each element of the given inputs, returning the results in
+     * the same order along with the timing of each chunk of inputs.
+     *
+     * The inputs are split into chunks, several per worker, which workers claim one at a time so that a worker given
+     * slow inputs does not hold up the others. Each worker borrows a single interpreter for the whole evaluation and
+     * converts a chunk's inputs to their Python equivalents together, before evaluating them. The calling thread acts
+     * as one worker; any others run on the engine's own batch threads. If an evaluation fails, the
+     * remaining chunks are abandoned and the failure is thrown.
+     *
+     * @param pyCode the compiled Jython script to evaluate
+     * @param inputs the inputs to evaluate, each passed to the script as 'sys.argv[1]'
+     * @param parallelism the maximum number of interpreters to evaluate with at once; must be at least 1
+     * @return the result of each evaluation, in the iteration order of {@code inputs}, and the timing of each chunk
+     * @throws JythonScriptException when the given PyCode or inputs are null, or any evaluation fails
+     * @since 3.0
+     */
+    public ParallelEvaluation parallelEvaluate(final PyCode pyCode, final Collection<?> inputs, final int parallelism)
+            throws JythonScriptException {
+        if (pyCode == null) {
+            throw new JythonScriptException("Cannot execute a Jython script that doesn't exist! PyCode is null.");
+        }
+
+        if (inputs == null) {
+            throw new JythonScriptException("Cannot evaluate a script over null inputs! inputs is null.");
+        }
+
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1. parallelism=[" + parallelism + "]");
+        }
+
+        final long start = System.nanoTime();
+
+        final Object[] values = inputs.toArray();
+        final Object[] results = new Object[values.length];
+        final int workers = Math.min(Math.min(parallelism, pool.size()), values.length);
+
+        final int chunkSize = chunkSize(values.length, workers);
+        final ParallelEvaluation.Chunk[] chunks = new ParallelEvaluation.Chunk[(values.length + chunkSize - 1) / chunkSize];
+        final AtomicInteger nextChunk = new AtomicInteger();
+
+        runWorkers(workers, () -> evaluateChunks(pyCode, values, results, chunkSize, chunks, nextChunk));
+
+        return new ParallelEvaluation(Arrays.asList(results), Arrays.asList(chunks), System.nanoTime() - start);
+    }
+
+    /**
+     * Lazily evaluates the given compiled Jython script once for each of the given argument sets, returning the results
+     * in the same order. Argument sets are consumed and evaluated in chunks as the returned {@link Iterator} advances,
+     * so arbitrarily long or unbounded inputs never need to be held in memory at once. Work is spread across as many
+     * pooled interpreters as there are in the pool; see {@link #evaluateBatch(PyCode, Iterator, int)}.
+     *
+     * @param pyCode the compiled Jython script to evaluate
+     * @param argumentSets the arguments for each evaluation, each passed to the script via 'sys.argv'
+     * @return an iterator over the result of each evaluation, in the order of {@code argumentSets}
+     * @throws JythonScriptException when the given PyCode or argument sets are null
+     * @since 3.0
+     */
+    public Iterator<Object> evaluateBatch(final PyCode pyCode, final Iterator<Object[]> argumentSets)
+            throws JythonScriptException {
+        return evaluateBatch(pyCode, argumentSets, pool.size());
+    }
+
+    /**
+     * Lazily evaluates the given compiled Jython script once for each of the given argument sets, returning the results
+     * in the same order. Each chunk of argument sets is evaluated as by {@link #evaluateBatch(PyCode, List, int)}.
+     *
+     * A failed evaluation is thrown from {@link Iterator#hasNext()} or {@link Iterator#next()} as an {@link
+     * UncheckedJythonScriptException}, after which the iterator is exhausted.
+     *
+     * @param pyCode the compiled Jython script to evaluate
+     * @param argumentSets the arguments for each evaluation, each passed to the script via 'sys.argv'
+     * @param parallelism the maximum number of interpreters to evaluate with at once; must be at least 1
+     * @return an iterator over the result of each evaluation, in the order of {@code argumentSets}
+     * @throws JythonScriptException when the given PyCode or argument sets are null
+     * @since 3.0
+     */
+    public Iterator<Object> evaluateBatch(final PyCode pyCode, final Iterator<Object[]> argumentSets,
+                                          final int parallelism) throws JythonScriptException {
+        if (pyCode == null) {
+            throw new JythonScriptException("Cannot execute a Jython script that doesn't exist! PyCode is null.");
+        }
+
+        if (argumentSets == null) {
+            throw new JythonScriptException("Cannot evaluate a batch without argument sets! argumentSets is null.");
+        }
+
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1. parallelism=[" + parallelism + "]");
+        }
+
+        return new BatchIterator(pyCode, argumentSets, parallelism);
+    }
+
+    /**
+     * Asynchronously evaluates the Jython script at the given {@code scriptPath}.
+     *
+     * @param scriptPath the fully qualified path of the Jython script to execute
+     * @param args arguments to be passed to the script via 'sys.argv'
+     * @return a future completed with the result of the script, or exceptionally with a {@link JythonScriptException}
+     * @see #evaluate(String, Object...)
+     * @since 3.0
+     */
+    public CompletableFuture<Object> evaluateAsync(final String scriptPath, final Object... args) {
+        return asyncDispatcher.submit(() -> evaluate(scriptPath, args));
+    }
+
+    /**
+     * Asynchronously evaluates the Jython script at the given {@code scriptUrl}.
+     *
+     * @param scriptUrl the {@link URL} to a Jython script to execute
+     * @param args arguments to be passed to the script via 'sys.argv'
+     * @return a future completed with the result of the script, or exceptionally with a {@link JythonScriptException}
+     * @see #evaluate(URL, Object...)
+     * @since 3.0
+     */
+    public CompletableFuture<Object> evaluateAsync(final URL scriptUrl, final Object... args) {
+        return asyncDispatcher.submit(() -> evaluate(scriptUrl, args));
+    }
+
+    /**
+     * Asynchronously evaluates the given Jython script.
+     *
+     * @param scriptFile the Jython script to execute
+     * @param args arguments to be passed to the script via 'sys.argv'
+     * @return a future completed with the result of the script, or exceptionally with a {@link JythonScriptException}
+     * @see #evaluate(File, Object...)
+     * @since 3.0
+     */
+    public CompletableFuture<Object> evaluateAsync(final File scriptFile, final Object... args) {
+        return asyncDispatcher.submit(() -> evaluate(scriptFile, args));
+    }
+
+    /**
+     * Asynchronously evaluates the given compiled Jython script.
+     *
+     * @param pyCode the compiled Jython script to evaluate
+     * @param args arguments to be passed to the script via 'sys.argv'
+     * @return a future completed with the result of the script, or exceptionally with a {@link JythonScriptException}
+     * @see #evaluate(PyCode, Object...)
+     * @since 3.0
+     */
+    public CompletableFuture<Object> evaluateAsync(final PyCode pyCode, final Object... args) {
+        return asyncDispatcher.submit(() -> evaluate(pyCode, args));
+    }
+
+    /**
+     * Asynchronously executes the Jython script at the given {@code scriptPath}.
+     *
+     * @param scriptPath the fully qualified path of the Jython script to execute
+     * @param args arguments to be passed to the script via 'sys.argv'
+     * @return a future completed once the script has executed, or exceptionally with a {@link JythonScriptException}
+     * @see #execute(String, Object...)
+     * @since 3.0
+     */
+    public CompletableFuture<Void> executeAsync(final String scriptPath, final Object... args) {
+        return asyncDispatcher.submit(() -> {
+            execute(scriptPath, args);
+            return null;
+        });
+    }
+
+    /**
+     * Asynchronously executes the Jython script at the given {@code scriptUrl}.
+     *
+     * @param scriptUrl the {@link URL} to a Jython script to execute
+     * @param args arguments to be passed to the script via 'sys.argv'
+     * @return a future completed once the script has executed, or exceptionally with a {@link JythonScriptException}
+     * @see #execute(URL, Object...)
+     * @since 3.0
+     */
+    public CompletableFuture<Void> executeAsync(final URL scriptUrl, final Object... args) {
+        return asyncDispatcher.submit(() -> {
+            execute(scriptUrl, args);
+            return null;
+        });
+    }
+
+    /**
+     * Asynchronously executes the given Jython script.
+     *
+     * @param scriptFile the Jython script to execute
+     * @param args arguments to be passed to the script via 'sys.argv'
+     * @return a future completed once the script has executed, or exceptionally with a {@link JythonScriptException}
+     * @see #execute(File, Object...)
+     * @since 3.0
+     */
+    public CompletableFuture<Void> executeAsync(final File scriptFile, final Object... args) {
+        return asyncDispatcher.submit(() -> {
+            execute(scriptFile, args);
+            return null;
+        });
+    }
+
+    /**
+     * Asynchronously executes the given compiled Jython script.
+     *
+     * @param pyCode the compiled Jython script to execute
+     * @param args arguments to be passed to the script via 'sys.argv'
+     * @return a future completed once the script has executed, or exceptionally with a {@link JythonScriptException}
+     * @see #execute(PyCode, Object...)
+     * @since 3.0
+     */
+    public CompletableFuture<Void> executeAsync(final PyCode pyCode, final Object... args) {
+        return asyncDispatcher.submit(() -> {
+            execute(pyCode, args);
+            return null;
+        });
+    }
+
+    /**
+     * Performs the given {@link Warmup} on a background thread: importing its modules into every pooled interpreter,
+     * then running each of its scripts. Each interpreter has its own 'sys.modules', so modules imported here remain
+     * loaded for every later script. While modules are being imported, every interpreter is borrowed by the warm-up.
+     * For a {@link Builder#threadConfined(boolean) thread-confined} engine, each thread's interpreter instead imports
+     * the modules before its next script.
+     *
+     * @param warmup the modules to import and scripts to run
+     * @return a future completed once the warm-up has finished, or exceptionally if any import or script failed
+     * @throws IllegalArgumentException when the given warm-up is null
+     * @see Builder#warmup(Warmup)
+     * @since 3.0
+     */
+    public CompletableFuture<Void> warmup(final Warmup warmup) {
+        if (warmup == null) {
+            throw new IllegalArgumentException("Warmup must not be null.");
+        }
+
+        return Warmup.runInBackground(() -> {
+            final PyCode imports = warmup.compileImports();
+
+            if (imports != null) {
+                pool.initialize(imports);
+            }
+
+            warmup.runScripts(this::execute);
+        });
+    }
+
+    /**
+     * Returns a future completed once the {@link Builder#warmup(Warmup) warm-up} given to this engine's builder has
+     * finished, suitable for use as a readiness check. If no warm-up was given, the future is already complete.
+     *
+     * @return a future completed once this engine is warmed up
+     * @since 3.0
+     */
+    public CompletableFuture<Void> getReadiness() {
+        return readiness;
+    }
+
+    /**
+     * @return a point-in-time snapshot of the queue depth and latency of this engine's asynchronous executions
+     * @since 3.0
+     */
+    public AsyncStats getAsyncStats() {
+        return asyncDispatcher.getStats();
+    }
+
+    /**
+     * @return the {@link ScriptCache} used to compile scripts given to this engine by path, {@link File} or {@link URL}
+     * @since 3.0
+     */
+    public ScriptCache getScriptCache() {
+        return scriptCache;
+    }
+
+    /**
+     * @return how this engine converts Python containers returned by evaluated scripts into Java types
+     * @since 3.0
+     */
+    public ResultConversion getResultConversion() {
+        return resultConversion;
+    }
+
+    /**
+     * @return the total number of interpreters maintained by this engine
+     * @since 3.0
+     */
+    public int getPoolSize() {
+        return pool.size();
+    }
+
+    /**
+     * @return the number of interpreters that are currently idle and available for use
+     * @since 3.0
+     */
+    public int getAvailableInterpreters() {
+        return pool.available();
+    }
+
+    /**
+     * Closes the calling thread's interpreter, if this engine is {@link Builder#threadConfined(boolean)
+     * thread-confined} and the thread has one. Call this from threads that will execute no further scripts, such as
+     * before a worker thread exits; interpreters of exited threads are otherwise only closed once another thread first
+     * uses the engine, or the engine is closed. Has no effect on pooled engines.
+     *
+     * @since 3.0
+     */
+    public void releaseThreadInterpreter() {
+        if (pool instanceof ThreadConfinedInterpreters) {
+            ((ThreadConfinedInterpreters) pool).releaseCurrentThread();
+        }
+    }
+
+    /**
+     * Closes this engine, releasing all of its pooled interpreters. Executions already in progress are allowed to
+     * complete; any further calls to this engine will fail.
+     *
+     * @since 3.0
+     */
+    @Override
+    public void close() {
+        asyncDispatcher.close();
+        batchExecutor.shutdown();
+        pool.close();
+    }
+
+    /**
+     * Borrows an interpreter from the pool, prepares it with the given {@code args} and runs the given {@code
+     * callback}, always returning the interpreter to the pool afterwards.
+     *
+     * @param args arguments to be passed to the script via 'sys.argv'
+     * @param callback the work to perform with the borrowed interpreter
+     * @return the value produced by the {@code callback}
+     * @throws JythonScriptException when an interpreter cannot be borrowed or the callback fails
+     * @since 3.0
+     */
+    private <T> T withInterpreter(final Object[] args, final InterpreterCallback<T> callback) throws JythonScriptException {
+        final ScriptInterpreter interpreter = pool.borrow();
+
+        try {
+            return callback.call(interpreter.prepare(args));
+        } finally {
+            pool.release(interpreter);
+        }
+    }
+
+    /**
+     * Runs the given worker on the calling thread and {@code workers - 1} tasks of the engine's batch threads, waiting
+     * for every one of them to finish.
+     *
+     * @param workers the number of workers to run; if 0, none are run
+     * @param worker the work each worker performs
+     * @throws JythonScriptException the first failure of any worker, wrapping it if it is not a JythonScriptException
+     * @since 3.0
+     */
+    private void runWorkers(final int workers, final BatchWorker worker) throws JythonScriptException {
+        // Start the additional workers, then take part in the work from the calling thread
+        final List<CompletableFuture<Void>> futures = new ArrayList<>(workers);
+        for (int i = 1; i < workers; i++) {
+            futures.add(CompletableFuture.runAsync(() -> {
+                try {
+                    worker.run();
+                } catch (JythonScriptException e) {
+                    throw new CompletionException(e);
+                }
+            }, batchExecutor));
+        }
+
+        Throwable failure = null;
+        try {
+            if (workers > 0) {
+                worker.run();
+            }
+        } catch (JythonScriptException | RuntimeException e) {
+            failure = e;
+        } finally {
+            // Wait for every worker, even after a failure, so that no interpreter is still in use when this returns
+            for (final CompletableFuture<Void> future : futures) {
+                try {
+                    future.join();
+                } catch (CompletionException e) {
+                    if (failure == null) {
+                        failure = e.getCause();
+                    }
+                }
+            }
+        }
+
+        if (failure instanceof JythonScriptException) {
+            throw (JythonScriptException) failure;
+        }
+
+        if (failure != null) {
+            throw new JythonScriptException("An error occurred during batch evaluation.", failure);
+        }
+    }
+
+    /**
+     * Creates the threads that batch workers other than the calling thread run on, which are started on first use and
+     * kept until the engine is closed. There is one fewer than there are pooled interpreters, since the calling thread
+     * is always one of the workers, so a batch never waits for a thread while an interpreter is free.
+     *
+     * @param poolSize the number of pooled interpreters
+     * @return a new executor of daemon threads
+     * @since 3.0
+     */
+    private static ThreadPoolExecutor batchExecutor(final int poolSize) {
+        final int threads = Math.max(1, poolSize - 1);
+        final ThreadFactory threadFactory = runnable -> {
+            final Thread thread = new Thread(runnable, "jythonscript-batch-" + BATCH_THREAD_COUNT.incrementAndGet());
+            thread.setDaemon(true);
+
+            return thread;
+        };
+
+        return new ThreadPoolExecutor(threads, threads, 0, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                threadFactory);
+    }
+
+    /**
+     * @param inputs the number of inputs to evaluate
+     * @param workers the number of workers evaluating them
+     * @return the number of inputs per chunk, giving each worker several chunks to balance uneven work
+     * @since 3.0
+     */
+    private static int chunkSize(final int inputs, final int workers) {
+        final int chunks = Math.max(workers, 1) * CHUNKS_PER_WORKER;
+
+        return Math.max(1, Math.min(MAX_CHUNK_SIZE, (inputs + chunks - 1) / chunks));
+    }
+
+    /**
+     * Evaluates chunks of inputs on a single borrowed interpreter, claiming the next unevaluated chunk until none
+     * remain, and recording the timing of each.
+     *
+     * @param pyCode the compiled Jython script to evaluate
+     * @param values the inputs to evaluate
+     * @param results the array to store each result in, at the index of its input
+     * @param chunkSize the number of inputs per chunk
+     * @param chunks the array to store the timing of each chunk in, at the index of the chunk
+     * @param nextChunk the next chunk to be claimed, shared by all workers
+     * @throws JythonScriptException when an evaluation fails
+     * @since 3.0
+     */
+    private void evaluateChunks(final PyCode pyCode, final Object[] values, final Object[] results, final int chunkSize,
+                                final ParallelEvaluation.Chunk[] chunks, final AtomicInteger nextChunk)
+            throws JythonScriptException {
+        final ScriptInterpreter interpreter = pool.borrow();
+        final String thread = Thread.currentThread().getName();
+
+        try {
+            int chunk;
+            while ((chunk = nextChunk.getAndIncrement()) < chunks.length) {
+                final int from = chunk * chunkSize;
+                final int to = Math.min(from + chunkSize, values.length);
+
+                final long start = System.nanoTime();
+
+                // Convert the whole chunk up front, so that evaluation is not interleaved with conversion
+                final PyObject[] arguments = new PyObject[to - from];
+                for (int i = from; i < to; i++) {
+                    arguments[i - from] = BinaryArguments.toPy(values[i]);
+                }
+
+                final long converted = System.nanoTime();
+
+                for (int i = from; i < to; i++) {
+                    final PythonInterpreter prepared = interpreter.prepare(arguments[i - from]);
+
+                    try {
+                        exec(prepared, pyCode);
+                        results[i] = getResult(prepared, pyCode);
+                    } finally {
+                        interpreter.reset();
+                    }
+                }
+
+                chunks[chunk] = new ParallelEvaluation.Chunk(from, to - from, converted - start,
+                        System.nanoTime() - converted, thread);
+            }
+        } catch (JythonScriptException | RuntimeException e) {
+            // Stop the other workers from claiming any further work
+            nextChunk.set(chunks.length);
+
+            throw e;
+        } finally {
+            pool.release(interpreter);
+        }
+    }
+
+    /**
+     * Evaluates argument sets on a single borrowed interpreter, claiming the next unevaluated index until none remain.
+     *
+     * @param pyCode the compiled Jython script to evaluate
+     * @param argumentSets the arguments for each evaluation
+     * @param results the array to store each result in, at the index of its argument set
+     * @param nextIndex the next index to be claimed, shared by all workers of the batch
+     * @throws JythonScriptException when an evaluation fails
+     * @since 3.0
+     */
+    private void evaluateBatchRange(final PyCode pyCode, final List<Object[]> argumentSets, final Object[] results,
+                                    final AtomicInteger nextIndex) throws JythonScriptException {
+        final ScriptInterpreter interpreter = pool.borrow();
+
+        try {
+            int index;
+            while ((index = nextIndex.getAndIncrement()) < results.length) {
+                final PythonInterpreter prepared = interpreter.prepare(argumentSets.get(index));
+
+                try {
+                    exec(prepared, pyCode);
+                    results[index] = getResult(prepared, pyCode);
+                } finally {
+                    interpreter.reset();
+                }
+            }
+        } catch (JythonScriptException | RuntimeException e) {
+            // Stop the other workers from claiming any further work
+            nextIndex.set(results.length);
+
+            throw e;
+        } finally {
+            pool.release(interpreter);
+        }
+    }
+
+    /**
+     * Borrows an interpreter, binds the given {@link Bindings} into its namespace, and runs the given callback against
+     * it, always returning the interpreter to the pool afterwards.
+     *
+     * @param bindings the named values to make available to the script
+     * @param callback the work to perform with the prepared interpreter
+     * @return the value returned by the callback
+     * @throws JythonScriptException when the bindings are null, no interpreter becomes available, or the callback fails
+     * @since 3.0
+     */
+    private <T> T withInterpreter(final Bindings bindings, final InterpreterCallback<T> callback) throws JythonScriptException {
+        if (bindings == null) {
+            throw new JythonScriptException("Cannot bind null to a Jython script! Bindings is null.");
+        }
+
+        final ScriptInterpreter interpreter = pool.borrow();
+
+        try {
+            return callback.call(interpreter.prepare(bindings));
+        } finally {
+            pool.release(interpreter);
+        }
+    }
+
+    /**
+     * Borrows an interpreter, prepares it with both the given {@code args} and {@link Bindings}, and runs the given
+     * callback against it, always returning the interpreter to the pool afterwards. Used by {@link JythonScriptEngine},
+     * whose scripts receive both 'sys.argv' and named variables.
+     *
+     * @param args arguments to be passed to the script via 'sys.argv'
+     * @param bindings the named values to make available to the script
+     * @param callback the work to perform with the prepared interpreter
+     * @return the value returned by the callback
+     * @throws JythonScriptException when no interpreter becomes available, or the callback fails
+     * @since 3.0
+     */
+    <T> T withInterpreter(final Object[] args, final Bindings bindings, final InterpreterCallback<T> callback)
+            throws JythonScriptException {
+        final ScriptInterpreter interpreter = pool.borrow();
+
+        try {
+            interpreter.prepare(args);
+
+            return callback.call(interpreter.prepare(bindings));
+        } finally {
+            pool.release(interpreter);
+        }
+    }
+
+    /**
+     * Executes the given compiled script within the given interpreter.
+     *
+     * @param interpreter the interpreter to execute the script in
+     * @param pyCode the compiled Jython script to execute
+     * @throws JythonScriptException when a script execution error occurs
+     * @since 3.0
+     */
+    static void exec(final PythonInterpreter interpreter, final PyCode pyCode) throws JythonScriptException {
+        final long start = JythonMetrics.start();
+
+        try {
+            interpreter.exec(pyCode);
+        } catch (Exception e) {
+            JythonMetrics.recordError(pyCode, e);
+
+            throw new JythonScriptException("An error occurred during script execution. cause=[\n\t" + e.toString() + "]");
+        }
+
+        JythonMetrics.record(JythonMetrics.Phase.EXECUTE, pyCode, start);
+    }
+
+    /**
+     * Executes the given script within the given interpreter.
+     *
+     * @param interpreter the interpreter to execute the script in
+     * @param inputStream the {@link InputStream} that represents the Jython script to be executed
+     * @throws JythonScriptException when a script execution error occurs
+     * @since 3.0
+     */
+    private static void execfile(final PythonInterpreter interpreter, final InputStream inputStream) throws JythonScriptException {
+        final long start = JythonMetrics.start();
+
+        try {
+            interpreter.execfile(inputStream);
+        } catch (Exception e) {
+            JythonMetrics.recordError(JythonMetrics.STREAM_SCRIPT, e);
+
+            throw new JythonScriptException("An error occurred during script execution. cause=[\n\t" + e.toString() + "]");
+        }
+
+        JythonMetrics.record(JythonMetrics.Phase.EXECUTE, JythonMetrics.STREAM_SCRIPT, start);
+    }
+
+    /**
+     * Obtains the value of the local variable named 'result' from the given interpreter, converted to its equivalent
+     * Java type according to this engine's {@link ResultConversion}.
+     *
+     * @param interpreter the interpreter that executed the script
+     * @param pyCode the script that was executed, or null for a script read from an {@link InputStream}
+     * @return the result of the script
+     * @throws JythonScriptException when a local Python variable named 'result' is not found
+     * @since 3.0
+     */
+    private Object getResult(final PythonInterpreter interpreter, final PyCode pyCode) throws JythonScriptException {
+        return JythonMetrics.convert(pyCode, getPyResult(interpreter),
+                result -> ResultParser.parse(result, resultConversion));
+    }
+
+    /**
+     * Obtains the unconverted value of the local variable named 'result' from the given interpreter.
+     *
+     * @param interpreter the interpreter that executed the script
+     * @return the result of the script
+     * @throws JythonResultNotFoundException when a local Python variable named 'result' is not found
+     * @since 3.0
+     */
+    private static PyObject getPyResult(final PythonInterpreter interpreter) throws JythonResultNotFoundException {
+        final PyObject result = interpreter.get(EVALUATION_RESULT_LOCAL_VARIABLE);
+
+        if (result == null) {
+            throw new JythonResultNotFoundException("Local variable 'result' not found during script execution.");
+        }
+
+        return result;
+    }
+
+    /**
+     * Evaluates argument sets from an {@link Iterator} in chunks, yielding each chunk's results before reading the next.
+     *
+     * @since 3.0
+     */
+    private final class BatchIterator implements Iterator<Object> {
+
+        private static final int CHUNK_SIZE_PER_WORKER = 256;
+
+        private final PyCode pyCode;
+        private final Iterator<Object[]> argumentSets;
+        private final int parallelism;
+        private final int chunkSize;
+
+        private Iterator<Object> results = Collections.emptyIterator();
+        private boolean failed;
+
+        private BatchIterator(final PyCode pyCode, final Iterator<Object[]> argumentSets, final int parallelism) {
+            this.pyCode = pyCode;
+            this.argumentSets = argumentSets;
+            this.parallelism = parallelism;
+            this.chunkSize = Math.min(parallelism, pool.size()) * CHUNK_SIZE_PER_WORKER;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (results.hasNext()) {
+                return true;
+            }
+
+            if (failed || !argumentSets.hasNext()) {
+                return false;
+            }
+
+            final List<Object[]> chunk = new ArrayList<>(chunkSize);
+            while (chunk.size() < chunkSize && argumentSets.hasNext()) {
+                chunk.add(argumentSets.next());
+            }
+
+            try {
+                results = evaluateBatch(pyCode, chunk, parallelism).iterator();
+            } catch (JythonScriptException e) {
+                failed = true;
+
+                throw new UncheckedJythonScriptException(e);
+            }
+
+            return results.hasNext();
+        }
+
+        @Override
+        public Object next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            return results.next();
+        }
+
+    }
+
+    /**
+     * Work to be performed against a borrowed {@link PythonInterpreter}.
+     *
+     * @since 3.0
+     */
+    @FunctionalInterface
+    interface InterpreterCallback<T> {
+
+        T call(PythonInterpreter interpreter) throws JythonScriptException;
+
+    }
+
+    /**
+     * The work performed by each worker of a batch.
+     *
+     * @since 3.0
+     */
+    @FunctionalInterface
+    private interface BatchWorker {
+
+        void run() throws JythonScriptException;
+
+    }
+
+    /**
+     * Builds {@link JythonEngine} instances.
+     *
+     * @author Adam Childs
+     * @since 3.0
+     */
+    public static class Builder {
+
+        private static final long DEFAULT_BORROW_TIMEOUT_SECONDS = 30;
+        private static final int DEFAULT_ASYNC_QUEUE_CAPACITY = 1024;
+
+        private int poolSize = Runtime.getRuntime().availableProcessors();
+        private long borrowTimeout = DEFAULT_BORROW_TIMEOUT_SECONDS;
+        private TimeUnit borrowTimeoutUnit = TimeUnit.SECONDS;
+        private ScriptCache scriptCache = JythonScript.getScriptCache();
+        private ResultConversion resultConversion = ResultConversion.EAGER;
+        private Executor asyncExecutor;
+        private int asyncQueueCapacity = DEFAULT_ASYNC_QUEUE_CAPACITY;
+        private boolean virtualThreads;
+        private boolean threadConfined;
+        private Warmup warmup;
+
+        private Builder() { }
+
+        /**
+         * Sets the number of interpreters maintained by the engine, which is also the maximum number of scripts that
+         * may execute concurrently. Defaults to the number of available processors.
+         *
+         * @param poolSize the number of pooled interpreters; must be at least 1
+         * @return this builder
+         * @since 3.0
+         */
+        public Builder poolSize(final int poolSize) {
+            if (poolSize < 1) {
+                throw new IllegalArgumentException("Pool size must be at least 1. poolSize=[" + poolSize + "]");
+            }
+
+            this.poolSize = poolSize;
+            return this;
+        }
+
+        /**
+         * Sets the maximum amount of time a caller will wait for an interpreter to become available before a {@link
+         * JythonScriptException} is thrown. Defaults to 30 seconds.
+         *
+         * @param timeout the maximum time to wait; must not be negative
+         * @param unit the {@link TimeUnit} of the {@code timeout}
+         * @return this builder
+         * @since 3.0
+         */
+        public Builder borrowTimeout(final long timeout, final TimeUnit unit) {
+            if (timeout < 0) {
+                throw new IllegalArgumentException("Borrow timeout must not be negative. timeout=[" + timeout + "]");
+            }
+
+            this.borrowTimeout = timeout;
+            this.borrowTimeoutUnit = unit;
+            return this;
+        }
+
+        /**
+         * Sets the {@link ScriptCache} used to compile scripts given to the engine by path, {@link File} or {@link
+         * URL}. Defaults to the cache shared with {@link JythonScript}.
+         *
+         * @param scriptCache the cache of compiled scripts
+         * @return this builder
+         * @since 3.0
+         */
+        public Builder scriptCache(final ScriptCache scriptCache) {
+            if (scriptCache == null) {
+                throw new IllegalArgumentException("Script cache must not be null.");
+            }
+
+            this.scriptCache = scriptCache;
+            return this;
+        }
+
+        /**
+         * Sets how Python containers returned by evaluated scripts are converted into Java types. Defaults to {@link
+         * ResultConversion#EAGER}, which matches {@link JythonScript}.
+         *
+         * @param resultConversion the conversion applied to evaluation results
+         * @return this builder
+         * @since 3.0
+         */
+        public Builder resultConversion(final ResultConversion resultConversion) {
+            if (resultConversion == null) {
+                throw new IllegalArgumentException("Result conversion must not be null.");
+            }
+
+            this.resultConversion = resultConversion;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of asynchronous executions that may wait for a worker thread before further
+         * submissions are rejected. The engine's own executor has one worker thread per pooled interpreter. Ignored
+         * when an {@link #asyncExecutor(Executor) executor} is given. Defaults to 1024.
+         *
+         * @param asyncQueueCapacity the maximum number of queued asynchronous executions; must be at least 1
+         * @return this builder
+         * @since 3.0
+         */
+        public Builder asyncQueueCapacity(final int asyncQueueCapacity) {
+            if (asyncQueueCapacity < 1) {
+                throw new IllegalArgumentException("Async queue capacity must be at least 1. asyncQueueCapacity=[" +
+                        asyncQueueCapacity + "]");
+            }
+
+            this.asyncQueueCapacity = asyncQueueCapacity;
+            return this;
+        }
+
+        /**
+         * Runs asynchronous executions on a new virtual thread each, when running on Java 21 or later. Concurrency
+         * remains bounded by the size of the interpreter pool. On earlier Java versions the engine's bounded executor
+         * is used instead. Ignored when an {@link #asyncExecutor(Executor) executor} is given.
+         *
+         * @param virtualThreads whether to use virtual threads where available
+         * @return this builder
+         * @since 3.0
+         */
+        public Builder virtualThreads(final boolean virtualThreads) {
+            this.virtualThreads = virtualThreads;
+            return this;
+        }
+
+        /**
+         * Sets the {@link Executor} that asynchronous executions are run on, in place of the engine's own bounded
+         * executor. The given executor is not shut down when the engine is closed.
+         *
+         * @param asyncExecutor the executor to run asynchronous executions on
+         * @return this builder
+         * @since 3.0
+         */
+        public Builder asyncExecutor(final Executor asyncExecutor) {
+            if (asyncExecutor == null) {
+                throw new IllegalArgumentException("Async executor must not be null.");
+            }
+
+            this.asyncExecutor = asyncExecutor;
+            return this;
+        }
+
+        /**
+         * Gives each thread that executes scripts its own long-lived interpreter, created on the thread's first use,
+         * rather than sharing a bounded pool. Concurrent scripts then never wait for, or contend over, an interpreter,
+         * at the cost of one interpreter per thread; use it with a fixed set of worker threads. The pool size instead
+         * sets the number of threads executing asynchronous scripts and batches, and the borrow timeout is unused.
+         * Cannot be combined with {@link #virtualThreads(boolean)}. Defaults to false.
+         *
+         * @param threadConfined whether each thread owns its interpreter
+         * @return this builder
+         * @see JythonEngine#releaseThreadInterpreter()
+         * @since 3.0
+         */
+        public Builder threadConfined(final boolean threadConfined) {
+            this.threadConfined = threadConfined;
+            return this;
+        }
+
+        /**
+         * Performs the given {@link Warmup} on a background thread as soon as the engine is built. Its progress is
+         * available via {@link JythonEngine#getReadiness()}.
+         *
+         * @param warmup the modules to import and scripts to run
+         * @return this builder
+         * @see JythonEngine#warmup(Warmup)
+         * @since 3.0
+         */
+        public Builder warmup(final Warmup warmup) {
+            if (warmup == null) {
+                throw new IllegalArgumentException("Warmup must not be null.");
+            }
+
+            this.warmup = warmup;
+            return this;
+        }
+
+        /**
+         * @return a new {@link JythonEngine}, with all of its interpreters initialized
+         * @throws IllegalArgumentException when the engine is both {@link #threadConfined(boolean) thread-confined} and
+         * uses {@link #virtualThreads(boolean) virtual threads}, which would create an interpreter for every
+         * asynchronous execution
+         * @since 3.0
+         */
+        public JythonEngine build() {
+            if (threadConfined && virtualThreads) {
+                throw new IllegalArgumentException("Thread-confined engines cannot use virtual threads, as each " +
+                        "virtual thread would create its own interpreter.");
+            }
+
+            return new JythonEngine(this);
+        }
+
+    }
+
+}
@@ -0,0 +1,540 @@
+package com.github.adchilds.jython;
+
+import com.github.adchilds.jython.exception.JythonScriptException;
+import org.python.core.PyCode;
+import org.python.core.PyException;
+import org.python.core.PyObject;
+import org.python.core.PyTableCode;
+import org.python.core.PyType;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records where time goes while running Jython scripts. When enabled, every script run by {@link JythonScript}, a
+ * {@link JythonEngine} or a {@link JythonCompiler} has the latency of each of its {@link Phase phases} recorded in a
+ * histogram, and every failure counted by its exception type, keyed by the script's filename:
+ * <pre>
+ * {@code JythonMetrics.setEnabled(true);
+ * JythonScript.evaluate(compiledScript);
+ *
+ * MetricsSnapshot snapshot = JythonMetrics.snapshot();
+ * LatencySnapshot execution = snapshot.getLatency(filename, JythonMetrics.Phase.EXECUTE);
+ * }
+ * </pre>
+ *
+ * Metrics are disabled by default, unless the {@link #ENABLED_PROPERTY} system property is {@code true}; while
+ * disabled, each phase costs a single volatile read. The same metrics can be exposed over JMX via {@link
+ * #registerMBean()}, under the name {@link #OBJECT_NAME}.
+ *
+ * Evaluations that return an {@link EvaluationReport}, such as {@link JythonEngine#evaluateWithReport(PyCode,
+ * Object...)}, also charge their CPU time and allocation to their script, available via {@link
+ * MetricsSnapshot#getUsage(String)}. As those evaluations opt in to being measured, their usage is recorded whether or
+ * not metrics are enabled.
+ *
+ * Scripts read from an {@link java.io.InputStream} are recorded under {@link #STREAM_SCRIPT}, and scripts compiled
+ * without a filename under {@link JythonCompiler#DEFAULT_FILENAME}.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+public final class JythonMetrics {
+
+    /**
+     * The system property which, when {@code true}, enables metrics from startup.
+     */
+    public static final String ENABLED_PROPERTY = "jythonscript.metrics.enabled";
+
+    /**
+     * The name under which {@link #registerMBean()} registers the metrics MBean.
+     */
+    public static final String OBJECT_NAME = "com.github.adchilds.jython:type=JythonMetrics";
+
+    /**
+     * The name under which scripts read from an {@link java.io.InputStream} are recorded.
+     */
+    public static final String STREAM_SCRIPT = "<iostream>";
+
+    // Returned by start() while disabled, so that the matching record(...) does nothing
+    private static final long NOT_STARTED = Long.MIN_VALUE;
+
+    private static final ConcurrentMap<String, ScriptMetrics> SCRIPTS = new ConcurrentHashMap<>();
+
+    private static volatile boolean enabled = Boolean.getBoolean(ENABLED_PROPERTY);
+
+    // Don't allow this class to be instantiated
+    private JythonMetrics() { }
+
+    /**
+     * @return whether metrics are currently being recorded
+     * @since 3.0
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Starts or stops recording metrics. Metrics already recorded are kept until {@link #reset()}.
+     *
+     * @param enabled whether metrics should be recorded
+     * @since 3.0
+     */
+    public static void setEnabled(final boolean enabled) {
+        JythonMetrics.enabled = enabled;
+    }
+
+    /**
+     * @return a point-in-time snapshot of every metric recorded since startup, or the last {@link #reset()}
+     * @since 3.0
+     */
+    public static MetricsSnapshot snapshot() {
+        final List<LatencySnapshot> latencies = new ArrayList<>();
+        final Map<String, Map<String, Long>> errors = new TreeMap<>();
+        final List<ResourceUsage> usages = new ArrayList<>();
+
+        for (final Map.Entry<String, ScriptMetrics> entry : new TreeMap<>(SCRIPTS).entrySet()) {
+            final String script = entry.getKey();
+            final ScriptMetrics metrics = entry.getValue();
+
+            for (final Phase phase : Phase.values()) {
+                final LatencySnapshot latency = metrics.latencies[phase.ordinal()].snapshot(script, phase);
+
+                if (latency.getCount() > 0) {
+                    latencies.add(latency);
+                }
+            }
+
+            if (!metrics.errors.isEmpty()) {
+                final Map<String, Long> counts = new TreeMap<>();
+                metrics.errors.forEach((type, count) -> counts.put(type, count.sum()));
+
+                errors.put(script, Collections.unmodifiableMap(counts));
+            }
+
+            final ResourceUsage usage = metrics.usage.snapshot(script);
+            if (usage.getEvaluations() > 0) {
+                usages.add(usage);
+            }
+        }
+
+        return new MetricsSnapshot(latencies, errors, usages);
+    }
+
+    /**
+     * Discards every metric recorded so far.
+     *
+     * @since 3.0
+     */
+    public static void reset() {
+        SCRIPTS.clear();
+    }
+
+    /**
+     * Registers a {@link JythonMetricsMXBean} with the platform MBean server under {@link #OBJECT_NAME}. Has no effect
+     * if it is already registered.
+     *
+     * @throws JythonScriptException when the MBean cannot be registered
+     * @since 3.0
+     */
+    public static void registerMBean() throws JythonScriptException {
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+        try {
+            server.registerMBean(new MXBean(), objectName());
+        } catch (InstanceAlreadyExistsException e) {
+            // Already registered
+        } catch (JMException e) {
+            throw new JythonScriptException("Could not register the metrics MBean. name=[" + OBJECT_NAME + "]", e);
+        }
+    }
+
+    /**
+     * Unregisters the {@link JythonMetricsMXBean} registered by {@link #registerMBean()}. Has no effect if it is not
+     * registered.
+     *
+     * @throws JythonScriptException when the MBean cannot be unregistered
+     * @since 3.0
+     */
+    public static void unregisterMBean() throws JythonScriptException {
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+        try {
+            server.unregisterMBean(objectName());
+        } catch (InstanceNotFoundException e) {
+            // Not registered
+        } catch (JMException e) {
+            throw new JythonScriptException("Could not unregister the metrics MBean. name=[" + OBJECT_NAME + "]", e);
+        }
+    }
+
+    /**
+     * Marks the start of a phase.
+     *
+     * @return the current value of {@link System#nanoTime()}, or a sentinel when metrics are disabled
+     * @since 3.0
+     */
+    static long start() {
+        return enabled ? System.nanoTime() : NOT_STARTED;
+    }
+
+    /**
+     * Records the latency of a phase of the given compiled script, measured from the given start time.
+     *
+     * @param phase the phase which completed
+     * @param pyCode the script the phase ran for, or null for a script read from an {@link java.io.InputStream}
+     * @param start the value returned by {@link #start()} when the phase began
+     * @since 3.0
+     */
+    static void record(final Phase phase, final PyCode pyCode, final long start) {
+        if (start != NOT_STARTED) {
+            record(phase, scriptName(pyCode), start);
+        }
+    }
+
+    /**
+     * Records the latency of a phase of the given script, measured from the given start time.
+     *
+     * @param phase the phase which completed
+     * @param script the filename of the script the phase ran for
+     * @param start the value returned by {@link #start()} when the phase began
+     * @since 3.0
+     */
+    static void record(final Phase phase, final String script, final long start) {
+        if (start != NOT_STARTED) {
+            metrics(script).latencies[phase.ordinal()].record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Converts the given result of the given compiled script, recording the latency of the conversion and counting it
+     * as a failure if it throws.
+     *
+     * @param pyCode the script which produced the result, or null for a script read from an {@link
+     * java.io.InputStream}
+     * @param result the value of the script's 'result' variable
+     * @param conversion converts the result into its equivalent Java type
+     * @param <T> the Java type of the converted result
+     * @return the converted result
+     * @throws JythonScriptException when the result cannot be converted
+     * @since 3.0
+     */
+    static <T> T convert(final PyCode pyCode, final PyObject result, final Conversion<T> conversion)
+            throws JythonScriptException {
+        final long start = start();
+
+        final T converted;
+        try {
+            converted = conversion.convert(result);
+        } catch (JythonScriptException | RuntimeException e) {
+            recordError(pyCode, e);
+
+            throw e;
+        }
+
+        record(Phase.CONVERT, pyCode, start);
+
+        return converted;
+    }
+
+    /**
+     * Counts a failure of the given compiled script by the type of the exception that caused it.
+     *
+     * @param pyCode the script which failed, or null for a script read from an {@link java.io.InputStream}
+     * @param cause the exception that caused the failure
+     * @since 3.0
+     */
+    static void recordError(final PyCode pyCode, final Throwable cause) {
+        if (enabled) {
+            recordError(scriptName(pyCode), cause);
+        }
+    }
+
+    /**
+     * Counts a failure of the given script by the type of the exception that caused it. Python exceptions are counted
+     * by their Python type, such as {@code ZeroDivisionError}; all others by their Java class.
+     *
+     * @param script the filename of the script which failed
+     * @param cause the exception that caused the failure
+     * @since 3.0
+     */
+    static void recordError(final String script, final Throwable cause) {
+        if (enabled) {
+            metrics(script).errors.computeIfAbsent(errorType(cause), type -> new LongAdder()).increment();
+        }
+    }
+
+    /**
+     * Adds the CPU time and allocation of a single evaluation to its script's running totals, whether or not metrics
+     * are enabled.
+     *
+     * @param usage the usage of the evaluation
+     * @since 3.0
+     */
+    static void recordUsage(final ResourceUsage usage) {
+        metrics(usage.getScript()).usage.record(usage);
+    }
+
+    /**
+     * @param pyCode a compiled script, or null for a script read from an {@link java.io.InputStream}
+     * @return the name under which metrics of the given script are recorded
+     * @since 3.0
+     */
+    static String scriptName(final PyCode pyCode) {
+        if (pyCode == null) {
+            return STREAM_SCRIPT;
+        }
+
+        if (pyCode instanceof PyTableCode && ((PyTableCode) pyCode).co_filename != null) {
+            return ((PyTableCode) pyCode).co_filename;
+        }
+
+        return pyCode.co_name;
+    }
+
+    /**
+     * @param cause an exception thrown while running a script
+     * @return the name of the exception's type
+     * @since 3.0
+     */
+    private static String errorType(final Throwable cause) {
+        if (cause instanceof PyException && ((PyException) cause).type instanceof PyType) {
+            return ((PyType) ((PyException) cause).type).getName();
+        }
+
+        return cause.getClass().getSimpleName();
+    }
+
+    /**
+     * @param script the filename of a script
+     * @return the metrics of the given script, created if none have been recorded yet
+     * @since 3.0
+     */
+    private static ScriptMetrics metrics(final String script) {
+        final String key = script == null ? JythonCompiler.DEFAULT_FILENAME : script;
+        final ScriptMetrics metrics = SCRIPTS.get(key);
+
+        return metrics != null ? metrics : SCRIPTS.computeIfAbsent(key, k -> new ScriptMetrics());
+    }
+
+    /**
+     * @return the name under which the metrics MBean is registered
+     * @since 3.0
+     */
+    private static ObjectName objectName() throws MalformedObjectNameException {
+        return new ObjectName(OBJECT_NAME);
+    }
+
+    /**
+     * The phases of running a script whose latencies are recorded.
+     *
+     * @since 3.0
+     */
+    public enum Phase {
+
+        /**
+         * Reading a script's source from disk.
+         */
+        READ,
+
+        /**
+         * Compiling a script's source into {@link PyCode}.
+         */
+        COMPILE,
+
+        /**
+         * Executing a compiled script.
+         */
+        EXECUTE,
+
+        /**
+         * Converting a script's 'result' into its equivalent Java type.
+         */
+        CONVERT
+
+    }
+
+    /**
+     * Converts a script's result into its equivalent Java type.
+     *
+     * @param <T> the Java type of the converted result
+     * @since 3.0
+     */
+    @FunctionalInterface
+    interface Conversion<T> {
+
+        T convert(PyObject result) throws JythonScriptException;
+
+    }
+
+    /**
+     * The metrics recorded for a single script.
+     *
+     * @since 3.0
+     */
+    private static final class ScriptMetrics {
+
+        private final LatencyHistogram[] latencies = new LatencyHistogram[Phase.values().length];
+        private final ConcurrentMap<String, LongAdder> errors = new ConcurrentHashMap<>();
+        private final UsageTotals usage = new UsageTotals();
+
+        private ScriptMetrics() {
+            for (int i = 0; i < latencies.length; i++) {
+                latencies[i] = new LatencyHistogram();
+            }
+        }
+
+    }
+
+    /**
+     * The running totals of the {@link ResourceUsage} charged to a single script.
+     *
+     * @since 3.0
+     */
+    private static final class UsageTotals {
+
+        private final LongAdder evaluations = new LongAdder();
+        private final LongAdder[] cpuNanos = new LongAdder[Phase.values().length];
+        private final LongAdder[] allocatedBytes = new LongAdder[Phase.values().length];
+
+        private UsageTotals() {
+            for (int i = 0; i < cpuNanos.length; i++) {
+                cpuNanos[i] = new LongAdder();
+                allocatedBytes[i] = new LongAdder();
+            }
+        }
+
+        private void record(final ResourceUsage usage) {
+            evaluations.add(usage.getEvaluations());
+
+            for (final Phase phase : Phase.values()) {
+                cpuNanos[phase.ordinal()].add(usage.getCpuNanos(phase));
+                allocatedBytes[phase.ordinal()].add(usage.getAllocatedBytes(phase));
+            }
+        }
+
+        private ResourceUsage snapshot(final String script) {
+            final long[] cpu = new long[cpuNanos.length];
+            final long[] allocated = new long[allocatedBytes.length];
+
+            for (int i = 0; i < cpu.length; i++) {
+                cpu[i] = cpuNanos[i].sum();
+                allocated[i] = allocatedBytes[i].sum();
+            }
+
+            return new ResourceUsage(script, evaluations.sum(), cpu, allocated);
+        }
+
+    }
+
+    /**
+     * A lock-free histogram of latencies, bucketed by powers of two nanoseconds. Percentiles are therefore accurate to
+     * within a factor of two, which is plenty to tell microseconds from milliseconds, at a fixed cost of one counter
+     * per bucket.
+     *
+     * @since 3.0
+     */
+    static final class LatencyHistogram {
+
+        private final LongAdder[] buckets = new LongAdder[Long.SIZE];
+        private final LongAdder total = new LongAdder();
+        private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+        LatencyHistogram() {
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        /**
+         * @param nanos the latency to record
+         * @since 3.0
+         */
+        void record(final long nanos) {
+            final long latency = Math.max(nanos, 0);
+
+            buckets[bucket(latency)].increment();
+            total.add(latency);
+            max.accumulate(latency);
+        }
+
+        /**
+         * @param script the script the latencies were recorded for
+         * @param phase the phase the latencies were recorded for
+         * @return a point-in-time snapshot of this histogram
+         * @since 3.0
+         */
+        LatencySnapshot snapshot(final String script, final Phase phase) {
+            final long[] counts = new long[buckets.length];
+            for (int i = 0; i < buckets.length; i++) {
+                counts[i] = buckets[i].sum();
+            }
+
+            return new LatencySnapshot(script, phase, counts, total.sum(), max.get());
+        }
+
+        /**
+         * @param nanos a non-negative latency
+         * @return the index of the bucket holding the given latency; bucket {@code i} holds latencies up to {@code
+         * 2^(i+1) - 1} nanoseconds
+         * @since 3.0
+         */
+        static int bucket(final long nanos) {
+            return nanos == 0 ? 0 : Long.SIZE - 1 - Long.numberOfLeadingZeros(nanos);
+        }
+
+    }
+
+    /**
+     * Exposes {@link JythonMetrics} over JMX.
+     *
+     * @since 3.0
+     */
+    private static final class MXBean implements JythonMetricsMXBean {
+
+        @Override
+        public boolean isEnabled() {
+            return JythonMetrics.isEnabled();
+        }
+
+        @Override
+        public void setEnabled(final boolean enabled) {
+            JythonMetrics.setEnabled(enabled);
+        }
+
+        @Override
+        public List<LatencySnapshot> getLatencies() {
+            return snapshot().getLatencies();
+        }
+
+        @Override
+        public Map<String, Long> getErrorCounts() {
+            return snapshot().getErrorCounts();
+        }
+
+        @Override
+        public List<ResourceUsage> getUsages() {
+            return snapshot().getUsages();
+        }
+
+        @Override
+        public void reset() {
+            JythonMetrics.reset();
+        }
+
+    }
+
+}
@@ -0,0 +1,51 @@
+package com.github.adchilds.jython;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The JMX management interface of {@link JythonMetrics}, registered via {@link JythonMetrics#registerMBean()}.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+public interface JythonMetricsMXBean {
+
+    /**
+     * @return whether metrics are currently being recorded
+     * @since 3.0
+     */
+    boolean isEnabled();
+
+    /**
+     * @param enabled whether metrics should be recorded
+     * @since 3.0
+     */
+    void setEnabled(boolean enabled);
+
+    /**
+     * @return the latencies recorded for each phase of each script
+     * @since 3.0
+     */
+    List<LatencySnapshot> getLatencies();
+
+    /**
+     * @return the number of failures of all scripts, keyed by exception type
+     * @since 3.0
+     */
+    Map<String, Long> getErrorCounts();
+
+    /**
+     * @return the CPU time and allocation charged to each script by evaluations with an {@link EvaluationReport}
+     * @since 3.0
+     */
+    List<ResourceUsage> getUsages();
+
+    /**
+     * Discards every metric recorded so far.
+     *
+     * @since 3.0
+     */
+    void reset();
+
+}
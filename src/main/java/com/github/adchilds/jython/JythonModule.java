@@ -0,0 +1,299 @@
+package com.github.adchilds.jython;
+
+import com.github.adchilds.jython.exception.JythonScriptException;
+import com.github.adchilds.util.StringUtils;
+import org.python.core.Py;
+import org.python.core.PyCode;
+import org.python.core.PyObject;
+import org.python.core.PyStringMap;
+import org.python.util.PythonInterpreter;
+
+import java.io.File;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A Jython script loaded once as a module, whose functions and classes can then be called directly from Java:
+ * <pre>
+ * {@code JythonModule module = JythonModule.load(new File("test.py"));
+ *
+ * Object product = module.invoke("multiply", 6, 7);
+ *
+ * JythonObject someClass = module.newInstance("SomeClass");
+ * Object computed = someClass.invoke("compute", 3, 4);
+ * }
+ * </pre>
+ *
+ * Evaluating a script re-executes its whole body, redefining every function and class it declares, on every call. A
+ * module's body is executed only once, when it is loaded, so each invocation is a single Python call. The module's
+ * {@code __name__} is taken from its filename rather than being {@code '__main__'}, so any {@code if __name__ ==
+ * '__main__':} block is skipped.
+ *
+ * Each function or class is looked up in the module's namespace on its first use and cached; a script that later
+ * rebinds a name will not be observed by callers that have already used it. A JythonModule is thread-safe, although
+ * Python code that mutates the module's globals must guard them itself.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+public final class JythonModule {
+
+    private static final String DEFAULT_MODULE_NAME = "__jythonscript__";
+    private static final String PYTHON_EXTENSION = ".py";
+
+    private final PyCode pyCode;
+    private final String name;
+    private final PyStringMap namespace;
+    private final ConcurrentMap<String, PyObject> callables = new ConcurrentHashMap<>();
+
+    private JythonModule(final PyCode pyCode, final String name, final PyStringMap namespace) {
+        this.pyCode = pyCode;
+        this.name = name;
+        this.namespace = namespace;
+    }
+
+    /**
+     * Loads the Jython script at the given {@code scriptPath} as a module, executing its body once.
+     *
+     * @param scriptPath the fully qualified path of the Jython script to load
+     * @return the loaded module
+     * @throws JythonScriptException when the given script is null, a directory, or cannot be found, or its body fails
+     * @since 3.0
+     */
+    public static JythonModule load(final String scriptPath) throws JythonScriptException {
+        return load(JythonScript.compile(JythonScript.resolveScript(scriptPath)));
+    }
+
+    /**
+     * Loads the given Jython script file as a module, executing its body once.
+     *
+     * @param scriptFile the Jython script to load
+     * @return the loaded module
+     * @throws JythonScriptException when the given script is null, a directory, or cannot be found, or its body fails
+     * @since 3.0
+     */
+    public static JythonModule load(final File scriptFile) throws JythonScriptException {
+        return load(JythonScript.compile(JythonScript.resolveScript(scriptFile)));
+    }
+
+    /**
+     * Loads the given compiled Jython script as a module, executing its body once in a new namespace against Jython's
+     * shared {@link org.python.core.PySystemState}.
+     *
+     * @param pyCode the compiled Jython script to load
+     * @return the loaded module
+     * @throws JythonScriptException when the given PyCode is null or its body fails
+     * @since 3.0
+     */
+    public static JythonModule load(final PyCode pyCode) throws JythonScriptException {
+        if (pyCode == null) {
+            throw new JythonScriptException("Cannot load a Jython script that doesn't exist! PyCode is null.");
+        }
+
+        JythonCompiler.initializeRuntime();
+
+        final String name = moduleName(JythonMetrics.scriptName(pyCode));
+        final PyStringMap namespace = Py.newStringMap();
+        final PythonInterpreter interpreter = new PythonInterpreter(namespace, Py.defaultSystemState);
+
+        // Set after the interpreter is built, which names its namespace '__main__'
+        namespace.__setitem__("__name__", Py.newString(name));
+
+        final long start = JythonMetrics.start();
+
+        try {
+            // Execute the module's body, defining its functions and classes
+            interpreter.exec(pyCode);
+        } catch (Exception e) {
+            JythonMetrics.recordError(pyCode, e);
+
+            throw new JythonScriptException("An error occurred while loading module. module=[" + name + "], cause=[\n\t" +
+                    e.toString() + "]", e);
+        }
+
+        JythonMetrics.record(JythonMetrics.Phase.EXECUTE, pyCode, start);
+
+        return new JythonModule(pyCode, name, namespace);
+    }
+
+    /**
+     * Calls the module-level function, or any other callable, bound to the given name, returning its result as its
+     * equivalent Java type.
+     *
+     * @param function the name of the function to call
+     * @param args the arguments to pass to the function, converted to their Python equivalents
+     * @return the result of the function
+     * @throws JythonScriptException when no callable is bound to the given name, or the call fails
+     * @since 3.0
+     */
+    public Object invoke(final String function, final Object... args) throws JythonScriptException {
+        return call(pyCode, lookup(function), function, args);
+    }
+
+    /**
+     * Creates a new instance of the class bound to the given name.
+     *
+     * @param className the name of the class to instantiate
+     * @param args the arguments to pass to the class's constructor, converted to their Python equivalents
+     * @return a handle to the new instance
+     * @throws JythonScriptException when no class is bound to the given name, or its constructor fails
+     * @since 3.0
+     */
+    public JythonObject newInstance(final String className, final Object... args) throws JythonScriptException {
+        return new JythonObject(pyCode, callRaw(pyCode, lookup(className), className, args));
+    }
+
+    /**
+     * @param variable the name of a module-level variable
+     * @return the value of the given variable as its equivalent Java type, or null if it is not defined
+     * @since 3.0
+     */
+    public Object get(final String variable) {
+        return variable == null ? null : ResultParser.parse(namespace.__finditem__(variable));
+    }
+
+    /**
+     * @param callableName a name which may be bound in this module
+     * @return whether a function, class or other callable is bound to the given name
+     * @since 3.0
+     */
+    public boolean hasCallable(final String callableName) {
+        if (callableName == null) {
+            return false;
+        }
+
+        if (callables.containsKey(callableName)) {
+            return true;
+        }
+
+        final PyObject value = namespace.__finditem__(callableName);
+
+        return value != null && value.isCallable();
+    }
+
+    /**
+     * @return this module's {@code __name__}
+     * @since 3.0
+     */
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String toString() {
+        return "JythonModule[name=" + name + ", script=" + JythonMetrics.scriptName(pyCode) + "]";
+    }
+
+    /**
+     * Calls the given callable, returning its result as its equivalent Java type.
+     *
+     * @param pyCode the script the callable was defined by
+     * @param callable the function or method to call
+     * @param name the name of the callable, for error messages
+     * @param args the arguments to pass, converted to their Python equivalents
+     * @return the converted result of the call
+     * @throws JythonScriptException when the call fails or its result cannot be converted
+     * @since 3.0
+     */
+    static Object call(final PyCode pyCode, final PyObject callable, final String name, final Object... args)
+            throws JythonScriptException {
+        return JythonMetrics.convert(pyCode, callRaw(pyCode, callable, name, args), ResultParser::parse);
+    }
+
+    /**
+     * Calls the given callable, returning its unconverted result.
+     *
+     * @param pyCode the script the callable was defined by
+     * @param callable the function or method to call
+     * @param name the name of the callable, for error messages
+     * @param args the arguments to pass, converted to their Python equivalents
+     * @return the result of the call
+     * @throws JythonScriptException when the call fails
+     * @since 3.0
+     */
+    static PyObject callRaw(final PyCode pyCode, final PyObject callable, final String name, final Object... args)
+            throws JythonScriptException {
+        final PyObject[] pyArgs = toPy(args);
+
+        final long start = JythonMetrics.start();
+
+        final PyObject result;
+        try {
+            result = callable.__call__(pyArgs);
+        } catch (Exception e) {
+            JythonMetrics.recordError(pyCode, e);
+
+            throw new JythonScriptException("An error occurred during invocation. callable=[" + name + "], cause=[\n\t" +
+                    e.toString() + "]", e);
+        }
+
+        JythonMetrics.record(JythonMetrics.Phase.EXECUTE, pyCode, start);
+
+        return result;
+    }
+
+    /**
+     * @param args Java values, or null for no values
+     * @return the Python equivalents of the given values
+     * @since 3.0
+     */
+    private static PyObject[] toPy(final Object... args) {
+        if (args == null || args.length == 0) {
+            return Py.EmptyObjects;
+        }
+
+        final PyObject[] pyArgs = new PyObject[args.length];
+        for (int i = 0; i < args.length; i++) {
+            pyArgs[i] = args[i] instanceof JythonObject ? ((JythonObject) args[i]).getPyObject() :
+                    BinaryArguments.toPy(args[i]);
+        }
+
+        return pyArgs;
+    }
+
+    /**
+     * @param callableName the name of a function or class
+     * @return the callable bound to the given name, cached after its first lookup
+     * @throws JythonScriptException when no callable is bound to the given name
+     * @since 3.0
+     */
+    private PyObject lookup(final String callableName) throws JythonScriptException {
+        if (StringUtils.isBlank(callableName)) {
+            throw new JythonScriptException("Cannot invoke a Python callable without a name. name=[" + callableName + "]");
+        }
+
+        final PyObject cached = callables.get(callableName);
+        if (cached != null) {
+            return cached;
+        }
+
+        final PyObject callable = namespace.__finditem__(callableName);
+        if (callable == null || !callable.isCallable()) {
+            throw new JythonScriptException("No callable found in module. module=[" + name + "], name=[" +
+                    callableName + "]");
+        }
+
+        final PyObject existing = callables.putIfAbsent(callableName, callable);
+
+        return existing != null ? existing : callable;
+    }
+
+    /**
+     * @param script the filename of a script
+     * @return the module name of the given script, its filename without any directory or '.py' extension
+     * @since 3.0
+     */
+    private static String moduleName(final String script) {
+        if (script == null || script.startsWith("<")) {
+            return DEFAULT_MODULE_NAME;
+        }
+
+        String name = new File(script).getName();
+        if (name.endsWith(PYTHON_EXTENSION)) {
+            name = name.substring(0, name.length() - PYTHON_EXTENSION.length());
+        }
+
+        return name.isEmpty() ? DEFAULT_MODULE_NAME : name;
+    }
+
+}
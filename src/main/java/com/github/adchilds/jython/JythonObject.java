@@ -0,0 +1,117 @@
+package com.github.adchilds.jython;
+
+import com.github.adchilds.jython.exception.JythonScriptException;
+import com.github.adchilds.util.StringUtils;
+import org.python.core.PyCode;
+import org.python.core.PyObject;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A handle to a Python object, such as an instance created by {@link JythonModule#newInstance(String, Object...)},
+ * whose methods can be called directly from Java. Each method is looked up on the object on its first use and its bound
+ * method cached, so later calls are a single Python call.
+ *
+ * To call the object from code that should not depend on Jython, bind it to a Java interface via {@link #as(Class)}.
+ *
+ * A JythonObject may be passed as an argument to {@link JythonModule#invoke(String, Object...)} or {@link
+ * #invoke(String, Object...)}, in which case the underlying Python object itself is passed.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+public final class JythonObject {
+
+    private final PyCode pyCode;
+    private final PyObject object;
+    private final ConcurrentMap<String, PyObject> methods = new ConcurrentHashMap<>();
+
+    JythonObject(final PyCode pyCode, final PyObject object) {
+        this.pyCode = pyCode;
+        this.object = object;
+    }
+
+    /**
+     * Calls the given method of this object, returning its result as its equivalent Java type.
+     *
+     * @param method the name of the method to call
+     * @param args the arguments to pass to the method, converted to their Python equivalents
+     * @return the result of the method
+     * @throws JythonScriptException when this object has no method of the given name, or the call fails
+     * @since 3.0
+     */
+    public Object invoke(final String method, final Object... args) throws JythonScriptException {
+        return JythonModule.call(pyCode, lookup(method), method, args);
+    }
+
+    /**
+     * Binds this object to the given Java interface, returning an implementation whose methods call the same-named
+     * methods of this object. Each method is resolved once, here, so that every call through the interface costs
+     * roughly a single Python call. Arguments are converted to their Python equivalents, and results to the method's
+     * return type; methods returning {@code Object} receive results converted as {@link JythonScript} converts them.
+     *
+     * Failures within the Python methods are thrown as an {@link
+     * com.github.adchilds.jython.exception.UncheckedJythonScriptException}.
+     *
+     * @param type the interface to implement
+     * @param <T> the type of the interface
+     * @return an implementation of the given interface backed by this object
+     * @throws JythonScriptException when the given type is null or not an interface, or this object lacks any of its
+     * methods
+     * @since 3.0
+     */
+    public <T> T as(final Class<T> type) throws JythonScriptException {
+        return InterfaceProxy.create(pyCode, this, type);
+    }
+
+    /**
+     * @param attribute the name of an attribute of this object
+     * @return the value of the given attribute as its equivalent Java type, or null if it is not defined
+     * @since 3.0
+     */
+    public Object get(final String attribute) {
+        return attribute == null ? null : ResultParser.parse(object.__findattr__(attribute));
+    }
+
+    /**
+     * @return the underlying Python object
+     * @since 3.0
+     */
+    public PyObject getPyObject() {
+        return object;
+    }
+
+    @Override
+    public String toString() {
+        return "JythonObject[type=" + object.getType().getName() + "]";
+    }
+
+    /**
+     * @param method the name of a method
+     * @return the given method bound to this object, cached after its first lookup
+     * @throws JythonScriptException when this object has no method of the given name
+     * @since 3.0
+     */
+    private PyObject lookup(final String method) throws JythonScriptException {
+        if (StringUtils.isBlank(method)) {
+            throw new JythonScriptException("Cannot invoke a Python method without a name. method=[" + method + "]");
+        }
+
+        final PyObject cached = methods.get(method);
+        if (cached != null) {
+            return cached;
+        }
+
+        final PyObject bound = object.__findattr__(method);
+        if (bound == null || !bound.isCallable()) {
+            throw new JythonScriptException("No method found on object. type=[" + object.getType().getName() +
+                    "], method=[" + method + "]");
+        }
+
+        final PyObject existing = methods.putIfAbsent(method, bound);
+
+        return existing != null ? existing : bound;
+    }
+
+}
@@ -1,21 +1,22 @@
 package com.github.adchilds.jython;
 
 import com.github.adchilds.jython.exception.JythonResultNotFoundException;
+import com.github.adchilds.jython.exception.JythonScriptBudgetExceededException;
 import com.github.adchilds.jython.exception.JythonScriptException;
+import com.github.adchilds.jython.exception.JythonScriptTimeoutException;
 import com.github.adchilds.jython.exception.JythonScriptNotFoundException;
-import com.github.adchilds.util.FileUtils;
 import com.github.adchilds.util.StringUtils;
 import org.python.core.*;
 import org.python.util.PythonInterpreter;
 
 import java.io.File;
-import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
-import java.util.Set;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 /**
  * {@link JythonScript} provides an easy to use wrapper for executing and/or evaluating Python expressions or scripts
@@ -48,7 +49,8 @@ import java.util.Set;
  * When consuming arguments passed to a Jython script via the 'Object... args' parameter of an execute or evaluate
  * method, the arguments will be available via Python's sys.argv list. It's important to note that the first argument
  * (index 0 [sys.argv[0]]) is reserved. Therefore, Jython scripts should always access these arguments beginning with
- * the second index of sys.argv (i.e. sys.argv[1]).
+ * the second index of sys.argv (i.e. sys.argv[1]). Binary payloads wrapped in {@link SharedBytes} are passed as Python
+ * memoryviews sharing their memory, rather than copies.
  *
  * <br>
  * <br>
@@ -59,6 +61,16 @@ import java.util.Set;
  * provides the necessary {@link #evaluate(PyCode, Object...)} and {@link #execute(PyCode, Object...)} methods to
  * foster these speed increases.
  *
+ * Scripts given to JythonScript by file path, {@link File} or {@link URL} are also compiled once and held in a
+ * shared {@link ScriptCache} (see {@link #getScriptCache()}), so repeat evaluations of an unchanged script skip
+ * reading and parsing it entirely.
+ *
+ * Each {@code #evaluateAsync(...)} and {@code #executeAsync(...)} function returns a {@link CompletableFuture}
+ * immediately and runs the script on a shared, lazily created {@link JythonEngine}.
+ *
+ * To keep the first call in a process from paying for initializing the Jython runtime, call {@link #warmup(Warmup)}
+ * during startup and treat the returned future as a readiness check.
+ *
  * <br>
  * <br>
  *
@@ -85,6 +97,8 @@ public class JythonScript {
 
     private static final String EVALUATION_RESULT_LOCAL_VARIABLE = "result";
 
+    private static final ScriptCache SCRIPT_CACHE = new ScriptCache();
+
     /**
      * Compiles the Jython script at the given {@code filePath} into a {@link PyCode} object.
      *
@@ -146,15 +160,7 @@ public class JythonScript {
         }
 
         // Compile the file, returning the associated PyCode object
-        final String script;
-        try {
-            script = FileUtils.readFully(file);
-        } catch (IOException e) {
-            throw new JythonScriptException("Could not read the contents of the given file. file=[" +
-                    file.getAbsolutePath() + "]");
-        }
-
-        return compileString(script);
+        return SCRIPT_CACHE.get(file);
     }
 
     /**
@@ -170,14 +176,86 @@ public class JythonScript {
             throw new JythonScriptException("Given script was null or empty; cannot be compiled into PyCode.");
         }
 
-        final PythonInterpreter interpreter = new PythonInterpreter();
-
         // Compile the script, returning the associated PyCode object
-        try {
-            return interpreter.compile(script);
-        } catch (Exception e) {
-            throw new JythonScriptException("Could not compile the given script.", e);
+        return SCRIPT_CACHE.get(script);
+    }
+
+    /**
+     * Returns the {@link ScriptCache} that holds the scripts compiled by JythonScript. The cache is consulted by each
+     * of the {@code #compile(...)} functions, as well as the {@code #evaluate(...)} and {@code #execute(...)}
+     * functions that accept a file path, {@link File} or {@link URL}, so that an unchanged script is only read and
+     * parsed once.
+     *
+     * @return the shared {@link ScriptCache}
+     * @since 3.0
+     */
+    public static ScriptCache getScriptCache() {
+        return SCRIPT_CACHE;
+    }
+
+    /**
+     * Initializes the shared Jython runtime with the given {@link RuntimeConfiguration}, such as {@link
+     * RuntimeConfiguration#fastStart()}. The runtime is initialized once per JVM, so this must be called before any
+     * script is compiled or executed, and before any {@link JythonEngine} is built.
+     *
+     * @param configuration the configuration to initialize the runtime with
+     * @throws JythonScriptException when the given configuration is null, or the runtime has already been initialized
+     * @since 3.0
+     */
+    public static void configureRuntime(final RuntimeConfiguration configuration) throws JythonScriptException {
+        if (configuration == null) {
+            throw new JythonScriptException("Cannot configure the Jython runtime! RuntimeConfiguration is null.");
+        }
+
+        JythonCompiler.configureRuntime(configuration);
+    }
+
+    /**
+     * @return the configuration the shared Jython runtime was initialized with, or null if it is not yet initialized
+     * @since 3.0
+     */
+    public static RuntimeConfiguration getRuntimeConfiguration() {
+        return JythonCompiler.getRuntimeConfiguration();
+    }
+
+    /**
+     * Initializes the Jython runtime on a background thread, so that the first script executed by this process does
+     * not pay for it.
+     *
+     * @return a future completed once the runtime is initialized
+     * @see #warmup(Warmup)
+     * @since 3.0
+     */
+    public static CompletableFuture<Void> warmup() {
+        return warmup(Warmup.runtimeOnly());
+    }
+
+    /**
+     * Initializes the Jython runtime on a background thread, then performs the given {@link Warmup}: importing its
+     * modules and running each of its scripts, so that the first real calls made by this process do not pay for
+     * loading them. Note that, as every JythonScript call has its own 'sys.modules', imported modules are warmed up
+     * rather than shared with later calls.
+     *
+     * @param warmup the modules to import and scripts to run
+     * @return a future completed once the warm-up has finished, or exceptionally if any import or script failed
+     * @throws IllegalArgumentException when the given warm-up is null
+     * @see JythonEngine.Builder#warmup(Warmup)
+     * @since 3.0
+     */
+    public static CompletableFuture<Void> warmup(final Warmup warmup) {
+        if (warmup == null) {
+            throw new IllegalArgumentException("Warmup must not be null.");
         }
+
+        return Warmup.runInBackground(() -> {
+            JythonCompiler.initializeRuntime();
+
+            // Construct one interpreter, importing any requested modules along the way
+            final PyCode imports = warmup.compileImports();
+            execute(imports != null ? imports : compileString("pass"));
+
+            warmup.runScripts(JythonScript::execute);
+        });
     }
 
     /**
@@ -193,20 +271,7 @@ public class JythonScript {
      * @since 1.0
      */
     public static Object evaluate(final String scriptPath, final Object... args) throws JythonScriptException {
-        // Ensure that the scriptRelativePath is not null or empty
-        if (StringUtils.isBlank(scriptPath)) {
-            throw new JythonScriptNotFoundException("File not found at path=[" + scriptPath + "]");
-        }
-
-        // Open an InputStream for the file
-        final InputStream inputStream;
-        try {
-            inputStream = FileUtils.getFileInputStream(scriptPath);
-        } catch (Exception e) {
-            throw new JythonScriptNotFoundException("Could not open Jython script from location=[" + scriptPath + "]", e);
-        }
-
-        return evaluate(inputStream, args);
+        return evaluate(SCRIPT_CACHE.get(resolveScript(scriptPath)), args);
     }
 
     /**
@@ -222,27 +287,7 @@ public class JythonScript {
      * @since 2.0
      */
     public static Object evaluate(final URL scriptUrl, final Object... args) throws JythonScriptException {
-        if (scriptUrl == null) {
-            throw new JythonScriptException("Null path is not a URL.");
-        }
-
-        // Convert the URL to a File
-        final File file;
-        try {
-            file = new File(scriptUrl.toURI());
-        } catch (Exception e) {
-            throw new JythonScriptException("Could not convert URL to File.", e);
-        }
-
-        // Open an InputStream for the file
-        final InputStream inputStream;
-        try {
-            inputStream = FileUtils.getFileInputStream(file);
-        } catch (Exception e) {
-            throw new JythonScriptNotFoundException("Could not open Jython script from location=[" + scriptUrl.getPath() + "]", e);
-        }
-
-        return evaluate(inputStream, args);
+        return evaluate(SCRIPT_CACHE.get(resolveScript(scriptUrl)), args);
     }
 
     /**
@@ -257,21 +302,8 @@ public class JythonScript {
      * @since 1.0
      */
     public static Object evaluate(final File scriptFile, final Object... args) throws JythonScriptException {
-        // Ensure that the script is not null
-        if (scriptFile == null) {
-            throw new JythonScriptNotFoundException("Could not open Jython script, the file was null.");
-        }
-
-        // Open an InputStream for the file
-        final InputStream inputStream;
-        try {
-            inputStream = FileUtils.getFileInputStream(scriptFile);
-        } catch (Exception e) {
-            throw new JythonScriptNotFoundException("Could not open Jython script from location=[" + scriptFile.getAbsolutePath() + "]", e);
-        }
-
         // Execute the script
-        return evaluate(inputStream, args);
+        return evaluate(SCRIPT_CACHE.get(resolveScript(scriptFile)), args);
     }
 
     /**
@@ -296,7 +328,7 @@ public class JythonScript {
             throw new JythonResultNotFoundException("Local variable 'result' not found during script execution.");
         }
 
-        return parseResult(result);
+        return JythonMetrics.convert(null, result, ResultParser::parse);
     }
 
     /**
@@ -311,8 +343,149 @@ public class JythonScript {
      * @since 1.0
      */
     public static Object evaluate(final PyCode pyCode, final Object... args) throws JythonScriptException {
-        // Execute the script
-        final PythonInterpreter interpreter = executeWithState(pyCode, args);
+        return JythonMetrics.convert(pyCode, evaluateToPyObject(pyCode, args), ResultParser::parse);
+    }
+
+    /**
+     * Evaluates the given Jython script, returning the result as its equivalent Java type, or stopping the script if it
+     * does not complete within the given timeout. Without a timeout, a script that never completes blocks the calling
+     * thread forever.
+     *
+     * @param pyCode the compiled Jython script to evaluate
+     * @param timeout the maximum time to wait for the script to complete
+     * @param args arguments to be passed to the script
+     * @return the result from executing the given script
+     * @throws JythonScriptTimeoutException when the script does not complete within the given timeout
+     * @throws JythonScriptException when the timeout is not positive, a script execution error occurs or when a local
+     * Python variable named 'result' is not found
+     * @since 3.0
+     */
+    public static Object evaluate(final PyCode pyCode, final Duration timeout, final Object... args) throws JythonScriptException {
+        return ExecutionControl.withTimeout(timeout).run(() -> evaluate(pyCode, args));
+    }
+
+    /**
+     * Evaluates the given Jython script, returning the result as its equivalent Java type, or stopping the script as
+     * soon as it exceeds any limit of the given {@link ExecutionBudget}. Use a budget when running untrusted scripts,
+     * which might otherwise loop, recurse or allocate without end.
+     *
+     * @param pyCode the compiled Jython script to evaluate
+     * @param budget the limits the script must execute within
+     * @param args arguments to be passed to the script
+     * @return the result from executing the given script
+     * @throws JythonScriptBudgetExceededException when the script or its result exceeds the given budget
+     * @throws JythonScriptException when the given PyCode or budget is null, a script execution error occurs or when a
+     * local Python variable named 'result' is not found
+     * @since 3.0
+     */
+    public static Object evaluate(final PyCode pyCode, final ExecutionBudget budget, final Object... args) throws JythonScriptException {
+        final PyObject result = evaluateToPyObject(pyCode, ExecutionControl.withBudget(budget), args);
+
+        // Check the result's size before converting, which copies every element
+        budget.checkResultSize(result);
+
+        return JythonMetrics.convert(pyCode, result, ResultParser::parse);
+    }
+
+    /**
+     * Evaluates the given Jython script, returning its result, a {@code list}, {@code tuple} or {@code array.array}
+     * of integers, as a {@code int[]}. Unlike {@link #evaluate(PyCode, Object...)}, which boxes each element into an
+     * {@code Object[]}, elements are read directly into the array.
+     *
+     * @param pyCode the compiled Jython script to evaluate
+     * @param args arguments to be passed to the script
+     * @return the result from executing the given script
+     * @throws JythonScriptException when a script execution error occurs, a local Python variable named 'result' is
+     * not found, or the result cannot be converted to a {@code int[]}
+     * @since 3.0
+     */
+    public static int[] evaluateToIntArray(final PyCode pyCode, final Object... args) throws JythonScriptException {
+        return JythonMetrics.convert(pyCode, evaluateToPyObject(pyCode, args), ResultParser::parseIntArray);
+    }
+
+    /**
+     * Evaluates the given Jython script, returning its result, a {@code list}, {@code tuple} or {@code array.array}
+     * of integers, as a {@code long[]}. Unlike {@link #evaluate(PyCode, Object...)}, which boxes each element into an
+     * {@code Object[]}, elements are read directly into the array.
+     *
+     * @param pyCode the compiled Jython script to evaluate
+     * @param args arguments to be passed to the script
+     * @return the result from executing the given script
+     * @throws JythonScriptException when a script execution error occurs, a local Python variable named 'result' is
+     * not found, or the result cannot be converted to a {@code long[]}
+     * @since 3.0
+     */
+    public static long[] evaluateToLongArray(final PyCode pyCode, final Object... args) throws JythonScriptException {
+        return JythonMetrics.convert(pyCode, evaluateToPyObject(pyCode, args), ResultParser::parseLongArray);
+    }
+
+    /**
+     * Evaluates the given Jython script, returning its result, a {@code list}, {@code tuple} or {@code array.array}
+     * of numbers, as a {@code double[]}. Unlike {@link #evaluate(PyCode, Object...)}, which boxes each element into an
+     * {@code Object[]}, elements are read directly into the array.
+     *
+     * @param pyCode the compiled Jython script to evaluate
+     * @param args arguments to be passed to the script
+     * @return the result from executing the given script
+     * @throws JythonScriptException when a script execution error occurs, a local Python variable named 'result' is
+     * not found, or the result cannot be converted to a {@code double[]}
+     * @since 3.0
+     */
+    public static double[] evaluateToDoubleArray(final PyCode pyCode, final Object... args) throws JythonScriptException {
+        return JythonMetrics.convert(pyCode, evaluateToPyObject(pyCode, args), ResultParser::parseDoubleArray);
+    }
+
+    /**
+     * Evaluates the given Jython script, returning an iterator that pulls items from its 'result', typically a
+     * generator, one at a time as the iterator advances. Unlike {@link #evaluate(PyCode, Object...)}, which converts
+     * the entire result at once, only the current item is held in memory, so scripts may produce any number of items.
+     *
+     * @param pyCode the compiled Jython script to evaluate
+     * @param args arguments to be passed to the script
+     * @return an iterator over the items of the script's result
+     * @throws JythonScriptException when a script execution error occurs, a local Python variable named 'result' is
+     * not found, or the result is not iterable
+     * @since 3.0
+     */
+    public static ResultIterator evaluateToIterator(final PyCode pyCode, final Object... args) throws JythonScriptException {
+        final PyObject iterator = ResultIterator.iterate(evaluateToPyObject(pyCode, args));
+
+        return new ResultIterator(iterator, ResultConversion.EAGER, () -> { });
+    }
+
+    /**
+     * Evaluates the given Jython script, returning a {@link Stream} that pulls items from its 'result', typically a
+     * generator, one at a time.
+     *
+     * @param pyCode the compiled Jython script to evaluate
+     * @param args arguments to be passed to the script
+     * @return a stream over the items of the script's result
+     * @throws JythonScriptException when a script execution error occurs, a local Python variable named 'result' is
+     * not found, or the result is not iterable
+     * @see ResultIterator#stream(int)
+     * @since 3.0
+     */
+    public static Stream<Object> evaluateToStream(final PyCode pyCode, final Object... args) throws JythonScriptException {
+        return evaluateToIterator(pyCode, args).stream();
+    }
+
+    /**
+     * Evaluates the given Jython script with the given {@link Bindings} stored directly in its '__main__' namespace,
+     * returning the result as its equivalent Java type. Scripts read their inputs as ordinary variables rather than by
+     * indexing 'sys.argv'.
+     *
+     * Unlike {@link #evaluate(PyCode, Object...)}, no new {@link PySystemState} is constructed; the script runs against
+     * Jython's shared system state, with its own '__main__' namespace.
+     *
+     * @param pyCode the compiled Jython script to evaluate
+     * @param bindings the named values made available to the script
+     * @return the result from executing the given script
+     * @throws JythonScriptException when the given PyCode or bindings are null, a script execution error occurs or
+     * when a local Python variable named 'result' is not found
+     * @since 3.0
+     */
+    public static Object evaluate(final PyCode pyCode, final Bindings bindings) throws JythonScriptException {
+        final PythonInterpreter interpreter = executeWithBindings(pyCode, bindings);
 
         // Obtain the value of a local variable named 'result' from the executed script
         final PyObject result = interpreter.get(EVALUATION_RESULT_LOCAL_VARIABLE);
@@ -321,7 +494,20 @@ public class JythonScript {
             throw new JythonResultNotFoundException("Local variable 'result' not found during script execution.");
         }
 
-        return parseResult(result);
+        return JythonMetrics.convert(pyCode, result, ResultParser::parse);
+    }
+
+    /**
+     * Executes the given Jython script with the given {@link Bindings} stored directly in its '__main__' namespace.
+     *
+     * @param pyCode the compiled Jython script to execute
+     * @param bindings the named values made available to the script
+     * @throws JythonScriptException when the given PyCode or bindings are null, or a script execution error occurs
+     * @see #evaluate(PyCode, Bindings)
+     * @since 3.0
+     */
+    public static void execute(final PyCode pyCode, final Bindings bindings) throws JythonScriptException {
+        executeWithBindings(pyCode, bindings);
     }
 
     /**
@@ -335,21 +521,8 @@ public class JythonScript {
      * @since 1.0
      */
     public static void execute(final String scriptPath, final Object... args) throws JythonScriptException {
-        // Ensure that the scriptRelativePath is not null or empty
-        if (StringUtils.isBlank(scriptPath)) {
-            throw new JythonScriptNotFoundException("File not found at path=[" + scriptPath + "]");
-        }
-
-        // Open an InputStream for the file
-        final InputStream inputStream;
-        try {
-            inputStream = FileUtils.getFileInputStream(scriptPath);
-        } catch (Exception e) {
-            throw new JythonScriptNotFoundException("Could not open Jython script from location=[" + scriptPath + "]", e);
-        }
-
         // Execute the script
-        execute(inputStream, args);
+        execute(SCRIPT_CACHE.get(resolveScript(scriptPath)), args);
     }
 
     /**
@@ -363,27 +536,7 @@ public class JythonScript {
      * @since 2.0
      */
     public static void execute(final URL scriptUrl, final Object... args) throws JythonScriptException {
-        if (scriptUrl == null) {
-            throw new JythonScriptException("Null path is not a URL.");
-        }
-
-        // Convert the URL to a File
-        final File file;
-        try {
-            file = new File(scriptUrl.toURI());
-        } catch (Exception e) {
-            throw new JythonScriptException("Could not convert URL to File.", e);
-        }
-
-        // Open an InputStream for the file
-        final InputStream inputStream;
-        try {
-            inputStream = FileUtils.getFileInputStream(file);
-        } catch (Exception e) {
-            throw new JythonScriptNotFoundException("Could not open Jython script from location=[" + scriptUrl.getPath() + "]", e);
-        }
-
-        execute(inputStream, args);
+        execute(SCRIPT_CACHE.get(resolveScript(scriptUrl)), args);
     }
 
     /**
@@ -397,21 +550,8 @@ public class JythonScript {
      * @since 1.0
      */
     public static void execute(final File scriptFile, final Object... args) throws JythonScriptException {
-        // Ensure that the script is not null
-        if (scriptFile == null) {
-            throw new JythonScriptNotFoundException("Could not open Jython script, the file was null.");
-        }
-
-        // Open an InputStream for the file
-        final InputStream inputStream;
-        try {
-            inputStream = FileUtils.getFileInputStream(scriptFile);
-        } catch (Exception e) {
-            throw new JythonScriptNotFoundException("Could not open Jython script from location=[" + scriptFile.getAbsolutePath() + "]", e);
-        }
-
         // Execute the script
-        execute(inputStream, args);
+        execute(SCRIPT_CACHE.get(resolveScript(scriptFile)), args);
     }
 
     /**
@@ -432,12 +572,112 @@ public class JythonScript {
         // Set the arguments on the Python System State
         final PythonInterpreter interpreter = updateInterpreterState(args);
 
+        final long start = JythonMetrics.start();
+
         try {
             // Execute the script
             interpreter.execfile(inputStream);
         } catch (Exception e) {
+            JythonMetrics.recordError(JythonMetrics.STREAM_SCRIPT, e);
+
             throw new JythonScriptException("An error occurred during script execution. cause=[\n\t" + e.toString() + "]");
         }
+
+        JythonMetrics.record(JythonMetrics.Phase.EXECUTE, JythonMetrics.STREAM_SCRIPT, start);
+    }
+
+    /**
+     * Evaluates the Jython script at the given {@code scriptPath}, returning its result alongside the CPU time and heap
+     * allocation of compiling the script, which is free once it is cached, executing it, and converting its result.
+     *
+     * @param scriptPath the fully qualified path of the Jython script to evaluate
+     * @param args arguments to be passed to the script
+     * @return a report of the result and resource usage of the evaluation
+     * @throws JythonScriptException when the given script is null, a directory, or cannot be found, a script execution
+     * error occurs or when a local Python variable named 'result' is not found
+     * @since 3.0
+     */
+    public static EvaluationReport evaluateWithReport(final String scriptPath, final Object... args) throws JythonScriptException {
+        final ResourceMeter meter = new ResourceMeter();
+        final File scriptFile = resolveScript(scriptPath);
+
+        return evaluateWithReport(meter, meter.measure(JythonMetrics.Phase.COMPILE, () -> SCRIPT_CACHE.get(scriptFile)), args);
+    }
+
+    /**
+     * Evaluates the given Jython script file, returning its result alongside the CPU time and heap allocation of
+     * compiling the script, which is free once it is cached, executing it, and converting its result.
+     *
+     * @param scriptFile the Jython script to evaluate
+     * @param args arguments to be passed to the script
+     * @return a report of the result and resource usage of the evaluation
+     * @throws JythonScriptException when the given script is null, a directory, or cannot be found, a script execution
+     * error occurs or when a local Python variable named 'result' is not found
+     * @since 3.0
+     */
+    public static EvaluationReport evaluateWithReport(final File scriptFile, final Object... args) throws JythonScriptException {
+        final ResourceMeter meter = new ResourceMeter();
+        final File resolvedFile = resolveScript(scriptFile);
+
+        return evaluateWithReport(meter, meter.measure(JythonMetrics.Phase.COMPILE, () -> SCRIPT_CACHE.get(resolvedFile)), args);
+    }
+
+    /**
+     * Evaluates the given Jython script, returning its result alongside the CPU time and heap allocation of executing
+     * it, including building its interpreter, and converting its result. The same usage is added to the script's
+     * totals, available via {@link MetricsSnapshot#getUsage(String)}, whether or not the evaluation succeeds.
+     *
+     * @param pyCode the compiled Jython script to evaluate
+     * @param args arguments to be passed to the script
+     * @return a report of the result and resource usage of the evaluation
+     * @throws JythonScriptException when a script execution error occurs or when a local Python variable named 'result'
+     * is not found
+     * @since 3.0
+     */
+    public static EvaluationReport evaluateWithReport(final PyCode pyCode, final Object... args) throws JythonScriptException {
+        return evaluateWithReport(new ResourceMeter(), pyCode, args);
+    }
+
+    /**
+     * Loads the Jython script at the given {@code scriptPath} as a {@link JythonModule}, creates an instance of the
+     * given Python class and binds it to the given Java interface. Calls through the returned interface cost roughly a
+     * single Python call each, rather than a script evaluation.
+     *
+     * @param scriptPath the fully qualified path of the Jython script defining the class
+     * @param className the name of the Python class to instantiate
+     * @param type the interface the instance implements
+     * @param args the arguments to pass to the class's constructor
+     * @param <T> the type of the interface
+     * @return an implementation of the given interface backed by a new instance of the given class
+     * @throws JythonScriptException when the script cannot be loaded, the class cannot be instantiated, or its instance
+     * lacks any method of the given interface
+     * @see JythonObject#as(Class)
+     * @since 3.0
+     */
+    public static <T> T proxy(final String scriptPath, final String className, final Class<T> type, final Object... args)
+            throws JythonScriptException {
+        return JythonModule.load(scriptPath).newInstance(className, args).as(type);
+    }
+
+    /**
+     * Loads the given compiled Jython script as a {@link JythonModule}, creates an instance of the given Python class and
+     * binds it to the given Java interface. Calls through the returned interface cost roughly a single Python call each,
+     * rather than a script evaluation.
+     *
+     * @param pyCode the compiled Jython script defining the class
+     * @param className the name of the Python class to instantiate
+     * @param type the interface the instance implements
+     * @param args the arguments to pass to the class's constructor
+     * @param <T> the type of the interface
+     * @return an implementation of the given interface backed by a new instance of the given class
+     * @throws JythonScriptException when the script cannot be loaded, the class cannot be instantiated, or its instance
+     * lacks any method of the given interface
+     * @see JythonObject#as(Class)
+     * @since 3.0
+     */
+    public static <T> T proxy(final PyCode pyCode, final String className, final Class<T> type, final Object... args)
+            throws JythonScriptException {
+        return JythonModule.load(pyCode).newInstance(className, args).as(type);
     }
 
     /**
@@ -458,12 +698,274 @@ public class JythonScript {
         // Set the arguments on the Python System State
         final PythonInterpreter interpreter = updateInterpreterState(args);
 
+        final long start = JythonMetrics.start();
+
         try {
             // Execute the script
             interpreter.exec(pyCode);
         } catch (Exception e) {
+            JythonMetrics.recordError(pyCode, e);
+
             throw new JythonScriptException("An error occurred during script execution. cause=[\n\t" + e.toString() + "]");
         }
+
+        JythonMetrics.record(JythonMetrics.Phase.EXECUTE, pyCode, start);
+    }
+
+    /**
+     * Executes the given Jython script, stopping it if it does not complete within the given timeout.
+     *
+     * @param pyCode the compiled Jython script to execute
+     * @param timeout the maximum time to wait for the script to complete
+     * @param args arguments to be passed to the script
+     * @throws JythonScriptTimeoutException when the script does not complete within the given timeout
+     * @throws JythonScriptException when the given PyCode is null, the timeout is not positive, or a script execution
+     * error occurs
+     * @since 3.0
+     */
+    public static void execute(final PyCode pyCode, final Duration timeout, final Object... args) throws JythonScriptException {
+        ExecutionControl.withTimeout(timeout).run(() -> {
+            execute(pyCode, args);
+            return null;
+        });
+    }
+
+    /**
+     * Executes the given Jython script, stopping it as soon as it exceeds the line or recursion limits of the given
+     * {@link ExecutionBudget}.
+     *
+     * @param pyCode the compiled Jython script to execute
+     * @param budget the limits the script must execute within
+     * @param args arguments to be passed to the script
+     * @throws JythonScriptBudgetExceededException when the script exceeds the given budget
+     * @throws JythonScriptException when the given PyCode or budget is null, or a script execution error occurs
+     * @since 3.0
+     */
+    public static void execute(final PyCode pyCode, final ExecutionBudget budget, final Object... args) throws JythonScriptException {
+        executeWithState(pyCode, ExecutionControl.withBudget(budget), args);
+    }
+
+    /**
+     * Asynchronously evaluates the given Jython script on the shared default {@link JythonEngine}, returning
+     * immediately. The default engine is created on first use, with one pooled interpreter per available processor.
+     *
+     * @param scriptPath the fully qualified path of the Jython script to evaluate
+     * @param args arguments to be passed to the script
+     * @return a future completed with the result of the script, or exceptionally with a {@link JythonScriptException}
+     * @see #evaluate(String, Object...)
+     * @since 3.0
+     */
+    public static CompletableFuture<Object> evaluateAsync(final String scriptPath, final Object... args) {
+        return DefaultEngineHolder.ENGINE.evaluateAsync(scriptPath, args);
+    }
+
+    /**
+     * Asynchronously evaluates the given Jython script on the shared default {@link JythonEngine}, returning
+     * immediately. The default engine is created on first use, with one pooled interpreter per available processor.
+     *
+     * @param scriptUrl the {@link URL} to a Jython script to evaluate
+     * @param args arguments to be passed to the script
+     * @return a future completed with the result of the script, or exceptionally with a {@link JythonScriptException}
+     * @see #evaluate(URL, Object...)
+     * @since 3.0
+     */
+    public static CompletableFuture<Object> evaluateAsync(final URL scriptUrl, final Object... args) {
+        return DefaultEngineHolder.ENGINE.evaluateAsync(scriptUrl, args);
+    }
+
+    /**
+     * Asynchronously evaluates the given Jython script on the shared default {@link JythonEngine}, returning
+     * immediately. The default engine is created on first use, with one pooled interpreter per available processor.
+     *
+     * @param scriptFile the Jython script to evaluate
+     * @param args arguments to be passed to the script
+     * @return a future completed with the result of the script, or exceptionally with a {@link JythonScriptException}
+     * @see #evaluate(File, Object...)
+     * @since 3.0
+     */
+    public static CompletableFuture<Object> evaluateAsync(final File scriptFile, final Object... args) {
+        return DefaultEngineHolder.ENGINE.evaluateAsync(scriptFile, args);
+    }
+
+    /**
+     * Asynchronously evaluates the given Jython script on the shared default {@link JythonEngine}, returning
+     * immediately. The default engine is created on first use, with one pooled interpreter per available processor.
+     *
+     * @param pyCode the compiled Jython script to evaluate
+     * @param args arguments to be passed to the script
+     * @return a future completed with the result of the script, or exceptionally with a {@link JythonScriptException}
+     * @see #evaluate(PyCode, Object...)
+     * @since 3.0
+     */
+    public static CompletableFuture<Object> evaluateAsync(final PyCode pyCode, final Object... args) {
+        return DefaultEngineHolder.ENGINE.evaluateAsync(pyCode, args);
+    }
+
+    /**
+     * Asynchronously executes the given Jython script on the shared default {@link JythonEngine}, returning
+     * immediately. The default engine is created on first use, with one pooled interpreter per available processor.
+     *
+     * @param scriptPath the fully qualified path of the Jython script to execute
+     * @param args arguments to be passed to the script
+     * @return a future completed once the script has executed, or exceptionally with a {@link JythonScriptException}
+     * @see #execute(String, Object...)
+     * @since 3.0
+     */
+    public static CompletableFuture<Void> executeAsync(final String scriptPath, final Object... args) {
+        return DefaultEngineHolder.ENGINE.executeAsync(scriptPath, args);
+    }
+
+    /**
+     * Asynchronously executes the given Jython script on the shared default {@link JythonEngine}, returning
+     * immediately. The default engine is created on first use, with one pooled interpreter per available processor.
+     *
+     * @param scriptUrl the {@link URL} to a Jython script to execute
+     * @param args arguments to be passed to the script
+     * @return a future completed once the script has executed, or exceptionally with a {@link JythonScriptException}
+     * @see #execute(URL, Object...)
+     * @since 3.0
+     */
+    public static CompletableFuture<Void> executeAsync(final URL scriptUrl, final Object... args) {
+        return DefaultEngineHolder.ENGINE.executeAsync(scriptUrl, args);
+    }
+
+    /**
+     * Asynchronously executes the given Jython script on the shared default {@link JythonEngine}, returning
+     * immediately. The default engine is created on first use, with one pooled interpreter per available processor.
+     *
+     * @param scriptFile the Jython script to execute
+     * @param args arguments to be passed to the script
+     * @return a future completed once the script has executed, or exceptionally with a {@link JythonScriptException}
+     * @see #execute(File, Object...)
+     * @since 3.0
+     */
+    public static CompletableFuture<Void> executeAsync(final File scriptFile, final Object... args) {
+        return DefaultEngineHolder.ENGINE.executeAsync(scriptFile, args);
+    }
+
+    /**
+     * Asynchronously executes the given Jython script on the shared default {@link JythonEngine}, returning
+     * immediately. The default engine is created on first use, with one pooled interpreter per available processor.
+     *
+     * @param pyCode the compiled Jython script to execute
+     * @param args arguments to be passed to the script
+     * @return a future completed once the script has executed, or exceptionally with a {@link JythonScriptException}
+     * @see #execute(PyCode, Object...)
+     * @since 3.0
+     */
+    public static CompletableFuture<Void> executeAsync(final PyCode pyCode, final Object... args) {
+        return DefaultEngineHolder.ENGINE.executeAsync(pyCode, args);
+    }
+
+    /**
+     * Evaluates the given compiled Jython script once for each of the given argument sets on the shared default {@link
+     * JythonEngine}, returning the results in the same order.
+     *
+     * @param pyCode the compiled Jython script to evaluate
+     * @param argumentSets the arguments for each evaluation, each passed to the script via 'sys.argv'
+     * @return the result of each evaluation, in the order of {@code argumentSets}
+     * @throws JythonScriptException when the given PyCode or argument sets are null, or any evaluation fails
+     * @see JythonEngine#evaluateBatch(PyCode, List, int)
+     * @since 3.0
+     */
+    public static List<Object> evaluateBatch(final PyCode pyCode, final List<Object[]> argumentSets)
+            throws JythonScriptException {
+        return DefaultEngineHolder.ENGINE.evaluateBatch(pyCode, argumentSets);
+    }
+
+    /**
+     * Lazily evaluates the given compiled Jython script once for each of the given argument sets on the shared default
+     * {@link JythonEngine}, returning the results in the same order.
+     *
+     * @param pyCode the compiled Jython script to evaluate
+     * @param argumentSets the arguments for each evaluation, each passed to the script via 'sys.argv'
+     * @return an iterator over the result of each evaluation, in the order of {@code argumentSets}
+     * @throws JythonScriptException when the given PyCode or argument sets are null
+     * @see JythonEngine#evaluateBatch(PyCode, Iterator, int)
+     * @since 3.0
+     */
+    public static Iterator<Object> evaluateBatch(final PyCode pyCode, final Iterator<Object[]> argumentSets)
+            throws JythonScriptException {
+        return DefaultEngineHolder.ENGINE.evaluateBatch(pyCode, argumentSets);
+    }
+
+    /**
+     * @return a point-in-time snapshot of the asynchronous executions run by {@code #evaluateAsync(...)} and {@code
+     * #executeAsync(...)}
+     * @since 3.0
+     */
+    public static AsyncStats getAsyncStats() {
+        return DefaultEngineHolder.ENGINE.getAsyncStats();
+    }
+
+    /**
+     * Evaluates the given Jython script, returning its result alongside the CPU time and heap allocation of executing
+     * it, converting its result, and, if the given meter has already measured it, compiling it.
+     *
+     * @param meter the meter measuring the evaluation
+     * @param pyCode the compiled Jython script to evaluate
+     * @param args arguments to be passed to the script
+     * @return a report of the result and resource usage of the evaluation
+     * @throws JythonScriptException when a script execution error occurs or when a local Python variable named 'result'
+     * is not found
+     * @since 3.0
+     */
+    private static EvaluationReport evaluateWithReport(final ResourceMeter meter, final PyCode pyCode, final Object... args)
+            throws JythonScriptException {
+        if (pyCode == null) {
+            throw new JythonScriptException("Cannot execute a Jython script that doesn't exist! PyCode is null.");
+        }
+
+        final String script = JythonMetrics.scriptName(pyCode);
+
+        try {
+            final PyObject result = meter.measure(JythonMetrics.Phase.EXECUTE, () -> evaluateToPyObject(pyCode, args));
+
+            return meter.report(script, meter.measure(JythonMetrics.Phase.CONVERT, () ->
+                    JythonMetrics.convert(pyCode, result, ResultParser::parse)));
+        } finally {
+            meter.charge(script);
+        }
+    }
+
+    /**
+     * Evaluates the given Jython script, returning the unconverted value of its 'result' variable.
+     *
+     * @param pyCode the compiled Jython script to evaluate
+     * @param args arguments to be passed to the script
+     * @return the result from executing the given script
+     * @throws JythonScriptException when a script execution error occurs or when a local Python variable named 'result' is not found
+     * @since 3.0
+     */
+    private static PyObject evaluateToPyObject(final PyCode pyCode, final Object... args) throws JythonScriptException {
+        return evaluateToPyObject(pyCode, null, args);
+    }
+
+    /**
+     * Evaluates the given Jython script under the given {@link ExecutionControl}, returning the unconverted value of its
+     * 'result' variable.
+     *
+     * @param pyCode the compiled Jython script to evaluate
+     * @param control the control to execute the script under, or null to execute it uncontrolled
+     * @param args arguments to be passed to the script
+     * @return the result from executing the given script
+     * @throws JythonScriptException when a script execution error occurs, the control stops the script, or when a local
+     * Python variable named 'result' is not found
+     * @since 3.0
+     */
+    private static PyObject evaluateToPyObject(final PyCode pyCode, final ExecutionControl control, final Object... args)
+            throws JythonScriptException {
+        // Execute the script
+        final PythonInterpreter interpreter = executeWithState(pyCode, control, args);
+
+        // Obtain the value of a local variable named 'result' from the executed script
+        final PyObject result = interpreter.get(EVALUATION_RESULT_LOCAL_VARIABLE);
+
+        if (result == null) {
+            throw new JythonResultNotFoundException("Local variable 'result' not found during script execution.");
+        }
+
+        return result;
     }
 
     /**
@@ -486,13 +988,19 @@ public class JythonScript {
         // Set the arguments on the Python System State
         final PythonInterpreter interpreter = updateInterpreterState(args);
 
+        final long start = JythonMetrics.start();
+
         try {
             // Execute the script
             interpreter.execfile(inputStream);
         } catch (Exception e) {
+            JythonMetrics.recordError(JythonMetrics.STREAM_SCRIPT, e);
+
             throw new JythonScriptException("An error occurred during script execution. cause=[\n\t" + e.toString() + "]");
         }
 
+        JythonMetrics.record(JythonMetrics.Phase.EXECUTE, JythonMetrics.STREAM_SCRIPT, start);
+
         return interpreter;
     }
 
@@ -509,6 +1017,24 @@ public class JythonScript {
      * @since 2.0.1
      */
     private static PythonInterpreter executeWithState(final PyCode pyCode, final Object... args) throws JythonScriptException {
+        return executeWithState(pyCode, null, args);
+    }
+
+    /**
+     * Executes the given Jython script under the given {@link ExecutionControl}. Only the script itself runs under the
+     * control; building its interpreter, which may import Python's 'site' module, does not.
+     *
+     * This function returns the {@link PythonInterpreter} state after executing the given Jython code.
+     *
+     * @param pyCode the compiled Jython script to evaluate
+     * @param control the control to execute the script under, or null to execute it uncontrolled
+     * @param args arguments to be passed to the script
+     * @throws JythonScriptException when the given PyCode is null, a script execution error occurs or the control stops
+     * the script
+     * @since 3.0
+     */
+    private static PythonInterpreter executeWithState(final PyCode pyCode, final ExecutionControl control,
+                                                      final Object... args) throws JythonScriptException {
         if (pyCode == null) {
             throw new JythonScriptException("Cannot execute a Jython script that doesn't exist! InputStream is null.");
         }
@@ -516,13 +1042,74 @@ public class JythonScript {
         // Set the arguments on the Python System State
         final PythonInterpreter interpreter = updateInterpreterState(args);
 
+        final long start = JythonMetrics.start();
+
+        try {
+            // Execute the script
+            if (control == null) {
+                interpreter.exec(pyCode);
+            } else {
+                control.run(() -> {
+                    interpreter.exec(pyCode);
+                    return null;
+                });
+            }
+        } catch (JythonScriptException e) {
+            JythonMetrics.recordError(pyCode, e);
+
+            throw e;
+        } catch (Exception e) {
+            JythonMetrics.recordError(pyCode, e);
+
+            throw new JythonScriptException("An error occurred during script execution. cause=[\n\t" + e.toString() + "]");
+        }
+
+        JythonMetrics.record(JythonMetrics.Phase.EXECUTE, pyCode, start);
+
+        return interpreter;
+    }
+
+    /**
+     * Executes the given Jython script in a new '__main__' namespace holding the given {@link Bindings}, against
+     * Jython's shared {@link PySystemState}.
+     *
+     * This function returns the {@link PythonInterpreter} state after executing the given Jython code.
+     *
+     * @param pyCode the compiled Jython script to execute
+     * @param bindings the named values made available to the script
+     * @throws JythonScriptException when the given PyCode or bindings are null, or a script execution error occurs
+     * @since 3.0
+     */
+    private static PythonInterpreter executeWithBindings(final PyCode pyCode, final Bindings bindings) throws JythonScriptException {
+        if (pyCode == null) {
+            throw new JythonScriptException("Cannot execute a Jython script that doesn't exist! PyCode is null.");
+        }
+
+        if (bindings == null) {
+            throw new JythonScriptException("Cannot bind null to a Jython script! Bindings is null.");
+        }
+
+        JythonCompiler.initializeRuntime();
+
+        final PyStringMap namespace = Py.newStringMap();
+        bindings.bindTo(namespace);
+
+        // Name the global state explicitly; the thread's current state may be left over from a script run with 'sys.argv'
+        final PythonInterpreter interpreter = new PythonInterpreter(namespace, Py.defaultSystemState);
+
+        final long start = JythonMetrics.start();
+
         try {
             // Execute the script
             interpreter.exec(pyCode);
         } catch (Exception e) {
+            JythonMetrics.recordError(pyCode, e);
+
             throw new JythonScriptException("An error occurred during script execution. cause=[\n\t" + e.toString() + "]");
         }
 
+        JythonMetrics.record(JythonMetrics.Phase.EXECUTE, pyCode, start);
+
         return interpreter;
     }
 
@@ -550,119 +1137,93 @@ public class JythonScript {
      * @since 1.0
      */
     private static PySystemState parseArguments(final Object... args) {
+        JythonCompiler.initializeRuntime();
+
         final PySystemState systemState = new PySystemState();
 
         for (final Object arg : args) {
-            systemState.argv.append(Py.java2py(arg));
+            systemState.argv.append(BinaryArguments.toPy(arg));
         }
 
         return systemState;
     }
 
     /**
-     * Given a {@link PyObject} attempts to convert the object to it's Java representation. If an equivalent java type
-     * cannot be found, the original PyObject is returned.
-     *
-     * Current supported type conversions:
-     * <ul>
-     *     <li>{@link PyBoolean} to boolean</li>
-     *     <li>{@link PyInteger} to int</li>
-     *     <li>{@link PyString} to {@link String}</li>
-     *     <li>{@link PyFloat} to float</li>
-     *     <li>{@link PyLong} to long</li>
-     *     <li>{@link PyList} to an array of {@link Object}s</li>
-     *     <li>{@link PyDictionary} to a {@link Map} of {@link Object}s</li>
-     *     <li>{@link PySet} to a {@link Set} of {@link Object}s</li>
-     * </ul>
+     * Resolves the Jython script at the given {@code scriptPath} to a {@link File}, ensuring that it exists.
      *
-     * @param object the object to convert to it's equivalent Java type, if supported; otherwise, returns the unconverted {@link PyObject}
-     * @return the Java type representation of the given {@link PyObject}
-     * @since 1.0
+     * @param scriptPath the fully qualified path of the Jython script
+     * @return the script {@link File}
+     * @throws JythonScriptException when the given file path is null, a directory, or cannot be found
+     * @since 3.0
      */
-    private static Object parseResult(final PyObject object) {
-        if (object == null) {
-            // We should never get here since evaluate provides this check; but, just in case.
-            return null;
-        }
-
-        if (object instanceof PyBoolean) {
-            return Py.py2boolean(object);
-        } else if (object instanceof PyInteger) {
-            return Py.py2int(object);
-        } else if (object instanceof PyString) {
-            return ((PyString) object).getString();
-        } else if (object instanceof PyFloat) {
-            return Py.py2float(object);
-        } else if (object instanceof PyLong) {
-            return Py.py2long(object);
-        } else if (object instanceof PyList) {
-            return parsePyObjectList(((PyList) object).getArray());
-        } else if (object instanceof PyDictionary) {
-            return parsePyObjectDict(((PyDictionary) object).getMap());
-        } else if (object instanceof PySet) {
-            return parsePyObjectSet(((PySet) object).getSet());
+    static File resolveScript(final String scriptPath) throws JythonScriptException {
+        // Ensure that the scriptRelativePath is not null or empty
+        if (StringUtils.isBlank(scriptPath)) {
+            throw new JythonScriptNotFoundException("File not found at path=[" + scriptPath + "]");
         }
 
-        return object;
+        return resolveScript(new File(scriptPath));
     }
 
     /**
-     * Converts the given array of {@link PyObject}s to an array of the corresponding Java types for each value in the array.
+     * Resolves the Jython script at the given {@code scriptUrl} to a {@link File}, ensuring that it exists.
      *
-     * @param pyObjects an array of {@link PyObject}s to parse
-     * @return a new array of {@link Object}s
-     * @since 1.0
+     * @param scriptUrl the {@link URL} to a Jython script
+     * @return the script {@link File}
+     * @throws JythonScriptException when the given script is null, a directory, or cannot be found
+     * @since 3.0
      */
-    private static Object[] parsePyObjectList(final PyObject[] pyObjects) {
-        final Object[] objects = new Object[pyObjects.length];
-
-        int index = 0;
-        for (final PyObject pyObject : pyObjects) {
-            objects[index] = parseResult(pyObject);
+    static File resolveScript(final URL scriptUrl) throws JythonScriptException {
+        if (scriptUrl == null) {
+            throw new JythonScriptException("Null path is not a URL.");
+        }
 
-            index++;
+        // Convert the URL to a File
+        final File file;
+        try {
+            file = new File(scriptUrl.toURI());
+        } catch (Exception e) {
+            throw new JythonScriptException("Could not convert URL to File.", e);
         }
 
-        return objects;
+        return resolveScript(file);
     }
 
     /**
-     * Converts the given {@link Map} of {@link PyObject}s to a Map of the corresponding Java types.
+     * Ensures that the given Jython script exists and is a file.
      *
-     * @param pyDict the dictionary to parse
-     * @return a new {@link Map} of {@link Object}s
+     * @param scriptFile the Jython script
+     * @return the given script {@link File}
+     * @throws JythonScriptException when the given file is null, a directory, or cannot be found
+     * @since 3.0
      */
-    private static Map<Object, Object> parsePyObjectDict(final Map<PyObject, PyObject> pyDict) {
-        final Map<Object, Object> objects = new HashMap<>();
-
-        for (final Map.Entry<PyObject, PyObject> entry : pyDict.entrySet()) {
-            final Object key = parseResult(entry.getKey());
-            final Object value = parseResult(entry.getValue());
+    static File resolveScript(final File scriptFile) throws JythonScriptException {
+        // Ensure that the script is not null
+        if (scriptFile == null) {
+            throw new JythonScriptNotFoundException("Could not open Jython script, the file was null.");
+        }
 
-            objects.put(key, value);
+        if (!scriptFile.isFile()) {
+            throw new JythonScriptNotFoundException("Could not open Jython script from location=[" +
+                    scriptFile.getAbsolutePath() + "]");
         }
 
-        return objects;
+        return scriptFile;
     }
 
+    // Don't allow this class to be instantiated
+    private JythonScript() { }
+
     /**
-     * Converts the given {@link Set} of {@link PyObject}s to a Set of the corresponding Java types.
+     * Lazily creates the {@link JythonEngine} behind the asynchronous and batch functions of JythonScript, so that
+     * callers that never use them never pay for its interpreters.
      *
-     * @param pySet the set to parse
-     * @return a new {@link Set} of {@link Object}s
-     * @since 1.0
+     * @since 3.0
      */
-    private static Set<Object> parsePyObjectSet(final Set<PyObject> pySet) {
-        final Set<Object> objects = new HashSet<>();
+    private static final class DefaultEngineHolder {
 
-        for (final PyObject pyObject : pySet) {
-            objects.add(parseResult(pyObject));
-        }
+        private static final JythonEngine ENGINE = JythonEngine.builder().scriptCache(SCRIPT_CACHE).build();
 
-        return objects;
     }
 
-    // Don't allow this class to be instantiated
-    private JythonScript() { }
-
 }
\ No newline at end of file
@@ -0,0 +1,417 @@
+package com.github.adchilds.jython;
+
+import com.github.adchilds.jython.exception.JythonScriptException;
+import org.python.core.Py;
+import org.python.core.PyCode;
+import org.python.core.PyFunction;
+import org.python.core.PyMethod;
+import org.python.core.PyModule;
+import org.python.core.PyObject;
+import org.python.core.PyStringMap;
+import org.python.core.PySystemState;
+import org.python.util.PythonInterpreter;
+
+import javax.script.AbstractScriptEngine;
+import javax.script.Compilable;
+import javax.script.CompiledScript;
+import javax.script.Invocable;
+import javax.script.ScriptContext;
+import javax.script.ScriptEngine;
+import javax.script.ScriptEngineFactory;
+import javax.script.ScriptException;
+import javax.script.SimpleBindings;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A {@code javax.script} {@link ScriptEngine} which evaluates scripts on the pooled interpreters of a {@link
+ * JythonEngine}. Obtain one from a {@link JythonScriptEngineFactory}, or by name from a {@link
+ * javax.script.ScriptEngineManager}:
+ * <pre>
+ * {@code ScriptEngine engine = new ScriptEngineManager().getEngineByName("jythonscript");
+ * engine.put("width", 6);
+ * engine.eval("def area(height):\n    return width * height");
+ *
+ * Object area = ((Invocable) engine).invokeFunction("area", 7);
+ * }
+ * </pre>
+ *
+ * The variables of the context's global and engine scopes are bound into each script's namespace, and the arguments of
+ * its {@link ScriptEngine#ARGV} attribute, if any, into 'sys.argv'. After the script has run, each variable it
+ * assigned, including the functions and classes it defined, is stored in the engine scope so that later scripts and
+ * {@link Invocable} calls may use it. As with {@link JythonScript}, {@code eval} returns the value of the script's
+ * 'result' variable, converted to its equivalent Java type, or null if the script sets none; 'result' is not stored in
+ * the engine scope.
+ *
+ * Scripts are compiled via the {@link JythonEngine}'s {@link ScriptCache}, so evaluating or compiling the same source
+ * again does not recompile it. A JythonScriptEngine is thread-safe; concurrent evaluations each borrow their own
+ * interpreter, although they share the variables of the engine scope.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+public final class JythonScriptEngine extends AbstractScriptEngine implements Compilable, Invocable {
+
+    private static final String EVALUATION_RESULT_LOCAL_VARIABLE = "result";
+    private static final String MAIN_MODULE_NAME = "__main__";
+    private static final String PLACEHOLDER_SCRIPT = "pass";
+
+    private final JythonScriptEngineFactory factory;
+    private final JythonEngine engine;
+
+    /**
+     * @param factory the factory which created this engine
+     * @param engine the engine to evaluate scripts with
+     * @since 3.0
+     */
+    JythonScriptEngine(final JythonScriptEngineFactory factory, final JythonEngine engine) {
+        this.factory = factory;
+        this.engine = engine;
+    }
+
+    @Override
+    public Object eval(final String script, final ScriptContext context) throws ScriptException {
+        return eval(compileSource(script), context);
+    }
+
+    @Override
+    public Object eval(final Reader reader, final ScriptContext context) throws ScriptException {
+        return eval(read(reader), context);
+    }
+
+    @Override
+    public CompiledScript compile(final String script) throws ScriptException {
+        return new JythonCompiledScript(this, compileSource(script));
+    }
+
+    @Override
+    public CompiledScript compile(final Reader script) throws ScriptException {
+        return compile(read(script));
+    }
+
+    @Override
+    public javax.script.Bindings createBindings() {
+        return new SimpleBindings();
+    }
+
+    @Override
+    public ScriptEngineFactory getFactory() {
+        return factory;
+    }
+
+    @Override
+    public Object invokeFunction(final String name, final Object... args) throws ScriptException, NoSuchMethodException {
+        final Object function = name == null ? null : context.getAttribute(name);
+
+        return invoke(function instanceof PyObject ? (PyObject) function : null, name, args);
+    }
+
+    @Override
+    public Object invokeMethod(final Object thiz, final String name, final Object... args)
+            throws ScriptException, NoSuchMethodException {
+        if (thiz == null) {
+            throw new IllegalArgumentException("Cannot invoke a method of a null object.");
+        }
+
+        return invoke(name == null ? null : toPy(thiz).__findattr__(name), name, args);
+    }
+
+    @Override
+    public <T> T getInterface(final Class<T> clasz) {
+        final PyStringMap namespace = Py.newStringMap();
+        for (final Map.Entry<String, PyObject> variable : variables(context).entrySet()) {
+            namespace.__setitem__(variable.getKey(), variable.getValue());
+        }
+
+        // The engine scope's functions, as the attributes of a module
+        return bind(new PyModule(MAIN_MODULE_NAME, namespace), clasz);
+    }
+
+    @Override
+    public <T> T getInterface(final Object thiz, final Class<T> clasz) {
+        if (thiz == null) {
+            throw new IllegalArgumentException("Cannot bind a null object to an interface.");
+        }
+
+        return bind(toPy(thiz), clasz);
+    }
+
+    /**
+     * Evaluates the given compiled script within the given context.
+     *
+     * @param pyCode the compiled Jython script to evaluate
+     * @param context the context providing the script's variables, arguments and output
+     * @return the script's 'result' variable as its equivalent Java type, or null if it sets none
+     * @throws ScriptException when the script fails
+     * @since 3.0
+     */
+    Object eval(final PyCode pyCode, final ScriptContext context) throws ScriptException {
+        final Map<String, PyObject> variables = variables(context);
+
+        try {
+            return engine.withInterpreter(argv(context), Bindings.of(variables), interpreter -> {
+                run(interpreter, pyCode, context);
+
+                final PyObject namespace = interpreter.getLocals();
+                store(namespace, variables, context);
+
+                final PyObject result = namespace.__finditem__(EVALUATION_RESULT_LOCAL_VARIABLE);
+
+                return result == null ? null : ResultParser.parse(result, engine.getResultConversion());
+            });
+        } catch (JythonScriptException e) {
+            throw scriptException(e);
+        }
+    }
+
+    /**
+     * Executes the given script with its output sent to the context's writers, restoring the interpreter's own
+     * afterwards.
+     *
+     * @param interpreter the interpreter to execute the script in
+     * @param pyCode the compiled Jython script to execute
+     * @param context the context providing the script's output
+     * @throws JythonScriptException when a script execution error occurs
+     * @since 3.0
+     */
+    private static void run(final PythonInterpreter interpreter, final PyCode pyCode, final ScriptContext context)
+            throws JythonScriptException {
+        final PySystemState systemState = interpreter.getSystemState();
+        final PyObject stdout = systemState.stdout;
+        final PyObject stderr = systemState.stderr;
+
+        final Writer writer = context.getWriter();
+        final Writer errorWriter = context.getErrorWriter();
+
+        if (writer != null) {
+            interpreter.setOut(writer);
+        }
+        if (errorWriter != null) {
+            interpreter.setErr(errorWriter);
+        }
+
+        try {
+            JythonEngine.exec(interpreter, pyCode);
+        } finally {
+            if (writer != null) {
+                systemState.stdout.invoke("flush");
+            }
+            if (errorWriter != null) {
+                systemState.stderr.invoke("flush");
+            }
+
+            systemState.stdout = stdout;
+            systemState.stderr = stderr;
+        }
+    }
+
+    /**
+     * Stores each variable the script assigned, other than 'result' and Python's own '__' variables, in the context's
+     * engine scope.
+     *
+     * @param namespace the namespace the script was executed in
+     * @param variables the variables bound into the namespace before the script was executed
+     * @param context the context whose engine scope to update
+     * @since 3.0
+     */
+    private static void store(final PyObject namespace, final Map<String, PyObject> variables,
+                              final ScriptContext context) {
+        final Map<String, Object> assigned = new HashMap<>();
+
+        for (final PyObject key : namespace.asIterable()) {
+            final String name = key.toString();
+
+            if (name.startsWith("__") || EVALUATION_RESULT_LOCAL_VARIABLE.equals(name)) {
+                continue;
+            }
+
+            // Bound variables the script did not reassign are still the same Python objects
+            final PyObject value = namespace.__finditem__(key);
+            if (value != variables.get(name)) {
+                assigned.put(name, value.__tojava__(Object.class));
+            }
+        }
+
+        final javax.script.Bindings engineScope = context.getBindings(ScriptContext.ENGINE_SCOPE);
+        if (engineScope != null && !assigned.isEmpty()) {
+            synchronized (engineScope) {
+                engineScope.putAll(assigned);
+            }
+        }
+    }
+
+    /**
+     * @param context a script context
+     * @return the Python equivalents of the variables of the context's global and engine scopes, the latter taking
+     * precedence
+     * @since 3.0
+     */
+    private static Map<String, PyObject> variables(final ScriptContext context) {
+        final Map<String, PyObject> variables = new HashMap<>();
+
+        addVariables(context.getBindings(ScriptContext.GLOBAL_SCOPE), variables);
+        addVariables(context.getBindings(ScriptContext.ENGINE_SCOPE), variables);
+
+        return variables;
+    }
+
+    /**
+     * @param scope the bindings of a scope, or null if the scope is not set
+     * @param variables the map to add the Python equivalents of the scope's variables to
+     * @since 3.0
+     */
+    private static void addVariables(final javax.script.Bindings scope, final Map<String, PyObject> variables) {
+        if (scope == null) {
+            return;
+        }
+
+        // Guard against scripts storing their variables concurrently
+        synchronized (scope) {
+            for (final Map.Entry<String, Object> entry : scope.entrySet()) {
+                variables.put(entry.getKey(), toPy(entry.getValue()));
+            }
+        }
+    }
+
+    /**
+     * @param context a script context
+     * @return the arguments of the context's {@link ScriptEngine#ARGV} attribute, or null if it has none
+     * @since 3.0
+     */
+    private static Object[] argv(final ScriptContext context) {
+        final Object argv = context.getAttribute(ScriptEngine.ARGV);
+
+        return argv instanceof Object[] ? (Object[]) argv : null;
+    }
+
+    /**
+     * Calls the given callable, returning its result as its equivalent Java type.
+     *
+     * @param callable the function or method to call, or null if none was found
+     * @param name the name of the callable
+     * @param args the arguments to pass, converted to their Python equivalents
+     * @return the converted result of the call
+     * @throws ScriptException when the call fails
+     * @throws NoSuchMethodException when the given callable is null or cannot be called
+     * @since 3.0
+     */
+    private Object invoke(final PyObject callable, final String name, final Object... args)
+            throws ScriptException, NoSuchMethodException {
+        if (callable == null || !callable.isCallable()) {
+            throw new NoSuchMethodException("No Python function or method found. name=[" + name + "]");
+        }
+
+        try {
+            return JythonModule.call(codeOf(callable), callable, name, args);
+        } catch (JythonScriptException e) {
+            throw scriptException(e);
+        }
+    }
+
+    /**
+     * @param target the Python object implementing the interface's methods
+     * @param type the interface to implement
+     * @param <T> the type of the interface
+     * @return an implementation of the given interface, or null if the object lacks any of its methods
+     * @throws IllegalArgumentException when the given type is null or not an interface
+     * @since 3.0
+     */
+    private <T> T bind(final PyObject target, final Class<T> type) {
+        if (type == null || !type.isInterface()) {
+            throw new IllegalArgumentException("Python objects can only be bound to Java interfaces. type=[" + type + "]");
+        }
+
+        try {
+            final PyCode pyCode = codeOf(target);
+
+            return InterfaceProxy.create(pyCode, new JythonObject(pyCode, target), type);
+        } catch (JythonScriptException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @param callable a Python function, method or other object
+     * @return the script which defined the given function or method, under which its metrics are recorded; or, for any
+     * other object, that of scripts compiled from source
+     * @throws JythonScriptException when the placeholder script for other objects cannot be compiled
+     * @since 3.0
+     */
+    private PyCode codeOf(final PyObject callable) throws JythonScriptException {
+        if (callable instanceof PyFunction) {
+            return ((PyFunction) callable).__code__;
+        }
+
+        if (callable instanceof PyMethod && ((PyMethod) callable).__func__ instanceof PyFunction) {
+            return ((PyFunction) ((PyMethod) callable).__func__).__code__;
+        }
+
+        // Compiled once and cached, so that such calls are recorded alongside other scripts compiled from source
+        return engine.getScriptCache().get(PLACEHOLDER_SCRIPT);
+    }
+
+    /**
+     * @param script the Jython script to compile
+     * @return the compiled script, cached by the engine's {@link ScriptCache}
+     * @throws ScriptException when the script is null or cannot be compiled
+     * @since 3.0
+     */
+    private PyCode compileSource(final String script) throws ScriptException {
+        try {
+            return engine.getScriptCache().get(script);
+        } catch (JythonScriptException e) {
+            throw scriptException(e);
+        }
+    }
+
+    /**
+     * @param object a Java object, or a {@link JythonObject}
+     * @return the Python equivalent of the given object
+     * @since 3.0
+     */
+    private static PyObject toPy(final Object object) {
+        return object instanceof JythonObject ? ((JythonObject) object).getPyObject() : BinaryArguments.toPy(object);
+    }
+
+    /**
+     * @param reader the source of a Jython script
+     * @return the entire script read from the given reader
+     * @throws ScriptException when the reader is null or cannot be read
+     * @since 3.0
+     */
+    private static String read(final Reader reader) throws ScriptException {
+        if (reader == null) {
+            throw new ScriptException("Cannot read a Jython script from a null reader.");
+        }
+
+        final StringBuilder script = new StringBuilder();
+        final char[] buffer = new char[8192];
+
+        try {
+            int read;
+            while ((read = reader.read(buffer)) != -1) {
+                script.append(buffer, 0, read);
+            }
+        } catch (IOException e) {
+            throw scriptException(e);
+        }
+
+        return script.toString();
+    }
+
+    /**
+     * @param cause the failure of a script
+     * @return a {@link ScriptException} caused by the given failure
+     * @since 3.0
+     */
+    private static ScriptException scriptException(final Exception cause) {
+        final ScriptException exception = new ScriptException(cause.getMessage());
+        exception.initCause(cause);
+
+        return exception;
+    }
+
+}
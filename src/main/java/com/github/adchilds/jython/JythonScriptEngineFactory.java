@@ -0,0 +1,178 @@
+package com.github.adchilds.jython;
+
+import org.python.Version;
+
+import javax.script.ScriptEngine;
+import javax.script.ScriptEngineFactory;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Provides {@link JythonScriptEngine}s to the {@code javax.script} API. The factory is registered as a service, so an
+ * engine can be obtained by name, extension or MIME type:
+ * <pre>
+ * {@code ScriptEngine engine = new ScriptEngineManager().getEngineByName("jythonscript");
+ * }
+ * </pre>
+ *
+ * Every engine created by a factory shares that factory's {@link JythonEngine}, whose pooled interpreters are created
+ * when the first engine is requested, so that requesting an engine for each script is cheap. The factory's engines are
+ * {@code MULTITHREADED}: concurrent calls to {@code eval} each borrow their own interpreter from the pool.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+public class JythonScriptEngineFactory implements ScriptEngineFactory {
+
+    /**
+     * The name under which engines are registered with the {@link javax.script.ScriptEngineManager}.
+     */
+    public static final String ENGINE_SHORT_NAME = "jythonscript";
+
+    private static final String ENGINE_NAME = "JythonScript";
+    private static final String ENGINE_VERSION = "3.0";
+    private static final String LANGUAGE_NAME = "python";
+    private static final String THREADING = "THREADING";
+    private static final String MULTITHREADED = "MULTITHREADED";
+
+    private static final List<String> NAMES = Collections.singletonList(ENGINE_SHORT_NAME);
+    private static final List<String> EXTENSIONS = Collections.singletonList("py");
+    private static final List<String> MIME_TYPES = Collections.unmodifiableList(Arrays.asList(
+            "text/python", "application/python", "text/x-python", "application/x-python"));
+
+    private volatile JythonEngine engine;
+
+    /**
+     * Creates a new factory whose engines share a {@link JythonEngine} with the default configuration, created when the
+     * first engine is requested.
+     *
+     * @since 3.0
+     */
+    public JythonScriptEngineFactory() { }
+
+    /**
+     * Creates a new factory whose engines share the given {@link JythonEngine}. The caller remains responsible for
+     * closing it.
+     *
+     * @param engine the engine to evaluate scripts with
+     * @throws IllegalArgumentException when the given engine is null
+     * @since 3.0
+     */
+    public JythonScriptEngineFactory(final JythonEngine engine) {
+        if (engine == null) {
+            throw new IllegalArgumentException("Engine must not be null.");
+        }
+
+        this.engine = engine;
+    }
+
+    @Override
+    public String getEngineName() {
+        return ENGINE_NAME;
+    }
+
+    @Override
+    public String getEngineVersion() {
+        return ENGINE_VERSION;
+    }
+
+    @Override
+    public List<String> getExtensions() {
+        return EXTENSIONS;
+    }
+
+    @Override
+    public List<String> getMimeTypes() {
+        return MIME_TYPES;
+    }
+
+    @Override
+    public List<String> getNames() {
+        return NAMES;
+    }
+
+    @Override
+    public String getLanguageName() {
+        return LANGUAGE_NAME;
+    }
+
+    @Override
+    public String getLanguageVersion() {
+        return Version.PY_VERSION;
+    }
+
+    @Override
+    public Object getParameter(final String key) {
+        switch (key) {
+            case ScriptEngine.ENGINE:
+                return getEngineName();
+            case ScriptEngine.ENGINE_VERSION:
+                return getEngineVersion();
+            case ScriptEngine.NAME:
+                return ENGINE_SHORT_NAME;
+            case ScriptEngine.LANGUAGE:
+                return getLanguageName();
+            case ScriptEngine.LANGUAGE_VERSION:
+                return getLanguageVersion();
+            case THREADING:
+                return MULTITHREADED;
+            default:
+                return null;
+        }
+    }
+
+    @Override
+    public String getMethodCallSyntax(final String obj, final String m, final String... args) {
+        return obj + "." + m + "(" + String.join(", ", args) + ")";
+    }
+
+    @Override
+    public String getOutputStatement(final String toDisplay) {
+        final StringBuilder statement = new StringBuilder("print(\"");
+
+        for (final char c : toDisplay.toCharArray()) {
+            if (c == '\\' || c == '"') {
+                statement.append('\\');
+            } else if (c == '\n') {
+                statement.append("\\n");
+                continue;
+            }
+
+            statement.append(c);
+        }
+
+        return statement.append("\")").toString();
+    }
+
+    @Override
+    public String getProgram(final String... statements) {
+        return String.join("\n", statements);
+    }
+
+    @Override
+    public ScriptEngine getScriptEngine() {
+        return new JythonScriptEngine(this, getEngine());
+    }
+
+    /**
+     * @return the {@link JythonEngine} shared by this factory's engines, creating it if this is the first request
+     * @since 3.0
+     */
+    private JythonEngine getEngine() {
+        JythonEngine result = engine;
+
+        if (result == null) {
+            synchronized (this) {
+                result = engine;
+
+                if (result == null) {
+                    engine = result = JythonEngine.builder().build();
+                }
+            }
+        }
+
+        return result;
+    }
+
+}
@@ -0,0 +1,138 @@
+package com.github.adchilds.jython;
+
+/**
+ * A point-in-time snapshot of the latencies recorded by {@link JythonMetrics} for one phase of one script. Latencies
+ * are bucketed by powers of two, so percentiles are upper bounds accurate to within a factor of two; the count, total
+ * and maximum are exact.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+public final class LatencySnapshot {
+
+    private final String script;
+    private final JythonMetrics.Phase phase;
+    private final long[] buckets;
+    private final long count;
+    private final long totalNanos;
+    private final long maxNanos;
+
+    LatencySnapshot(final String script, final JythonMetrics.Phase phase, final long[] buckets, final long totalNanos,
+                    final long maxNanos) {
+        this.script = script;
+        this.phase = phase;
+        this.buckets = buckets;
+        this.totalNanos = totalNanos;
+        this.maxNanos = maxNanos;
+
+        long count = 0;
+        for (final long bucket : buckets) {
+            count += bucket;
+        }
+        this.count = count;
+    }
+
+    /**
+     * @return the filename of the script the latencies were recorded for
+     * @since 3.0
+     */
+    public String getScript() {
+        return script;
+    }
+
+    /**
+     * @return the phase the latencies were recorded for
+     * @since 3.0
+     */
+    public JythonMetrics.Phase getPhase() {
+        return phase;
+    }
+
+    /**
+     * @return the number of times the phase completed
+     * @since 3.0
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return the total time spent in the phase, in nanoseconds
+     * @since 3.0
+     */
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * @return the longest time spent in the phase, in nanoseconds
+     * @since 3.0
+     */
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    /**
+     * @return the mean time spent in the phase, in nanoseconds, or 0 if it never completed
+     * @since 3.0
+     */
+    public long getMeanNanos() {
+        return count == 0 ? 0 : totalNanos / count;
+    }
+
+    /**
+     * @return the median time spent in the phase, in nanoseconds
+     * @since 3.0
+     */
+    public long getP50Nanos() {
+        return getPercentileNanos(50);
+    }
+
+    /**
+     * @return the 99th percentile of time spent in the phase, in nanoseconds
+     * @since 3.0
+     */
+    public long getP99Nanos() {
+        return getPercentileNanos(99);
+    }
+
+    /**
+     * @param percentile the percentile to return, between 0 and 100
+     * @return an upper bound on the given percentile of time spent in the phase, in nanoseconds, or 0 if it never
+     * completed
+     * @since 3.0
+     */
+    public long getPercentileNanos(final double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100. percentile=[" + percentile + "]");
+        }
+
+        if (count == 0) {
+            return 0;
+        }
+
+        final long rank = Math.max(1, (long) Math.ceil(count * percentile / 100));
+
+        long seen = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            seen += buckets[i];
+
+            if (seen >= rank) {
+                // The bucket's upper bound, but never more than the largest latency actually recorded
+                final long upperBound = i >= Long.SIZE - 2 ? Long.MAX_VALUE : (2L << i) - 1;
+
+                return Math.min(upperBound, maxNanos);
+            }
+        }
+
+        return maxNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "LatencySnapshot[script=" + script + ", phase=" + phase + ", count=" + count + ", meanNanos=" +
+                getMeanNanos() + ", p50Nanos=" + getP50Nanos() + ", p99Nanos=" + getP99Nanos() + ", maxNanos=" +
+                maxNanos + "]";
+    }
+
+}
@@ -0,0 +1,120 @@
+package com.github.adchilds.jython;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * A point-in-time snapshot of the metrics recorded by {@link JythonMetrics}.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+public final class MetricsSnapshot {
+
+    private final List<LatencySnapshot> latencies;
+    private final Map<String, Map<String, Long>> errors;
+    private final List<ResourceUsage> usages;
+
+    MetricsSnapshot(final List<LatencySnapshot> latencies, final Map<String, Map<String, Long>> errors,
+                    final List<ResourceUsage> usages) {
+        this.latencies = Collections.unmodifiableList(latencies);
+        this.errors = Collections.unmodifiableMap(errors);
+        this.usages = Collections.unmodifiableList(usages);
+    }
+
+    /**
+     * @return the filenames of every script with recorded metrics, in sorted order
+     * @since 3.0
+     */
+    public Set<String> getScripts() {
+        final Set<String> scripts = new TreeSet<>(errors.keySet());
+        for (final LatencySnapshot latency : latencies) {
+            scripts.add(latency.getScript());
+        }
+        for (final ResourceUsage usage : usages) {
+            scripts.add(usage.getScript());
+        }
+
+        return Collections.unmodifiableSet(scripts);
+    }
+
+    /**
+     * @return the latencies recorded for each phase of each script, ordered by script and then phase
+     * @since 3.0
+     */
+    public List<LatencySnapshot> getLatencies() {
+        return latencies;
+    }
+
+    /**
+     * @param script the filename of a script
+     * @param phase a phase of running the script
+     * @return the latencies recorded for the given phase of the given script, or null if none were recorded
+     * @since 3.0
+     */
+    public LatencySnapshot getLatency(final String script, final JythonMetrics.Phase phase) {
+        for (final LatencySnapshot latency : latencies) {
+            if (latency.getScript().equals(script) && latency.getPhase() == phase) {
+                return latency;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * @return the number of failures of all scripts, keyed by exception type
+     * @since 3.0
+     */
+    public Map<String, Long> getErrorCounts() {
+        final Map<String, Long> counts = new TreeMap<>();
+        for (final Map<String, Long> scriptCounts : errors.values()) {
+            scriptCounts.forEach((type, count) -> counts.merge(type, count, Long::sum));
+        }
+
+        return Collections.unmodifiableMap(counts);
+    }
+
+    /**
+     * @param script the filename of a script
+     * @return the number of failures of the given script, keyed by exception type
+     * @since 3.0
+     */
+    public Map<String, Long> getErrorCounts(final String script) {
+        return errors.getOrDefault(script, Collections.emptyMap());
+    }
+
+    /**
+     * @return the CPU time and allocation charged to each script by evaluations with an {@link EvaluationReport},
+     * ordered by script
+     * @since 3.0
+     */
+    public List<ResourceUsage> getUsages() {
+        return usages;
+    }
+
+    /**
+     * @param script the filename of a script
+     * @return the CPU time and allocation charged to the given script, or null if none was charged
+     * @since 3.0
+     */
+    public ResourceUsage getUsage(final String script) {
+        for (final ResourceUsage usage : usages) {
+            if (usage.getScript().equals(script)) {
+                return usage;
+            }
+        }
+
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return "MetricsSnapshot[latencies=" + latencies + ", errors=" + errors + ", usages=" + usages + "]";
+    }
+
+}
@@ -0,0 +1,137 @@
+package com.github.adchilds.jython;
+
+import org.python.core.PyCode;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The results of evaluating one script over every element of a collection, returned by {@link
+ * JythonEngine#parallelEvaluate(PyCode, Collection, int)}, alongside the timing of each chunk of elements:
+ * <pre>
+ * {@code ParallelEvaluation evaluation = engine.parallelEvaluate(compiledScript, inputs);
+ *
+ * List<Object> results = evaluation.getResults();
+ * for (ParallelEvaluation.Chunk chunk : evaluation.getChunks()) {
+ *     System.out.println(chunk);
+ * }
+ * }
+ * </pre>
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+public final class ParallelEvaluation {
+
+    private final List<Object> results;
+    private final List<Chunk> chunks;
+    private final long elapsedNanos;
+
+    ParallelEvaluation(final List<Object> results, final List<Chunk> chunks, final long elapsedNanos) {
+        this.results = Collections.unmodifiableList(results);
+        this.chunks = Collections.unmodifiableList(chunks);
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * @return the result of each evaluation, converted to its equivalent Java type, in the order of the inputs
+     * @since 3.0
+     */
+    public List<Object> getResults() {
+        return results;
+    }
+
+    /**
+     * @return the timing of each chunk of inputs, in the order of the inputs
+     * @since 3.0
+     */
+    public List<Chunk> getChunks() {
+        return chunks;
+    }
+
+    /**
+     * @return the wall clock time of the whole evaluation, in nanoseconds
+     * @since 3.0
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "ParallelEvaluation[results=" + results.size() + ", chunks=" + chunks.size() + ", elapsedNanos=" +
+                elapsedNanos + "]";
+    }
+
+    /**
+     * A contiguous range of inputs, evaluated by a single worker on a single interpreter.
+     *
+     * @since 3.0
+     */
+    public static final class Chunk {
+
+        private final int startIndex;
+        private final int size;
+        private final long conversionNanos;
+        private final long evaluationNanos;
+        private final String thread;
+
+        Chunk(final int startIndex, final int size, final long conversionNanos, final long evaluationNanos,
+              final String thread) {
+            this.startIndex = startIndex;
+            this.size = size;
+            this.conversionNanos = conversionNanos;
+            this.evaluationNanos = evaluationNanos;
+            this.thread = thread;
+        }
+
+        /**
+         * @return the index of the chunk's first input
+         * @since 3.0
+         */
+        public int getStartIndex() {
+            return startIndex;
+        }
+
+        /**
+         * @return the number of inputs in the chunk
+         * @since 3.0
+         */
+        public int getSize() {
+            return size;
+        }
+
+        /**
+         * @return the time spent converting the chunk's inputs to their Python equivalents, in nanoseconds
+         * @since 3.0
+         */
+        public long getConversionNanos() {
+            return conversionNanos;
+        }
+
+        /**
+         * @return the time spent evaluating the chunk's inputs and converting their results, in nanoseconds
+         * @since 3.0
+         */
+        public long getEvaluationNanos() {
+            return evaluationNanos;
+        }
+
+        /**
+         * @return the name of the thread which evaluated the chunk
+         * @since 3.0
+         */
+        public String getThread() {
+            return thread;
+        }
+
+        @Override
+        public String toString() {
+            return "Chunk[startIndex=" + startIndex + ", size=" + size + ", conversionNanos=" + conversionNanos +
+                    ", evaluationNanos=" + evaluationNanos + ", thread=" + thread + "]";
+        }
+
+    }
+
+}
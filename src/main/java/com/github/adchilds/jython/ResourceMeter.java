@@ -0,0 +1,131 @@
+package com.github.adchilds.jython;
+
+import com.github.adchilds.jython.exception.JythonScriptException;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Measures the thread CPU time and heap allocation of each {@link JythonMetrics.Phase phase} of a single evaluation,
+ * on the thread performing it, for its {@link EvaluationReport}.
+ *
+ * Allocation is read from HotSpot's {@code com.sun.management.ThreadMXBean} extension; on other JVMs, or where either
+ * measurement is unsupported or disabled, it measures 0.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+final class ResourceMeter {
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static final com.sun.management.ThreadMXBean ALLOCATIONS = allocations();
+
+    private final long[] cpuNanos = new long[JythonMetrics.Phase.values().length];
+    private final long[] allocatedBytes = new long[JythonMetrics.Phase.values().length];
+    private final long start = System.nanoTime();
+
+    private boolean charged;
+
+    /**
+     * Performs the given task on the current thread, charging its CPU time and allocation to the given phase, whether
+     * or not it succeeds.
+     *
+     * @param phase the phase the task performs
+     * @param task the work to measure
+     * @param <T> the type of the task's result
+     * @return the task's result
+     * @throws JythonScriptException when the task fails
+     * @since 3.0
+     */
+    <T> T measure(final JythonMetrics.Phase phase, final MeasuredTask<T> task) throws JythonScriptException {
+        final long cpuStart = cpuTime();
+        final long allocatedStart = allocatedBytes();
+
+        try {
+            return task.call();
+        } finally {
+            cpuNanos[phase.ordinal()] += cpuTime() - cpuStart;
+            allocatedBytes[phase.ordinal()] += allocatedBytes() - allocatedStart;
+        }
+    }
+
+    /**
+     * @param script the filename of the evaluated script
+     * @param result the converted result of the script
+     * @return a report of the given result with the usage measured so far
+     * @since 3.0
+     */
+    EvaluationReport report(final String script, final Object result) {
+        return new EvaluationReport(result, usage(script), System.nanoTime() - start);
+    }
+
+    /**
+     * Adds the usage measured so far to the given script's running totals. Evaluations are charged once, whether they
+     * succeed or fail; subsequent calls have no effect.
+     *
+     * @param script the filename of the evaluated script
+     * @since 3.0
+     */
+    void charge(final String script) {
+        if (!charged) {
+            charged = true;
+
+            JythonMetrics.recordUsage(usage(script));
+        }
+    }
+
+    /**
+     * @param script the filename of the evaluated script
+     * @return the usage measured so far
+     * @since 3.0
+     */
+    private ResourceUsage usage(final String script) {
+        return new ResourceUsage(script, 1, cpuNanos.clone(), allocatedBytes.clone());
+    }
+
+    /**
+     * @return the CPU time of the current thread, in nanoseconds, or 0 if it cannot be measured
+     * @since 3.0
+     */
+    private static long cpuTime() {
+        // -1 when measuring CPU time is disabled
+        return THREADS.isCurrentThreadCpuTimeSupported() ? Math.max(THREADS.getCurrentThreadCpuTime(), 0) : 0;
+    }
+
+    /**
+     * @return the bytes allocated by the current thread, or 0 if they cannot be measured
+     * @since 3.0
+     */
+    @SuppressWarnings("deprecation")
+    private static long allocatedBytes() {
+        // -1 when measuring allocation is disabled
+        return ALLOCATIONS != null ? Math.max(ALLOCATIONS.getThreadAllocatedBytes(Thread.currentThread().getId()), 0) : 0;
+    }
+
+    /**
+     * @return the platform {@link ThreadMXBean} if it can measure allocation, otherwise null
+     * @since 3.0
+     */
+    private static com.sun.management.ThreadMXBean allocations() {
+        if (THREADS instanceof com.sun.management.ThreadMXBean &&
+                ((com.sun.management.ThreadMXBean) THREADS).isThreadAllocatedMemorySupported()) {
+            return (com.sun.management.ThreadMXBean) THREADS;
+        }
+
+        return null;
+    }
+
+    /**
+     * The work measured by a {@link ResourceMeter}.
+     *
+     * @param <T> the type of the task's result
+     * @since 3.0
+     */
+    @FunctionalInterface
+    interface MeasuredTask<T> {
+
+        T call() throws JythonScriptException;
+
+    }
+
+}
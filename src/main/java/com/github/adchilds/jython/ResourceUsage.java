@@ -0,0 +1,94 @@
+package com.github.adchilds.jython;
+
+/**
+ * The thread CPU time and heap allocation charged to a script, by {@link JythonMetrics.Phase phase}, either for a
+ * single evaluation, as part of its {@link EvaluationReport}, or aggregated over every reported evaluation of the script
+ * via {@link MetricsSnapshot#getUsage(String)}.
+ *
+ * Both are measured with the platform {@link java.lang.management.ThreadMXBean} on the thread running the script. Where
+ * the JVM does not support, or has disabled, measuring either, it is reported as 0. Allocation is counted in bytes
+ * allocated by the thread, not retained, so includes garbage.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+public final class ResourceUsage {
+
+    private final String script;
+    private final long evaluations;
+    private final long[] cpuNanos;
+    private final long[] allocatedBytes;
+
+    ResourceUsage(final String script, final long evaluations, final long[] cpuNanos, final long[] allocatedBytes) {
+        this.script = script;
+        this.evaluations = evaluations;
+        this.cpuNanos = cpuNanos;
+        this.allocatedBytes = allocatedBytes;
+    }
+
+    /**
+     * @return the filename of the script the usage was charged to
+     * @since 3.0
+     */
+    public String getScript() {
+        return script;
+    }
+
+    /**
+     * @return the number of evaluations the usage was charged for, including those that failed
+     * @since 3.0
+     */
+    public long getEvaluations() {
+        return evaluations;
+    }
+
+    /**
+     * @return the CPU time spent across every phase, in nanoseconds
+     * @since 3.0
+     */
+    public long getCpuNanos() {
+        return sum(cpuNanos);
+    }
+
+    /**
+     * @param phase a phase of running the script
+     * @return the CPU time spent in the given phase, in nanoseconds
+     * @since 3.0
+     */
+    public long getCpuNanos(final JythonMetrics.Phase phase) {
+        return cpuNanos[phase.ordinal()];
+    }
+
+    /**
+     * @return the bytes allocated across every phase
+     * @since 3.0
+     */
+    public long getAllocatedBytes() {
+        return sum(allocatedBytes);
+    }
+
+    /**
+     * @param phase a phase of running the script
+     * @return the bytes allocated in the given phase
+     * @since 3.0
+     */
+    public long getAllocatedBytes(final JythonMetrics.Phase phase) {
+        return allocatedBytes[phase.ordinal()];
+    }
+
+    @Override
+    public String toString() {
+        return "ResourceUsage[script=" + script + ", evaluations=" + evaluations + ", cpuNanos=" + getCpuNanos() +
+                ", allocatedBytes=" + getAllocatedBytes() + "]";
+    }
+
+    private static long sum(final long[] values) {
+        long sum = 0;
+        for (final long value : values) {
+            sum += value;
+        }
+
+        return sum;
+    }
+
+}
@@ -0,0 +1,32 @@
+package com.github.adchilds.jython;
+
+/**
+ * Determines how a {@link JythonEngine} converts Python containers returned by evaluated scripts into Java types.
+ * Scalar results, such as numbers, booleans and strings, are converted identically under every mode.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+public enum ResultConversion {
+
+    /**
+     * Recursively copies every container into a new Java object before returning: a {@code list} becomes an {@code
+     * Object[]}, a {@code dict} a {@link java.util.HashMap} and a {@code set} a {@link java.util.HashSet}. This is the
+     * behavior of {@link JythonScript} and the default for engines.
+     */
+    EAGER,
+
+    /**
+     * Returns read-only {@link java.util.List}, {@link java.util.Map} and {@link java.util.Set} views over the Python
+     * containers in constant time. Elements are converted each time they are accessed, and nested containers are
+     * themselves returned as views.
+     */
+    LAZY,
+
+    /**
+     * As {@link #LAZY}, but each element is converted at most once and the converted value is reused on later access.
+     * Suited to results whose elements are read repeatedly.
+     */
+    LAZY_MEMOIZED
+
+}
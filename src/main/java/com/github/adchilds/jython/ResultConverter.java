@@ -0,0 +1,29 @@
+package com.github.adchilds.jython;
+
+import org.python.core.PyObject;
+
+/**
+ * Converts a Python object of a single type, returned by a script, into its Java equivalent. Converters are
+ * registered by Python type with {@link ResultConverters#register(Class, ResultConverter)}:
+ * <pre>
+ * {@code ResultConverters.register(PyComplex.class, complex -> new double[] {
+ *         ((PyComplex) complex).real, ((PyComplex) complex).imag });
+ * }
+ * </pre>
+ *
+ * Converters must be thread-safe, as the same converter is used by every script.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+@FunctionalInterface
+public interface ResultConverter {
+
+    /**
+     * @param object the Python object to convert, never null
+     * @return the Java equivalent of the given object
+     * @since 3.0
+     */
+    Object convert(PyObject object);
+
+}
@@ -0,0 +1,467 @@
+package com.github.adchilds.jython;
+
+import org.python.core.PyBUF;
+import org.python.core.PyBoolean;
+import org.python.core.PyBuffer;
+import org.python.core.PyByteArray;
+import org.python.core.PyDictionary;
+import org.python.core.PyFloat;
+import org.python.core.PyFrozenSet;
+import org.python.core.PyInteger;
+import org.python.core.PyList;
+import org.python.core.PyLong;
+import org.python.core.PyObject;
+import org.python.core.PySet;
+import org.python.core.PyString;
+import org.python.core.PyTuple;
+import org.python.core.PyUnicode;
+
+import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The registry of {@link ResultConverter}s used to convert the results of every script into Java types. Each Python
+ * object is converted by the converter registered for its exact type, found in a lookup table cached by type; objects
+ * of a type without a converter, such as instances of Python subclasses, use the converter of their nearest
+ * superclass that has one. Objects for which no converter is found are returned unconverted.
+ *
+ * The built-in conversions are:
+ * <ul>
+ *     <li>{@link PyBoolean} to {@link Boolean}</li>
+ *     <li>{@link PyInteger} to {@link Integer}</li>
+ *     <li>{@link PyLong} to {@link Long}, or {@link BigInteger} if it does not fit in a long</li>
+ *     <li>{@link PyFloat} to {@link Float}</li>
+ *     <li>{@link PyString} and {@link PyUnicode} to {@link String}</li>
+ *     <li>{@link PyByteArray} to {@code byte[]}</li>
+ *     <li>{@link PyList} to {@code Object[]}</li>
+ *     <li>{@link PyTuple} to an unmodifiable {@link java.util.List}</li>
+ *     <li>{@link PyDictionary} to a {@link Map}</li>
+ *     <li>{@link PySet} to a {@link java.util.Set}, and {@link PyFrozenSet} to an unmodifiable Set</li>
+ * </ul>
+ *
+ * Containers are converted without recursion, so deeply nested results cannot overflow the stack. Where a container
+ * contains itself, directly or not, the inner reference to it is converted to a {@link CyclicReference}, so that the
+ * converted result can be hashed, compared and printed.
+ *
+ * Registered converters take precedence over the built-in conversions, including those of containers, whose elements
+ * are then left to the registered converter.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+public final class ResultConverters {
+
+    // Returned by convertScalar for objects which are not of its scalar types
+    static final Object NOT_SCALAR = new Object();
+
+    private static final Map<Class<?>, Conversion> BUILT_IN = builtIn();
+    private static final ConcurrentMap<Class<?>, Conversion> REGISTERED = new ConcurrentHashMap<>();
+
+    // Replaced, never modified, on every change, so that lookups need no locking
+    private static volatile ResolvedTable resolved = new ResolvedTable(16);
+
+    // Whether the most common scalar types all use their built-in conversions, letting them skip the lookup table
+    private static volatile boolean builtInScalars = true;
+
+    /**
+     * Registers the given converter for Python objects of the given type, and of any of its subclasses that have no
+     * converter of their own, replacing any converter previously registered for it.
+     *
+     * @param type the Python type to convert, such as {@code PyComplex.class}
+     * @param converter the converter for objects of the given type
+     * @throws IllegalArgumentException when the given type or converter is null
+     * @since 3.0
+     */
+    public static void register(final Class<? extends PyObject> type, final ResultConverter converter) {
+        if (type == null) {
+            throw new IllegalArgumentException("Type must not be null.");
+        }
+
+        if (converter == null) {
+            throw new IllegalArgumentException("Converter must not be null.");
+        }
+
+        synchronized (REGISTERED) {
+            REGISTERED.put(type, new Conversion(Kind.CONVERTER, converter));
+            resolved = new ResolvedTable(16);
+            builtInScalars = !overridesScalars();
+        }
+    }
+
+    /**
+     * Removes the converter registered for the given type, restoring its built-in conversion, if any.
+     *
+     * @param type the Python type whose converter to remove
+     * @return whether a converter was registered for the given type
+     * @since 3.0
+     */
+    public static boolean unregister(final Class<? extends PyObject> type) {
+        if (type == null) {
+            return false;
+        }
+
+        synchronized (REGISTERED) {
+            if (REGISTERED.remove(type) == null) {
+                return false;
+            }
+
+            resolved = new ResolvedTable(16);
+            builtInScalars = !overridesScalars();
+        }
+
+        return true;
+    }
+
+    /**
+     * Converts the given Python object exactly as the results of scripts are converted.
+     *
+     * @param object the object to convert
+     * @return the Java equivalent of the given object, the object itself if it has no converter, or null if it is null
+     * @since 3.0
+     */
+    public static Object convert(final PyObject object) {
+        return ResultParser.parse(object);
+    }
+
+    /**
+     * @param type the exact type of a Python object
+     * @return how objects of the given type are converted
+     * @since 3.0
+     */
+    static Conversion lookup(final Class<?> type) {
+        final Conversion conversion = resolved.get(type);
+
+        return conversion != null ? conversion : resolveAndCache(type);
+    }
+
+    /**
+     * Converts objects of the most common scalar types, {@code int}, {@code float}, {@code str}, {@code unicode} and
+     * {@code bool}, by comparing their exact class rather than looking up their conversion, unless a converter has
+     * been registered for any of them.
+     *
+     * @param object a Python object, which is not null
+     * @return the converted object, or {@link #NOT_SCALAR} if it is not of one of these types
+     * @since 3.0
+     */
+    static Object convertScalar(final PyObject object) {
+        if (!builtInScalars) {
+            return NOT_SCALAR;
+        }
+
+        final Class<?> type = object.getClass();
+        if (type == PyInteger.class) {
+            return ((PyInteger) object).getValue();
+        } else if (type == PyString.class || type == PyUnicode.class) {
+            return ((PyString) object).getString();
+        } else if (type == PyFloat.class) {
+            return (float) ((PyFloat) object).getValue();
+        } else if (type == PyBoolean.class) {
+            return ((PyBoolean) object).getBooleanValue();
+        }
+
+        return NOT_SCALAR;
+    }
+
+    /**
+     * @return whether a converter is registered for any of the types converted by {@link #convertScalar(PyObject)}
+     * @since 3.0
+     */
+    private static boolean overridesScalars() {
+        return REGISTERED.containsKey(PyInteger.class) || REGISTERED.containsKey(PyString.class) ||
+                REGISTERED.containsKey(PyUnicode.class) || REGISTERED.containsKey(PyFloat.class) ||
+                REGISTERED.containsKey(PyBoolean.class);
+    }
+
+    /**
+     * @param type the exact type of a Python object, not yet resolved
+     * @return how objects of the given type are converted, now recorded for later lookups
+     * @since 3.0
+     */
+    private static Conversion resolveAndCache(final Class<?> type) {
+        synchronized (REGISTERED) {
+            final ResolvedTable table = resolved;
+
+            final Conversion current = table.get(type);
+            if (current != null) {
+                return current;
+            }
+
+            final Conversion resolvedConversion = resolve(type);
+            resolved = table.with(type, resolvedConversion);
+
+            return resolvedConversion;
+        }
+    }
+
+    /**
+     * @param type the exact type of a Python object
+     * @return the conversion registered or built in for the given type or its nearest superclass that has one
+     * @since 3.0
+     */
+    private static Conversion resolve(final Class<?> type) {
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            final Conversion registered = REGISTERED.get(current);
+            if (registered != null) {
+                return registered;
+            }
+
+            final Conversion builtIn = BUILT_IN.get(current);
+            if (builtIn != null) {
+                return builtIn;
+            }
+        }
+
+        return Conversion.UNCONVERTED;
+    }
+
+    /**
+     * @return the built-in conversion of each Python type
+     * @since 3.0
+     */
+    private static Map<Class<?>, Conversion> builtIn() {
+        final Map<Class<?>, Conversion> conversions = new HashMap<>();
+
+        conversions.put(PyBoolean.class, new Conversion(Kind.BOOLEAN, null));
+        conversions.put(PyInteger.class, new Conversion(Kind.INTEGER, null));
+        conversions.put(PyLong.class, new Conversion(Kind.LONG, null));
+        conversions.put(PyFloat.class, new Conversion(Kind.FLOAT, null));
+        conversions.put(PyString.class, new Conversion(Kind.STRING, null));
+        conversions.put(PyUnicode.class, new Conversion(Kind.STRING, null));
+        conversions.put(PyByteArray.class, new Conversion(Kind.BYTE_ARRAY, null));
+
+        conversions.put(PyList.class, new Conversion(Kind.LIST, null));
+        conversions.put(PyTuple.class, new Conversion(Kind.TUPLE, null));
+        conversions.put(PyDictionary.class, new Conversion(Kind.DICT, null));
+        conversions.put(PySet.class, new Conversion(Kind.SET, null));
+        conversions.put(PyFrozenSet.class, new Conversion(Kind.FROZEN_SET, null));
+
+        return conversions;
+    }
+
+    /**
+     * @param object a {@link PyLong}
+     * @return the value of the given long as a {@link Long} if it fits, otherwise as a {@link BigInteger}
+     * @since 3.0
+     */
+    private static Object convertLong(final PyLong object) {
+        final BigInteger value = object.getValue();
+
+        return value.bitLength() < Long.SIZE ? (Object) value.longValue() : value;
+    }
+
+    /**
+     * @param object a {@link PyByteArray}
+     * @return a copy of the bytes of the given bytearray
+     * @since 3.0
+     */
+    private static byte[] convertByteArray(final PyByteArray object) {
+        final PyBuffer buffer = object.getBuffer(PyBUF.FULL_RO);
+
+        try {
+            final byte[] bytes = new byte[buffer.getLen()];
+            buffer.copyTo(bytes, 0);
+
+            return bytes;
+        } finally {
+            buffer.release();
+        }
+    }
+
+    /**
+     * Stands in for a container within the conversion of its own contents, such as the value of {@code d['self']}
+     * after {@code d['self'] = d}. A Java container cannot usefully contain itself, as hashing, comparing or printing
+     * it would never finish.
+     *
+     * Two CyclicReferences are equal when they refer to containers of the same Python type.
+     *
+     * @author Adam Childs
+     * @since 3.0
+     */
+    public static final class CyclicReference {
+
+        private final String type;
+
+        CyclicReference(final String type) {
+            this.type = type;
+        }
+
+        /**
+         * @return the name of the Python type of the container referred to, such as {@code dict}
+         * @since 3.0
+         */
+        public String getType() {
+            return type;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            return this == o || (o instanceof CyclicReference && type.equals(((CyclicReference) o).type));
+        }
+
+        @Override
+        public int hashCode() {
+            return type.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return "<cyclic reference to " + type + ">";
+        }
+
+    }
+
+    /**
+     * The ways in which objects are converted: by a registered {@link ResultConverter}, by a built-in conversion, or
+     * element by element, for containers, by {@link ResultParser}.
+     *
+     * @since 3.0
+     */
+    enum Kind {
+        CONVERTER, UNCONVERTED, BOOLEAN, INTEGER, LONG, FLOAT, STRING, BYTE_ARRAY, LIST, TUPLE, DICT, SET, FROZEN_SET
+    }
+
+    /**
+     * How objects of a single Python type are converted.
+     *
+     * @since 3.0
+     */
+    static final class Conversion {
+
+        private static final Conversion UNCONVERTED = new Conversion(Kind.UNCONVERTED, null);
+
+        private final Kind kind;
+        private final boolean container;
+        private final ResultConverter converter;
+
+        private Conversion(final Kind kind, final ResultConverter converter) {
+            this.kind = kind;
+            this.container = kind.compareTo(Kind.LIST) >= 0;
+            this.converter = converter;
+        }
+
+        /**
+         * @return how objects of this type are converted
+         * @since 3.0
+         */
+        Kind getKind() {
+            return kind;
+        }
+
+        /**
+         * @return whether objects of this type are containers, converted element by element by {@link ResultParser}
+         * @since 3.0
+         */
+        boolean isContainer() {
+            return container;
+        }
+
+        /**
+         * @param object an object of this type, which is not a container
+         * @return the converted object
+         * @since 3.0
+         */
+        Object convert(final PyObject object) {
+            if (kind == Kind.INTEGER) {
+                return ((PyInteger) object).getValue();
+            } else if (kind == Kind.STRING) {
+                return ((PyString) object).getString();
+            } else if (kind == Kind.FLOAT) {
+                return (float) ((PyFloat) object).getValue();
+            } else if (kind == Kind.LONG) {
+                return convertLong((PyLong) object);
+            } else if (kind == Kind.BOOLEAN) {
+                return ((PyBoolean) object).getBooleanValue();
+            } else if (kind == Kind.CONVERTER) {
+                return converter.convert(object);
+            } else if (kind == Kind.BYTE_ARRAY) {
+                return convertByteArray((PyByteArray) object);
+            }
+
+            return object;
+        }
+
+    }
+
+    /**
+     * An immutable, open-addressed table of the conversion resolved for each type looked up so far, keyed by identity.
+     *
+     * @since 3.0
+     */
+    private static final class ResolvedTable {
+
+        private final Class<?>[] types;
+        private final Conversion[] conversions;
+        private final int size;
+
+        private ResolvedTable(final int capacity) {
+            this.types = new Class<?>[capacity];
+            this.conversions = new Conversion[capacity];
+            this.size = 0;
+        }
+
+        private ResolvedTable(final Class<?>[] types, final Conversion[] conversions, final int size) {
+            this.types = types;
+            this.conversions = conversions;
+            this.size = size;
+        }
+
+        /**
+         * @param type the type to look up
+         * @return the conversion resolved for the given type, or null if it has not been resolved
+         * @since 3.0
+         */
+        private Conversion get(final Class<?> type) {
+            final int mask = types.length - 1;
+
+            for (int index = System.identityHashCode(type) & mask; ; index = (index + 1) & mask) {
+                final Class<?> candidate = types[index];
+                if (candidate == type) {
+                    return conversions[index];
+                } else if (candidate == null) {
+                    return null;
+                }
+            }
+        }
+
+        /**
+         * @param type a type not yet in this table
+         * @param conversion the conversion resolved for the type
+         * @return a copy of this table which also holds the given type, grown to keep it at most half full
+         * @since 3.0
+         */
+        private ResolvedTable with(final Class<?> type, final Conversion conversion) {
+            final int capacity = (size + 1) * 2 > types.length ? types.length * 2 : types.length;
+            final ResolvedTable table = new ResolvedTable(new Class<?>[capacity], new Conversion[capacity], size + 1);
+
+            for (int i = 0; i < types.length; i++) {
+                if (types[i] != null) {
+                    table.put(types[i], conversions[i]);
+                }
+            }
+
+            table.put(type, conversion);
+
+            return table;
+        }
+
+        private void put(final Class<?> type, final Conversion conversion) {
+            final int mask = types.length - 1;
+
+            int index = System.identityHashCode(type) & mask;
+            while (types[index] != null) {
+                index = (index + 1) & mask;
+            }
+
+            types[index] = type;
+            conversions[index] = conversion;
+        }
+
+    }
+
+    // Don't allow this class to be instantiated
+    private ResultConverters() { }
+
+}
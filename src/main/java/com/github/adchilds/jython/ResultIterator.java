@@ -0,0 +1,160 @@
+package com.github.adchilds.jython;
+
+import com.github.adchilds.jython.exception.JythonScriptException;
+import com.github.adchilds.jython.exception.UncheckedJythonScriptException;
+import org.python.core.PyException;
+import org.python.core.PyObject;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Incrementally pulls items from the iterable 'result' of an evaluated Jython script, such as a generator, converting
+ * each to its equivalent Java type only as it is reached. Scripts can therefore produce any number of items while only
+ * one is held in memory at a time.
+ *
+ * A ResultIterator returned by a {@link JythonEngine} holds one of the engine's pooled interpreters until the iterator
+ * is exhausted or closed, so it should always be used within a try-with-resources block:
+ * <pre>
+ * {@code try (ResultIterator records = engine.evaluateToIterator(compiledScript)) {
+ *     while (records.hasNext()) {
+ *         ...
+ *     }
+ * }}
+ * </pre>
+ *
+ * Errors raised by the script while producing an item are thrown as an {@link UncheckedJythonScriptException}, after
+ * which the iterator is closed. A ResultIterator is not thread-safe, though it may be closed from any thread.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+public final class ResultIterator implements Iterator<Object>, AutoCloseable {
+
+    /**
+     * The maximum number of items buffered by each split of a {@link #stream()}.
+     */
+    public static final int DEFAULT_PREFETCH = 1024;
+
+    private final PyObject iterator;
+    private final ResultConversion conversion;
+    private final Runnable onClose;
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    private PyObject next;
+
+    /**
+     * @param iterator the Python iterator to pull items from
+     * @param conversion how each item is converted to its Java type
+     * @param onClose invoked exactly once, when this iterator is exhausted or closed
+     * @since 3.0
+     */
+    ResultIterator(final PyObject iterator, final ResultConversion conversion, final Runnable onClose) {
+        this.iterator = iterator;
+        this.conversion = conversion;
+        this.onClose = onClose;
+    }
+
+    /**
+     * Obtains a Python iterator over the given script result.
+     *
+     * @param result the 'result' of an evaluated script
+     * @return an iterator over the given result
+     * @throws JythonScriptException when the given result is not iterable
+     * @since 3.0
+     */
+    static PyObject iterate(final PyObject result) throws JythonScriptException {
+        try {
+            return result.__iter__();
+        } catch (PyException e) {
+            throw new JythonScriptException("Local variable 'result' is not iterable. type=[" +
+                    result.getType().fastGetName() + "]", e);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && !closed.get()) {
+            next = advance();
+
+            if (next == null) {
+                close();
+            }
+        }
+
+        return next != null;
+    }
+
+    @Override
+    public Object next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        final PyObject item = next;
+        next = null;
+
+        return ResultParser.parse(item, conversion);
+    }
+
+    /**
+     * Returns a sequential {@link Stream} over the remaining items, buffering at most {@link #DEFAULT_PREFETCH} items
+     * per split when run in parallel. Closing the stream closes this iterator.
+     *
+     * @return a stream over the remaining items
+     * @since 3.0
+     */
+    public Stream<Object> stream() {
+        return stream(DEFAULT_PREFETCH);
+    }
+
+    /**
+     * Returns a sequential {@link Stream} over the remaining items. If the stream is made parallel, items are pulled
+     * from the script by a single thread at a time and handed to other threads in splits of at most {@code prefetch}
+     * items, bounding the number of items held in memory. Closing the stream closes this iterator.
+     *
+     * @param prefetch the maximum number of items buffered by each split; must be at least 1
+     * @return a stream over the remaining items
+     * @since 3.0
+     */
+    public Stream<Object> stream(final int prefetch) {
+        if (prefetch < 1) {
+            throw new IllegalArgumentException("Prefetch must be at least 1. prefetch=[" + prefetch + "]");
+        }
+
+        return StreamSupport.stream(new ResultSpliterator(this, prefetch), false).onClose(this::close);
+    }
+
+    /**
+     * Stops pulling items from the script and releases any resources held by this iterator. Closing an iterator more
+     * than once has no effect.
+     *
+     * @since 3.0
+     */
+    @Override
+    public void close() {
+        if (closed.compareAndSet(false, true)) {
+            next = null;
+            onClose.run();
+        }
+    }
+
+    /**
+     * @return the next raw item from the script, or null once the script has produced every item
+     * @since 3.0
+     */
+    private PyObject advance() {
+        try {
+            return iterator.__iternext__();
+        } catch (PyException e) {
+            close();
+
+            throw new UncheckedJythonScriptException(new JythonScriptException(
+                    "An error occurred during script execution. cause=[\n\t" + e.toString() + "]"));
+        }
+    }
+
+}
@@ -0,0 +1,854 @@
+package com.github.adchilds.jython;
+
+import com.github.adchilds.jython.exception.JythonScriptException;
+import org.python.core.*;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Converts the {@link PyObject} results of evaluated Jython scripts into their equivalent Java types. Shared by the
+ * static {@link JythonScript} facade and instance-based {@link JythonEngine}s so that both produce identical results.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+final class ResultParser {
+
+    // Marks an element which is a container not yet converted
+    private static final Object PENDING = new Object();
+
+    // The depth of nesting beyond which the containers being converted are found by hashing rather than searching
+    private static final int ANCESTOR_SEARCH_DEPTH = 16;
+
+    // The depth of nesting beyond which containers are converted iteratively rather than recursively
+    private static final int MAX_RECURSION_DEPTH = 64;
+
+    /**
+     * Given a {@link PyObject} attempts to convert the object to it's Java representation, using the converter
+     * registered for its type with {@link ResultConverters}. If an equivalent java type cannot be found, the original
+     * PyObject is returned.
+     *
+     * Containers nested up to {@link #MAX_RECURSION_DEPTH} deep are converted recursively, and any nested more deeply
+     * iteratively, so that deeply nested results cannot overflow the stack. A container found within its own contents
+     * is converted to a {@link ResultConverters.CyclicReference}.
+     *
+     * @param object the object to convert to it's equivalent Java type, if supported; otherwise, returns the unconverted {@link PyObject}
+     * @return the Java type representation of the given {@link PyObject}
+     * @since 1.0
+     */
+    static Object parse(final PyObject object) {
+        if (object == null) {
+            return null;
+        }
+
+        final Object scalar = ResultConverters.convertScalar(object);
+        if (scalar != ResultConverters.NOT_SCALAR) {
+            return scalar;
+        }
+
+        final ResultConverters.Conversion conversion = ResultConverters.lookup(object.getClass());
+        if (!conversion.isContainer()) {
+            return conversion.convert(object);
+        }
+
+        return new Traversal().convertContainer(object, conversion.getKind());
+    }
+
+    /**
+     * Converts the given {@link PyObject} to its Java representation using the given {@link ResultConversion}.
+     *
+     * @param object the object to convert
+     * @param conversion how Python containers are converted
+     * @return the Java type representation of the given {@link PyObject}
+     * @since 3.0
+     */
+    static Object parse(final PyObject object, final ResultConversion conversion) {
+        if (conversion == ResultConversion.EAGER) {
+            return parse(object);
+        }
+
+        return parseLazily(object, conversion == ResultConversion.LAZY_MEMOIZED);
+    }
+
+    /**
+     * Converts the given {@link PyObject} to its Java representation, returning read-only views over {@link PyList},
+     * {@link PyDictionary} and {@link PySet} containers rather than copies of them, unless a converter is registered
+     * for their type. All other types are converted as by {@link #parse(PyObject)}.
+     *
+     * @param object the object to convert
+     * @param memoize whether the returned views memoize their converted elements
+     * @return the Java type representation of the given {@link PyObject}
+     * @since 3.0
+     */
+    static Object parseLazily(final PyObject object, final boolean memoize) {
+        if (object == null) {
+            return null;
+        }
+
+        final Object scalar = ResultConverters.convertScalar(object);
+        if (scalar != ResultConverters.NOT_SCALAR) {
+            return scalar;
+        }
+
+        final ResultConverters.Conversion conversion = ResultConverters.lookup(object.getClass());
+        if (!conversion.isContainer()) {
+            return conversion.convert(object);
+        }
+
+        switch (conversion.getKind()) {
+            case LIST:
+                return new ResultViews.ListView((PyList) object, memoize);
+            case DICT:
+                return new ResultViews.MapView((PyDictionary) object, memoize);
+            case SET:
+                return new ResultViews.SetView((PySet) object, memoize);
+            default:
+                return parse(object);
+        }
+    }
+
+    /**
+     * Converts the given {@link PyList}, {@link PyTuple} or {@link PyArray} of integers directly to an {@code int[]},
+     * without boxing any element.
+     *
+     * @param object the sequence to convert
+     * @return a new array holding each element of the sequence
+     * @throws JythonScriptException when the object is not a supported sequence, or an element is not an integer or
+     * does not fit in an int
+     * @since 3.0
+     */
+    static int[] parseIntArray(final PyObject object) throws JythonScriptException {
+        if (object instanceof PyArray) {
+            final Object array = ((PyArray) object).getArray();
+
+            // PyArray#getArray() returns a copy, so a matching array can be handed back as-is
+            if (array instanceof int[]) {
+                return (int[]) array;
+            } else if (array instanceof short[]) {
+                final short[] shorts = (short[]) array;
+                final int[] ints = new int[shorts.length];
+                for (int i = 0; i < shorts.length; i++) {
+                    ints[i] = shorts[i];
+                }
+
+                return ints;
+            } else if (array instanceof byte[]) {
+                final byte[] bytes = (byte[]) array;
+                final int[] ints = new int[bytes.length];
+                for (int i = 0; i < bytes.length; i++) {
+                    ints[i] = bytes[i];
+                }
+
+                return ints;
+            } else if (array instanceof long[]) {
+                final long[] longs = (long[]) array;
+                final int[] ints = new int[longs.length];
+                for (int i = 0; i < longs.length; i++) {
+                    if (longs[i] != (int) longs[i]) {
+                        throw new JythonScriptException("Element does not fit in an int. index=[" + i + "], value=[" +
+                                longs[i] + "]");
+                    }
+
+                    ints[i] = (int) longs[i];
+                }
+
+                return ints;
+            }
+
+            throw unsupportedSequence(object, "int[]");
+        }
+
+        final PyObject[] elements = sequenceElements(object, "int[]");
+        final int[] ints = new int[elements.length];
+
+        for (int i = 0; i < elements.length; i++) {
+            final PyObject element = elements[i];
+
+            if (element instanceof PyInteger) {
+                ints[i] = ((PyInteger) element).getValue();
+            } else if (element instanceof PyLong) {
+                try {
+                    ints[i] = element.asInt();
+                } catch (PyException e) {
+                    throw new JythonScriptException("Element does not fit in an int. index=[" + i + "], value=[" +
+                            element + "]", e);
+                }
+            } else {
+                throw unsupportedElement(element, i, "int");
+            }
+        }
+
+        return ints;
+    }
+
+    /**
+     * Converts the given {@link PyList}, {@link PyTuple} or {@link PyArray} of integers directly to a {@code long[]},
+     * without boxing any element.
+     *
+     * @param object the sequence to convert
+     * @return a new array holding each element of the sequence
+     * @throws JythonScriptException when the object is not a supported sequence, or an element is not an integer or
+     * does not fit in a long
+     * @since 3.0
+     */
+    static long[] parseLongArray(final PyObject object) throws JythonScriptException {
+        if (object instanceof PyArray) {
+            final Object array = ((PyArray) object).getArray();
+
+            if (array instanceof long[]) {
+                return (long[]) array;
+            } else if (array instanceof int[]) {
+                final int[] ints = (int[]) array;
+                final long[] longs = new long[ints.length];
+                for (int i = 0; i < ints.length; i++) {
+                    longs[i] = ints[i];
+                }
+
+                return longs;
+            } else if (array instanceof short[]) {
+                final short[] shorts = (short[]) array;
+                final long[] longs = new long[shorts.length];
+                for (int i = 0; i < shorts.length; i++) {
+                    longs[i] = shorts[i];
+                }
+
+                return longs;
+            } else if (array instanceof byte[]) {
+                final byte[] bytes = (byte[]) array;
+                final long[] longs = new long[bytes.length];
+                for (int i = 0; i < bytes.length; i++) {
+                    longs[i] = bytes[i];
+                }
+
+                return longs;
+            }
+
+            throw unsupportedSequence(object, "long[]");
+        }
+
+        final PyObject[] elements = sequenceElements(object, "long[]");
+        final long[] longs = new long[elements.length];
+
+        for (int i = 0; i < elements.length; i++) {
+            final PyObject element = elements[i];
+
+            if (element instanceof PyInteger) {
+                longs[i] = ((PyInteger) element).getValue();
+            } else if (element instanceof PyLong) {
+                try {
+                    longs[i] = element.asLong();
+                } catch (PyException e) {
+                    throw new JythonScriptException("Element does not fit in a long. index=[" + i + "], value=[" +
+                            element + "]", e);
+                }
+            } else {
+                throw unsupportedElement(element, i, "long");
+            }
+        }
+
+        return longs;
+    }
+
+    /**
+     * Converts the given {@link PyList}, {@link PyTuple} or {@link PyArray} of numbers directly to a {@code double[]},
+     * without boxing any element. Integers are widened as by Python's {@code float()}.
+     *
+     * @param object the sequence to convert
+     * @return a new array holding each element of the sequence
+     * @throws JythonScriptException when the object is not a supported sequence, or an element is not a number
+     * @since 3.0
+     */
+    static double[] parseDoubleArray(final PyObject object) throws JythonScriptException {
+        if (object instanceof PyArray) {
+            final Object array = ((PyArray) object).getArray();
+
+            if (array instanceof double[]) {
+                return (double[]) array;
+            } else if (array instanceof float[]) {
+                final float[] floats = (float[]) array;
+                final double[] doubles = new double[floats.length];
+                for (int i = 0; i < floats.length; i++) {
+                    doubles[i] = floats[i];
+                }
+
+                return doubles;
+            } else if (array instanceof long[]) {
+                final long[] longs = (long[]) array;
+                final double[] doubles = new double[longs.length];
+                for (int i = 0; i < longs.length; i++) {
+                    doubles[i] = longs[i];
+                }
+
+                return doubles;
+            } else if (array instanceof int[]) {
+                final int[] ints = (int[]) array;
+                final double[] doubles = new double[ints.length];
+                for (int i = 0; i < ints.length; i++) {
+                    doubles[i] = ints[i];
+                }
+
+                return doubles;
+            } else if (array instanceof short[]) {
+                final short[] shorts = (short[]) array;
+                final double[] doubles = new double[shorts.length];
+                for (int i = 0; i < shorts.length; i++) {
+                    doubles[i] = shorts[i];
+                }
+
+                return doubles;
+            } else if (array instanceof byte[]) {
+                final byte[] bytes = (byte[]) array;
+                final double[] doubles = new double[bytes.length];
+                for (int i = 0; i < bytes.length; i++) {
+                    doubles[i] = bytes[i];
+                }
+
+                return doubles;
+            }
+
+            throw unsupportedSequence(object, "double[]");
+        }
+
+        final PyObject[] elements = sequenceElements(object, "double[]");
+        final double[] doubles = new double[elements.length];
+
+        for (int i = 0; i < elements.length; i++) {
+            final PyObject element = elements[i];
+
+            if (element instanceof PyFloat) {
+                doubles[i] = ((PyFloat) element).getValue();
+            } else if (element instanceof PyInteger) {
+                doubles[i] = ((PyInteger) element).getValue();
+            } else if (element instanceof PyLong) {
+                try {
+                    doubles[i] = element.asDouble();
+                } catch (PyException e) {
+                    throw new JythonScriptException("Element does not fit in a double. index=[" + i + "], value=[" +
+                            element + "]", e);
+                }
+            } else {
+                throw unsupportedElement(element, i, "double");
+            }
+        }
+
+        return doubles;
+    }
+
+    /**
+     * @param object a {@link PyList} or {@link PyTuple}
+     * @param arrayType the name of the array type being converted to, for error reporting
+     * @return a snapshot of the elements of the given sequence
+     * @throws JythonScriptException when the object is neither a PyList nor a PyTuple
+     * @since 3.0
+     */
+    private static PyObject[] sequenceElements(final PyObject object, final String arrayType) throws JythonScriptException {
+        if (object instanceof PyList) {
+            return ((PyList) object).getArray();
+        } else if (object instanceof PyTuple) {
+            return ((PyTuple) object).getArray();
+        }
+
+        throw unsupportedSequence(object, arrayType);
+    }
+
+    /**
+     * @param object the result that could not be converted
+     * @param arrayType the name of the array type being converted to
+     * @return an exception describing the unsupported result
+     * @since 3.0
+     */
+    private static JythonScriptException unsupportedSequence(final PyObject object, final String arrayType) {
+        final String type = object instanceof PyArray ? "array('" + ((PyArray) object).getTypecode() + "')" :
+                object.getType().fastGetName();
+
+        return new JythonScriptException("Result could not be converted to a primitive array; expected a list, tuple " +
+                "or numeric array. arrayType=[" + arrayType + "], type=[" + type + "]");
+    }
+
+    /**
+     * @param element the element that could not be converted
+     * @param index the index of the element within its sequence
+     * @param elementType the name of the primitive type being converted to
+     * @return an exception describing the unsupported element
+     * @since 3.0
+     */
+    private static JythonScriptException unsupportedElement(final PyObject element, final int index,
+                                                            final String elementType) {
+        return new JythonScriptException("Element could not be converted to a primitive. elementType=[" + elementType +
+                "], index=[" + index + "], type=[" + element.getType().fastGetName() + "]");
+    }
+
+    /**
+     * Creates the Java container the given Python container is converted to, sized to hold each of its elements.
+     *
+     * @param object the container to convert
+     * @param kind the kind of container it is
+     * @return the frame converting the container's elements
+     * @since 3.0
+     */
+    private static Frame open(final PyObject object, final ResultConverters.Kind kind) {
+        switch (kind) {
+            case LIST:
+                return new ArrayFrame(object, ((PyList) object).getArray(), false);
+            case TUPLE:
+                return new ArrayFrame(object, ((PyTuple) object).getArray(), true);
+            case DICT:
+                return new DictFrame(object, ((PyDictionary) object).getMap());
+            case SET:
+                return new SetFrame(object, ((BaseSet) object).getSet(), false);
+            default:
+                return new SetFrame(object, ((BaseSet) object).getSet(), true);
+        }
+    }
+
+    /**
+     * @param size the number of elements to hold
+     * @return the initial capacity of a {@link HashMap} or {@link HashSet} holding the given number of elements
+     * without resizing
+     * @since 3.0
+     */
+    private static int capacity(final int size) {
+        return (int) (size / 0.75f) + 1;
+    }
+
+    /**
+     * The state shared by every container converted by a single call to {@link #parse(PyObject)}.
+     *
+     * @since 3.0
+     */
+    private static final class Traversal {
+
+        // The containers being converted, outermost first
+        private final PyObject[] path = new PyObject[ANCESTOR_SEARCH_DEPTH];
+        private int depth;
+
+        // The containers being converted; collected only once they are too many to search
+        private Set<PyObject> ancestors;
+
+        // Whether containers are being converted by frames, rather than recursively
+        private boolean iterating;
+
+        // The kind of the container last found to be pending, so that it need not be looked up again
+        private ResultConverters.Kind pending;
+
+        /**
+         * @param element an element of a container
+         * @return the conversion of the given element, or {@link #PENDING} if it is a container which must first be
+         * converted by its own frame
+         * @since 3.0
+         */
+        private Object convert(final PyObject element) {
+            if (element == null) {
+                return null;
+            }
+
+            final Object scalar = ResultConverters.convertScalar(element);
+            if (scalar != ResultConverters.NOT_SCALAR) {
+                return scalar;
+            }
+
+            final ResultConverters.Conversion conversion = ResultConverters.lookup(element.getClass());
+            if (!conversion.isContainer()) {
+                return conversion.convert(element);
+            }
+
+            return convertContainer(element, conversion.getKind());
+        }
+
+        /**
+         * @param container a container
+         * @param kind the kind of container it is
+         * @return the conversion of the given container, or {@link #PENDING} if it must first be converted by its own
+         * frame
+         * @since 3.0
+         */
+        private Object convertContainer(final PyObject container, final ResultConverters.Kind kind) {
+            if (isAncestor(container)) {
+                return new ResultConverters.CyclicReference(container.getType().fastGetName());
+            }
+
+            if (depth < MAX_RECURSION_DEPTH) {
+                return recurse(container, kind);
+            } else if (!iterating) {
+                return iterate(container, kind);
+            }
+
+            pending = kind;
+
+            return PENDING;
+        }
+
+        /**
+         * Converts the given container and its elements recursively.
+         *
+         * @param container a container, which is not being converted already
+         * @param kind the kind of container it is
+         * @return the converted container
+         * @since 3.0
+         */
+        private Object recurse(final PyObject container, final ResultConverters.Kind kind) {
+            enter(container);
+
+            final Object result;
+            switch (kind) {
+                case LIST:
+                    result = convertArray(((PyList) container).getArray());
+                    break;
+                case TUPLE:
+                    result = Collections.unmodifiableList(Arrays.asList(convertArray(((PyTuple) container).getArray())));
+                    break;
+                case DICT:
+                    result = convertMap(((PyDictionary) container).getMap());
+                    break;
+                case SET:
+                    result = convertSet(((BaseSet) container).getSet());
+                    break;
+                default:
+                    result = Collections.unmodifiableSet(convertSet(((BaseSet) container).getSet()));
+                    break;
+            }
+
+            exit(container);
+
+            return result;
+        }
+
+        /**
+         * @param elements the elements of a list or tuple
+         * @return the conversion of each element, in order
+         * @since 3.0
+         */
+        private Object[] convertArray(final PyObject[] elements) {
+            final Object[] target = new Object[elements.length];
+            for (int i = 0; i < elements.length; i++) {
+                target[i] = convert(elements[i]);
+            }
+
+            return target;
+        }
+
+        /**
+         * @param dict the entries of a dict
+         * @return a map of the conversion of each key to the conversion of its value
+         * @since 3.0
+         */
+        private Map<Object, Object> convertMap(final Map<PyObject, PyObject> dict) {
+            final Map<Object, Object> target = new HashMap<>(capacity(dict.size()));
+            for (final Map.Entry<PyObject, PyObject> entry : dict.entrySet()) {
+                final Object key = convert(entry.getKey());
+                target.put(key, convert(entry.getValue()));
+            }
+
+            return target;
+        }
+
+        /**
+         * @param set the elements of a set or frozenset
+         * @return a set of the conversion of each element
+         * @since 3.0
+         */
+        private Set<Object> convertSet(final Set<PyObject> set) {
+            final Set<Object> target = new HashSet<>(capacity(set.size()));
+            for (final PyObject element : set) {
+                target.add(convert(element));
+            }
+
+            return target;
+        }
+
+        /**
+         * Converts the given container and its elements iteratively, each nested container by its own {@link Frame},
+         * converting every element of a nested container before moving on to the next element of its parent.
+         *
+         * @param container a container, which is not being converted already
+         * @param kind the kind of container it is
+         * @return the converted container
+         * @since 3.0
+         */
+        private Object iterate(final PyObject container, final ResultConverters.Kind kind) {
+            final Deque<Frame> frames = new ArrayDeque<>();
+
+            iterating = true;
+            enter(container);
+            frames.push(open(container, kind));
+
+            while (true) {
+                final Frame frame = frames.peek();
+
+                // Converts the frame's elements up to its next unconverted container, which is converted before the rest
+                final PyObject next = frame.fill(this);
+                if (next != null) {
+                    enter(next);
+                    frames.push(open(next, pending));
+                    continue;
+                }
+
+                frames.pop();
+                exit(frame.source);
+
+                if (frames.isEmpty()) {
+                    iterating = false;
+
+                    return frame.result;
+                }
+
+                frames.peek().accept(frame.result);
+            }
+        }
+
+        /**
+         * @param container a container whose elements are about to be converted
+         * @since 3.0
+         */
+        private void enter(final PyObject container) {
+            if (ancestors != null) {
+                ancestors.add(container);
+            } else if (depth == path.length) {
+                ancestors = Collections.newSetFromMap(new IdentityHashMap<>());
+                ancestors.addAll(Arrays.asList(path));
+                ancestors.add(container);
+            } else {
+                path[depth] = container;
+            }
+
+            depth++;
+        }
+
+        /**
+         * @param container the container whose elements have all been converted
+         * @since 3.0
+         */
+        private void exit(final PyObject container) {
+            depth--;
+
+            if (ancestors != null) {
+                ancestors.remove(container);
+            }
+        }
+
+        /**
+         * @param container a container
+         * @return whether the given container is being converted, and so contains the element being converted
+         * @since 3.0
+         */
+        private boolean isAncestor(final PyObject container) {
+            if (ancestors != null) {
+                return ancestors.contains(container);
+            }
+
+            for (int i = 0; i < depth; i++) {
+                if (path[i] == container) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+    }
+
+    /**
+     * The conversion of a single container, converting its elements in order.
+     *
+     * @since 3.0
+     */
+    private abstract static class Frame {
+
+        final PyObject source;
+        final Object result;
+
+        Frame(final PyObject source, final Object result) {
+            this.source = source;
+            this.result = result;
+        }
+
+        /**
+         * Converts the container's remaining elements in order, stopping at the first which is itself a container not
+         * yet converted.
+         *
+         * @param traversal the traversal of which this frame is part
+         * @return the element at which conversion stopped, whose conversion must be passed to {@link #accept(Object)}
+         * before this method is called again, or null if every element has been converted
+         * @since 3.0
+         */
+        abstract PyObject fill(Traversal traversal);
+
+        /**
+         * @param element the conversion of the element last returned by {@link #fill(Traversal)}
+         * @since 3.0
+         */
+        abstract void accept(Object element);
+
+    }
+
+    /**
+     * Converts a {@link PyList} to an {@code Object[]}, or a {@link PyTuple} to an unmodifiable {@link List}.
+     *
+     * @since 3.0
+     */
+    private static final class ArrayFrame extends Frame {
+
+        private final PyObject[] elements;
+        private final Object[] target;
+        private int index;
+
+        private ArrayFrame(final PyObject source, final PyObject[] elements, final boolean tuple) {
+            this(source, elements, new Object[elements.length], tuple);
+        }
+
+        private ArrayFrame(final PyObject source, final PyObject[] elements, final Object[] target,
+                           final boolean tuple) {
+            super(source, tuple ? Collections.unmodifiableList(Arrays.asList(target)) : target);
+
+            this.elements = elements;
+            this.target = target;
+        }
+
+        @Override
+        PyObject fill(final Traversal traversal) {
+            while (index < elements.length) {
+                final Object element = traversal.convert(elements[index]);
+                if (element == PENDING) {
+                    return elements[index];
+                }
+
+                target[index++] = element;
+            }
+
+            return null;
+        }
+
+        @Override
+        void accept(final Object element) {
+            target[index++] = element;
+        }
+
+    }
+
+    /**
+     * Converts a {@link PyDictionary} to a {@link Map}, converting each key before its value.
+     *
+     * @since 3.0
+     */
+    private static final class DictFrame extends Frame {
+
+        private final Iterator<Map.Entry<PyObject, PyObject>> entries;
+        private final Map<Object, Object> target;
+        private Map.Entry<PyObject, PyObject> entry;
+        private Object key;
+        private boolean keyConverted;
+
+        private DictFrame(final PyObject source, final Map<PyObject, PyObject> dict) {
+            this(source, dict, new HashMap<>(capacity(dict.size())));
+        }
+
+        private DictFrame(final PyObject source, final Map<PyObject, PyObject> dict, final Map<Object, Object> target) {
+            super(source, target);
+
+            this.entries = dict.entrySet().iterator();
+            this.target = target;
+        }
+
+        @Override
+        PyObject fill(final Traversal traversal) {
+            while (true) {
+                if (entry == null) {
+                    if (!entries.hasNext()) {
+                        return null;
+                    }
+
+                    entry = entries.next();
+                }
+
+                if (!keyConverted) {
+                    final Object element = traversal.convert(entry.getKey());
+                    if (element == PENDING) {
+                        return entry.getKey();
+                    }
+
+                    accept(element);
+                }
+
+                final Object element = traversal.convert(entry.getValue());
+                if (element == PENDING) {
+                    return entry.getValue();
+                }
+
+                accept(element);
+            }
+        }
+
+        @Override
+        void accept(final Object element) {
+            if (keyConverted) {
+                target.put(key, element);
+                entry = null;
+                key = null;
+                keyConverted = false;
+            } else {
+                key = element;
+                keyConverted = true;
+            }
+        }
+
+    }
+
+    /**
+     * Converts a {@link PySet} to a {@link Set}, or a {@link PyFrozenSet} to an unmodifiable Set.
+     *
+     * @since 3.0
+     */
+    private static final class SetFrame extends Frame {
+
+        private final Iterator<PyObject> elements;
+        private final Set<Object> target;
+
+        private SetFrame(final PyObject source, final Set<PyObject> set, final boolean frozen) {
+            this(source, set, new HashSet<>(capacity(set.size())), frozen);
+        }
+
+        private SetFrame(final PyObject source, final Set<PyObject> set, final Set<Object> target,
+                         final boolean frozen) {
+            super(source, frozen ? Collections.unmodifiableSet(target) : target);
+
+            this.elements = set.iterator();
+            this.target = target;
+        }
+
+        @Override
+        PyObject fill(final Traversal traversal) {
+            while (elements.hasNext()) {
+                final PyObject next = elements.next();
+
+                final Object element = traversal.convert(next);
+                if (element == PENDING) {
+                    return next;
+                }
+
+                target.add(element);
+            }
+
+            return null;
+        }
+
+        @Override
+        void accept(final Object element) {
+            target.add(element);
+        }
+
+    }
+
+    // Don't allow this class to be instantiated
+    private ResultParser() { }
+
+}
@@ -0,0 +1,75 @@
+package com.github.adchilds.jython;
+
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/**
+ * A {@link Spliterator} over a {@link ResultIterator}. Each split prefetches at most a fixed number of items, unlike
+ * {@link Spliterators#spliteratorUnknownSize(java.util.Iterator, int)}, whose batches grow without a practical bound,
+ * so that a parallel stream over a script's items holds a bounded number of them in memory.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+final class ResultSpliterator implements Spliterator<Object> {
+
+    private static final int CHARACTERISTICS = Spliterator.ORDERED | Spliterator.NONNULL;
+
+    private final ResultIterator iterator;
+    private final int prefetch;
+
+    /**
+     * @param iterator the iterator to pull items from
+     * @param prefetch the maximum number of items buffered by each split
+     * @since 3.0
+     */
+    ResultSpliterator(final ResultIterator iterator, final int prefetch) {
+        this.iterator = iterator;
+        this.prefetch = prefetch;
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super Object> action) {
+        if (!iterator.hasNext()) {
+            return false;
+        }
+
+        action.accept(iterator.next());
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(final Consumer<? super Object> action) {
+        while (iterator.hasNext()) {
+            action.accept(iterator.next());
+        }
+    }
+
+    @Override
+    public Spliterator<Object> trySplit() {
+        if (!iterator.hasNext()) {
+            return null;
+        }
+
+        final Object[] items = new Object[prefetch];
+
+        int count = 0;
+        while (count < prefetch && iterator.hasNext()) {
+            items[count++] = iterator.next();
+        }
+
+        return Spliterators.spliterator(items, 0, count, CHARACTERISTICS);
+    }
+
+    @Override
+    public long estimateSize() {
+        return Long.MAX_VALUE;
+    }
+
+    @Override
+    public int characteristics() {
+        return CHARACTERISTICS;
+    }
+
+}
@@ -0,0 +1,234 @@
+package com.github.adchilds.jython;
+
+import org.python.core.Py;
+import org.python.core.PyDictionary;
+import org.python.core.PyList;
+import org.python.core.PyObject;
+import org.python.core.PySet;
+
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Read-only {@link java.util.List}, {@link Map} and {@link Set} views over Python containers, created by {@link
+ * ResultParser} for the {@link ResultConversion#LAZY} and {@link ResultConversion#LAZY_MEMOIZED} conversions. Creating
+ * a view is constant time; elements are converted by {@link ResultParser} only as they are accessed.
+ *
+ * Views are live, reflecting any later changes made to the underlying container, though memoized views keep returning
+ * the value an element had when it was first converted. All views are safe for concurrent reads; under contention a
+ * memoized element may be converted more than once.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+final class ResultViews {
+
+    /**
+     * A read-only view over a {@link PyList}.
+     *
+     * @since 3.0
+     */
+    static final class ListView extends AbstractList<Object> implements RandomAccess {
+
+        private final PyList list;
+        private final boolean memoize;
+        private volatile Object[] memo;
+
+        ListView(final PyList list, final boolean memoize) {
+            this.list = list;
+            this.memoize = memoize;
+        }
+
+        @Override
+        public Object get(final int index) {
+            final PyObject element = index < 0 ? null : list.__finditem__(index);
+            if (element == null) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+            }
+
+            if (!memoize) {
+                return ResultParser.parseLazily(element, false);
+            }
+
+            // Allocated on first access, so that creating the view remains constant time
+            Object[] memo = this.memo;
+            if (memo == null) {
+                memo = new Object[size()];
+                this.memo = memo;
+            }
+
+            // Elements appended after the first access are not memoized
+            if (index >= memo.length) {
+                return ResultParser.parseLazily(element, true);
+            }
+
+            Object converted = memo[index];
+            if (converted == null) {
+                converted = ResultParser.parseLazily(element, true);
+                memo[index] = converted;
+            }
+
+            return converted;
+        }
+
+        @Override
+        public int size() {
+            return list.__len__();
+        }
+
+    }
+
+    /**
+     * A read-only view over a {@link PyDictionary}. Keys given to {@link #get(Object)} and {@link #containsKey(Object)}
+     * are converted to their Python equivalents before lookup.
+     *
+     * @since 3.0
+     */
+    static final class MapView extends AbstractMap<Object, Object> {
+
+        private final Map<PyObject, PyObject> map;
+        private final Map<PyObject, Map.Entry<Object, Object>> memo;
+
+        MapView(final PyDictionary dict, final boolean memoize) {
+            this.map = dict.getMap();
+            this.memo = memoize ? new ConcurrentHashMap<>() : null;
+        }
+
+        @Override
+        public Object get(final Object key) {
+            final PyObject pyKey = Py.java2py(key);
+            final PyObject value = map.get(pyKey);
+
+            return value == null ? null : entry(pyKey, value).getValue();
+        }
+
+        @Override
+        public boolean containsKey(final Object key) {
+            return map.containsKey(Py.java2py(key));
+        }
+
+        @Override
+        public int size() {
+            return map.size();
+        }
+
+        @Override
+        public Set<Map.Entry<Object, Object>> entrySet() {
+            return new AbstractSet<Map.Entry<Object, Object>>() {
+
+                @Override
+                public Iterator<Map.Entry<Object, Object>> iterator() {
+                    final Iterator<Map.Entry<PyObject, PyObject>> entries = map.entrySet().iterator();
+
+                    return new Iterator<Map.Entry<Object, Object>>() {
+
+                        @Override
+                        public boolean hasNext() {
+                            return entries.hasNext();
+                        }
+
+                        @Override
+                        public Map.Entry<Object, Object> next() {
+                            final Map.Entry<PyObject, PyObject> entry = entries.next();
+
+                            return entry(entry.getKey(), entry.getValue());
+                        }
+
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return map.size();
+                }
+
+            };
+        }
+
+        /**
+         * @param pyKey the Python key of the entry
+         * @param pyValue the Python value of the entry
+         * @return the entry with both its key and value converted, memoized if enabled
+         * @since 3.0
+         */
+        private Map.Entry<Object, Object> entry(final PyObject pyKey, final PyObject pyValue) {
+            if (memo == null) {
+                return new SimpleImmutableEntry<>(ResultParser.parseLazily(pyKey, false),
+                        ResultParser.parseLazily(pyValue, false));
+            }
+
+            Map.Entry<Object, Object> entry = memo.get(pyKey);
+            if (entry == null) {
+                entry = new SimpleImmutableEntry<>(ResultParser.parseLazily(pyKey, true),
+                        ResultParser.parseLazily(pyValue, true));
+                memo.put(pyKey, entry);
+            }
+
+            return entry;
+        }
+
+    }
+
+    /**
+     * A read-only view over a {@link PySet}. Objects given to {@link #contains(Object)} are converted to their Python
+     * equivalents before lookup.
+     *
+     * @since 3.0
+     */
+    static final class SetView extends AbstractSet<Object> {
+
+        private final Set<PyObject> set;
+        private final Map<PyObject, Object> memo;
+
+        SetView(final PySet set, final boolean memoize) {
+            this.set = set.getSet();
+            this.memo = memoize ? new ConcurrentHashMap<>() : null;
+        }
+
+        @Override
+        public boolean contains(final Object o) {
+            return set.contains(Py.java2py(o));
+        }
+
+        @Override
+        public Iterator<Object> iterator() {
+            final Iterator<PyObject> elements = set.iterator();
+
+            return new Iterator<Object>() {
+
+                @Override
+                public boolean hasNext() {
+                    return elements.hasNext();
+                }
+
+                @Override
+                public Object next() {
+                    final PyObject element = elements.next();
+
+                    if (memo == null) {
+                        return ResultParser.parseLazily(element, false);
+                    }
+
+                    return memo.computeIfAbsent(element, e -> ResultParser.parseLazily(e, true));
+                }
+
+            };
+        }
+
+        @Override
+        public int size() {
+            return set.size();
+        }
+
+    }
+
+    // Don't allow this class to be instantiated
+    private ResultViews() { }
+
+}
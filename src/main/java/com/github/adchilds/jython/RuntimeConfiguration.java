@@ -0,0 +1,233 @@
+package com.github.adchilds.jython;
+
+import com.github.adchilds.util.StringUtils;
+import org.python.core.PySystemState;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.regex.Pattern;
+
+/**
+ * Configures how the shared Jython runtime is initialized. The runtime is initialized once per JVM, the first time any
+ * script is compiled or executed, so a configuration must be applied via {@link
+ * JythonScript#configureRuntime(RuntimeConfiguration)} before then:
+ * <pre>
+ * {@code JythonScript.configureRuntime(RuntimeConfiguration.fastStart());
+ * }
+ * </pre>
+ *
+ * By default, Jython scans every JAR on the classpath to index its Java packages, and imports Python's 'site' module,
+ * both of which are slow in large deployments. The {@link #fastStart()} preset skips both; Java classes remain
+ * importable by their fully qualified names, and packages listed via {@link Builder#javaPackages(String...)} are
+ * registered up front without scanning.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+public final class RuntimeConfiguration {
+
+    private static final String PYTHON_CACHEDIR = "python.cachedir";
+    private static final String PYTHON_CACHEDIR_SKIP = "python.cachedir.skip";
+    private static final String PYTHON_IMPORT_SITE = "python.import.site";
+    private static final String PYTHON_PATH = "python.path";
+
+    private static final Pattern PACKAGE_NAME =
+            Pattern.compile("[A-Za-z_$][A-Za-z0-9_$]*(\\.[A-Za-z_$][A-Za-z0-9_$]*)*");
+
+    private static final RuntimeConfiguration DEFAULTS = builder().build();
+    private static final RuntimeConfiguration FAST_START = builder().scanJavaPackages(false).importSite(false).build();
+
+    private final Properties properties;
+    private final List<String> javaPackages;
+
+    private RuntimeConfiguration(final Properties properties, final List<String> javaPackages) {
+        this.properties = properties;
+        this.javaPackages = Collections.unmodifiableList(new ArrayList<>(javaPackages));
+    }
+
+    /**
+     * @return a new {@link Builder}
+     * @since 3.0
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return a configuration that initializes Jython exactly as it initializes itself
+     * @since 3.0
+     */
+    public static RuntimeConfiguration defaults() {
+        return DEFAULTS;
+    }
+
+    /**
+     * @return a configuration that neither scans the classpath for Java packages nor imports the 'site' module
+     * @since 3.0
+     */
+    public static RuntimeConfiguration fastStart() {
+        return FAST_START;
+    }
+
+    /**
+     * @return the Jython registry properties set by this configuration, overriding those of the system
+     * @since 3.0
+     */
+    public Properties getProperties() {
+        final Properties copy = new Properties();
+        copy.putAll(properties);
+
+        return copy;
+    }
+
+    /**
+     * @return the Java packages registered with the runtime, without scanning, once it is initialized
+     * @since 3.0
+     */
+    public List<String> getJavaPackages() {
+        return javaPackages;
+    }
+
+    /**
+     * Initializes the Jython runtime with this configuration. Has no effect on a runtime that is already initialized.
+     *
+     * @since 3.0
+     */
+    void apply() {
+        PySystemState.initialize(System.getProperties(), getProperties());
+
+        for (final String javaPackage : javaPackages) {
+            PySystemState.add_package(javaPackage);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "RuntimeConfiguration[properties=" + properties + ", javaPackages=" + javaPackages + "]";
+    }
+
+    /**
+     * Builds {@link RuntimeConfiguration} instances. Any option that is not set keeps Jython's own default.
+     *
+     * @author Adam Childs
+     * @since 3.0
+     */
+    public static final class Builder {
+
+        private final Properties properties = new Properties();
+        private final List<String> javaPackages = new ArrayList<>();
+
+        private Builder() { }
+
+        /**
+         * Sets the directory in which Jython caches the index of Java packages it builds by scanning the classpath.
+         * Shipping a directory populated at build time lets deployments skip the scan.
+         *
+         * @param directory the package cache directory
+         * @return this builder
+         * @since 3.0
+         */
+        public Builder packageCacheDirectory(final Path directory) {
+            if (directory == null) {
+                throw new IllegalArgumentException("Package cache directory must not be null.");
+            }
+
+            return property(PYTHON_CACHEDIR, directory.toString());
+        }
+
+        /**
+         * Sets whether Jython scans the JARs on the classpath to index their Java packages. When disabled, Java classes
+         * can still be imported by their fully qualified names.
+         *
+         * @param scanJavaPackages whether to scan the classpath for Java packages
+         * @return this builder
+         * @since 3.0
+         */
+        public Builder scanJavaPackages(final boolean scanJavaPackages) {
+            return property(PYTHON_CACHEDIR_SKIP, String.valueOf(!scanJavaPackages));
+        }
+
+        /**
+         * Sets whether Python's 'site' module is imported when the runtime is initialized.
+         *
+         * @param importSite whether to import the 'site' module
+         * @return this builder
+         * @since 3.0
+         */
+        public Builder importSite(final boolean importSite) {
+            return property(PYTHON_IMPORT_SITE, String.valueOf(importSite));
+        }
+
+        /**
+         * Sets the entries of 'python.path', from which Python modules are imported, replacing Jython's default.
+         *
+         * @param entries the directories or archives to import Python modules from
+         * @return this builder
+         * @since 3.0
+         */
+        public Builder pythonPath(final String... entries) {
+            for (final String entry : entries) {
+                if (StringUtils.isBlank(entry)) {
+                    throw new IllegalArgumentException("Python path entries must not be null or empty.");
+                }
+            }
+
+            return property(PYTHON_PATH, String.join(File.pathSeparator, entries));
+        }
+
+        /**
+         * Registers each of the given Java packages with the runtime, so that they can be imported as packages (for
+         * example, {@code from java.util import *}) without scanning the classpath for them.
+         *
+         * @param javaPackages the names of the Java packages to register
+         * @return this builder
+         * @since 3.0
+         */
+        public Builder javaPackages(final String... javaPackages) {
+            for (final String javaPackage : javaPackages) {
+                if (javaPackage == null || !PACKAGE_NAME.matcher(javaPackage).matches()) {
+                    throw new IllegalArgumentException("Invalid Java package name. javaPackage=[" + javaPackage + "]");
+                }
+
+                this.javaPackages.add(javaPackage);
+            }
+
+            return this;
+        }
+
+        /**
+         * Sets any other Jython registry property, such as {@code python.console.encoding}.
+         *
+         * @param key the name of the registry property
+         * @param value the value of the registry property
+         * @return this builder
+         * @since 3.0
+         */
+        public Builder property(final String key, final String value) {
+            if (StringUtils.isBlank(key) || value == null) {
+                throw new IllegalArgumentException("Registry property key and value must not be null. key=[" + key +
+                        "]");
+            }
+
+            properties.setProperty(key, value);
+            return this;
+        }
+
+        /**
+         * @return a new {@link RuntimeConfiguration}
+         * @since 3.0
+         */
+        public RuntimeConfiguration build() {
+            final Properties copy = new Properties();
+            copy.putAll(properties);
+
+            return new RuntimeConfiguration(copy, javaPackages);
+        }
+
+    }
+
+}
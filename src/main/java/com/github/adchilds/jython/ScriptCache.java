@@ -0,0 +1,415 @@
+package com.github.adchilds.jython;
+
+import com.github.adchilds.jython.exception.JythonScriptException;
+import com.github.adchilds.util.DigestUtils;
+import org.python.core.PyCode;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded, thread-safe cache of compiled Jython scripts. Evaluating a script by path, {@link File} or {@link
+ * java.net.URL} consults this cache so that repeat evaluations of an unchanged script skip both file I/O and parsing.
+ *
+ * Scripts are identified in one of two ways:
+ * <ul>
+ *     <li>Files are keyed by their canonical path, and each entry records the last modified time and size of the file
+ *     it was compiled from. Modifying a file therefore causes it to be recompiled on its next use, replacing its
+ *     previous entry.</li>
+ *     <li>Script source (as given to {@link JythonScript#compileString(String)}) is keyed by its SHA-256 hash and the
+ *     filename attributed to it in tracebacks.</li>
+ * </ul>
+ *
+ * When the cache grows beyond its maximum size, the least recently used entry is evicted. Hit, miss and eviction
+ * counts are available via {@link #getStats()}.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+public class ScriptCache {
+
+    /**
+     * The maximum number of entries held by a cache created with the default constructor.
+     */
+    public static final int DEFAULT_MAXIMUM_SIZE = 256;
+
+    private final int maximumSize;
+    private final JythonCompiler compiler;
+    private final Map<Object, CachedScript> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Creates a new cache holding at most {@link #DEFAULT_MAXIMUM_SIZE} entries.
+     *
+     * @since 3.0
+     */
+    public ScriptCache() {
+        this(DEFAULT_MAXIMUM_SIZE);
+    }
+
+    /**
+     * Creates a new cache holding at most {@code maximumSize} entries.
+     *
+     * @param maximumSize the maximum number of entries to hold; must be at least 1
+     * @since 3.0
+     */
+    public ScriptCache(final int maximumSize) {
+        this(maximumSize, new JythonCompiler());
+    }
+
+    /**
+     * Creates a new cache holding at most {@code maximumSize} entries, compiling scripts with the given {@link
+     * JythonCompiler}.
+     *
+     * @param maximumSize the maximum number of entries to hold; must be at least 1
+     * @param compiler the compiler used to compile scripts that miss the cache
+     * @since 3.0
+     */
+    public ScriptCache(final int maximumSize, final JythonCompiler compiler) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("Maximum size must be at least 1. maximumSize=[" + maximumSize + "]");
+        }
+
+        if (compiler == null) {
+            throw new IllegalArgumentException("Compiler must not be null.");
+        }
+
+        this.maximumSize = maximumSize;
+        this.compiler = compiler;
+        this.entries = new LinkedHashMap<Object, CachedScript>(16, 0.75f, true) {
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Object, CachedScript> eldest) {
+                if (size() > ScriptCache.this.maximumSize) {
+                    evictions.increment();
+                    return true;
+                }
+
+                return false;
+            }
+
+        };
+    }
+
+    /**
+     * Returns the compiled form of the given Jython script file, compiling and caching it if the file has not been
+     * seen before or has changed since it was last compiled.
+     *
+     * @param file the Jython file to compile
+     * @return a compiled Jython script
+     * @throws JythonScriptException when the given file cannot be read or compiled
+     * @since 3.0
+     */
+    public PyCode get(final File file) throws JythonScriptException {
+        if (file == null) {
+            throw new JythonScriptException("Given file is null; cannot be compiled into PyCode.");
+        }
+
+        final FileKey fileKey;
+        try {
+            fileKey = new FileKey(file.getCanonicalPath());
+        } catch (IOException e) {
+            throw new JythonScriptException("Could not resolve the canonical path of the given file. file=[" +
+                    file.getAbsolutePath() + "]", e);
+        }
+
+        final long lastModified = file.lastModified();
+        final long length = file.length();
+
+        // Fast path; the file has been compiled before and is unchanged
+        final CachedScript cached = lookup(fileKey);
+        if (cached != null && cached.isVersion(lastModified, length)) {
+            hits.increment();
+            return cached.pyCode;
+        }
+
+        misses.increment();
+
+        // Read the file and compile it, replacing the entry of any earlier version of it
+        final PyCode pyCode = compiler.compile(JythonCompiler.read(file), file.getAbsolutePath());
+
+        return store(fileKey, new CachedScript(pyCode, lastModified, length));
+    }
+
+    /**
+     * Returns the compiled form of the given Jython script source, compiling and caching it if identical source has not
+     * been seen before.
+     *
+     * @param source the Jython script to compile
+     * @return a compiled Jython script
+     * @throws JythonScriptException when the given script cannot be compiled
+     * @since 3.0
+     */
+    public PyCode get(final String source) throws JythonScriptException {
+        if (source == null) {
+            throw new JythonScriptException("Given script was null; cannot be compiled into PyCode.");
+        }
+
+        return get(source, JythonCompiler.DEFAULT_FILENAME);
+    }
+
+    /**
+     * @return a point-in-time snapshot of this cache's statistics
+     * @since 3.0
+     */
+    public Stats getStats() {
+        return new Stats(hits.sum(), misses.sum(), evictions.sum(), size());
+    }
+
+    /**
+     * @return the number of entries currently held by this cache
+     * @since 3.0
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * @return the maximum number of entries held by this cache
+     * @since 3.0
+     */
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * Removes all entries from this cache. Statistics are not reset.
+     *
+     * @since 3.0
+     */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    /**
+     * Returns the compiled form of the given source, keyed by the hash of its contents and its filename.
+     *
+     * @param source the Jython script to compile
+     * @param filename the name attributed to the compiled code in tracebacks
+     * @return a compiled Jython script
+     * @throws JythonScriptException when the given script cannot be compiled
+     * @since 3.0
+     */
+    private PyCode get(final String source, final String filename) throws JythonScriptException {
+        final ContentKey contentKey = new ContentKey(DigestUtils.sha256Hex(source), filename);
+
+        final CachedScript cached = lookup(contentKey);
+        if (cached != null) {
+            hits.increment();
+            return cached.pyCode;
+        }
+
+        misses.increment();
+
+        // Compile outside of the lock; concurrent misses for the same source may both compile, but only one is kept
+        final PyCode pyCode = compiler.compile(source, filename);
+
+        return store(contentKey, new CachedScript(pyCode, 0, 0));
+    }
+
+    /**
+     * @param key the key to find
+     * @return the entry for the given key, or null if not present
+     * @since 3.0
+     */
+    private CachedScript lookup(final Object key) {
+        synchronized (entries) {
+            return entries.get(key);
+        }
+    }
+
+    /**
+     * Stores the given entry, replacing any entry for an earlier version of the same script, unless another thread
+     * stored one for the same version first.
+     *
+     * @param key the key to store the entry under
+     * @param entry the entry to store
+     * @return the compiled script now associated with the given key
+     * @since 3.0
+     */
+    private PyCode store(final Object key, final CachedScript entry) {
+        synchronized (entries) {
+            final CachedScript existing = entries.get(key);
+            if (existing != null && existing.isVersion(entry.lastModified, entry.length)) {
+                return existing.pyCode;
+            }
+
+            entries.put(key, entry);
+
+            return entry.pyCode;
+        }
+    }
+
+    /**
+     * Identifies a script file by its canonical path.
+     *
+     * @since 3.0
+     */
+    private static final class FileKey {
+
+        private final String canonicalPath;
+
+        private FileKey(final String canonicalPath) {
+            this.canonicalPath = canonicalPath;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            return this == o || (o instanceof FileKey && canonicalPath.equals(((FileKey) o).canonicalPath));
+        }
+
+        @Override
+        public int hashCode() {
+            return canonicalPath.hashCode();
+        }
+
+    }
+
+    /**
+     * Identifies script source by the hash of its contents and the filename attributed to it, so that the compiled
+     * code of each reports its own filename in tracebacks.
+     *
+     * @since 3.0
+     */
+    private static final class ContentKey {
+
+        private final String hash;
+        private final String filename;
+
+        private ContentKey(final String hash, final String filename) {
+            this.hash = hash;
+            this.filename = filename;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ContentKey)) {
+                return false;
+            }
+
+            final ContentKey other = (ContentKey) o;
+            return hash.equals(other.hash) && filename.equals(other.filename);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(hash, filename);
+        }
+
+    }
+
+    /**
+     * A compiled script, along with the last modified time and size of the file it was compiled from. Both are 0 for
+     * script source.
+     *
+     * @since 3.0
+     */
+    private static final class CachedScript {
+
+        private final PyCode pyCode;
+        private final long lastModified;
+        private final long length;
+
+        private CachedScript(final PyCode pyCode, final long lastModified, final long length) {
+            this.pyCode = pyCode;
+            this.lastModified = lastModified;
+            this.length = length;
+        }
+
+        /**
+         * @param lastModified the last modified time of a file
+         * @param length the size of a file
+         * @return whether this entry was compiled from the version of the file with the given modified time and size
+         * @since 3.0
+         */
+        private boolean isVersion(final long lastModified, final long length) {
+            return this.lastModified == lastModified && this.length == length;
+        }
+
+    }
+
+    /**
+     * A point-in-time snapshot of a {@link ScriptCache}'s statistics.
+     *
+     * @author Adam Childs
+     * @since 3.0
+     */
+    public static final class Stats {
+
+        private final long hitCount;
+        private final long missCount;
+        private final long evictionCount;
+        private final int size;
+
+        private Stats(final long hitCount, final long missCount, final long evictionCount, final int size) {
+            this.hitCount = hitCount;
+            this.missCount = missCount;
+            this.evictionCount = evictionCount;
+            this.size = size;
+        }
+
+        /**
+         * @return the number of lookups that were served without compiling
+         * @since 3.0
+         */
+        public long getHitCount() {
+            return hitCount;
+        }
+
+        /**
+         * @return the number of lookups that required a script to be compiled
+         * @since 3.0
+         */
+        public long getMissCount() {
+            return missCount;
+        }
+
+        /**
+         * @return the number of entries evicted to keep the cache within its maximum size
+         * @since 3.0
+         */
+        public long getEvictionCount() {
+            return evictionCount;
+        }
+
+        /**
+         * @return the number of entries held by the cache
+         * @since 3.0
+         */
+        public int getSize() {
+            return size;
+        }
+
+        /**
+         * @return the ratio of hits to total lookups, or 0 if there have been no lookups
+         * @since 3.0
+         */
+        public double getHitRate() {
+            final long total = hitCount + missCount;
+
+            return total == 0 ? 0 : (double) hitCount / total;
+        }
+
+        @Override
+        public String toString() {
+            return "Stats[hits=" + hitCount + ", misses=" + missCount + ", evictions=" + evictionCount +
+                    ", size=" + size + "]";
+        }
+
+    }
+
+}
@@ -0,0 +1,201 @@
+package com.github.adchilds.jython;
+
+import org.python.core.Py;
+import org.python.core.PyList;
+import org.python.core.PyModule;
+import org.python.core.PyObject;
+import org.python.core.PyStringMap;
+import org.python.core.PySystemState;
+import org.python.util.PythonInterpreter;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A long-lived {@link PythonInterpreter} and its dedicated {@link PySystemState}. Unlike the interpreters created by
+ * {@link JythonScript}, a ScriptInterpreter is built once and reused across many script executions; between
+ * executions its '__main__' namespace, 'sys.argv' and 'sys.path' lists, standard streams and the set of loaded modules
+ * are reset so that no state leaks from one script to the next. Modules imported by a script are therefore imported
+ * again by the next script that needs them, unless they were imported before {@link #snapshot()}, as by a warm-up;
+ * those are restored should a script remove or replace them in 'sys.modules'.
+ *
+ * Changes a script makes to the modules themselves, such as replacing a module's attribute, are not undone.
+ *
+ * Instances are not thread-safe and must only be used by one thread at a time.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+final class ScriptInterpreter {
+
+    private static final String MAIN_MODULE_NAME = "__main__";
+
+    private final PySystemState systemState;
+    private final PythonInterpreter interpreter;
+    private final PyObject[] defaultArgv;
+    private PyObject namespace;
+
+    // The state restored by reset, recorded by snapshot
+    private PyObject[] defaultPath;
+    private Map<PyObject, PyObject> defaultModules;
+    private PyObject defaultStdin;
+    private PyObject defaultStdout;
+    private PyObject defaultStderr;
+
+    /**
+     * Creates a new interpreter backed by its own {@link PySystemState}.
+     *
+     * @since 3.0
+     */
+    ScriptInterpreter() {
+        JythonCompiler.initializeRuntime();
+
+        this.systemState = new PySystemState();
+        this.defaultArgv = systemState.argv.getArray();
+        this.interpreter = new PythonInterpreter(newNamespace(), systemState);
+
+        snapshot();
+    }
+
+    /**
+     * Prepares this interpreter for a new script execution by replacing the 'sys.argv' list with the given
+     * {@code args}. As with {@link JythonScript}, the first index of 'sys.argv' is reserved.
+     *
+     * @param args the arguments to make available to the next script via 'sys.argv'
+     * @return the underlying {@link PythonInterpreter}
+     * @since 3.0
+     */
+    PythonInterpreter prepare(final Object... args) {
+        final PyList argv = new PyList(defaultArgv);
+
+        if (args != null) {
+            for (final Object arg : args) {
+                argv.append(BinaryArguments.toPy(arg));
+            }
+        }
+
+        systemState.argv = argv;
+
+        return interpreter;
+    }
+
+    /**
+     * Prepares this interpreter for a new script execution by storing each of the given {@link Bindings} in the
+     * '__main__' namespace. 'sys.argv' is left holding only its reserved first index.
+     *
+     * @param bindings the named values to make available to the next script
+     * @return the underlying {@link PythonInterpreter}
+     * @since 3.0
+     */
+    PythonInterpreter prepare(final Bindings bindings) {
+        bindings.bindTo(namespace);
+
+        return interpreter;
+    }
+
+    /**
+     * Records this interpreter's current 'sys.path' list, standard streams and loaded modules as the state restored by
+     * every later {@link #reset()}, so that modules imported by a warm-up remain loaded.
+     *
+     * @since 3.0
+     */
+    void snapshot() {
+        defaultPath = systemState.path.getArray();
+        defaultModules = new HashMap<>();
+        for (final PyObject name : moduleNames()) {
+            defaultModules.put(name, systemState.modules.__finditem__(name));
+        }
+        defaultStdin = systemState.stdin;
+        defaultStdout = systemState.stdout;
+        defaultStderr = systemState.stderr;
+    }
+
+    /**
+     * Discards any state left behind by the previous script execution by swapping in a fresh '__main__' namespace,
+     * restoring the default 'sys.argv' and 'sys.path' lists and standard streams, and restoring the modules loaded at
+     * the last {@link #snapshot()}: any module imported since is unloaded, and any removed or replaced is put back.
+     *
+     * @since 3.0
+     */
+    void reset() {
+        systemState.argv = new PyList(defaultArgv);
+        systemState.path = new PyList(defaultPath);
+        systemState.stdin = defaultStdin;
+        systemState.stdout = defaultStdout;
+        systemState.stderr = defaultStderr;
+
+        // A script may both remove and import modules, so an unchanged count does not mean unchanged modules
+        for (final PyObject name : moduleNames()) {
+            if (!defaultModules.containsKey(name)) {
+                systemState.modules.__delitem__(name);
+            }
+        }
+
+        for (final Map.Entry<PyObject, PyObject> module : defaultModules.entrySet()) {
+            if (systemState.modules.__finditem__(module.getKey()) != module.getValue()) {
+                systemState.modules.__setitem__(module.getKey(), module.getValue());
+            }
+        }
+
+        interpreter.setLocals(newNamespace());
+    }
+
+    /**
+     * @return the underlying {@link PythonInterpreter}
+     * @since 3.0
+     */
+    PythonInterpreter getInterpreter() {
+        return interpreter;
+    }
+
+    /**
+     * @return the {@link PySystemState} owned by this interpreter
+     * @since 3.0
+     */
+    PySystemState getSystemState() {
+        return systemState;
+    }
+
+    /**
+     * Releases the resources held by the underlying {@link PythonInterpreter}. This interpreter must not be used after
+     * it has been closed.
+     *
+     * @since 3.0
+     */
+    void close() {
+        interpreter.cleanup();
+    }
+
+    /**
+     * @return the names of the modules currently loaded by this interpreter
+     * @since 3.0
+     */
+    private List<PyObject> moduleNames() {
+        final List<PyObject> names = new ArrayList<>();
+        for (final PyObject name : systemState.modules.asIterable()) {
+            names.add(name);
+        }
+
+        return names;
+    }
+
+    /**
+     * Creates a new, empty '__main__' namespace and registers it as the '__main__' module of this interpreter's
+     * {@link PySystemState}.
+     *
+     * @return the new namespace
+     * @since 3.0
+     */
+    private PyObject newNamespace() {
+        final PyStringMap namespace = Py.newStringMap();
+        final PyModule module = new PyModule(MAIN_MODULE_NAME, namespace);
+
+        systemState.modules.__setitem__(MAIN_MODULE_NAME, module);
+        this.namespace = namespace;
+
+        return namespace;
+    }
+
+}
@@ -0,0 +1,455 @@
+package com.github.adchilds.jython;
+
+import com.github.adchilds.jython.exception.JythonScriptException;
+import com.github.adchilds.jython.exception.JythonScriptNotFoundException;
+import org.python.core.PyCode;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Holds the compiled form of every Jython script ('*.py' file) within a directory and its subdirectories, and keeps
+ * them current as files are added, replaced or removed. Scripts are looked up by their path relative to the directory,
+ * always separated by '/':
+ * <pre>
+ * {@code try (ScriptRegistry scripts = ScriptRegistry.watch(Paths.get("/opt/app/scripts"))) {
+ *     Object result = engine.evaluate(scripts.get("reports/daily.py"), 5, 5);
+ * }
+ * }
+ * </pre>
+ *
+ * A background thread watches the directory via a {@link WatchService}. Changed files are recompiled off the calling
+ * thread and then swapped in atomically, so {@link #get(String)} never touches the file system, yet always returns
+ * the most recently compiled version of a script. A file that fails to recompile (for example, because it was
+ * observed while only partially written) keeps its previous version until it is next changed; the failure is
+ * available via {@link #getFailure(String)}.
+ *
+ * Registries should be closed when no longer needed to stop watching the directory.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+public class ScriptRegistry implements AutoCloseable {
+
+    private static final String SCRIPT_SUFFIX = ".py";
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    // Changes to a file often arrive as several events; wait this long for the file to settle before recompiling it
+    private static final long SETTLE_MILLIS = 50;
+
+    private final Path directory;
+    private final JythonCompiler compiler;
+    private final WatchService watchService;
+    private final Map<WatchKey, Path> watchedDirectories = new ConcurrentHashMap<>();
+
+    // Serializes reloads, so that an older version of a script can never be swapped in over a newer one
+    private final Object reloadLock = new Object();
+
+    private final Map<String, PyCode> scripts = new ConcurrentHashMap<>();
+    private final Map<String, JythonScriptException> failures = new ConcurrentHashMap<>();
+
+    private final LongAdder reloads = new LongAdder();
+    private final LongAdder failedReloads = new LongAdder();
+
+    private volatile boolean closed;
+
+    private ScriptRegistry(final Path directory, final JythonCompiler compiler) throws IOException {
+        this.directory = directory.toAbsolutePath().normalize();
+        this.compiler = compiler;
+        this.watchService = directory.getFileSystem().newWatchService();
+    }
+
+    /**
+     * Compiles every script within the given directory using the default {@link JythonCompiler}, and begins watching
+     * the directory for changes.
+     *
+     * @param directory the directory containing the scripts
+     * @return a new registry
+     * @throws JythonScriptException when the given path is not a directory, cannot be watched, or any script within it
+     * cannot be compiled
+     * @since 3.0
+     */
+    public static ScriptRegistry watch(final Path directory) throws JythonScriptException {
+        return watch(directory, new JythonCompiler());
+    }
+
+    /**
+     * Compiles every script within the given directory using the given {@link JythonCompiler}, and begins watching the
+     * directory for changes.
+     *
+     * @param directory the directory containing the scripts
+     * @param compiler the compiler used to compile each script
+     * @return a new registry
+     * @throws JythonScriptException when the given path is not a directory, cannot be watched, or any script within it
+     * cannot be compiled
+     * @since 3.0
+     */
+    public static ScriptRegistry watch(final Path directory, final JythonCompiler compiler)
+            throws JythonScriptException {
+        if (directory == null || !Files.isDirectory(directory)) {
+            throw new JythonScriptException("Given path is not a directory; scripts cannot be watched. directory=[" +
+                    directory + "]");
+        }
+
+        if (compiler == null) {
+            throw new JythonScriptException("Cannot compile scripts without a compiler! JythonCompiler is null.");
+        }
+
+        final ScriptRegistry registry;
+        try {
+            registry = new ScriptRegistry(directory, compiler);
+        } catch (IOException e) {
+            throw new JythonScriptException("Could not watch the given directory. directory=[" + directory + "]", e);
+        }
+
+        try {
+            registry.register(registry.directory);
+            registry.refresh();
+
+            // Any script that failed to compile fails the registry as a whole; reloads are more forgiving
+            if (!registry.failures.isEmpty()) {
+                final Map.Entry<String, JythonScriptException> failure =
+                        registry.failures.entrySet().iterator().next();
+
+                throw new JythonScriptException("Could not compile script. script=[" + failure.getKey() + "]",
+                        failure.getValue());
+            }
+        } catch (JythonScriptException e) {
+            registry.close();
+            throw e;
+        }
+
+        registry.startWatching();
+
+        return registry;
+    }
+
+    /**
+     * Returns the current compiled form of the named script, without touching the file system.
+     *
+     * @param name the path of the script relative to this registry's directory, separated by '/'
+     * @return the compiled script
+     * @throws JythonScriptNotFoundException when no script of the given name exists
+     * @since 3.0
+     */
+    public PyCode get(final String name) throws JythonScriptNotFoundException {
+        final PyCode pyCode = name == null ? null : scripts.get(name);
+
+        if (pyCode == null) {
+            throw new JythonScriptNotFoundException("Script not found in registry. script=[" + name + "], " +
+                    "directory=[" + directory + "]");
+        }
+
+        return pyCode;
+    }
+
+    /**
+     * @param name the path of the script relative to this registry's directory, separated by '/'
+     * @return whether a script of the given name exists
+     * @since 3.0
+     */
+    public boolean contains(final String name) {
+        return name != null && scripts.containsKey(name);
+    }
+
+    /**
+     * @return the names of every script in this registry, in sorted order
+     * @since 3.0
+     */
+    public Set<String> getNames() {
+        return Collections.unmodifiableSet(new TreeSet<>(scripts.keySet()));
+    }
+
+    /**
+     * @return the number of scripts in this registry
+     * @since 3.0
+     */
+    public int size() {
+        return scripts.size();
+    }
+
+    /**
+     * @return the directory whose scripts are held by this registry
+     * @since 3.0
+     */
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Returns the reason the named script most recently failed to compile. A script that has since compiled
+     * successfully has no failure.
+     *
+     * @param name the path of the script relative to this registry's directory, separated by '/'
+     * @return the compilation failure, or null if the script's latest version compiled successfully
+     * @since 3.0
+     */
+    public JythonScriptException getFailure(final String name) {
+        return name == null ? null : failures.get(name);
+    }
+
+    /**
+     * @return the number of times a changed script has been recompiled and swapped in
+     * @since 3.0
+     */
+    public long getReloadCount() {
+        return reloads.sum();
+    }
+
+    /**
+     * @return the number of times a changed script failed to recompile
+     * @since 3.0
+     */
+    public long getFailedReloadCount() {
+        return failedReloads.sum();
+    }
+
+    /**
+     * Rescans the entire directory, recompiling every script and removing those whose files no longer exist. This is
+     * done automatically whenever the watch service reports that events were lost.
+     *
+     * @throws JythonScriptException when the directory cannot be read
+     * @since 3.0
+     */
+    public void refresh() throws JythonScriptException {
+        final Set<Path> files;
+        try (Stream<Path> paths = Files.walk(directory)) {
+            files = paths.filter(ScriptRegistry::isScript).collect(Collectors.toCollection(LinkedHashSet::new));
+        } catch (IOException e) {
+            throw new JythonScriptException("Could not read the scripts within the directory. directory=[" +
+                    directory + "]", e);
+        }
+
+        final Set<String> names = files.stream().map(this::nameOf).collect(Collectors.toSet());
+
+        synchronized (reloadLock) {
+            for (final Path file : files) {
+                reload(file);
+            }
+
+            scripts.keySet().retainAll(names);
+            failures.keySet().retainAll(names);
+        }
+    }
+
+    /**
+     * Stops watching the directory. Scripts already compiled remain available.
+     *
+     * @since 3.0
+     */
+    @Override
+    public void close() {
+        closed = true;
+
+        try {
+            watchService.close();
+        } catch (IOException ignored) {
+            // Nothing more can be done
+        }
+    }
+
+    /**
+     * Begins watching the directory on a background daemon thread.
+     *
+     * @since 3.0
+     */
+    private void startWatching() {
+        final Thread thread = new Thread(this::watchLoop, "jythonscript-watcher-" + THREAD_COUNT.incrementAndGet());
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Waits for changes to the directory, applying each batch of changes until this registry is closed.
+     *
+     * @since 3.0
+     */
+    private void watchLoop() {
+        while (!closed) {
+            try {
+                final Set<Path> changed = new LinkedHashSet<>();
+                boolean overflowed = collect(watchService.take(), changed);
+
+                // Gather the rest of this burst of changes, so that each file is recompiled only once
+                WatchKey key;
+                while ((key = watchService.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    overflowed |= collect(key, changed);
+                }
+
+                if (overflowed) {
+                    refresh();
+                } else {
+                    for (final Path path : changed) {
+                        apply(path);
+                    }
+                }
+            } catch (ClosedWatchServiceException | InterruptedException e) {
+                return;
+            } catch (JythonScriptException | RuntimeException e) {
+                // Keep watching; the directory may become readable again
+            }
+        }
+    }
+
+    /**
+     * Adds the paths changed by the given key's events to the given set, and resets the key.
+     *
+     * @param key the signalled key
+     * @param changed the paths changed so far
+     * @return whether any events were lost
+     * @since 3.0
+     */
+    private boolean collect(final WatchKey key, final Set<Path> changed) {
+        final Path watched = watchedDirectories.get(key);
+        boolean overflowed = false;
+
+        for (final WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                overflowed = true;
+            } else if (watched != null) {
+                changed.add(watched.resolve((Path) event.context()));
+            }
+        }
+
+        if (!key.reset()) {
+            // The directory itself was removed
+            watchedDirectories.remove(key);
+        }
+
+        return overflowed;
+    }
+
+    /**
+     * Applies a change to the given path: recompiling a changed script, removing a deleted one, or watching (and
+     * loading the scripts within) a new subdirectory.
+     *
+     * @param path the changed path
+     * @since 3.0
+     */
+    private void apply(final Path path) throws JythonScriptException {
+        synchronized (reloadLock) {
+            applyLocked(path);
+        }
+    }
+
+    /**
+     * Applies a change to the given path while holding the reload lock.
+     *
+     * @param path the changed path
+     * @since 3.0
+     */
+    private void applyLocked(final Path path) throws JythonScriptException {
+        if (Files.isDirectory(path)) {
+            register(path);
+
+            try (Stream<Path> paths = Files.walk(path)) {
+                for (final Path file : paths.filter(ScriptRegistry::isScript).collect(Collectors.toList())) {
+                    reload(file);
+                }
+            } catch (IOException e) {
+                throw new JythonScriptException("Could not read the scripts within the directory. directory=[" +
+                        path + "]", e);
+            }
+        } else if (isScript(path)) {
+            reload(path);
+        } else if (!Files.exists(path)) {
+            // A deleted script, or a deleted directory of scripts
+            final String name = nameOf(path);
+
+            scripts.keySet().removeIf(script -> script.equals(name) || script.startsWith(name + "/"));
+            failures.keySet().removeIf(script -> script.equals(name) || script.startsWith(name + "/"));
+        }
+    }
+
+    /**
+     * Compiles the given script, swapping the result in for any previous version. If compilation fails, the previous
+     * version is kept.
+     *
+     * @param file the script to compile
+     * @since 3.0
+     */
+    private void reload(final Path file) {
+        final String name = nameOf(file);
+
+        try {
+            final PyCode previous = scripts.put(name, compiler.compile(file.toFile()));
+            failures.remove(name);
+
+            if (previous != null) {
+                reloads.increment();
+            }
+        } catch (JythonScriptException e) {
+            failures.put(name, e);
+
+            if (scripts.containsKey(name)) {
+                failedReloads.increment();
+            }
+        }
+    }
+
+    /**
+     * Watches the given directory and each of its subdirectories.
+     *
+     * @param start the directory to watch
+     * @throws JythonScriptException when any directory cannot be watched
+     * @since 3.0
+     */
+    private void register(final Path start) throws JythonScriptException {
+        try (Stream<Path> paths = Files.walk(start)) {
+            for (final Path path : paths.filter(Files::isDirectory).collect(Collectors.toList())) {
+                final WatchKey key = path.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+
+                watchedDirectories.put(key, path);
+            }
+        } catch (IOException e) {
+            throw new JythonScriptException("Could not watch the given directory. directory=[" + start + "]", e);
+        }
+    }
+
+    /**
+     * @param path a path within this registry's directory
+     * @return the name of the given path relative to this registry's directory, separated by '/'
+     * @since 3.0
+     */
+    private String nameOf(final Path path) {
+        final StringBuilder name = new StringBuilder();
+        for (final Path element : directory.relativize(path.toAbsolutePath().normalize())) {
+            if (name.length() > 0) {
+                name.append('/');
+            }
+
+            name.append(element);
+        }
+
+        return name.toString();
+    }
+
+    /**
+     * @param path the path to check
+     * @return whether the given path is a regular file with the Jython script suffix
+     * @since 3.0
+     */
+    private static boolean isScript(final Path path) {
+        return path.getFileName() != null && path.getFileName().toString().endsWith(SCRIPT_SUFFIX) &&
+                Files.isRegularFile(path);
+    }
+
+}
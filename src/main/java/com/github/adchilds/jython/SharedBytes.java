@@ -0,0 +1,146 @@
+package com.github.adchilds.jython;
+
+import org.python.core.BufferProtocol;
+import org.python.core.PyBuffer;
+import org.python.core.PyMemoryView;
+import org.python.core.PyObject;
+import org.python.core.buffer.SimpleNIOBuffer;
+import org.python.core.buffer.SimpleWritableBuffer;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A binary payload passed to scripts as a Python {@code memoryview} over the Java memory itself rather than a copy of
+ * it, so that a payload of any size is passed in constant time. Pass one wherever a script argument or binding is
+ * accepted:
+ * <pre>
+ * {@code engine.evaluate(compiledScript, SharedBytes.of(payload));
+ * }
+ * </pre>
+ *
+ * The script reads the payload as it would any memoryview:
+ * <pre>
+ * {@code payload = sys.argv[1]
+ * header = payload[0:4].tobytes()
+ * size = len(payload)
+ * }
+ * </pre>
+ *
+ * A script's writes to a memoryview over a {@code byte[]} or writable {@link ByteBuffer} are visible to Java, and a
+ * read-only ByteBuffer is passed as a read-only memoryview.
+ *
+ * A {@code byte[]} or ByteBuffer passed without wrapping it is converted as before, by {@link
+ * org.python.core.Py#java2py(Object)}: a {@code byte[]} arrives as an {@code array('b')} of signed ints, and a
+ * ByteBuffer as a Java object.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+public final class SharedBytes {
+
+    private final PyObject exporter;
+    private final int length;
+
+    private SharedBytes(final PyObject exporter, final int length) {
+        this.exporter = exporter;
+        this.length = length;
+    }
+
+    /**
+     * @param bytes the payload to share with scripts
+     * @return a payload passed to scripts as a writable memoryview over the whole of the given array
+     * @throws IllegalArgumentException when the given array is null
+     * @since 3.0
+     */
+    public static SharedBytes of(final byte[] bytes) {
+        if (bytes == null) {
+            throw new IllegalArgumentException("Bytes must not be null.");
+        }
+
+        return new SharedBytes(new ArrayExporter(bytes), bytes.length);
+    }
+
+    /**
+     * The buffer is viewed from its position to its limit as they are when this method is called; later changes to
+     * its position or limit do not affect the view.
+     *
+     * @param buffer the heap or direct buffer to share with scripts
+     * @return a payload passed to scripts as a memoryview over the remaining bytes of the given buffer, read-only if
+     * the buffer is
+     * @throws IllegalArgumentException when the given buffer is null
+     * @since 3.0
+     */
+    public static SharedBytes of(final ByteBuffer buffer) {
+        if (buffer == null) {
+            throw new IllegalArgumentException("Buffer must not be null.");
+        }
+
+        return new SharedBytes(new ByteBufferExporter(buffer), buffer.remaining());
+    }
+
+    /**
+     * @return the number of bytes shared
+     * @since 3.0
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * @return a new memoryview over the shared bytes
+     * @since 3.0
+     */
+    PyMemoryView toPy() {
+        return new PyMemoryView((BufferProtocol) exporter);
+    }
+
+    @Override
+    public String toString() {
+        return "SharedBytes[length=" + length + "]";
+    }
+
+    /**
+     * Exports a {@code byte[]} through Python's buffer protocol, without copying it.
+     *
+     * @since 3.0
+     */
+    private static final class ArrayExporter extends PyObject implements BufferProtocol {
+
+        private final byte[] bytes;
+
+        private ArrayExporter(final byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        @Override
+        public PyBuffer getBuffer(final int flags) {
+            return new SimpleWritableBuffer(flags, this, bytes);
+        }
+
+    }
+
+    /**
+     * Exports the remaining bytes of a {@link ByteBuffer} through Python's buffer protocol, without copying them.
+     *
+     * @since 3.0
+     */
+    private static final class ByteBufferExporter extends PyObject implements BufferProtocol {
+
+        private final ByteBuffer buffer;
+        private final int offset;
+        private final int length;
+
+        private ByteBufferExporter(final ByteBuffer buffer) {
+            this.buffer = buffer.duplicate();
+            this.offset = buffer.position();
+            this.length = buffer.remaining();
+        }
+
+        @Override
+        public PyBuffer getBuffer(final int flags) {
+            return new SimpleNIOBuffer(flags, this, buffer, offset, length);
+        }
+
+    }
+
+}
@@ -0,0 +1,293 @@
+package com.github.adchilds.jython;
+
+import com.github.adchilds.jython.exception.JythonScriptException;
+import org.python.core.PyCode;
+
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Gives each thread its own long-lived {@link ScriptInterpreter}, created on the thread's first use and reused for
+ * every later script it executes. Unlike an {@link InterpreterPool}, borrowing involves no shared queue, lock or
+ * allocation: a thread reads its own interpreter and marks it in use.
+ *
+ * A thread that borrows its interpreter again before releasing it, such as while a {@link ResultIterator} is still
+ * open, is given a temporary interpreter, which is closed when it is released. Interpreters of threads that have
+ * exited are closed once the number of interpreters outgrows the threads expected, or when this source is closed; a
+ * thread may also close its own via {@link #releaseCurrentThread()}.
+ *
+ * Each thread's {@link ThreadLocal} refers to its interpreter only weakly, so that once this source is closed, or the
+ * interpreter retired, it can be collected without waiting for its thread to exit or use this source again.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+final class ThreadConfinedInterpreters implements InterpreterSource {
+
+    private final ThreadLocal<WeakReference<Slot>> slots = new ThreadLocal<>();
+    private final ConcurrentMap<ScriptInterpreter, Slot> live = new ConcurrentHashMap<>();
+    private final int size;
+
+    // The number of interpreters at which those of exited threads are next closed
+    private final AtomicInteger sweepAt;
+
+    private volatile PyCode initializer;
+    private volatile boolean closed;
+
+    /**
+     * @param size the number of threads expected to execute scripts concurrently
+     * @throws IllegalArgumentException when the given size is less than 1
+     * @since 3.0
+     */
+    ThreadConfinedInterpreters(final int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Size must be at least 1. size=[" + size + "]");
+        }
+
+        this.size = size;
+        this.sweepAt = new AtomicInteger(size);
+    }
+
+    /**
+     * Obtains the calling thread's interpreter, creating it if this is the thread's first script.
+     *
+     * @return the calling thread's {@link ScriptInterpreter}, or a temporary one if it is already in use
+     * @throws JythonScriptException when this source is closed, or the initializing script fails
+     * @since 3.0
+     */
+    @Override
+    public ScriptInterpreter borrow() throws JythonScriptException {
+        if (closed) {
+            throw new JythonScriptException("Cannot borrow an interpreter from a closed engine.");
+        }
+
+        Slot slot = currentSlot();
+        if (slot == null || slot.retired) {
+            slot = create();
+            slots.set(new WeakReference<>(slot));
+        }
+
+        if (!slot.inUse.compareAndSet(false, true)) {
+            final ScriptInterpreter temporary = new ScriptInterpreter();
+
+            try {
+                initialize(temporary, initializer);
+            } catch (JythonScriptException e) {
+                temporary.close();
+
+                throw e;
+            }
+
+            return temporary;
+        }
+
+        // Modules imported by a warm-up begun since this interpreter was last used
+        final PyCode pending = initializer;
+        if (slot.initialized != pending) {
+            slot.initialized = pending;
+
+            try {
+                initialize(slot.interpreter, pending);
+            } catch (JythonScriptException e) {
+                release(slot.interpreter);
+
+                throw e;
+            }
+        }
+
+        return slot.interpreter;
+    }
+
+    @Override
+    public void release(final ScriptInterpreter interpreter) {
+        interpreter.reset();
+
+        Slot slot = currentSlot();
+        if (slot == null || slot.interpreter != interpreter) {
+            slot = live.get(interpreter);
+        }
+
+        // A temporary interpreter
+        if (slot == null) {
+            interpreter.close();
+            return;
+        }
+
+        slot.inUse.set(false);
+
+        // Closed, or its thread released it, while it was in use
+        if (closed || slot.retired) {
+            retire(slot);
+        }
+    }
+
+    /**
+     * Records the given script to be executed in every thread's interpreter before its next script, and executes it in
+     * the calling thread's interpreter immediately, so that any failure is reported to the caller.
+     *
+     * @param imports the compiled script to execute in each interpreter
+     * @throws JythonScriptException when the script fails
+     * @since 3.0
+     */
+    @Override
+    public void initialize(final PyCode imports) throws JythonScriptException {
+        this.initializer = imports;
+
+        release(borrow());
+    }
+
+    /**
+     * @return the number of threads this source is sized for; threads are not limited to this number
+     * @since 3.0
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the number of threads whose interpreter currently exists and is not in use
+     * @since 3.0
+     */
+    @Override
+    public int available() {
+        int available = 0;
+        for (final Slot slot : live.values()) {
+            if (!slot.inUse.get()) {
+                available++;
+            }
+        }
+
+        return available;
+    }
+
+    /**
+     * Closes the calling thread's interpreter, if it has one, so that a thread which will execute no further scripts
+     * does not hold on to it. A later script on the same thread creates a new interpreter.
+     *
+     * @since 3.0
+     */
+    void releaseCurrentThread() {
+        final Slot slot = currentSlot();
+        slots.remove();
+
+        if (slot != null) {
+            slot.retired = true;
+            retire(slot);
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        slots.remove();
+
+        for (final Slot slot : live.values()) {
+            slot.retired = true;
+            retire(slot);
+        }
+    }
+
+    /**
+     * @return the calling thread's slot, or null if it has none or it has been collected
+     * @since 3.0
+     */
+    private Slot currentSlot() {
+        final WeakReference<Slot> reference = slots.get();
+
+        return reference == null ? null : reference.get();
+    }
+
+    /**
+     * Creates an interpreter for the calling thread. Once there are more interpreters than the threads this source is
+     * sized for, those of threads that have exited are closed first; the next such sweep waits until the number of
+     * interpreters has doubled, so that sweeping costs each new thread a constant amount of work on average.
+     *
+     * @return the calling thread's new slot
+     * @since 3.0
+     */
+    private Slot create() {
+        final int threshold = sweepAt.get();
+        if (live.size() >= threshold && sweepAt.compareAndSet(threshold, Integer.MAX_VALUE)) {
+            sweep();
+            sweepAt.set(Math.max(size, live.size() * 2));
+        }
+
+        final Slot slot = new Slot(Thread.currentThread(), new ScriptInterpreter());
+        live.put(slot.interpreter, slot);
+
+        return slot;
+    }
+
+    /**
+     * Closes the interpreters of threads that have exited.
+     *
+     * @since 3.0
+     */
+    private void sweep() {
+        final Iterator<Slot> iterator = live.values().iterator();
+        while (iterator.hasNext()) {
+            final Slot slot = iterator.next();
+            final Thread owner = slot.owner.get();
+
+            if (owner == null || !owner.isAlive()) {
+                slot.retired = true;
+                retire(slot);
+            }
+        }
+    }
+
+    /**
+     * Closes the given slot's interpreter unless it is in use, in which case it is closed when released.
+     *
+     * @param slot a retired slot
+     * @since 3.0
+     */
+    private void retire(final Slot slot) {
+        if (slot.inUse.compareAndSet(false, true)) {
+            live.remove(slot.interpreter);
+            slot.interpreter.close();
+        }
+    }
+
+    /**
+     * @param interpreter the interpreter to initialize
+     * @param imports the script to execute, or null if there is none
+     * @throws JythonScriptException when the script fails
+     * @since 3.0
+     */
+    private static void initialize(final ScriptInterpreter interpreter, final PyCode imports) throws JythonScriptException {
+        if (imports != null) {
+            JythonEngine.exec(interpreter.prepare(), imports);
+            interpreter.snapshot();
+        }
+    }
+
+    /**
+     * A thread's interpreter.
+     *
+     * @since 3.0
+     */
+    private static final class Slot {
+
+        private final WeakReference<Thread> owner;
+        private final ScriptInterpreter interpreter;
+        private final AtomicBoolean inUse = new AtomicBoolean();
+
+        // Only accessed by the owning thread
+        private PyCode initialized;
+
+        private volatile boolean retired;
+
+        private Slot(final Thread owner, final ScriptInterpreter interpreter) {
+            this.owner = new WeakReference<>(owner);
+            this.interpreter = interpreter;
+        }
+
+    }
+
+}
@@ -0,0 +1,279 @@
+package com.github.adchilds.jython;
+
+import com.github.adchilds.jython.exception.JythonScriptException;
+import org.python.core.PyCode;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * Describes the work done to warm up the Jython runtime before it serves its first real request: importing commonly
+ * used modules, and running registered scripts a number of times so that their code paths are loaded and compiled by
+ * the JVM.
+ * <pre>
+ * {@code Warmup warmup = Warmup.builder()
+ *         .importModules("json", "re")
+ *         .script(compiledScript, 6, 7)
+ *         .invocations(100)
+ *         .build();
+ *
+ * CompletableFuture<Void> ready = JythonScript.warmup(warmup);
+ * }
+ * </pre>
+ *
+ * Warm-ups run on a background daemon thread; the returned future completes once the warm-up has finished, or
+ * completes exceptionally if any module cannot be imported or any script fails, and so can be used as a readiness
+ * check.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ * @see JythonScript#warmup(Warmup)
+ * @see JythonEngine.Builder#warmup(Warmup)
+ */
+public final class Warmup {
+
+    private static final Pattern MODULE_NAME = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*(\\.[A-Za-z_][A-Za-z0-9_]*)*");
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    private static final Warmup RUNTIME_ONLY = builder().build();
+
+    private final List<String> modules;
+    private final List<Script> scripts;
+    private final int invocations;
+
+    private Warmup(final List<String> modules, final List<Script> scripts, final int invocations) {
+        this.modules = Collections.unmodifiableList(new ArrayList<>(modules));
+        this.scripts = Collections.unmodifiableList(new ArrayList<>(scripts));
+        this.invocations = invocations;
+    }
+
+    /**
+     * @return a new {@link Builder}
+     * @since 3.0
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return a warm-up that only initializes the Jython runtime
+     * @since 3.0
+     */
+    public static Warmup runtimeOnly() {
+        return RUNTIME_ONLY;
+    }
+
+    /**
+     * @return the names of the modules to import, in order
+     * @since 3.0
+     */
+    public List<String> getModules() {
+        return modules;
+    }
+
+    /**
+     * @return the number of times each registered script is run
+     * @since 3.0
+     */
+    public int getInvocations() {
+        return invocations;
+    }
+
+    /**
+     * @return the number of registered scripts
+     * @since 3.0
+     */
+    public int getScriptCount() {
+        return scripts.size();
+    }
+
+    @Override
+    public String toString() {
+        return "Warmup[modules=" + modules + ", scripts=" + scripts.size() + ", invocations=" + invocations + "]";
+    }
+
+    /**
+     * Compiles a script importing each of this warm-up's modules.
+     *
+     * @return the compiled import statements, or null if there are no modules to import
+     * @throws JythonScriptException when the import statements cannot be compiled
+     * @since 3.0
+     */
+    PyCode compileImports() throws JythonScriptException {
+        if (modules.isEmpty()) {
+            return null;
+        }
+
+        final StringBuilder source = new StringBuilder();
+        for (final String module : modules) {
+            source.append("import ").append(module).append('\n');
+        }
+
+        return JythonScript.compileString(source.toString());
+    }
+
+    /**
+     * Runs each registered script {@link #getInvocations()} times with the given executor.
+     *
+     * @param executor runs a single script
+     * @throws JythonScriptException when any script fails
+     * @since 3.0
+     */
+    void runScripts(final ScriptExecutor executor) throws JythonScriptException {
+        for (int i = 0; i < invocations; i++) {
+            for (final Script script : scripts) {
+                executor.execute(script.pyCode, script.args);
+            }
+        }
+    }
+
+    /**
+     * Runs the given task on a new background daemon thread.
+     *
+     * @param task the warm-up work to perform
+     * @return a future completed once the task finishes, or exceptionally with the exception it threw
+     * @since 3.0
+     */
+    static CompletableFuture<Void> runInBackground(final WarmupTask task) {
+        final CompletableFuture<Void> ready = new CompletableFuture<>();
+
+        final Thread thread = new Thread(() -> {
+            try {
+                task.run();
+                ready.complete(null);
+            } catch (Throwable t) {
+                ready.completeExceptionally(t);
+            }
+        }, "jythonscript-warmup-" + THREAD_COUNT.incrementAndGet());
+
+        thread.setDaemon(true);
+        thread.start();
+
+        return ready;
+    }
+
+    /**
+     * Runs a single warm-up script.
+     *
+     * @since 3.0
+     */
+    @FunctionalInterface
+    interface ScriptExecutor {
+
+        void execute(PyCode pyCode, Object... args) throws JythonScriptException;
+
+    }
+
+    /**
+     * The work performed by a warm-up.
+     *
+     * @since 3.0
+     */
+    @FunctionalInterface
+    interface WarmupTask {
+
+        void run() throws JythonScriptException;
+
+    }
+
+    /**
+     * A registered script and the arguments it is run with.
+     *
+     * @since 3.0
+     */
+    private static final class Script {
+
+        private final PyCode pyCode;
+        private final Object[] args;
+
+        private Script(final PyCode pyCode, final Object[] args) {
+            this.pyCode = pyCode;
+            this.args = args;
+        }
+
+    }
+
+    /**
+     * Builds {@link Warmup} instances.
+     *
+     * @author Adam Childs
+     * @since 3.0
+     */
+    public static final class Builder {
+
+        private final List<String> modules = new ArrayList<>();
+        private final List<Script> scripts = new ArrayList<>();
+        private int invocations = 1;
+
+        private Builder() { }
+
+        /**
+         * Imports each of the given modules, such as {@code "json"} or {@code "os.path"}, during the warm-up.
+         *
+         * @param modules the names of the modules to import
+         * @return this builder
+         * @throws IllegalArgumentException when any of the given names is not a valid module name
+         * @since 3.0
+         */
+        public Builder importModules(final String... modules) {
+            for (final String module : modules) {
+                if (module == null || !MODULE_NAME.matcher(module).matches()) {
+                    throw new IllegalArgumentException("Invalid module name. module=[" + module + "]");
+                }
+
+                this.modules.add(module);
+            }
+
+            return this;
+        }
+
+        /**
+         * Runs the given compiled script, with the given 'sys.argv' arguments, during the warm-up.
+         *
+         * @param pyCode the compiled script to run
+         * @param args the arguments passed to the script
+         * @return this builder
+         * @throws IllegalArgumentException when the given PyCode is null
+         * @since 3.0
+         */
+        public Builder script(final PyCode pyCode, final Object... args) {
+            if (pyCode == null) {
+                throw new IllegalArgumentException("PyCode must not be null.");
+            }
+
+            scripts.add(new Script(pyCode, args));
+            return this;
+        }
+
+        /**
+         * Sets the number of times each registered script is run. Defaults to 1.
+         *
+         * @param invocations the number of times to run each script; must be at least 1
+         * @return this builder
+         * @since 3.0
+         */
+        public Builder invocations(final int invocations) {
+            if (invocations < 1) {
+                throw new IllegalArgumentException("Invocations must be at least 1. invocations=[" + invocations +
+                        "]");
+            }
+
+            this.invocations = invocations;
+            return this;
+        }
+
+        /**
+         * @return a new {@link Warmup}
+         * @since 3.0
+         */
+        public Warmup build() {
+            return new Warmup(modules, scripts, invocations);
+        }
+
+    }
+
+}
@@ -0,0 +1,40 @@
+package com.github.adchilds.jython.exception;
+
+/**
+ * Thrown when a Jython script is stopped because it exceeded a limit of its {@code ExecutionBudget}, such as executing
+ * too many lines, recursing too deeply, or producing too large a result.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+public class JythonScriptBudgetExceededException extends JythonScriptException {
+
+    /**
+     * {@inheritDoc}
+     */
+    public JythonScriptBudgetExceededException() {
+        super();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public JythonScriptBudgetExceededException(String message) {
+        super(message);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public JythonScriptBudgetExceededException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public JythonScriptBudgetExceededException(Throwable cause) {
+        super(cause);
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,40 @@
+package com.github.adchilds.jython.exception;
+
+/**
+ * Thrown when a Jython script is stopped because its execution was cancelled, such as by cancelling the future returned
+ * from {@code JythonEngine#evaluateAsync(PyCode, Object...)}.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+public class JythonScriptCancelledException extends JythonScriptException {
+
+    /**
+     * {@inheritDoc}
+     */
+    public JythonScriptCancelledException() {
+        super();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public JythonScriptCancelledException(String message) {
+        super(message);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public JythonScriptCancelledException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public JythonScriptCancelledException(Throwable cause) {
+        super(cause);
+    }
+
+}
\ No newline at end of file
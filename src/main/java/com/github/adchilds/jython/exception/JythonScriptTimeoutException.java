@@ -0,0 +1,40 @@
+package com.github.adchilds.jython.exception;
+
+/**
+ * Thrown when a Jython script is stopped because it did not complete before its deadline, such as the timeout given to
+ * {@code JythonEngine#evaluate(PyCode, Duration, Object...)}.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+public class JythonScriptTimeoutException extends JythonScriptException {
+
+    /**
+     * {@inheritDoc}
+     */
+    public JythonScriptTimeoutException() {
+        super();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public JythonScriptTimeoutException(String message) {
+        super(message);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public JythonScriptTimeoutException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public JythonScriptTimeoutException(Throwable cause) {
+        super(cause);
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.github.adchilds.jython.exception;
+
+/**
+ * Wraps a {@link JythonScriptException} with an unchecked exception. Thrown where a checked exception cannot be, such
+ * as from an {@link java.util.Iterator} over the results of many script evaluations.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+public class UncheckedJythonScriptException extends RuntimeException {
+
+    /**
+     * {@inheritDoc}
+     */
+    public UncheckedJythonScriptException(JythonScriptException cause) {
+        super(cause.getMessage(), cause);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public UncheckedJythonScriptException(String message, JythonScriptException cause) {
+        super(message, cause);
+    }
+
+    /**
+     * @return the {@link JythonScriptException} wrapped by this exception
+     */
+    @Override
+    public synchronized JythonScriptException getCause() {
+        return (JythonScriptException) super.getCause();
+    }
+
+}
@@ -0,0 +1,68 @@
+package com.github.adchilds.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Provides message digest operations, such as computing the SHA-256 hash of a {@link String}.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+public final class DigestUtils {
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    /**
+     * Computes the SHA-256 hash of the given {@link String}, encoded as UTF-8, as a lowercase hexadecimal String.
+     *
+     * @param value the String to hash
+     * @return the hex encoded SHA-256 hash of the given value
+     * @since 3.0
+     */
+    public static String sha256Hex(String value) {
+        return sha256Hex(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Computes the SHA-256 hash of the given bytes as a lowercase hexadecimal {@link String}.
+     *
+     * @param bytes the bytes to hash
+     * @return the hex encoded SHA-256 hash of the given bytes
+     * @since 3.0
+     */
+    public static String sha256Hex(byte[] bytes) {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform implementation is required to support SHA-256
+            throw new IllegalStateException("SHA-256 is not supported by this JVM.", e);
+        }
+
+        return toHex(digest.digest(bytes));
+    }
+
+    /**
+     * Encodes the given bytes as a lowercase hexadecimal {@link String}.
+     *
+     * @param bytes the bytes to encode
+     * @return the hex encoded bytes
+     * @since 3.0
+     */
+    private static String toHex(byte[] bytes) {
+        final char[] hex = new char[bytes.length * 2];
+
+        for (int i = 0; i < bytes.length; i++) {
+            hex[i * 2] = HEX_DIGITS[(bytes[i] >> 4) & 0xF];
+            hex[i * 2 + 1] = HEX_DIGITS[bytes[i] & 0xF];
+        }
+
+        return new String(hex);
+    }
+
+    // Don't allow this class to be instantiated
+    private DigestUtils() { }
+
+}
@@ -0,0 +1,112 @@
+package com.github.adchilds.jython;
+
+import com.github.adchilds.jython.exception.JythonScriptException;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link AsyncDispatcher} class.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+class AsyncDispatcherTest {
+
+    @Test
+    void testSubmit() throws Exception {
+        final AsyncDispatcher dispatcher = AsyncDispatcher.bounded(2, 10);
+
+        try {
+            assertEquals("done", dispatcher.submit(() -> "done").get(30, TimeUnit.SECONDS));
+
+            final AsyncStats stats = dispatcher.getStats();
+            assertEquals(1, stats.getSubmittedCount());
+            assertEquals(1, stats.getCompletedCount());
+            assertEquals(0, stats.getFailedCount());
+            assertEquals(0, stats.getActiveCount());
+        } finally {
+            dispatcher.close();
+        }
+    }
+
+    @Test
+    void testSubmit_failure() {
+        final AsyncDispatcher dispatcher = AsyncDispatcher.bounded(1, 10);
+
+        try {
+            final CompletableFuture<Object> future = dispatcher.submit(() -> {
+                throw new JythonScriptException("failure");
+            });
+
+            final ExecutionException exception = assertThrows(ExecutionException.class, () -> future.get(30, TimeUnit.SECONDS));
+            assertTrue(exception.getCause() instanceof JythonScriptException);
+            assertEquals(1, dispatcher.getStats().getFailedCount());
+        } finally {
+            dispatcher.close();
+        }
+    }
+
+    @Test
+    void testSubmit_rejectedWhenQueueIsFull() throws Exception {
+        final AsyncDispatcher dispatcher = AsyncDispatcher.bounded(1, 1);
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        try {
+            // Occupy the only worker thread, then fill the only queue slot
+            final CompletableFuture<Object> running = dispatcher.submit(() -> {
+                started.countDown();
+                release.await();
+                return null;
+            });
+            assertTrue(started.await(30, TimeUnit.SECONDS));
+
+            final CompletableFuture<String> queued = dispatcher.submit(() -> "queued");
+            final CompletableFuture<String> rejected = dispatcher.submit(() -> "rejected");
+
+            final ExecutionException exception = assertThrows(ExecutionException.class, () -> rejected.get(30, TimeUnit.SECONDS));
+            assertTrue(exception.getCause() instanceof JythonScriptException);
+
+            final AsyncStats stats = dispatcher.getStats();
+            assertEquals(3, stats.getSubmittedCount());
+            assertEquals(1, stats.getRejectedCount());
+            assertEquals(1, stats.getQueueDepth());
+            assertEquals(1, stats.getActiveCount());
+
+            release.countDown();
+            running.get(30, TimeUnit.SECONDS);
+            assertEquals("queued", queued.get(30, TimeUnit.SECONDS));
+            assertTrue(dispatcher.getStats().getMaxQueueTimeNanos() > 0);
+        } finally {
+            release.countDown();
+            dispatcher.close();
+        }
+    }
+
+    @Test
+    void testSubmit_afterClose() {
+        final AsyncDispatcher dispatcher = AsyncDispatcher.bounded(1, 1);
+        dispatcher.close();
+
+        assertThrows(ExecutionException.class, () -> dispatcher.submit(() -> "closed").get(30, TimeUnit.SECONDS));
+        assertEquals(1, dispatcher.getStats().getRejectedCount());
+    }
+
+    @Test
+    void testVirtual() throws Exception {
+        final AsyncDispatcher dispatcher = AsyncDispatcher.virtual(1, 1);
+
+        try {
+            assertEquals(42, dispatcher.submit(() -> 42).get(30, TimeUnit.SECONDS));
+        } finally {
+            dispatcher.close();
+        }
+    }
+
+}
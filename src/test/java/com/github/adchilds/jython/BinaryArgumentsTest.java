@@ -0,0 +1,125 @@
+package com.github.adchilds.jython;
+
+import com.github.adchilds.jython.exception.JythonScriptException;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.python.core.Py;
+import org.python.core.PyCode;
+import org.python.core.PyMemoryView;
+import org.python.core.PyObject;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link BinaryArguments} class.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+class BinaryArgumentsTest {
+
+    private static JythonEngine engine;
+
+    @BeforeAll
+    static void initialize() {
+        engine = JythonEngine.builder().poolSize(1).build();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        engine.close();
+    }
+
+    @Test
+    void testToPy_byteArrayUnwrapped() throws JythonScriptException {
+        final byte[] bytes = { 'A', 'B' };
+        final PyCode script = JythonScript.compileString("import sys\n" +
+                "payload = sys.argv[1]\n" +
+                "payload[0] = 90\n" +
+                "result = [type(payload).__name__, payload.typecode, payload[0], payload[1]]");
+
+        // Unwrapped arrays arrive as an array('b') of ints, as Py.java2py converts them
+        final Object[] result = (Object[]) JythonScript.evaluate(script, (Object) bytes);
+        assertArrayEquals(new Object[] { "array", "b", 90, 66 }, result);
+    }
+
+    @Test
+    void testToPy_byteBufferUnwrapped() {
+        final ByteBuffer buffer = ByteBuffer.wrap(new byte[] { 1, 2 });
+
+        assertSame(buffer, BinaryArguments.toPy(buffer).__tojava__(ByteBuffer.class));
+    }
+
+    @Test
+    void testToPy_byteArray() throws JythonScriptException {
+        final byte[] bytes = { 'a', 'b', 'c', 'd' };
+        final PyCode script = JythonScript.compileString("import sys\n" +
+                "payload = sys.argv[1]\n" +
+                "payload[0] = 'z'\n" +
+                "result = [type(payload).__name__, len(payload), payload[1:3].tobytes(), payload.readonly]");
+
+        final Object[] result = (Object[]) JythonScript.evaluate(script, SharedBytes.of(bytes));
+        assertArrayEquals(new Object[] { "memoryview", 4, "bc", false }, result);
+
+        // The script's write is made to the array itself
+        assertEquals('z', bytes[0]);
+    }
+
+    @Test
+    void testToPy_heapByteBuffer() throws JythonScriptException {
+        final byte[] bytes = { 'a', 'b', 'c', 'd' };
+        final ByteBuffer buffer = ByteBuffer.wrap(bytes, 1, 2);
+        final PyCode script = JythonScript.compileString("import sys\n" +
+                "payload = sys.argv[1]\n" +
+                "payload[0] = 'y'\n" +
+                "result = payload.tobytes()");
+
+        assertEquals("yc", engine.evaluate(script, SharedBytes.of(buffer)));
+        assertEquals('y', bytes[1]);
+
+        // The buffer's position and limit are unchanged
+        assertEquals(1, buffer.position());
+        assertEquals(3, buffer.limit());
+    }
+
+    @Test
+    void testToPy_directByteBuffer() throws JythonScriptException {
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(3);
+        buffer.put(new byte[] { 'x', 'y', 'z' }).flip();
+
+        final PyCode script = JythonScript.compileString("result = payload.tobytes()");
+        assertEquals("xyz", engine.evaluate(script, Bindings.builder().bind("payload", SharedBytes.of(buffer)).build()));
+    }
+
+    @Test
+    void testToPy_readOnlyByteBuffer() throws JythonScriptException {
+        final ByteBuffer buffer = ByteBuffer.wrap(new byte[] { 1, 2 }).asReadOnlyBuffer();
+        final PyMemoryView view = (PyMemoryView) BinaryArguments.toPy(SharedBytes.of(buffer));
+
+        assertTrue(view.readonly());
+        assertThrows(JythonScriptException.class, () -> engine.evaluate(
+                JythonScript.compileString("import sys\nsys.argv[1][0] = 'a'\nresult = 1"), SharedBytes.of(buffer)));
+    }
+
+    @Test
+    void testToPy_sharesMemory() {
+        final byte[] bytes = new byte[] { 1, 2 };
+        final PyMemoryView view = (PyMemoryView) BinaryArguments.toPy(SharedBytes.of(bytes));
+
+        // Changes made by Java after conversion are visible to Python
+        bytes[1] = 'q';
+        assertEquals("q", view.__getitem__(1).toString());
+    }
+
+    @Test
+    void testToPy_otherValues() {
+        final PyObject value = BinaryArguments.toPy(7);
+
+        assertEquals(Py.newInteger(7), value);
+        assertSame(Py.None, BinaryArguments.toPy(null));
+    }
+
+}
@@ -0,0 +1,70 @@
+package com.github.adchilds.jython;
+
+import org.junit.jupiter.api.Test;
+import org.python.core.Py;
+import org.python.core.PyObject;
+import org.python.core.PyStringMap;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link Bindings} class.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+class BindingsTest {
+
+    @Test
+    void testBuilder() {
+        final Bindings bindings = Bindings.builder().bind("a", 1).bind("b", "two").bind("a", 3).build();
+
+        assertEquals(2, bindings.size());
+        assertEquals(Arrays.asList("a", "b"), bindings.getNames());
+        assertEquals("Bindings[a, b]", bindings.toString());
+    }
+
+    @Test
+    void testBuilder_invalidName() {
+        assertThrows(IllegalArgumentException.class, () -> Bindings.builder().bind(null, 1));
+        assertThrows(IllegalArgumentException.class, () -> Bindings.builder().bind("", 1));
+        assertThrows(IllegalArgumentException.class, () -> Bindings.builder().bind("   ", 1));
+    }
+
+    @Test
+    void testOf() {
+        final Map<String, Object> values = new LinkedHashMap<>();
+        values.put("x", 1.5);
+        values.put("y", null);
+
+        final Bindings bindings = Bindings.of(values);
+
+        assertEquals(Arrays.asList("x", "y"), bindings.getNames());
+        assertThrows(IllegalArgumentException.class, () -> Bindings.of(null));
+        assertThrows(IllegalArgumentException.class, () -> Bindings.of(Collections.singletonMap(null, 1)));
+    }
+
+    @Test
+    void testEmpty() {
+        assertEquals(0, Bindings.empty().size());
+        assertTrue(Bindings.empty().getNames().isEmpty());
+    }
+
+    @Test
+    void testBindTo() {
+        final PyStringMap namespace = Py.newStringMap();
+
+        Bindings.builder().bind("number", 42).bind("text", "hello").bind("nothing", null).build().bindTo(namespace);
+
+        final PyObject number = namespace.__finditem__("number");
+        assertEquals(42, Py.py2int(number));
+        assertEquals("hello", namespace.__finditem__("text").toString());
+        assertSame(Py.None, namespace.__finditem__("nothing"));
+    }
+
+}
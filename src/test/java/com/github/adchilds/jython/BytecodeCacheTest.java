@@ -0,0 +1,167 @@
+package com.github.adchilds.jython;
+
+import com.github.adchilds.jython.exception.JythonScriptException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.python.core.PyCode;
+import org.python.core.PyTableCode;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link BytecodeCache} class.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+class BytecodeCacheTest {
+
+    private static final String SCRIPT = "def area(width, height):\n    return width * height\n\nresult = area(6, 7)";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testConstructor_null() {
+        assertThrows(IllegalArgumentException.class, () -> new BytecodeCache(null));
+        assertThrows(IllegalArgumentException.class, () -> new JythonCompiler(null));
+    }
+
+    @Test
+    void testGet_missThenHit() throws Exception {
+        final BytecodeCache writer = new BytecodeCache(directory);
+        assertEquals(42, JythonScript.evaluate(new JythonCompiler(writer).compile(SCRIPT, "area.py")));
+
+        assertEquals(1, writer.getStats().getMissCount());
+        assertEquals(1, entries().size());
+
+        // A new cache over the same directory, as in a later JVM, loads the stored bytecode
+        final BytecodeCache reader = new BytecodeCache(directory);
+        final PyCode pyCode = new JythonCompiler(reader).compile(SCRIPT, "area.py");
+
+        assertEquals(42, JythonScript.evaluate(pyCode));
+        assertEquals("area.py", ((PyTableCode) pyCode).co_filename);
+        assertEquals(1, reader.getStats().getHitCount());
+        assertEquals(0, reader.getStats().getMissCount());
+    }
+
+    @Test
+    void testGet_keyedBySourceAndFilename() throws Exception {
+        final BytecodeCache cache = new BytecodeCache(directory);
+        final JythonCompiler compiler = new JythonCompiler(cache);
+
+        compiler.compile(SCRIPT, "area.py");
+        compiler.compile(SCRIPT, "other.py");
+        compiler.compile(SCRIPT + " + 1", "area.py");
+
+        assertEquals(3, cache.getStats().getMissCount());
+        assertEquals(3, entries().size());
+    }
+
+    @Test
+    void testGet_encodedSource() throws Exception {
+        final byte[] source = "# -*- coding: latin-1 -*-\nresult = \"caf\u00e9\"".getBytes(StandardCharsets.ISO_8859_1);
+        final BytecodeCache cache = new BytecodeCache(directory);
+
+        assertEquals("caf\u00e9", JythonScript.evaluate(cache.get(source, "latin1.py")));
+        assertEquals("caf\u00e9", JythonScript.evaluate(new BytecodeCache(directory).get(source, "latin1.py")));
+        assertEquals(1, cache.getStats().getMissCount());
+
+        // Identical text given as a String is compiled under its own entry
+        new JythonCompiler(cache).compile(new String(source, StandardCharsets.ISO_8859_1), "latin1.py");
+        assertEquals(2, entries().size());
+    }
+
+    @Test
+    void testGet_runtimeVersionMismatch() throws Exception {
+        new JythonCompiler(new BytecodeCache(directory, "2.5.0/1")).compile(SCRIPT, "area.py");
+
+        // Bytecode generated by another Jython runtime is never loaded
+        final BytecodeCache cache = new BytecodeCache(directory);
+        assertEquals(42, JythonScript.evaluate(new JythonCompiler(cache).compile(SCRIPT, "area.py")));
+
+        assertEquals(0, cache.getStats().getHitCount());
+        assertEquals(1, cache.getStats().getMissCount());
+    }
+
+    @Test
+    void testGet_corruptEntry() throws Exception {
+        new JythonCompiler(new BytecodeCache(directory)).compile(SCRIPT, "area.py");
+
+        final Path entry = entries().get(0);
+        final byte[] contents = Files.readAllBytes(entry);
+        contents[contents.length - 10] ^= 0x7F;
+        Files.write(entry, contents);
+
+        final BytecodeCache cache = new BytecodeCache(directory);
+        assertEquals(42, JythonScript.evaluate(new JythonCompiler(cache).compile(SCRIPT, "area.py")));
+
+        assertEquals(1, cache.getStats().getInvalidationCount());
+        assertEquals(1, cache.getStats().getMissCount());
+
+        // The entry was rewritten
+        final BytecodeCache rewritten = new BytecodeCache(directory);
+        new JythonCompiler(rewritten).compile(SCRIPT, "area.py");
+        assertEquals(1, rewritten.getStats().getHitCount());
+    }
+
+    @Test
+    void testGet_truncatedEntry() throws Exception {
+        new JythonCompiler(new BytecodeCache(directory)).compile(SCRIPT, "area.py");
+
+        final Path entry = entries().get(0);
+        Files.write(entry, new byte[] { 0x4A, 0x53 });
+
+        final BytecodeCache cache = new BytecodeCache(directory);
+        assertEquals(42, JythonScript.evaluate(new JythonCompiler(cache).compile(SCRIPT, "area.py")));
+
+        assertEquals(1, cache.getStats().getInvalidationCount());
+    }
+
+    @Test
+    void testGet_unwritableDirectory() throws Exception {
+        final Path file = Files.createFile(directory.resolve("not-a-directory"));
+        final BytecodeCache cache = new BytecodeCache(file);
+
+        // Failing to cache a script never prevents it from being compiled
+        assertEquals(42, JythonScript.evaluate(new JythonCompiler(cache).compile(SCRIPT, "area.py")));
+
+        assertEquals(1, cache.getStats().getWriteFailureCount());
+    }
+
+    @Test
+    void testGet_invalidPythonCode() {
+        final BytecodeCache cache = new BytecodeCache(directory);
+
+        assertThrows(JythonScriptException.class, () -> new JythonCompiler(cache).compile("Invalid Python code..."));
+        assertThrows(JythonScriptException.class, () -> new JythonCompiler(cache).compile("x = '\0'"));
+    }
+
+    @Test
+    void testFromSystemProperty() {
+        System.clearProperty(BytecodeCache.DIRECTORY_PROPERTY);
+        assertNull(new JythonCompiler().getBytecodeCache());
+
+        System.setProperty(BytecodeCache.DIRECTORY_PROPERTY, directory.toString());
+        try {
+            assertEquals(directory, new JythonCompiler().getBytecodeCache().getDirectory());
+        } finally {
+            System.clearProperty(BytecodeCache.DIRECTORY_PROPERTY);
+        }
+    }
+
+    private List<Path> entries() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.toString().endsWith(".jsc")).collect(Collectors.toList());
+        }
+    }
+
+}
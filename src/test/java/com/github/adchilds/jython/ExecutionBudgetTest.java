@@ -0,0 +1,96 @@
+package com.github.adchilds.jython;
+
+import com.github.adchilds.jython.exception.JythonScriptBudgetExceededException;
+import com.github.adchilds.jython.exception.JythonScriptException;
+import org.junit.jupiter.api.Test;
+import org.python.core.Py;
+import org.python.core.PyDictionary;
+import org.python.core.PyList;
+import org.python.core.PyObject;
+import org.python.core.PyTuple;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link ExecutionBudget} class.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+class ExecutionBudgetTest {
+
+    @Test
+    void testBuilder() {
+        final ExecutionBudget budget = ExecutionBudget.builder()
+                .maxLines(1000)
+                .maxRecursionDepth(20)
+                .maxResultSize(100)
+                .build();
+
+        assertEquals(1000, budget.getMaxLines());
+        assertEquals(20, budget.getMaxRecursionDepth());
+        assertEquals(100, budget.getMaxResultSize());
+        assertTrue(budget.isTraced());
+        assertEquals("ExecutionBudget[maxLines=1000, maxRecursionDepth=20, maxResultSize=100]", budget.toString());
+    }
+
+    @Test
+    void testBuilder_invalid() {
+        assertThrows(IllegalArgumentException.class, () -> ExecutionBudget.builder().maxLines(0));
+        assertThrows(IllegalArgumentException.class, () -> ExecutionBudget.builder().maxRecursionDepth(-1));
+        assertThrows(IllegalArgumentException.class, () -> ExecutionBudget.builder().maxResultSize(0));
+    }
+
+    @Test
+    void testUnlimited() throws JythonScriptException {
+        final ExecutionBudget budget = ExecutionBudget.unlimited();
+
+        assertEquals(0, budget.getMaxLines());
+        assertEquals(0, budget.getMaxRecursionDepth());
+        assertEquals(0, budget.getMaxResultSize());
+        assertFalse(budget.isTraced());
+
+        budget.checkResultSize(list(1, 2, 3));
+    }
+
+    @Test
+    void testCheckResultSize() throws JythonScriptException {
+        final ExecutionBudget budget = ExecutionBudget.builder().maxResultSize(6).build();
+
+        // A scalar, and nested containers of 6 elements in total
+        budget.checkResultSize(Py.newInteger(1));
+        budget.checkResultSize(list(1, list(2, 3), new PyTuple(Py.newInteger(4))));
+
+        final PyDictionary dict = new PyDictionary();
+        dict.__setitem__(Py.newString("a"), list(1, 2, 3));
+        dict.__setitem__(Py.newString("b"), list(4, 5, 6));
+
+        assertThrows(JythonScriptBudgetExceededException.class, () -> budget.checkResultSize(dict));
+        assertThrows(JythonScriptBudgetExceededException.class, () -> budget.checkResultSize(list(1, 2, 3, 4, 5, 6, 7)));
+    }
+
+    @Test
+    void testCheckResultSize_cycle() throws JythonScriptException {
+        final PyList cycle = list(1, 2);
+        cycle.append(cycle);
+
+        // A container referencing itself is only counted once
+        ExecutionBudget.builder().maxResultSize(3).build().checkResultSize(cycle);
+        assertThrows(JythonScriptBudgetExceededException.class, () ->
+                ExecutionBudget.builder().maxResultSize(2).build().checkResultSize(cycle));
+    }
+
+    /**
+     * @return a Python list of the given elements, converting Java integers
+     */
+    private static PyList list(final Object... elements) {
+        final PyList list = new PyList();
+
+        for (final Object element : elements) {
+            list.append(element instanceof PyObject ? (PyObject) element : Py.java2py(element));
+        }
+
+        return list;
+    }
+
+}
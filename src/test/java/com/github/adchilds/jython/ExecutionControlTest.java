@@ -0,0 +1,207 @@
+package com.github.adchilds.jython;
+
+import com.github.adchilds.jython.exception.JythonScriptBudgetExceededException;
+import com.github.adchilds.jython.exception.JythonScriptCancelledException;
+import com.github.adchilds.jython.exception.JythonScriptException;
+import com.github.adchilds.jython.exception.JythonScriptTimeoutException;
+import org.junit.jupiter.api.Test;
+import org.python.core.Py;
+import org.python.core.PyCode;
+import org.python.util.PythonInterpreter;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link ExecutionControl} class.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+class ExecutionControlTest {
+
+    private static final String INFINITE_LOOP = "started.countDown()\nwhile True:\n    try:\n        pass\n    except:\n        pass\n";
+
+    @Test
+    void testWithTimeout_invalid() {
+        assertThrows(JythonScriptException.class, () -> ExecutionControl.withTimeout(null));
+        assertThrows(JythonScriptException.class, () -> ExecutionControl.withTimeout(Duration.ZERO));
+        assertThrows(JythonScriptException.class, () -> ExecutionControl.withTimeout(Duration.ofMillis(-1)));
+    }
+
+    @Test
+    void testRun_completes() throws JythonScriptException {
+        final ExecutionControl control = ExecutionControl.withTimeout(Duration.ofSeconds(30));
+
+        assertEquals("done", control.run(() -> "done"));
+        assertFalse(control.isTimedOut());
+        assertFalse(control.isCancelled());
+
+        // Cancelling a completed task has no effect
+        control.cancel();
+        assertFalse(control.isCancelled());
+        assertFalse(Thread.currentThread().isInterrupted());
+    }
+
+    @Test
+    void testRun_onlyOnce() throws JythonScriptException {
+        final ExecutionControl control = ExecutionControl.cancellable();
+        control.run(() -> null);
+
+        assertThrows(IllegalStateException.class, () -> control.run(() -> null));
+    }
+
+    @Test
+    void testRun_timeout() throws JythonScriptException {
+        final ExecutionControl control = ExecutionControl.withTimeout(Duration.ofMillis(100));
+        final PyCode pyCode = JythonScript.compileString(INFINITE_LOOP);
+
+        assertThrows(JythonScriptTimeoutException.class, () -> control.run(() -> execute(pyCode, new CountDownLatch(1))));
+        assertTrue(control.isTimedOut());
+
+        // The trace function is removed and the interrupt cleared
+        assertNull(Py.getThreadState().tracefunc);
+        assertFalse(Thread.currentThread().isInterrupted());
+    }
+
+    @Test
+    void testRun_timeoutWhileBlocked() throws JythonScriptException {
+        final ExecutionControl control = ExecutionControl.withTimeout(Duration.ofMillis(100));
+
+        final JythonScriptTimeoutException exception = assertThrows(JythonScriptTimeoutException.class, () ->
+                control.run(() -> {
+                    Thread.sleep(TimeUnit.SECONDS.toMillis(60));
+                    return null;
+                }));
+
+        assertTrue(exception.getCause() instanceof InterruptedException);
+        assertFalse(Thread.currentThread().isInterrupted());
+    }
+
+    @Test
+    void testCancel() throws Exception {
+        final ExecutionControl control = ExecutionControl.cancellable();
+        final PyCode pyCode = JythonScript.compileString(INFINITE_LOOP);
+        final CountDownLatch started = new CountDownLatch(1);
+
+        final CompletableFuture<Object> running = CompletableFuture.supplyAsync(() -> {
+            try {
+                return control.run(() -> execute(pyCode, started));
+            } catch (JythonScriptException e) {
+                throw new RuntimeException(e);
+            }
+        });
+
+        assertTrue(started.await(30, TimeUnit.SECONDS));
+        control.cancel();
+
+        final ExecutionException exception = assertThrows(ExecutionException.class, () -> running.get(30, TimeUnit.SECONDS));
+        assertTrue(exception.getCause().getCause() instanceof JythonScriptCancelledException);
+        assertTrue(control.isCancelled());
+    }
+
+    @Test
+    void testCancel_beforeRun() {
+        final ExecutionControl control = ExecutionControl.cancellable();
+        control.cancel();
+
+        assertThrows(JythonScriptCancelledException.class, () -> control.run(() -> fail("Task should not run.")));
+    }
+
+    @Test
+    void testWithBudget_null() {
+        assertThrows(JythonScriptException.class, () -> ExecutionControl.withBudget(null));
+    }
+
+    @Test
+    void testRun_resultSizeOnly() throws JythonScriptException {
+        final ExecutionControl control = ExecutionControl.withBudget(ExecutionBudget.builder().maxResultSize(10).build());
+
+        // Only the result is checked, after the script has run, so nothing is traced while it runs
+        assertNull(control.run(() -> Py.getThreadState().tracefunc));
+    }
+
+    @Test
+    void testRun_maxLines() throws JythonScriptException {
+        final PyCode pyCode = JythonScript.compileString("total = 0\nfor i in range(10):\n    total += i\n");
+        final PythonInterpreter interpreter = new PythonInterpreter();
+
+        // Each iteration traces both the loop and its body
+        final ExecutionControl within = ExecutionControl.withBudget(ExecutionBudget.builder().maxLines(25).build());
+        within.run(() -> exec(interpreter, pyCode));
+        assertFalse(within.isBudgetExceeded());
+
+        final ExecutionControl exceeded = ExecutionControl.withBudget(ExecutionBudget.builder().maxLines(15).build());
+        assertThrows(JythonScriptBudgetExceededException.class, () -> exceeded.run(() -> exec(interpreter, pyCode)));
+        assertTrue(exceeded.isBudgetExceeded());
+
+        // The trace function is removed
+        assertNull(Py.getThreadState().tracefunc);
+    }
+
+    @Test
+    void testRun_maxLinesInfiniteLoop() throws JythonScriptException {
+        final ExecutionControl control = ExecutionControl.withBudget(ExecutionBudget.builder().maxLines(1000).build());
+        final PyCode pyCode = JythonScript.compileString(INFINITE_LOOP);
+        final PythonInterpreter interpreter = new PythonInterpreter();
+        interpreter.set("started", new CountDownLatch(1));
+
+        // The script's handlers cannot catch its way past the budget
+        assertThrows(JythonScriptBudgetExceededException.class, () -> control.run(() -> exec(interpreter, pyCode)));
+        assertFalse(Thread.currentThread().isInterrupted());
+    }
+
+    @Test
+    void testRun_maxRecursionDepth() throws JythonScriptException {
+        final PyCode pyCode = JythonScript.compileString(
+                "def depth(n):\n    return 0 if n == 0 else 1 + depth(n - 1)\nresult = depth(n)\n");
+        final PythonInterpreter interpreter = new PythonInterpreter();
+
+        // The module itself is at depth 1, so it may recurse to a depth of 9 beneath it
+        interpreter.set("n", 9);
+        ExecutionControl.withBudget(ExecutionBudget.builder().maxRecursionDepth(11).build()).run(() -> exec(interpreter, pyCode));
+        assertEquals(9, interpreter.get("result").asInt());
+
+        final ExecutionControl exceeded = ExecutionControl.withBudget(ExecutionBudget.builder().maxRecursionDepth(11).build());
+        interpreter.set("n", 10);
+        assertThrows(JythonScriptBudgetExceededException.class, () -> exceeded.run(() -> exec(interpreter, pyCode)));
+        assertTrue(exceeded.isBudgetExceeded());
+    }
+
+    @Test
+    void testRun_maxRecursionDepthAfterException() throws JythonScriptException {
+        // Frames unwound by caught exceptions no longer count towards the depth
+        final PyCode pyCode = JythonScript.compileString(
+                "def fail(n):\n    if n == 0:\n        raise ValueError()\n    fail(n - 1)\n" +
+                "for i in range(20):\n    try:\n        fail(5)\n    except ValueError:\n        pass\n");
+        final PythonInterpreter interpreter = new PythonInterpreter();
+        final ExecutionControl control = ExecutionControl.withBudget(ExecutionBudget.builder().maxRecursionDepth(8).build());
+
+        control.run(() -> exec(interpreter, pyCode));
+        assertFalse(control.isBudgetExceeded());
+    }
+
+    /**
+     * Executes the given script within the given interpreter.
+     */
+    private static Object exec(final PythonInterpreter interpreter, final PyCode pyCode) {
+        interpreter.exec(pyCode);
+
+        return null;
+    }
+
+    /**
+     * Executes the given script, binding the given latch as 'started'.
+     */
+    private static Object execute(final PyCode pyCode, final CountDownLatch started) throws JythonScriptException {
+        JythonScript.execute(pyCode, Bindings.builder().bind("started", started).build());
+
+        return null;
+    }
+
+}
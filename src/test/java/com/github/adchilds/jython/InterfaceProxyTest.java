@@ -0,0 +1,160 @@
+package com.github.adchilds.jython;
+
+import com.github.adchilds.jython.exception.JythonScriptException;
+import com.github.adchilds.jython.exception.UncheckedJythonScriptException;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import static com.github.adchilds.jython.JythonScriptTest.JYTHON_SCRIPT_BASE_PATH;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link InterfaceProxy} class.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+class InterfaceProxyTest {
+
+    @Test
+    void testCreate() throws JythonScriptException {
+        final Greeter greeter = JythonScript.proxy(getScriptPath("testProxy.py"), "Greeter", Greeter.class, "Hello");
+
+        assertTrue(Proxy.isProxyClass(greeter.getClass()));
+        assertEquals("Hello, Adam", greeter.greet("Adam"));
+        assertEquals("Hello, Jython", greeter.greet("Jython"));
+        assertEquals(2, greeter.count());
+        assertEquals(Arrays.asList("Adam", "Jython"), greeter.history());
+
+        greeter.reset();
+        assertEquals(0, greeter.count());
+    }
+
+    @Test
+    void testCreate_objectMethods() throws JythonScriptException {
+        final JythonModule module = JythonModule.load(JythonScript.compile(getScriptPath("testProxy.py")));
+        final Greeter greeter = module.newInstance("Greeter", "Hi").as(Greeter.class);
+        final Greeter other = module.newInstance("Greeter", "Hi").as(Greeter.class);
+
+        assertEquals(greeter, greeter);
+        assertNotEquals(greeter, other);
+        assertEquals(System.identityHashCode(greeter), greeter.hashCode());
+        assertEquals("InterfaceProxy[JythonObject[type=Greeter]]", greeter.toString());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testCreate_comparator() throws JythonScriptException {
+        final Comparator<String> byLength = JythonScript.proxy(getScriptPath("testProxy.py"), "ByLength",
+                Comparator.class);
+        final List<String> words = Arrays.asList("ccc", "a", "bb");
+
+        // Comparator redeclares equals, which the Python object need not implement
+        assertEquals(byLength, byLength);
+
+        words.sort(byLength);
+        assertEquals(Arrays.asList("a", "bb", "ccc"), words);
+
+        // reversed is a default method, which the Python object does not define
+        words.sort(byLength.reversed());
+        assertEquals(Arrays.asList("ccc", "bb", "a"), words);
+    }
+
+    @Test
+    void testCreate_defaultMethods() throws JythonScriptException {
+        final Greeting greeting = JythonScript.proxy(getScriptPath("testProxy.py"), "Greeter", Greeting.class, "Hi");
+
+        assertEquals("Hi, Adam! Hi, Adam!", greeting.greetTwice("Adam"));
+
+        // The Python object's own methods take precedence over defaults
+        assertEquals(2, greeting.count());
+    }
+
+    @Test
+    void testCreate_computeOOP() throws JythonScriptException {
+        final Computer computer = JythonScript.proxy(getScriptPath("testOOP.py"), "SomeClass", Computer.class);
+
+        assertEquals(-30, computer.compute(3, 4));
+        assertEquals(0, computer.compute(-7, 4));
+    }
+
+    @Test
+    void testCreate_implementedInPython() throws JythonScriptException {
+        final JythonObject task = JythonModule.load(getScriptPath("testProxy.py")).newInstance("Task");
+        final Runnable runnable = task.as(Runnable.class);
+
+        // A Python class extending the interface needs no proxy
+        assertFalse(Proxy.isProxyClass(runnable.getClass()));
+
+        runnable.run();
+        assertEquals(true, task.get("ran"));
+    }
+
+    @Test
+    void testCreate_invalid() throws JythonScriptException {
+        final JythonObject greeter = JythonModule.load(getScriptPath("testProxy.py")).newInstance("Greeter", "Hello");
+
+        assertThrows(JythonScriptException.class, () -> greeter.as(null));
+        assertThrows(JythonScriptException.class, () -> greeter.as(String.class));
+        assertThrows(JythonScriptException.class, () -> greeter.as(Computer.class));
+    }
+
+    @Test
+    void testInvoke_failure() throws JythonScriptException {
+        final Failing failing = JythonScript.proxy(getScriptPath("testProxy.py"), "Greeter", Failing.class, "Hello");
+
+        final UncheckedJythonScriptException exception = assertThrows(UncheckedJythonScriptException.class, failing::fail);
+        assertTrue(exception.getCause().getMessage().contains("ZeroDivisionError"));
+
+        assertThrows(UncheckedJythonScriptException.class, failing::wrongType);
+    }
+
+    private static String getScriptPath(final String script) {
+        return ClassLoader.getSystemResource(JYTHON_SCRIPT_BASE_PATH + script).getPath();
+    }
+
+    interface Greeter {
+
+        String greet(String name);
+
+        int count();
+
+        List<Object> history();
+
+        void reset();
+
+    }
+
+    interface Greeting {
+
+        String greet(String name);
+
+        default String greetTwice(final String name) {
+            return greet(name) + "! " + greet(name) + "!";
+        }
+
+        default int count() {
+            return -1;
+        }
+
+    }
+
+    interface Computer {
+
+        int compute(int x, int y);
+
+    }
+
+    interface Failing {
+
+        Object fail();
+
+        String wrongType();
+
+    }
+
+}
@@ -0,0 +1,88 @@
+package com.github.adchilds.jython;
+
+import com.github.adchilds.jython.exception.JythonScriptException;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link InterpreterPool} class.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+class InterpreterPoolTest {
+
+    @Test
+    void testConstructor_invalidSize() {
+        assertThrows(IllegalArgumentException.class, () -> new InterpreterPool(0, 1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testBorrowAndRelease() throws JythonScriptException {
+        final InterpreterPool pool = new InterpreterPool(2, 1, TimeUnit.SECONDS);
+
+        final ScriptInterpreter first = pool.borrow();
+        final ScriptInterpreter second = pool.borrow();
+
+        assertNotSame(first, second);
+        assertEquals(0, pool.available());
+
+        pool.release(first);
+        pool.release(second);
+
+        assertEquals(2, pool.size());
+        assertEquals(2, pool.available());
+
+        pool.close();
+    }
+
+    @Test
+    void testBorrow_timeout() throws JythonScriptException {
+        final InterpreterPool pool = new InterpreterPool(1, 10, TimeUnit.MILLISECONDS);
+        final ScriptInterpreter interpreter = pool.borrow();
+
+        assertThrows(JythonScriptException.class, pool::borrow);
+
+        pool.release(interpreter);
+        assertSame(interpreter, pool.borrow());
+
+        pool.close();
+    }
+
+    @Test
+    void testRelease_resetsState() throws JythonScriptException {
+        final InterpreterPool pool = new InterpreterPool(1, 1, TimeUnit.SECONDS);
+        final ScriptInterpreter interpreter = pool.borrow();
+
+        interpreter.prepare("a", "b").exec("leftover = 1");
+        assertEquals(3, interpreter.getSystemState().argv.size());
+        assertNotNull(interpreter.getInterpreter().get("leftover"));
+
+        pool.release(interpreter);
+
+        assertEquals(1, interpreter.getSystemState().argv.size());
+        assertNull(interpreter.getInterpreter().get("leftover"));
+        assertEquals("__main__", interpreter.getInterpreter().eval("__name__").toString());
+
+        pool.close();
+    }
+
+    @Test
+    void testClose() throws JythonScriptException {
+        final InterpreterPool pool = new InterpreterPool(2, 1, TimeUnit.SECONDS);
+        final ScriptInterpreter interpreter = pool.borrow();
+
+        pool.close();
+
+        assertEquals(0, pool.available());
+        assertThrows(JythonScriptException.class, pool::borrow);
+
+        // Interpreters released after the pool is closed are not returned to the pool
+        pool.release(interpreter);
+        assertEquals(0, pool.available());
+    }
+
+}
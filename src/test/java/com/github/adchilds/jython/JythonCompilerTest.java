@@ -0,0 +1,135 @@
+package com.github.adchilds.jython;
+
+import com.github.adchilds.jython.exception.JythonScriptException;
+import org.junit.jupiter.api.Test;
+import org.python.core.PyCode;
+import org.python.core.PyTableCode;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static com.github.adchilds.jython.JythonScriptTest.JYTHON_SCRIPT_BASE_PATH;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link JythonCompiler} class.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+class JythonCompilerTest {
+
+    private final JythonCompiler compiler = new JythonCompiler();
+
+    @Test
+    void testCompile_null() {
+        assertThrows(JythonScriptException.class, () -> compiler.compile((String) null));
+        assertThrows(JythonScriptException.class, () -> compiler.compile((File) null));
+    }
+
+    @Test
+    void testCompile_empty() {
+        assertThrows(JythonScriptException.class, () -> compiler.compile(""));
+        assertThrows(JythonScriptException.class, () -> compiler.compile("    "));
+        assertThrows(JythonScriptException.class, () -> compiler.compile("\n"));
+    }
+
+    @Test
+    void testCompile_emptyWithFilename() throws JythonScriptException {
+        final PyCode pyCode = compiler.compile("", "empty.py");
+
+        assertEquals("empty.py", ((PyTableCode) pyCode).co_filename);
+        JythonScript.execute(pyCode);
+    }
+
+    @Test
+    void testCompile_invalidPythonCode() {
+        assertThrows(JythonScriptException.class, () -> compiler.compile("Invalid Python code..."));
+    }
+
+    @Test
+    void testCompile_invalidPythonCode_nullFilename() {
+        final JythonScriptException exception = assertThrows(JythonScriptException.class,
+                () -> compiler.compile("Invalid Python code...", null));
+
+        assertTrue(exception.getMessage().contains("filename=[" + JythonCompiler.DEFAULT_FILENAME + "]"));
+    }
+
+    @Test
+    void testCompile_valid() throws JythonScriptException {
+        final PyCode pyCode = compiler.compile("if __name__ == '__main__':\n    result = 6 * 7");
+
+        assertEquals(42, JythonScript.evaluate(pyCode));
+        assertEquals(JythonCompiler.DEFAULT_FILENAME, ((PyTableCode) pyCode).co_filename);
+    }
+
+    @Test
+    void testCompile_filename() throws JythonScriptException {
+        final PyCode pyCode = compiler.compile("raise ValueError('failure')", "custom_script.py");
+
+        assertEquals("custom_script.py", ((PyTableCode) pyCode).co_filename);
+
+        // The filename is attributed to the failing frame in the traceback
+        final JythonScriptException exception = assertThrows(JythonScriptException.class, () -> JythonScript.execute(pyCode));
+        assertTrue(exception.getMessage().contains("custom_script.py"));
+    }
+
+    @Test
+    void testCompile_file() throws JythonScriptException {
+        final File file = new File(ClassLoader.getSystemResource(JYTHON_SCRIPT_BASE_PATH + "testEvaluate.py").getPath());
+        final PyCode pyCode = compiler.compile(file);
+
+        assertEquals(file.getAbsolutePath(), ((PyTableCode) pyCode).co_filename);
+        assertEquals(100, JythonScript.evaluate(pyCode, 10, 10));
+    }
+
+    @Test
+    void testCompile_fileNotFound() {
+        assertThrows(JythonScriptException.class, () -> compiler.compile(new File("/Users/test/notfound.py")));
+    }
+
+    @Test
+    void testCompileAll() throws JythonScriptException {
+        final Map<String, String> sources = new LinkedHashMap<>();
+        for (int i = 0; i < 50; i++) {
+            sources.put("script" + i + ".py", "if __name__ == '__main__':\n    result = " + i);
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final Map<String, PyCode> compiled = compiler.compileAll(sources, executor);
+
+            assertEquals(sources.keySet(), compiled.keySet());
+
+            int i = 0;
+            for (final Map.Entry<String, PyCode> entry : compiled.entrySet()) {
+                assertEquals(entry.getKey(), ((PyTableCode) entry.getValue()).co_filename);
+                assertEquals(i++, JythonScript.evaluate(entry.getValue()));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testCompileAll_null() {
+        assertThrows(JythonScriptException.class, () -> compiler.compileAll(null));
+        assertThrows(JythonScriptException.class, () -> compiler.compileAll(null, Runnable::run));
+        assertThrows(JythonScriptException.class, () -> compiler.compileAll(Collections.emptyMap(), null));
+    }
+
+    @Test
+    void testCompileAll_invalidPythonCode() {
+        final Map<String, String> sources = new LinkedHashMap<>();
+        sources.put("valid.py", "result = 1");
+        sources.put("invalid.py", "Invalid Python code...");
+
+        final JythonScriptException exception = assertThrows(JythonScriptException.class, () -> compiler.compileAll(sources));
+        assertTrue(exception.getMessage().contains("invalid.py"));
+    }
+
+}
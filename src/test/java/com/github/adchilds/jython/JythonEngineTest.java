@@ -0,0 +1,909 @@
+package com.github.adchilds.jython;
+
+import com.github.adchilds.jython.exception.JythonResultNotFoundException;
+import com.github.adchilds.jython.exception.JythonScriptException;
+import com.github.adchilds.jython.exception.JythonScriptBudgetExceededException;
+import com.github.adchilds.jython.exception.JythonScriptTimeoutException;
+import com.github.adchilds.jython.exception.UncheckedJythonScriptException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.python.core.PyCode;
+import org.python.core.PyComplex;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.net.URL;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.github.adchilds.jython.JythonScriptTest.JYTHON_SCRIPT_BASE_PATH;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link JythonEngine} class.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+class JythonEngineTest {
+
+    private JythonEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = JythonEngine.builder()
+                .poolSize(2)
+                .borrowTimeout(5, TimeUnit.SECONDS)
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        engine.close();
+    }
+
+    @Test
+    void testBuilder_invalidPoolSize() {
+        assertThrows(IllegalArgumentException.class, () -> JythonEngine.builder().poolSize(0));
+        assertThrows(IllegalArgumentException.class, () -> JythonEngine.builder().poolSize(-1));
+    }
+
+    @Test
+    void testBuilder_invalidBorrowTimeout() {
+        assertThrows(IllegalArgumentException.class, () -> JythonEngine.builder().borrowTimeout(-1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testPoolSize() {
+        assertEquals(2, engine.getPoolSize());
+        assertEquals(2, engine.getAvailableInterpreters());
+    }
+
+    @Test
+    void testEvaluate_pycodeNull() {
+        assertThrows(JythonScriptException.class, () -> engine.evaluate((PyCode) null));
+    }
+
+    @Test
+    void testEvaluate_inputStreamNull() {
+        assertThrows(JythonScriptException.class, () -> engine.evaluate((InputStream) null));
+    }
+
+    @Test
+    void testEvaluate_filePathInvalid() {
+        assertThrows(JythonScriptException.class, () -> engine.evaluate("/Users/test/notfound.py"));
+    }
+
+    @Test
+    void testEvaluate_pycodeValid() throws JythonScriptException {
+        final PyCode compiledScript = JythonScript.compile(getScriptPath("testEvaluate.py"));
+
+        assertEquals(25, engine.evaluate(compiledScript));
+        assertEquals(100, engine.evaluate(compiledScript, 10, 10));
+        assertEquals(0, engine.evaluate(compiledScript, 0, 0));
+        assertEquals(-20, engine.evaluate(compiledScript, -1, 20));
+    }
+
+    @Test
+    void testEvaluate_filePath() throws JythonScriptException {
+        final String filePath = getScriptPath("testEvaluate.py");
+
+        assertEquals(25, engine.evaluate(filePath));
+        assertEquals(100, engine.evaluate(filePath, 10, 10));
+    }
+
+    @Test
+    void testEvaluate_url() throws JythonScriptException {
+        final URL scriptUrl = ClassLoader.getSystemResource(JYTHON_SCRIPT_BASE_PATH + "testEvaluate.py");
+
+        assertEquals(25, engine.evaluate(scriptUrl));
+        assertEquals(100, engine.evaluate(scriptUrl, 10, 10));
+    }
+
+    @Test
+    void testEvaluate_file() throws JythonScriptException {
+        final File file = new File(getScriptPath("testEvaluate.py"));
+
+        assertEquals(25, engine.evaluate(file));
+        assertEquals(100, engine.evaluate(file, 10, 10));
+    }
+
+    @Test
+    void testEvaluate_inputStream() throws Exception {
+        final File file = new File(getScriptPath("testEvaluate.py"));
+
+        assertEquals(25, engine.evaluate(new FileInputStream(file)));
+        assertEquals(100, engine.evaluate(new FileInputStream(file), 10, 10));
+    }
+
+    @Test
+    void testEvaluate_oop() throws JythonScriptException {
+        final PyCode compiledScript = JythonScript.compile(getScriptPath("testOOP.py"));
+
+        assertEquals(51, engine.evaluate(compiledScript, 10, 10));
+        assertEquals(51, engine.evaluate(compiledScript, 10, 10));
+    }
+
+    @Test
+    void testEvaluate_noResult() throws JythonScriptException {
+        final PyCode compiledScript = JythonScript.compile(getScriptPath("testResultNotFound.py"));
+
+        assertThrows(JythonResultNotFoundException.class, () -> engine.evaluate(compiledScript));
+        assertEquals(2, engine.getAvailableInterpreters());
+    }
+
+    @Test
+    void testEvaluate_invalidScript() throws JythonScriptException {
+        final PyCode compiledScript = JythonScript.compileString("raise ValueError('failure')");
+
+        assertThrows(JythonScriptException.class, () -> engine.evaluate(compiledScript));
+        assertEquals(2, engine.getAvailableInterpreters());
+    }
+
+    @Test
+    void testEvaluate_stateIsResetBetweenExecutions() throws JythonScriptException {
+        final PyCode compiledScript = JythonScript.compile(getScriptPath("testEngineState.py"));
+
+        // Run more executions than there are pooled interpreters so that each interpreter is reused
+        for (int i = 0; i < 5; i++) {
+            assertArrayEquals(new Object[] { true, 3 }, (Object[]) engine.evaluate(compiledScript, 1, 2, 3));
+            assertArrayEquals(new Object[] { true, 0 }, (Object[]) engine.evaluate(compiledScript));
+        }
+    }
+
+    @Test
+    void testEvaluate_systemStateIsResetBetweenExecutions() throws JythonScriptException {
+        final PyCode polluting = JythonScript.compileString("import sys, StringIO, colorsys\n" +
+                "sys.path.append('/nowhere')\n" +
+                "sys.stdout = StringIO.StringIO()\n" +
+                "result = 'colorsys' in sys.modules");
+        final PyCode inspecting = JythonScript.compileString("import sys\n" +
+                "result = ['/nowhere' in sys.path, 'colorsys' in sys.modules, sys.stdout is sys.__stdout__]");
+
+        try (JythonEngine single = JythonEngine.builder().poolSize(1).build()) {
+            assertEquals(true, single.evaluate(polluting));
+            assertArrayEquals(new Object[] { false, false, true }, (Object[]) single.evaluate(inspecting));
+        }
+    }
+
+    @Test
+    void testEvaluate_replacedModulesAreResetBetweenExecutions() throws Exception {
+        final Warmup warmup = Warmup.builder().importModules("re").build();
+
+        // Removes one module and imports another, leaving the number of loaded modules unchanged
+        final PyCode polluting = JythonScript.compileString("import sys\n" +
+                "del sys.modules['re']\n" +
+                "import colorsys\n" +
+                "result = ['re' in sys.modules, 'colorsys' in sys.modules]");
+        final PyCode inspecting = JythonScript.compileString("import sys\n" +
+                "result = ['re' in sys.modules, 'colorsys' in sys.modules]");
+
+        try (JythonEngine single = JythonEngine.builder().poolSize(1).warmup(warmup).build()) {
+            assertNull(single.getReadiness().get(30, TimeUnit.SECONDS));
+
+            assertArrayEquals(new Object[] { false, true }, (Object[]) single.evaluate(polluting));
+            assertArrayEquals(new Object[] { true, false }, (Object[]) single.evaluate(inspecting));
+        }
+    }
+
+    @Test
+    void testEvaluate_concurrent() throws Exception {
+        final PyCode compiledScript = JythonScript.compile(getScriptPath("testEvaluate.py"));
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            final List<Future<Object>> futures = new ArrayList<>();
+            for (int i = 0; i < 50; i++) {
+                final int value = i;
+
+                futures.add(executor.submit(() -> engine.evaluate(compiledScript, value, 2)));
+            }
+
+            for (int i = 0; i < futures.size(); i++) {
+                assertEquals(i * 2, futures.get(i).get(30, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(2, engine.getAvailableInterpreters());
+    }
+
+    @Test
+    void testExecute_pycodeNull() {
+        assertThrows(JythonScriptException.class, () -> engine.execute((PyCode) null));
+    }
+
+    @Test
+    void testExecute_inputStreamNull() {
+        assertThrows(JythonScriptException.class, () -> engine.execute((InputStream) null));
+    }
+
+    @Test
+    void testExecute_valid() throws Exception {
+        final String filePath = getScriptPath("testExecute.py");
+
+        engine.execute(filePath);
+        engine.execute(new File(filePath));
+        engine.execute(ClassLoader.getSystemResource(JYTHON_SCRIPT_BASE_PATH + "testExecute.py"));
+        engine.execute(new FileInputStream(filePath));
+        engine.execute(JythonScript.compile(filePath));
+    }
+
+    @Test
+    void testGetReadiness_noWarmup() {
+        assertTrue(engine.getReadiness().isDone());
+        assertFalse(engine.getReadiness().isCompletedExceptionally());
+    }
+
+    @Test
+    void testWarmup() throws Exception {
+        final AtomicInteger invocations = new AtomicInteger();
+        final Warmup warmup = Warmup.builder()
+                .importModules("json")
+                .script(JythonScript.compile(getScriptPath("testWarmup.py")), invocations)
+                .invocations(5)
+                .build();
+
+        try (JythonEngine warmEngine = JythonEngine.builder().poolSize(2).warmup(warmup).build()) {
+            assertNull(warmEngine.getReadiness().get(30, TimeUnit.SECONDS));
+            assertEquals(5, invocations.get());
+            assertEquals(2, warmEngine.getAvailableInterpreters());
+
+            // The module remains imported in every pooled interpreter
+            final PyCode imported = JythonScript.compileString("import sys\nresult = 'json' in sys.modules");
+            for (int i = 0; i < warmEngine.getPoolSize(); i++) {
+                assertEquals(true, warmEngine.evaluate(imported));
+            }
+        }
+    }
+
+    @Test
+    void testWarmup_failure() throws Exception {
+        final CompletableFuture<Void> ready = engine.warmup(Warmup.builder().importModules("no_such_module").build());
+
+        final ExecutionException exception = assertThrows(ExecutionException.class, () -> ready.get(30, TimeUnit.SECONDS));
+        assertTrue(exception.getCause() instanceof JythonScriptException);
+
+        // Every interpreter was returned to the pool
+        assertEquals(2, engine.getAvailableInterpreters());
+    }
+
+    @Test
+    void testThreadConfined() throws Exception {
+        final PyCode compiledScript = JythonScript.compile(getScriptPath("testEvaluate.py"));
+
+        try (JythonEngine confined = JythonEngine.builder().poolSize(2).threadConfined(true).build()) {
+            assertEquals(42, confined.evaluate(compiledScript, 6, 7));
+            assertEquals(1, confined.getAvailableInterpreters());
+
+            // Each thread evaluates on its own interpreter
+            final List<CompletableFuture<Object>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(confined.evaluateAsync(compiledScript, i, 2));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                assertEquals(i * 2, futures.get(i).get(30, TimeUnit.SECONDS));
+            }
+
+            assertEquals(2, confined.evaluateBatch(compiledScript, Arrays.asList(new Object[] { 1, 1 },
+                    new Object[] { 1, 1 })).size());
+
+            confined.releaseThreadInterpreter();
+            assertEquals(42, confined.evaluate(compiledScript, 6, 7));
+        }
+    }
+
+    @Test
+    void testThreadConfined_virtualThreads() {
+        assertThrows(IllegalArgumentException.class,
+                () -> JythonEngine.builder().threadConfined(true).virtualThreads(true).build());
+    }
+
+    @Test
+    void testThreadConfined_warmup() throws Exception {
+        final Warmup warmup = Warmup.builder().importModules("json").build();
+
+        try (JythonEngine confined = JythonEngine.builder().threadConfined(true).warmup(warmup).build()) {
+            assertNull(confined.getReadiness().get(30, TimeUnit.SECONDS));
+
+            final PyCode imported = JythonScript.compileString("import sys\nresult = 'json' in sys.modules");
+            assertEquals(true, confined.evaluate(imported));
+            assertEquals(true, CompletableFuture.supplyAsync(() -> {
+                try {
+                    return confined.evaluate(imported);
+                } catch (JythonScriptException e) {
+                    throw new IllegalStateException(e);
+                }
+            }).get(30, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void testWarmup_null() {
+        assertThrows(IllegalArgumentException.class, () -> engine.warmup(null));
+        assertThrows(IllegalArgumentException.class, () -> JythonEngine.builder().warmup(null));
+    }
+
+    @Test
+    void testEvaluate_bindings() throws JythonScriptException {
+        final PyCode compiledScript = JythonScript.compile(getScriptPath("testBindings.py"));
+        final Bindings bindings = Bindings.builder().bind("width", 6).bind("height", 7).build();
+
+        // Run more executions than there are pooled interpreters, so that bindings are applied to reused interpreters
+        for (int i = 0; i < 5; i++) {
+            assertArrayEquals(new Object[] { 42, 0 }, (Object[]) engine.evaluate(compiledScript, bindings));
+        }
+
+        final Map<String, Object> values = new HashMap<>();
+        values.put("width", 2.5);
+        values.put("height", 2);
+        assertArrayEquals(new Object[] { 5.0f, 0 }, (Object[]) engine.evaluate(compiledScript, Bindings.of(values)));
+    }
+
+    @Test
+    void testEvaluate_bindingsDoNotLeak() throws JythonScriptException {
+        final PyCode compiledScript = JythonScript.compile(getScriptPath("testBindings.py"));
+
+        engine.evaluate(compiledScript, Bindings.builder().bind("width", 1).bind("height", 1).build());
+
+        // Names bound for one execution are not visible to the next
+        assertThrows(JythonScriptException.class, () -> engine.evaluate(compiledScript, Bindings.builder().bind("width", 1).build()));
+        assertThrows(JythonScriptException.class, () -> engine.evaluate(compiledScript, Bindings.empty()));
+        assertEquals(2, engine.getAvailableInterpreters());
+    }
+
+    @Test
+    void testEvaluate_bindingsNull() throws JythonScriptException {
+        final PyCode compiledScript = JythonScript.compile(getScriptPath("testBindings.py"));
+
+        assertThrows(JythonScriptException.class, () -> engine.evaluate(compiledScript, (Bindings) null));
+        assertThrows(JythonScriptException.class, () -> engine.evaluate(null, Bindings.empty()));
+        assertThrows(JythonScriptException.class, () -> engine.execute(compiledScript, (Bindings) null));
+        assertEquals(2, engine.getAvailableInterpreters());
+    }
+
+    @Test
+    void testExecute_bindings() throws JythonScriptException {
+        engine.execute(JythonScript.compileString("assert greeting == 'hello'"), Bindings.builder().bind("greeting", "hello").build());
+
+        assertThrows(JythonScriptException.class, () -> engine.execute(JythonScript.compileString("assert greeting == 'hello'"),
+                Bindings.builder().bind("greeting", "goodbye").build()));
+    }
+
+    @Test
+    void testEvaluateToIterator() throws JythonScriptException {
+        final PyCode compiledScript = JythonScript.compile(getScriptPath("testReturnGenerator.py"));
+
+        try (ResultIterator iterator = engine.evaluateToIterator(compiledScript, 5)) {
+            // The interpreter remains borrowed while the generator is being consumed
+            assertEquals(1, engine.getAvailableInterpreters());
+
+            for (int i = 0; i < 5; i++) {
+                assertEquals(i, iterator.next());
+            }
+
+            assertFalse(iterator.hasNext());
+            assertEquals(2, engine.getAvailableInterpreters());
+        }
+
+        assertEquals(2, engine.getAvailableInterpreters());
+    }
+
+    @Test
+    void testEvaluateToIterator_closedEarly() throws JythonScriptException {
+        final PyCode compiledScript = JythonScript.compile(getScriptPath("testReturnGenerator.py"));
+
+        try (ResultIterator iterator = engine.evaluateToIterator(compiledScript, 1000000)) {
+            assertEquals(0, iterator.next());
+        }
+
+        assertEquals(2, engine.getAvailableInterpreters());
+    }
+
+    @Test
+    void testEvaluateToIterator_errors() throws JythonScriptException {
+        final PyCode compiledScript = JythonScript.compile(getScriptPath("testReturnGenerator.py"));
+
+        assertThrows(JythonScriptException.class, () -> engine.evaluateToIterator(null));
+        assertThrows(JythonScriptException.class, () -> engine.evaluateToIterator(JythonScript.compileString("result = 1")));
+        assertThrows(JythonResultNotFoundException.class, () -> engine.evaluateToIterator(JythonScript.compileString("x = 1")));
+        assertEquals(2, engine.getAvailableInterpreters());
+
+        final ResultIterator iterator = engine.evaluateToIterator(compiledScript, 10, 3);
+        assertEquals(0, iterator.next());
+        assertEquals(1, iterator.next());
+        assertEquals(2, iterator.next());
+        assertThrows(UncheckedJythonScriptException.class, iterator::next);
+        assertEquals(2, engine.getAvailableInterpreters());
+    }
+
+    @Test
+    void testEvaluateToStream() throws JythonScriptException {
+        final PyCode compiledScript = JythonScript.compile(getScriptPath("testReturnGenerator.py"));
+
+        // Only a single item is materialized at a time, regardless of how many the script produces
+        try (Stream<Object> stream = engine.evaluateToStream(compiledScript, 200000)) {
+            assertEquals(199999L * 200000L / 2, stream.mapToLong(item -> (Integer) item).sum());
+        }
+
+        try (Stream<Object> stream = engine.evaluateToStream(compiledScript, 1000)) {
+            assertEquals(Arrays.asList(0, 1, 2), stream.limit(3).collect(Collectors.toList()));
+        }
+
+        assertEquals(2, engine.getAvailableInterpreters());
+    }
+
+    @Test
+    void testEvaluateToPrimitiveArray() throws JythonScriptException {
+        final PyCode compiledScript = JythonScript.compile(getScriptPath("testReturnNumbers.py"));
+
+        assertArrayEquals(new int[] { 1, 2, 3 }, engine.evaluateToIntArray(compiledScript, "list"));
+        assertArrayEquals(new int[] { 1, 2, 3 }, engine.evaluateToIntArray(compiledScript, "array", "i"));
+        assertArrayEquals(new long[] { 1, 2, 3 }, engine.evaluateToLongArray(compiledScript, "tuple"));
+        assertArrayEquals(new long[] { 1, 2, 3 }, engine.evaluateToLongArray(compiledScript, "array", "l"));
+        assertArrayEquals(new double[] { 1.5, 2, 3 }, engine.evaluateToDoubleArray(compiledScript, "floats"));
+        assertArrayEquals(new double[] { 1, 2, 3 }, engine.evaluateToDoubleArray(compiledScript, "array", "d"));
+
+        assertThrows(JythonScriptException.class, () -> engine.evaluateToIntArray(compiledScript, "floats"));
+        assertThrows(JythonResultNotFoundException.class, () -> engine.evaluateToIntArray(compiledScript, "none"));
+        assertThrows(JythonScriptException.class, () -> engine.evaluateToIntArray(null));
+        assertEquals(2, engine.getAvailableInterpreters());
+    }
+
+    @Test
+    void testBuilder_invalidResultConversion() {
+        assertThrows(IllegalArgumentException.class, () -> JythonEngine.builder().resultConversion(null));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testEvaluate_lazyResultConversion() throws JythonScriptException {
+        try (JythonEngine lazyEngine = JythonEngine.builder().poolSize(1).resultConversion(ResultConversion.LAZY).build()) {
+            assertEquals(ResultConversion.LAZY, lazyEngine.getResultConversion());
+
+            final List<Object> list = (List<Object>) lazyEngine.evaluate(JythonScript.compile(getScriptPath("testReturnList.py")));
+            assertEquals(Arrays.asList("a", "b", "c", 1, 2, 3, "do", "re", "mi", 1.0f, 2.0f, 3.0f), list);
+
+            final Map<Object, Object> dict = (Map<Object, Object>) lazyEngine.evaluate(JythonScript.compile(getScriptPath("testReturnDict.py")));
+            assertEquals(3, dict.size());
+            assertEquals(1, dict.get("a"));
+            assertEquals(3, dict.get("c"));
+
+            final Set<Object> set = (Set<Object>) lazyEngine.evaluate(JythonScript.compile(getScriptPath("testReturnSet.py")));
+            assertEquals(9, set.size());
+            assertTrue(set.contains("do"));
+
+            // Scalars are converted exactly as they are eagerly
+            assertEquals(100, lazyEngine.evaluate(JythonScript.compile(getScriptPath("testEvaluate.py")), 10, 10));
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testEvaluate_lazyMemoizedResultConversion() throws JythonScriptException {
+        final PyCode compiledScript = JythonScript.compileString("result = [[1, 2], {'a': [3]}]");
+
+        try (JythonEngine lazyEngine = JythonEngine.builder().poolSize(1).resultConversion(ResultConversion.LAZY_MEMOIZED).build()) {
+            final List<Object> list = (List<Object>) lazyEngine.evaluate(compiledScript);
+
+            assertSame(list.get(0), list.get(0));
+            assertEquals(Arrays.asList(1, 2), list.get(0));
+            assertEquals(Collections.singletonList(3), ((Map<Object, Object>) list.get(1)).get("a"));
+        }
+    }
+
+    @Test
+    void testEvaluateBatch() throws JythonScriptException {
+        final PyCode compiledScript = JythonScript.compile(getScriptPath("testEvaluate.py"));
+
+        final List<Object[]> argumentSets = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            argumentSets.add(new Object[] { i, 2 });
+        }
+
+        final List<Object> results = engine.evaluateBatch(compiledScript, argumentSets);
+
+        assertEquals(500, results.size());
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(i * 2, results.get(i));
+        }
+        assertEquals(2, engine.getAvailableInterpreters());
+    }
+
+    @Test
+    void testEvaluateBatch_stateIsResetBetweenEvaluations() throws JythonScriptException {
+        final PyCode compiledScript = JythonScript.compile(getScriptPath("testEngineState.py"));
+        final List<Object[]> argumentSets = Arrays.asList(new Object[] { 1, 2, 3 }, new Object[0], null, new Object[] { 1 });
+
+        final List<Object> results = engine.evaluateBatch(compiledScript, argumentSets, 1);
+
+        assertArrayEquals(new Object[] { true, 3 }, (Object[]) results.get(0));
+        assertArrayEquals(new Object[] { true, 0 }, (Object[]) results.get(1));
+        assertArrayEquals(new Object[] { true, 0 }, (Object[]) results.get(2));
+        assertArrayEquals(new Object[] { true, 1 }, (Object[]) results.get(3));
+    }
+
+    @Test
+    void testEvaluateBatch_empty() throws JythonScriptException {
+        final PyCode compiledScript = JythonScript.compile(getScriptPath("testEvaluate.py"));
+
+        assertTrue(engine.evaluateBatch(compiledScript, Collections.emptyList()).isEmpty());
+        assertFalse(engine.evaluateBatch(compiledScript, Collections.<Object[]>emptyIterator()).hasNext());
+    }
+
+    @Test
+    void testEvaluateBatch_invalidArguments() throws JythonScriptException {
+        final PyCode compiledScript = JythonScript.compile(getScriptPath("testEvaluate.py"));
+
+        assertThrows(JythonScriptException.class, () -> engine.evaluateBatch(null, Collections.emptyList()));
+        assertThrows(JythonScriptException.class, () -> engine.evaluateBatch(compiledScript, (List<Object[]>) null));
+        assertThrows(JythonScriptException.class, () -> engine.evaluateBatch(compiledScript, (Iterator<Object[]>) null));
+        assertThrows(IllegalArgumentException.class, () -> engine.evaluateBatch(compiledScript, Collections.emptyList(), 0));
+    }
+
+    @Test
+    void testEvaluateBatch_failure() throws JythonScriptException {
+        final PyCode compiledScript = JythonScript.compileString("import sys\nif sys.argv[1] == 7:\n    raise ValueError('failure')\nresult = sys.argv[1]");
+
+        final List<Object[]> argumentSets = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            argumentSets.add(new Object[] { i });
+        }
+
+        assertThrows(JythonScriptException.class, () -> engine.evaluateBatch(compiledScript, argumentSets));
+        assertEquals(2, engine.getAvailableInterpreters());
+    }
+
+    @Test
+    void testEvaluateBatch_converterFailure() throws JythonScriptException {
+        final PyCode compiledScript = JythonScript.compileString("import sys\nresult = complex(sys.argv[1], 0)");
+        final List<Object[]> argumentSets = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            argumentSets.add(new Object[] { i });
+        }
+
+        ResultConverters.register(PyComplex.class, complex -> {
+            throw new IllegalStateException("Cannot convert complex numbers.");
+        });
+
+        try {
+            // Failures other than JythonScriptExceptions, on the calling thread or any other, are thrown once every
+            // worker has finished
+            final JythonScriptException exception = assertThrows(JythonScriptException.class,
+                    () -> engine.evaluateBatch(compiledScript, argumentSets, 1));
+            assertTrue(exception.getCause() instanceof IllegalStateException);
+            assertEquals(2, engine.getAvailableInterpreters());
+
+            assertThrows(JythonScriptException.class, () -> engine.evaluateBatch(compiledScript, argumentSets));
+            assertEquals(2, engine.getAvailableInterpreters());
+
+            assertThrows(JythonScriptException.class,
+                    () -> engine.parallelEvaluate(compiledScript, Arrays.asList(1, 2, 3, 4, 5)));
+            assertEquals(2, engine.getAvailableInterpreters());
+        } finally {
+            ResultConverters.unregister(PyComplex.class);
+        }
+    }
+
+    @Test
+    void testParallelEvaluate() throws JythonScriptException {
+        final PyCode compiledScript = JythonScript.compileString("import sys\nresult = sys.argv[1] * 2");
+        final Set<Integer> inputs = IntStream.range(0, 500).boxed().collect(Collectors.toCollection(LinkedHashSet::new));
+
+        final ParallelEvaluation evaluation = engine.parallelEvaluate(compiledScript, inputs);
+
+        final List<Object> results = evaluation.getResults();
+        assertEquals(500, results.size());
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(i * 2, results.get(i));
+        }
+
+        // Several chunks per worker, covering every input in order
+        final List<ParallelEvaluation.Chunk> chunks = evaluation.getChunks();
+        assertEquals(8, chunks.size());
+
+        int next = 0;
+        for (final ParallelEvaluation.Chunk chunk : chunks) {
+            assertEquals(next, chunk.getStartIndex());
+            assertTrue(chunk.getEvaluationNanos() > 0);
+            assertTrue(chunk.getConversionNanos() >= 0);
+            assertNotNull(chunk.getThread());
+
+            // Chunks run on the calling thread or the engine's own batch threads, never the common pool
+            assertTrue(chunk.getThread().equals(Thread.currentThread().getName()) ||
+                    chunk.getThread().startsWith("jythonscript-batch-"), chunk.getThread());
+
+            next += chunk.getSize();
+        }
+        assertEquals(500, next);
+        assertTrue(evaluation.getElapsedNanos() > 0);
+        assertEquals(2, engine.getAvailableInterpreters());
+    }
+
+    @Test
+    void testParallelEvaluate_parallelism() throws JythonScriptException {
+        final PyCode compiledScript = JythonScript.compileString("import sys\nresult = len(sys.argv[1])");
+
+        final ParallelEvaluation evaluation = engine.parallelEvaluate(compiledScript, Arrays.asList("a", "bb", "ccc"), 1);
+
+        assertEquals(Arrays.asList(1, 2, 3), evaluation.getResults());
+        assertEquals(3, evaluation.getChunks().size());
+        assertEquals(1, evaluation.getChunks().stream().map(ParallelEvaluation.Chunk::getThread).distinct().count());
+
+        assertTrue(engine.parallelEvaluate(compiledScript, Collections.emptyList()).getResults().isEmpty());
+    }
+
+    @Test
+    void testParallelEvaluate_invalidArguments() throws JythonScriptException {
+        final PyCode compiledScript = JythonScript.compileString("result = 1");
+
+        assertThrows(JythonScriptException.class, () -> engine.parallelEvaluate(null, Collections.emptyList()));
+        assertThrows(JythonScriptException.class, () -> engine.parallelEvaluate(compiledScript, null));
+        assertThrows(IllegalArgumentException.class, () -> engine.parallelEvaluate(compiledScript, Collections.emptyList(), 0));
+    }
+
+    @Test
+    void testParallelEvaluate_failure() throws JythonScriptException {
+        final PyCode compiledScript = JythonScript.compileString("import sys\nif sys.argv[1] == 7:\n    raise ValueError('failure')\nresult = sys.argv[1]");
+        final List<Integer> inputs = IntStream.range(0, 100).boxed().collect(Collectors.toList());
+
+        assertThrows(JythonScriptException.class, () -> engine.parallelEvaluate(compiledScript, inputs));
+        assertEquals(2, engine.getAvailableInterpreters());
+    }
+
+    @Test
+    void testEvaluateBatch_iterator() throws JythonScriptException {
+        final PyCode compiledScript = JythonScript.compile(getScriptPath("testEvaluate.py"));
+
+        // Larger than a single chunk, so that the input is consumed lazily in several chunks
+        final Iterator<Object[]> argumentSets = IntStream.range(0, 2000).mapToObj(i -> new Object[] { i, 3 }).iterator();
+        final Iterator<Object> results = engine.evaluateBatch(compiledScript, argumentSets);
+
+        for (int i = 0; i < 2000; i++) {
+            assertTrue(results.hasNext());
+            assertEquals(i * 3, results.next());
+        }
+
+        assertFalse(results.hasNext());
+        assertThrows(NoSuchElementException.class, results::next);
+        assertEquals(2, engine.getAvailableInterpreters());
+    }
+
+    @Test
+    void testEvaluateBatch_iteratorFailure() throws JythonScriptException {
+        final PyCode compiledScript = JythonScript.compileString("raise ValueError('failure')");
+        final Iterator<Object> results = engine.evaluateBatch(compiledScript, Arrays.asList(new Object[0], new Object[0]).iterator());
+
+        final UncheckedJythonScriptException exception = assertThrows(UncheckedJythonScriptException.class, results::hasNext);
+        assertNotNull(exception.getCause());
+        assertFalse(results.hasNext());
+    }
+
+    @Test
+    void testBuilder_invalidAsyncOptions() {
+        assertThrows(IllegalArgumentException.class, () -> JythonEngine.builder().asyncQueueCapacity(0));
+        assertThrows(IllegalArgumentException.class, () -> JythonEngine.builder().asyncExecutor(null));
+    }
+
+    @Test
+    void testEvaluateAsync() throws Exception {
+        final PyCode compiledScript = JythonScript.compile(getScriptPath("testEvaluate.py"));
+
+        final List<CompletableFuture<Object>> futures = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            futures.add(engine.evaluateAsync(compiledScript, i, 3));
+        }
+
+        for (int i = 0; i < futures.size(); i++) {
+            assertEquals(i * 3, futures.get(i).get(30, TimeUnit.SECONDS));
+        }
+
+        final AsyncStats stats = engine.getAsyncStats();
+        assertEquals(50, stats.getSubmittedCount());
+        assertEquals(50, stats.getCompletedCount());
+        assertEquals(0, stats.getQueueDepth());
+        assertEquals(2, engine.getAvailableInterpreters());
+    }
+
+    @Test
+    void testEvaluateAsync_paths() throws Exception {
+        final String filePath = getScriptPath("testEvaluate.py");
+
+        assertEquals(4, engine.evaluateAsync(filePath, 2, 2).get(30, TimeUnit.SECONDS));
+        assertEquals(6, engine.evaluateAsync(new File(filePath), 2, 3).get(30, TimeUnit.SECONDS));
+        assertEquals(8, engine.evaluateAsync(ClassLoader.getSystemResource(JYTHON_SCRIPT_BASE_PATH + "testEvaluate.py"), 2, 4)
+                .get(30, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testEvaluateAsync_invalidScript() throws JythonScriptException {
+        final PyCode compiledScript = JythonScript.compileString("raise ValueError('failure')");
+
+        final ExecutionException exception = assertThrows(ExecutionException.class,
+                () -> engine.evaluateAsync(compiledScript).get(30, TimeUnit.SECONDS));
+        assertTrue(exception.getCause() instanceof JythonScriptException);
+        assertEquals(1, engine.getAsyncStats().getFailedCount());
+    }
+
+    @Test
+    void testExecuteAsync() throws Exception {
+        final String filePath = getScriptPath("testExecute.py");
+
+        CompletableFuture.allOf(
+                engine.executeAsync(filePath),
+                engine.executeAsync(new File(filePath)),
+                engine.executeAsync(ClassLoader.getSystemResource(JYTHON_SCRIPT_BASE_PATH + "testExecute.py")),
+                engine.executeAsync(JythonScript.compile(filePath))
+        ).get(30, TimeUnit.SECONDS);
+
+        assertEquals(4, engine.getAsyncStats().getCompletedCount());
+    }
+
+    @Test
+    void testEvaluateAsync_externalExecutor() throws Exception {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try (JythonEngine externalEngine = JythonEngine.builder().poolSize(1).asyncExecutor(executor).build()) {
+            final PyCode compiledScript = JythonScript.compile(getScriptPath("testEvaluate.py"));
+
+            assertEquals(21, externalEngine.evaluateAsync(compiledScript, 3, 7).get(30, TimeUnit.SECONDS));
+        }
+
+        // The engine does not own, and so does not shut down, an executor it was given
+        assertFalse(executor.isShutdown());
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testEvaluateAsync_virtualThreads() throws Exception {
+        try (JythonEngine virtualEngine = JythonEngine.builder().poolSize(1).virtualThreads(true).build()) {
+            final PyCode compiledScript = JythonScript.compile(getScriptPath("testEvaluate.py"));
+
+            assertEquals(12, virtualEngine.evaluateAsync(compiledScript, 3, 4).get(30, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void testEvaluate_timeout() throws JythonScriptException {
+        final PyCode infiniteLoop = JythonScript.compile(getScriptPath("testInfiniteLoop.py"));
+        final PyCode compiledScript = JythonScript.compile(getScriptPath("testEvaluate.py"));
+
+        assertThrows(JythonScriptTimeoutException.class, () -> engine.evaluate(infiniteLoop, Duration.ofMillis(200)));
+        assertThrows(JythonScriptTimeoutException.class, () -> engine.execute(infiniteLoop, Duration.ofMillis(200)));
+
+        // The interpreters are returned to the pool, and the calling thread left clean, for later scripts
+        assertEquals(2, engine.getAvailableInterpreters());
+        assertFalse(Thread.currentThread().isInterrupted());
+        assertEquals(12, engine.evaluate(compiledScript, Duration.ofSeconds(30), 3, 4));
+        assertEquals(12, engine.evaluate(compiledScript, 3, 4));
+    }
+
+    @Test
+    void testEvaluate_timeoutWhileBlocked() throws JythonScriptException {
+        final PyCode sleep = JythonScript.compile(getScriptPath("testSleep.py"));
+
+        final long start = System.nanoTime();
+        assertThrows(JythonScriptTimeoutException.class, () -> engine.evaluate(sleep, Duration.ofMillis(200), 60));
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(30));
+
+        assertFalse(Thread.currentThread().isInterrupted());
+        assertEquals("slept", engine.evaluate(sleep, Duration.ofSeconds(30), 0));
+    }
+
+    @Test
+    void testEvaluate_invalidTimeout() throws JythonScriptException {
+        final PyCode compiledScript = JythonScript.compile(getScriptPath("testEvaluate.py"));
+
+        assertThrows(JythonScriptException.class, () -> engine.evaluate(compiledScript, (Duration) null, 3, 4));
+        assertThrows(JythonScriptException.class, () -> engine.evaluate(compiledScript, Duration.ZERO, 3, 4));
+        assertThrows(JythonScriptException.class, () -> engine.execute(compiledScript, Duration.ofSeconds(-1)));
+    }
+
+    @Test
+    void testEvaluateWithReport() throws JythonScriptException {
+        final String filePath = getScriptPath("testEvaluate.py");
+
+        final EvaluationReport report = engine.evaluateWithReport(filePath, 3, 4);
+        assertEquals(12, report.getResult());
+        assertTrue(report.getScript().endsWith("testEvaluate.py"));
+        assertTrue(report.getElapsedNanos() > 0);
+        assertEquals(1, report.getUsage().getEvaluations());
+        assertTrue(report.getUsage().getCpuNanos(JythonMetrics.Phase.EXECUTE) > 0);
+        assertTrue(report.getUsage().getAllocatedBytes() > 0);
+        assertEquals(0, report.getUsage().getCpuNanos(JythonMetrics.Phase.READ));
+
+        assertEquals(12, engine.evaluateWithReport(new File(filePath), 3, 4).getResult());
+        assertEquals(12, engine.evaluateWithReport(JythonScript.compile(filePath), 3, 4).getResult());
+
+        // Nothing is compiled for an already compiled script
+        assertEquals(0, engine.evaluateWithReport(JythonScript.compile(filePath)).getUsage()
+                .getAllocatedBytes(JythonMetrics.Phase.COMPILE));
+        assertThrows(JythonScriptException.class, () -> engine.evaluateWithReport((PyCode) null));
+    }
+
+    @Test
+    void testEvaluate_budget() throws JythonScriptException {
+        final PyCode infiniteLoop = JythonScript.compile(getScriptPath("testInfiniteLoop.py"));
+        final PyCode recursion = JythonScript.compile(getScriptPath("testRecursion.py"));
+        final PyCode list = JythonScript.compile(getScriptPath("testReturnList.py"));
+        final ExecutionBudget budget = ExecutionBudget.builder().maxLines(10_000).maxRecursionDepth(50).build();
+
+        assertThrows(JythonScriptBudgetExceededException.class, () -> engine.evaluate(infiniteLoop, budget));
+        assertThrows(JythonScriptBudgetExceededException.class, () -> engine.execute(infiniteLoop, budget));
+        assertThrows(JythonScriptBudgetExceededException.class, () -> engine.evaluate(recursion, budget, 100));
+        assertThrows(JythonScriptBudgetExceededException.class, () ->
+                engine.evaluate(list, ExecutionBudget.builder().maxResultSize(1).build()));
+
+        // The interpreters are returned to the pool for later scripts, within and without a budget
+        assertEquals(2, engine.getAvailableInterpreters());
+        assertEquals(20, engine.evaluate(recursion, budget, 20));
+        assertEquals(100, engine.evaluate(recursion, 100));
+    }
+
+    @Test
+    void testEvaluate_nullBudget() throws JythonScriptException {
+        final PyCode compiledScript = JythonScript.compile(getScriptPath("testEvaluate.py"));
+
+        assertThrows(JythonScriptException.class, () -> engine.evaluate(compiledScript, (ExecutionBudget) null, 3, 4));
+        assertThrows(JythonScriptException.class, () -> engine.execute(compiledScript, (ExecutionBudget) null));
+        assertThrows(JythonScriptException.class, () -> engine.evaluate((PyCode) null, ExecutionBudget.unlimited()));
+    }
+
+    @Test
+    void testEvaluateAsync_cancel() throws Exception {
+        try (JythonEngine singleEngine = JythonEngine.builder().poolSize(1).build()) {
+            final PyCode infiniteLoop = JythonScript.compile(getScriptPath("testInfiniteLoop.py"));
+            final PyCode compiledScript = JythonScript.compile(getScriptPath("testEvaluate.py"));
+
+            final CompletableFuture<Object> running = singleEngine.evaluateAsync(infiniteLoop);
+
+            // Wait for the script to start running before cancelling it
+            final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            while (singleEngine.getAsyncStats().getActiveCount() == 0 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+
+            assertTrue(running.cancel(true));
+
+            // The only worker and interpreter are freed for the next script
+            assertEquals(12, singleEngine.evaluateAsync(compiledScript, 3, 4).get(30, TimeUnit.SECONDS));
+            assertEquals(1, singleEngine.getAsyncStats().getFailedCount());
+        }
+    }
+
+    @Test
+    void testClose() throws JythonScriptException {
+        final PyCode compiledScript = JythonScript.compile(getScriptPath("testEvaluate.py"));
+
+        engine.close();
+
+        assertThrows(JythonScriptException.class, () -> engine.evaluate(compiledScript));
+    }
+
+    private static String getScriptPath(final String scriptName) {
+        return ClassLoader.getSystemResource(JYTHON_SCRIPT_BASE_PATH + scriptName).getPath();
+    }
+
+}
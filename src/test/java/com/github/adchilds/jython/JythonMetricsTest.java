@@ -0,0 +1,262 @@
+package com.github.adchilds.jython;
+
+import com.github.adchilds.jython.exception.JythonScriptException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.python.core.PyCode;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link JythonMetrics} class.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+class JythonMetricsTest {
+
+    private final JythonCompiler compiler = new JythonCompiler();
+
+    @BeforeEach
+    void setUp() {
+        JythonMetrics.reset();
+        JythonMetrics.setEnabled(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        JythonMetrics.setEnabled(false);
+        JythonMetrics.reset();
+    }
+
+    @Test
+    void testDisabled() throws JythonScriptException {
+        JythonMetrics.setEnabled(false);
+
+        final PyCode pyCode = compiler.compile("result = 1", "metrics_disabled.py");
+        assertEquals(1, JythonScript.evaluate(pyCode));
+
+        assertFalse(JythonMetrics.isEnabled());
+        assertTrue(JythonMetrics.snapshot().getScripts().isEmpty());
+        assertTrue(JythonMetrics.snapshot().getLatencies().isEmpty());
+    }
+
+    @Test
+    void testPhases_engine() throws JythonScriptException {
+        final PyCode pyCode = compiler.compile("result = [1, 2, 3]", "metrics_engine.py");
+
+        try (JythonEngine engine = JythonEngine.builder().poolSize(1).build()) {
+            for (int i = 0; i < 5; i++) {
+                engine.evaluate(pyCode);
+            }
+
+            assertArrayEquals(new int[] { 1, 2, 3 }, engine.evaluateToIntArray(pyCode));
+        }
+
+        final MetricsSnapshot snapshot = JythonMetrics.snapshot();
+        assertTrue(snapshot.getScripts().contains("metrics_engine.py"));
+
+        assertEquals(1, snapshot.getLatency("metrics_engine.py", JythonMetrics.Phase.COMPILE).getCount());
+        assertEquals(6, snapshot.getLatency("metrics_engine.py", JythonMetrics.Phase.EXECUTE).getCount());
+        assertEquals(6, snapshot.getLatency("metrics_engine.py", JythonMetrics.Phase.CONVERT).getCount());
+        assertNull(snapshot.getLatency("metrics_engine.py", JythonMetrics.Phase.READ));
+    }
+
+    @Test
+    void testPhases_jythonScript() throws JythonScriptException {
+        final PyCode pyCode = compiler.compile("result = 6 * 7", "metrics_script.py");
+
+        assertEquals(42, JythonScript.evaluate(pyCode));
+        JythonScript.execute(pyCode);
+
+        final MetricsSnapshot snapshot = JythonMetrics.snapshot();
+        final LatencySnapshot execute = snapshot.getLatency("metrics_script.py", JythonMetrics.Phase.EXECUTE);
+
+        assertEquals(2, execute.getCount());
+        assertEquals("metrics_script.py", execute.getScript());
+        assertEquals(JythonMetrics.Phase.EXECUTE, execute.getPhase());
+        assertTrue(execute.getTotalNanos() > 0);
+        assertTrue(execute.getMaxNanos() <= execute.getTotalNanos());
+        assertEquals(1, snapshot.getLatency("metrics_script.py", JythonMetrics.Phase.CONVERT).getCount());
+    }
+
+    @Test
+    void testPhases_inputStream() throws JythonScriptException {
+        final byte[] script = "result = 1".getBytes(StandardCharsets.UTF_8);
+
+        assertEquals(1, JythonScript.evaluate(new ByteArrayInputStream(script)));
+
+        final MetricsSnapshot snapshot = JythonMetrics.snapshot();
+        assertEquals(1, snapshot.getLatency(JythonMetrics.STREAM_SCRIPT, JythonMetrics.Phase.EXECUTE).getCount());
+        assertEquals(1, snapshot.getLatency(JythonMetrics.STREAM_SCRIPT, JythonMetrics.Phase.CONVERT).getCount());
+    }
+
+    @Test
+    void testPhases_read(@TempDir final Path directory) throws Exception {
+        final Path script = directory.resolve("metrics_read.py");
+        Files.write(script, "result = 1".getBytes(StandardCharsets.UTF_8));
+
+        final File file = script.toFile();
+        compiler.compile(file);
+
+        final MetricsSnapshot snapshot = JythonMetrics.snapshot();
+        assertEquals(1, snapshot.getLatency(file.getAbsolutePath(), JythonMetrics.Phase.READ).getCount());
+        assertEquals(1, snapshot.getLatency(file.getAbsolutePath(), JythonMetrics.Phase.COMPILE).getCount());
+    }
+
+    @Test
+    void testErrors() throws JythonScriptException {
+        final PyCode divide = compiler.compile("result = 1 / 0", "metrics_errors.py");
+
+        try (JythonEngine engine = JythonEngine.builder().poolSize(1).build()) {
+            assertThrows(JythonScriptException.class, () -> engine.evaluate(divide));
+            assertThrows(JythonScriptException.class, () -> engine.evaluate(divide));
+            assertThrows(JythonScriptException.class, () -> engine.evaluateToIntArray(compiler.compile("result = 'a'",
+                    "metrics_errors.py")));
+        }
+
+        assertThrows(JythonScriptException.class, () -> compiler.compile("def (", "metrics_errors.py"));
+
+        final MetricsSnapshot snapshot = JythonMetrics.snapshot();
+        assertEquals(Long.valueOf(2), snapshot.getErrorCounts("metrics_errors.py").get("ZeroDivisionError"));
+        assertEquals(Long.valueOf(1), snapshot.getErrorCounts("metrics_errors.py").get("JythonScriptException"));
+        assertEquals(Long.valueOf(1), snapshot.getErrorCounts("metrics_errors.py").get("SyntaxError"));
+        assertEquals(Long.valueOf(2), snapshot.getErrorCounts().get("ZeroDivisionError"));
+        assertTrue(snapshot.getErrorCounts("unknown.py").isEmpty());
+
+        // Failed executions are counted as errors, not latencies
+        assertEquals(1, snapshot.getLatency("metrics_errors.py", JythonMetrics.Phase.EXECUTE).getCount());
+    }
+
+    @Test
+    void testReset() throws JythonScriptException {
+        compiler.compile("x = 1", "metrics_reset.py");
+        assertFalse(JythonMetrics.snapshot().getLatencies().isEmpty());
+
+        JythonMetrics.reset();
+
+        assertTrue(JythonMetrics.snapshot().getLatencies().isEmpty());
+    }
+
+    @Test
+    void testPercentiles() {
+        final JythonMetrics.LatencyHistogram histogram = new JythonMetrics.LatencyHistogram();
+        for (int i = 1; i <= 99; i++) {
+            histogram.record(1_000);
+        }
+        histogram.record(1_000_000);
+
+        final LatencySnapshot snapshot = histogram.snapshot("histogram.py", JythonMetrics.Phase.EXECUTE);
+
+        assertEquals(100, snapshot.getCount());
+        assertEquals(99 * 1_000 + 1_000_000, snapshot.getTotalNanos());
+        assertEquals(1_000_000, snapshot.getMaxNanos());
+        assertEquals(10_990, snapshot.getMeanNanos());
+
+        // 1,000ns falls within the [512, 1023] bucket
+        assertEquals(1_023, snapshot.getP50Nanos());
+        assertEquals(1_023, snapshot.getP99Nanos());
+        assertEquals(1_000_000, snapshot.getPercentileNanos(100));
+        assertThrows(IllegalArgumentException.class, () -> snapshot.getPercentileNanos(101));
+    }
+
+    @Test
+    void testPercentiles_empty() {
+        final LatencySnapshot snapshot = new JythonMetrics.LatencyHistogram().snapshot("empty.py",
+                JythonMetrics.Phase.READ);
+
+        assertEquals(0, snapshot.getCount());
+        assertEquals(0, snapshot.getMeanNanos());
+        assertEquals(0, snapshot.getP99Nanos());
+    }
+
+    @Test
+    void testBucket() {
+        assertEquals(0, JythonMetrics.LatencyHistogram.bucket(0));
+        assertEquals(0, JythonMetrics.LatencyHistogram.bucket(1));
+        assertEquals(1, JythonMetrics.LatencyHistogram.bucket(2));
+        assertEquals(1, JythonMetrics.LatencyHistogram.bucket(3));
+        assertEquals(9, JythonMetrics.LatencyHistogram.bucket(1_000));
+        assertEquals(62, JythonMetrics.LatencyHistogram.bucket(Long.MAX_VALUE));
+    }
+
+    @Test
+    void testUsage() throws JythonScriptException {
+        // Usage is charged whether or not metrics are enabled
+        JythonMetrics.setEnabled(false);
+
+        final PyCode pyCode = compiler.compile("result = [i * i for i in range(1000)]", "metrics_usage.py");
+        final PyCode failing = compiler.compile("result = 1 / 0", "metrics_usage_failing.py");
+
+        try (JythonEngine engine = JythonEngine.builder().poolSize(1).build()) {
+            engine.evaluateWithReport(pyCode);
+            assertThrows(JythonScriptException.class, () -> engine.evaluateWithReport(failing));
+        }
+        JythonScript.evaluateWithReport(pyCode);
+
+        final MetricsSnapshot snapshot = JythonMetrics.snapshot();
+        final ResourceUsage usage = snapshot.getUsage("metrics_usage.py");
+
+        assertEquals(2, usage.getEvaluations());
+        assertTrue(usage.getCpuNanos(JythonMetrics.Phase.EXECUTE) > 0);
+        assertTrue(usage.getAllocatedBytes(JythonMetrics.Phase.EXECUTE) > 0);
+        assertEquals(usage.getCpuNanos(), usage.getCpuNanos(JythonMetrics.Phase.EXECUTE) +
+                usage.getCpuNanos(JythonMetrics.Phase.CONVERT));
+        assertEquals(1, snapshot.getUsage("metrics_usage_failing.py").getEvaluations());
+        assertTrue(snapshot.getScripts().contains("metrics_usage.py"));
+        assertTrue(snapshot.getLatencies().isEmpty());
+        assertNull(snapshot.getUsage("metrics_unknown.py"));
+    }
+
+    @Test
+    void testMBean() throws Exception {
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        final ObjectName name = new ObjectName(JythonMetrics.OBJECT_NAME);
+
+        JythonMetrics.registerMBean();
+        try {
+            // Registering twice has no effect
+            JythonMetrics.registerMBean();
+
+            compiler.compile("x = 1", "metrics_mbean.py");
+
+            assertEquals(Boolean.TRUE, server.getAttribute(name, "Enabled"));
+
+            final CompositeData[] latencies = (CompositeData[]) server.getAttribute(name, "Latencies");
+            assertEquals(1, latencies.length);
+            assertEquals("metrics_mbean.py", latencies[0].get("script"));
+            assertEquals("COMPILE", latencies[0].get("phase"));
+            assertEquals(1L, latencies[0].get("count"));
+
+            JythonScript.evaluateWithReport(compiler.compile("result = 1", "metrics_mbean_usage.py"));
+
+            final CompositeData[] usages = (CompositeData[]) server.getAttribute(name, "Usages");
+            assertEquals(1, usages.length);
+            assertEquals("metrics_mbean_usage.py", usages[0].get("script"));
+            assertEquals(1L, usages[0].get("evaluations"));
+
+            server.invoke(name, "reset", new Object[0], new String[0]);
+            assertEquals(0, ((CompositeData[]) server.getAttribute(name, "Latencies")).length);
+        } finally {
+            JythonMetrics.unregisterMBean();
+        }
+
+        assertFalse(server.isRegistered(name));
+
+        // Unregistering twice has no effect
+        JythonMetrics.unregisterMBean();
+    }
+
+}
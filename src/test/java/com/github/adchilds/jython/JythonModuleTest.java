@@ -0,0 +1,116 @@
+package com.github.adchilds.jython;
+
+import com.github.adchilds.jython.exception.JythonScriptException;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.adchilds.jython.JythonScriptTest.JYTHON_SCRIPT_BASE_PATH;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link JythonModule} class.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+class JythonModuleTest {
+
+    @Test
+    void testLoad() throws JythonScriptException {
+        final JythonModule module = JythonModule.load(getScriptPath("testModule.py"));
+
+        assertEquals("testModule", module.getName());
+        assertEquals(0, module.get("calls"));
+        assertTrue(module.hasCallable("multiply"));
+        assertTrue(module.hasCallable("Counter"));
+        assertFalse(module.hasCallable("calls"));
+        assertFalse(module.hasCallable("missing"));
+        assertFalse(module.hasCallable(null));
+        assertNull(module.get("missing"));
+
+        assertEquals("testModule", JythonModule.load(new File(getScriptPath("testModule.py"))).getName());
+        assertEquals("__jythonscript__", JythonModule.load(JythonScript.compileString("x = 1")).getName());
+    }
+
+    @Test
+    void testLoad_invalid() {
+        assertThrows(JythonScriptException.class, () -> JythonModule.load((String) null));
+        assertThrows(JythonScriptException.class, () -> JythonModule.load(JythonScript.compileString("x = 1 / 0")));
+    }
+
+    @Test
+    void testInvoke() throws JythonScriptException {
+        final JythonModule module = JythonModule.load(getScriptPath("testModule.py"));
+
+        assertEquals(42, module.invoke("multiply", 6, 7));
+        assertEquals("abab", module.invoke("multiply", "ab", 2));
+
+        // The module's body ran once; its state persists across invocations
+        assertEquals(2, module.get("calls"));
+    }
+
+    @Test
+    void testInvoke_invalid() throws JythonScriptException {
+        final JythonModule module = JythonModule.load(getScriptPath("testModule.py"));
+
+        assertThrows(JythonScriptException.class, () -> module.invoke("missing"));
+        assertThrows(JythonScriptException.class, () -> module.invoke("calls"));
+        assertThrows(JythonScriptException.class, () -> module.invoke(""));
+        assertThrows(JythonScriptException.class, () -> module.invoke("multiply", 1));
+    }
+
+    @Test
+    void testNewInstance() throws JythonScriptException {
+        final JythonModule module = JythonModule.load(getScriptPath("testModule.py"));
+        final JythonObject counter = module.newInstance("Counter", 10);
+
+        assertEquals(11, counter.invoke("increment"));
+        assertEquals(16, counter.invoke("increment", 5));
+        assertEquals(16, counter.get("count"));
+        assertNull(counter.get("missing"));
+        assertEquals("JythonObject[type=Counter]", counter.toString());
+
+        assertThrows(JythonScriptException.class, () -> counter.invoke("missing"));
+        assertThrows(JythonScriptException.class, () -> counter.invoke("count"));
+        assertThrows(JythonScriptException.class, () -> module.newInstance("Counter"));
+    }
+
+    @Test
+    void testNewInstance_importedClass() throws JythonScriptException {
+        final JythonModule module = JythonModule.load(getScriptPath("testOOP.py"));
+
+        assertEquals(-30, module.newInstance("SomeClass").invoke("compute", 3, 4));
+    }
+
+    @Test
+    void testInvoke_concurrent() throws Exception {
+        final JythonModule module = JythonModule.load(getScriptPath("testModule.py"));
+        final List<CompletableFuture<Object>> futures = new ArrayList<>();
+
+        for (int i = 0; i < 8; i++) {
+            final int value = i;
+
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return module.invoke("multiply", value, value);
+                } catch (JythonScriptException e) {
+                    throw new RuntimeException(e);
+                }
+            }));
+        }
+
+        for (int i = 0; i < futures.size(); i++) {
+            assertEquals(i * i, futures.get(i).get(30, TimeUnit.SECONDS));
+        }
+    }
+
+    private static String getScriptPath(final String script) {
+        return ClassLoader.getSystemResource(JYTHON_SCRIPT_BASE_PATH + script).getPath();
+    }
+
+}
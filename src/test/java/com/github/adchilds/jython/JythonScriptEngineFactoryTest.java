@@ -0,0 +1,61 @@
+package com.github.adchilds.jython;
+
+import org.junit.jupiter.api.Test;
+
+import javax.script.ScriptEngine;
+import javax.script.ScriptEngineFactory;
+import javax.script.ScriptEngineManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link JythonScriptEngineFactory} class.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+class JythonScriptEngineFactoryTest {
+
+    @Test
+    void testRegistered() {
+        final ScriptEngineManager manager = new ScriptEngineManager();
+
+        final ScriptEngine engine = manager.getEngineByName(JythonScriptEngineFactory.ENGINE_SHORT_NAME);
+        assertTrue(engine instanceof JythonScriptEngine);
+        assertTrue(engine.getFactory() instanceof JythonScriptEngineFactory);
+
+        // Engines from the same factory share its pooled interpreters
+        final ScriptEngineFactory factory = engine.getFactory();
+        assertNotSame(engine, factory.getScriptEngine());
+    }
+
+    @Test
+    void testGetParameter() {
+        final JythonScriptEngineFactory factory = new JythonScriptEngineFactory();
+
+        assertEquals("MULTITHREADED", factory.getParameter("THREADING"));
+        assertEquals("JythonScript", factory.getParameter(ScriptEngine.ENGINE));
+        assertEquals("jythonscript", factory.getParameter(ScriptEngine.NAME));
+        assertEquals("python", factory.getParameter(ScriptEngine.LANGUAGE));
+        assertTrue(((String) factory.getParameter(ScriptEngine.LANGUAGE_VERSION)).startsWith("2.7"));
+        assertNull(factory.getParameter("missing"));
+
+        assertTrue(factory.getExtensions().contains("py"));
+        assertTrue(factory.getMimeTypes().contains("text/x-python"));
+    }
+
+    @Test
+    void testSyntax() {
+        final JythonScriptEngineFactory factory = new JythonScriptEngineFactory();
+
+        assertEquals("obj.compute(x, y)", factory.getMethodCallSyntax("obj", "compute", "x", "y"));
+        assertEquals("print(\"say \\\"hi\\\"\\n\")", factory.getOutputStatement("say \"hi\"\n"));
+        assertEquals("a = 1\nb = 2", factory.getProgram("a = 1", "b = 2"));
+    }
+
+    @Test
+    void testConstructor_invalid() {
+        assertThrows(IllegalArgumentException.class, () -> new JythonScriptEngineFactory(null));
+    }
+
+}
@@ -0,0 +1,233 @@
+package com.github.adchilds.jython;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.script.Bindings;
+import javax.script.Compilable;
+import javax.script.CompiledScript;
+import javax.script.Invocable;
+import javax.script.ScriptContext;
+import javax.script.ScriptEngine;
+import javax.script.ScriptException;
+import javax.script.SimpleBindings;
+import javax.script.SimpleScriptContext;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.adchilds.jython.JythonScriptTest.JYTHON_SCRIPT_BASE_PATH;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link JythonScriptEngine} class.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+class JythonScriptEngineTest {
+
+    private JythonEngine jythonEngine;
+    private ScriptEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        jythonEngine = JythonEngine.builder()
+                .poolSize(2)
+                .borrowTimeout(5, TimeUnit.SECONDS)
+                .build();
+        engine = new JythonScriptEngineFactory(jythonEngine).getScriptEngine();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jythonEngine.close();
+    }
+
+    @Test
+    void testEval() throws ScriptException {
+        assertEquals(42, engine.eval("result = 6 * 7"));
+        assertNull(engine.eval("x = 1"));
+
+        final Bindings bindings = engine.createBindings();
+        bindings.put("width", 6);
+        bindings.put("height", 7);
+        assertEquals(42, engine.eval("result = width * height", bindings));
+
+        // Global variables are visible, unless hidden by the engine scope's
+        final ScriptContext context = new SimpleScriptContext();
+        context.setBindings(new SimpleBindings(), ScriptContext.GLOBAL_SCOPE);
+        context.setAttribute("width", 2, ScriptContext.GLOBAL_SCOPE);
+        context.setAttribute("height", 3, ScriptContext.GLOBAL_SCOPE);
+        context.setAttribute("height", 4, ScriptContext.ENGINE_SCOPE);
+        assertEquals(8, engine.eval("result = width * height", context));
+    }
+
+    @Test
+    void testEval_reader() throws ScriptException, IOException {
+        try (Reader reader = new InputStreamReader(ClassLoader.getSystemResourceAsStream(JYTHON_SCRIPT_BASE_PATH +
+                "testEvaluate.py"), StandardCharsets.UTF_8)) {
+            assertEquals(25, engine.eval(reader));
+        }
+    }
+
+    @Test
+    void testEval_storesVariables() throws ScriptException {
+        engine.put("unchanged", 1);
+        engine.eval("total = 5\nresult = total\ndef double(x):\n    return x * 2");
+
+        assertEquals(5, engine.get("total"));
+        assertEquals(1, engine.get("unchanged"));
+        assertNotNull(engine.get("double"));
+
+        // 'result' is returned, not stored
+        assertNull(engine.get("result"));
+        assertNull(engine.eval("y = 2"));
+
+        // Later scripts see earlier scripts' variables
+        assertEquals(10, engine.eval("result = double(total)"));
+    }
+
+    @Test
+    void testEval_argv() throws ScriptException {
+        engine.put(ScriptEngine.ARGV, new Object[] { 6, 7 });
+
+        assertEquals(42, engine.eval("import sys\nresult = sys.argv[1] * sys.argv[2]"));
+    }
+
+    @Test
+    void testEval_writer() throws ScriptException {
+        final StringWriter out = new StringWriter();
+        final StringWriter err = new StringWriter();
+        engine.getContext().setWriter(out);
+        engine.getContext().setErrorWriter(err);
+
+        engine.eval("import sys\nprint 'Hello from Jython'\nsys.stderr.write('oops')");
+
+        assertEquals("Hello from Jython\n", out.toString().replace("\r\n", "\n"));
+        assertEquals("oops", err.toString());
+    }
+
+    @Test
+    void testEval_failure() {
+        final ScriptException e = assertThrows(ScriptException.class, () -> engine.eval("result = 1 / 0"));
+        assertTrue(e.getMessage().contains("ZeroDivisionError"));
+
+        assertThrows(ScriptException.class, () -> engine.eval("def broken("));
+        assertThrows(ScriptException.class, () -> engine.eval((Reader) null));
+    }
+
+    @Test
+    void testCompile() throws ScriptException {
+        final Compilable compilable = (Compilable) engine;
+
+        final CompiledScript compiled = compilable.compile("result = a * 2");
+        assertSame(engine, compiled.getEngine());
+
+        engine.put("a", 2);
+        assertEquals(4, compiled.eval());
+
+        final ScriptContext context = engine.getContext();
+        context.setAttribute("a", 5, ScriptContext.ENGINE_SCOPE);
+        assertEquals(10, compiled.eval(context));
+
+        // Compiled once via the script cache
+        assertSame(((JythonCompiledScript) compiled).getPyCode(),
+                ((JythonCompiledScript) compilable.compile(new StringReader("result = a * 2"))).getPyCode());
+    }
+
+    @Test
+    void testInvokeFunction() throws ScriptException, NoSuchMethodException {
+        engine.eval("calls = []\ndef multiply(a, b):\n    calls.append(a)\n    return a * b");
+
+        final Invocable invocable = (Invocable) engine;
+        assertEquals(42, invocable.invokeFunction("multiply", 6, 7));
+        assertEquals("abab", invocable.invokeFunction("multiply", "ab", 2));
+
+        assertThrows(NoSuchMethodException.class, () -> invocable.invokeFunction("missing"));
+        assertThrows(NoSuchMethodException.class, () -> invocable.invokeFunction("calls"));
+        assertThrows(NoSuchMethodException.class, () -> invocable.invokeFunction(null));
+        assertThrows(ScriptException.class, () -> invocable.invokeFunction("multiply", 1));
+    }
+
+    @Test
+    void testInvokeMethod() throws ScriptException, NoSuchMethodException {
+        engine.eval("class Counter(object):\n" +
+                "    def __init__(self):\n" +
+                "        self.count = 0\n" +
+                "    def increment(self, by):\n" +
+                "        self.count += by\n" +
+                "        return self.count\n" +
+                "counter = Counter()");
+
+        final Invocable invocable = (Invocable) engine;
+        final Object counter = engine.get("counter");
+
+        assertEquals(2, invocable.invokeMethod(counter, "increment", 2));
+        assertEquals(5, invocable.invokeMethod(counter, "increment", 3));
+
+        // Instances returned from functions may be invoked too
+        final Object created = invocable.invokeFunction("Counter");
+        assertEquals(1, invocable.invokeMethod(created, "increment", 1));
+
+        assertThrows(NoSuchMethodException.class, () -> invocable.invokeMethod(counter, "missing"));
+        assertThrows(IllegalArgumentException.class, () -> invocable.invokeMethod(null, "increment", 1));
+    }
+
+    @Test
+    void testGetInterface() throws ScriptException {
+        engine.eval("def compute(x, y):\n    return x * y\n" +
+                "class Task(object):\n    def run(self):\n        pass\ntask = Task()");
+
+        final Invocable invocable = (Invocable) engine;
+        assertEquals(42, invocable.getInterface(Computer.class).compute(6, 7));
+        assertNotNull(invocable.getInterface(engine.get("task"), Runnable.class));
+
+        // Not implemented
+        assertNull(invocable.getInterface(Runnable.class));
+        assertNull(invocable.getInterface(engine.get("task"), Computer.class));
+
+        assertThrows(IllegalArgumentException.class, () -> invocable.getInterface(String.class));
+        assertThrows(IllegalArgumentException.class, () -> invocable.getInterface(null, Runnable.class));
+    }
+
+    @Test
+    void testEval_concurrent() throws Exception {
+        final CompiledScript compiled = ((Compilable) engine).compile("import sys\nresult = sys.argv[1] * 2");
+
+        final List<CompletableFuture<Object>> futures = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            final int value = i;
+
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                final ScriptContext context = new SimpleScriptContext();
+                context.setAttribute(ScriptEngine.ARGV, new Object[] { value }, ScriptContext.ENGINE_SCOPE);
+
+                try {
+                    return compiled.eval(context);
+                } catch (ScriptException e) {
+                    throw new IllegalStateException(e);
+                }
+            }));
+        }
+
+        for (int i = 0; i < futures.size(); i++) {
+            assertEquals(i * 2, futures.get(i).get(10, TimeUnit.SECONDS));
+        }
+    }
+
+    public interface Computer {
+
+        int compute(int x, int y);
+
+    }
+
+}
@@ -2,7 +2,10 @@ package com.github.adchilds.jython;
 
 import com.github.adchilds.jython.exception.JythonResultNotFoundException;
 import com.github.adchilds.jython.exception.JythonScriptException;
+import com.github.adchilds.jython.exception.JythonScriptBudgetExceededException;
+import com.github.adchilds.jython.exception.JythonScriptTimeoutException;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.python.core.*;
 
 import java.io.File;
@@ -13,8 +16,20 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Modifier;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -275,6 +290,30 @@ public class JythonScriptTest {
         assertEquals(-20, JythonScript.evaluate(file, -1, 20));
     }
 
+    @Test
+    void testEvaluate_fileEncodingDeclared(@TempDir final Path directory) throws Exception {
+        final File file = directory.resolve("latin1.py").toFile();
+        Files.write(file.toPath(), "# -*- coding: latin-1 -*-\nresult = \"caf\u00e9\"\n"
+                .getBytes(StandardCharsets.ISO_8859_1));
+
+        // Decoded as the file declares, exactly as when executed from a stream
+        assertEquals("caf\u00e9", JythonScript.evaluate(file));
+        assertEquals("caf\u00e9", JythonScript.evaluate(file.getAbsolutePath()));
+        try (InputStream inputStream = new FileInputStream(file)) {
+            assertEquals("caf\u00e9", JythonScript.evaluate(inputStream));
+        }
+    }
+
+    @Test
+    void testEvaluate_fileUtf8Literal(@TempDir final Path directory) throws Exception {
+        final File file = directory.resolve("utf8.py").toFile();
+        Files.write(file.toPath(), "# -*- coding: utf-8 -*-\nresult = len(\"caf\u00e9\")\n"
+                .getBytes(StandardCharsets.UTF_8));
+
+        // A str literal holds the encoded bytes of its text
+        assertEquals(5, JythonScript.evaluate(file));
+    }
+
     @Test
     void testExecute_fileNull() {
         assertThrows(JythonScriptException.class, () -> JythonScript.execute((File) null));
@@ -525,6 +564,175 @@ public class JythonScriptTest {
         assertTrue(result instanceof PyInstance);
     }
 
+    @Test
+    void testEvaluateAsync() throws Exception {
+        final String filePath = ClassLoader.getSystemResource(JYTHON_SCRIPT_BASE_PATH + "testEvaluate.py").getPath();
+        final PyCode compiledScript = JythonScript.compile(filePath);
+
+        assertEquals(200, JythonScript.evaluateAsync(compiledScript, 10, 20).get(30, TimeUnit.SECONDS));
+        assertEquals(25, JythonScript.evaluateAsync(filePath).get(30, TimeUnit.SECONDS));
+        assertTrue(JythonScript.getAsyncStats().getCompletedCount() >= 2);
+    }
+
+    @Test
+    void testExecuteAsync() throws Exception {
+        final String filePath = ClassLoader.getSystemResource(JYTHON_SCRIPT_BASE_PATH + "testExecute.py").getPath();
+
+        JythonScript.executeAsync(filePath).get(30, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void testEvaluateBatch() throws JythonScriptException {
+        final String filePath = ClassLoader.getSystemResource(JYTHON_SCRIPT_BASE_PATH + "testEvaluate.py").getPath();
+        final PyCode compiledScript = JythonScript.compile(filePath);
+
+        final List<Object> results = JythonScript.evaluateBatch(compiledScript, Arrays.asList(new Object[] { 2, 3 }, new Object[] { 4, 5 }));
+        assertEquals(Arrays.asList(6, 20), results);
+
+        final Iterator<Object> iterator = JythonScript.evaluateBatch(compiledScript, Collections.singletonList(new Object[] { 6, 7 }).iterator());
+        assertEquals(42, iterator.next());
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    void testEvaluateToPrimitiveArray() throws JythonScriptException {
+        final String filePath = ClassLoader.getSystemResource(JYTHON_SCRIPT_BASE_PATH + "testReturnNumbers.py").getPath();
+        final PyCode compiledScript = JythonScript.compile(filePath);
+
+        assertArrayEquals(new int[] { 1, 2, 3 }, JythonScript.evaluateToIntArray(compiledScript, "tuple"));
+        assertArrayEquals(new long[] { 1, 2, 3 }, JythonScript.evaluateToLongArray(compiledScript, "array", "h"));
+        assertArrayEquals(new double[] { 1.5, 2, 3 }, JythonScript.evaluateToDoubleArray(compiledScript, "floats"));
+        assertThrows(JythonScriptException.class, () -> JythonScript.evaluateToIntArray(compiledScript, "floats"));
+        assertThrows(JythonResultNotFoundException.class, () -> JythonScript.evaluateToIntArray(compiledScript, "none"));
+    }
+
+    @Test
+    void testEvaluateToIterator() throws JythonScriptException {
+        final String filePath = ClassLoader.getSystemResource(JYTHON_SCRIPT_BASE_PATH + "testReturnGenerator.py").getPath();
+        final PyCode compiledScript = JythonScript.compile(filePath);
+
+        final Iterator<Object> iterator = JythonScript.evaluateToIterator(compiledScript, 3);
+        assertEquals(0, iterator.next());
+        assertEquals(1, iterator.next());
+        assertEquals(2, iterator.next());
+        assertFalse(iterator.hasNext());
+
+        assertEquals(Arrays.asList(0, 1, 2, 3), JythonScript.evaluateToStream(compiledScript, 4).collect(Collectors.toList()));
+
+        // Any iterable result may be streamed, not only generators
+        assertEquals(Arrays.asList("a", "b"), JythonScript.evaluateToStream(JythonScript.compileString("result = ['a', 'b']"))
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    void testEvaluate_bindings() throws JythonScriptException {
+        final String filePath = ClassLoader.getSystemResource(JYTHON_SCRIPT_BASE_PATH + "testBindings.py").getPath();
+        final PyCode compiledScript = JythonScript.compile(filePath);
+        final Bindings bindings = Bindings.builder().bind("width", 6).bind("height", 7).build();
+
+        assertArrayEquals(new Object[] { 42, 0 }, (Object[]) JythonScript.evaluate(compiledScript, bindings));
+        assertArrayEquals(new Object[] { 42, 0 }, (Object[]) JythonScript.evaluate(compiledScript, bindings));
+
+        assertThrows(JythonScriptException.class, () -> JythonScript.evaluate(compiledScript, Bindings.empty()));
+        assertThrows(JythonScriptException.class, () -> JythonScript.evaluate(compiledScript, (Bindings) null));
+        assertThrows(JythonResultNotFoundException.class, () -> JythonScript.evaluate(JythonScript.compileString("x = 1"), Bindings.empty()));
+    }
+
+    @Test
+    void testEvaluate_bindingsAfterArguments() throws JythonScriptException {
+        final String filePath = ClassLoader.getSystemResource(JYTHON_SCRIPT_BASE_PATH + "testBindings.py").getPath();
+        final PyCode compiledScript = JythonScript.compile(filePath);
+        final Bindings bindings = Bindings.builder().bind("width", 6).bind("height", 7).build();
+
+        // An earlier call passing 'sys.argv' leaves nothing behind for a later call passing bindings
+        assertEquals(7, JythonScript.evaluate(JythonScript.compileString("import sys\nresult = sys.argv[1] + sys.argv[2]"),
+                3, 4));
+        assertArrayEquals(new Object[] { 42, 0 }, (Object[]) JythonScript.evaluate(compiledScript, bindings));
+    }
+
+    @Test
+    void testExecute_bindings() throws JythonScriptException {
+        JythonScript.execute(JythonScript.compileString("assert greeting == 'hello'"), Bindings.builder().bind("greeting", "hello").build());
+
+        assertThrows(JythonScriptException.class, () -> JythonScript.execute(null, Bindings.empty()));
+    }
+
+    @Test
+    void testWarmup() throws Exception {
+        assertNull(JythonScript.warmup().get(30, TimeUnit.SECONDS));
+        assertThrows(IllegalArgumentException.class, () -> JythonScript.warmup(null));
+    }
+
+    @Test
+    void testWarmup_scripts() throws Exception {
+        final String filePath = ClassLoader.getSystemResource(JYTHON_SCRIPT_BASE_PATH + "testWarmup.py").getPath();
+        final AtomicInteger invocations = new AtomicInteger();
+
+        final CompletableFuture<Void> ready = JythonScript.warmup(Warmup.builder()
+                .importModules("json")
+                .script(JythonScript.compile(filePath), invocations)
+                .invocations(3)
+                .build());
+
+        assertNull(ready.get(30, TimeUnit.SECONDS));
+        assertEquals(3, invocations.get());
+    }
+
+    @Test
+    void testGetScriptCache() throws JythonScriptException {
+        final String filePath = ClassLoader.getSystemResource(JYTHON_SCRIPT_BASE_PATH + "testEvaluate.py").getPath();
+
+        JythonScript.evaluate(filePath);
+        final long hits = JythonScript.getScriptCache().getStats().getHitCount();
+
+        assertEquals(25, JythonScript.evaluate(filePath));
+        assertEquals(hits + 1, JythonScript.getScriptCache().getStats().getHitCount());
+        assertSame(JythonScript.compile(filePath), JythonScript.compile(new File(filePath)));
+    }
+
+    @Test
+    void testEvaluate_timeout() throws JythonScriptException {
+        final String infiniteLoopPath =
+                ClassLoader.getSystemResource(JYTHON_SCRIPT_BASE_PATH + "testInfiniteLoop.py").getPath();
+        final PyCode infiniteLoop = JythonScript.compile(infiniteLoopPath);
+
+        assertThrows(JythonScriptTimeoutException.class, () -> JythonScript.evaluate(infiniteLoop, Duration.ofMillis(200)));
+        assertThrows(JythonScriptTimeoutException.class, () -> JythonScript.execute(infiniteLoop, Duration.ofMillis(200)));
+        assertFalse(Thread.currentThread().isInterrupted());
+
+        final String filePath = ClassLoader.getSystemResource(JYTHON_SCRIPT_BASE_PATH + "testEvaluate.py").getPath();
+        assertEquals(12, JythonScript.evaluate(JythonScript.compile(filePath), Duration.ofSeconds(30), 3, 4));
+    }
+
+    @Test
+    void testEvaluateWithReport() throws JythonScriptException {
+        final String filePath = ClassLoader.getSystemResource(JYTHON_SCRIPT_BASE_PATH + "testEvaluate.py").getPath();
+
+        final EvaluationReport report = JythonScript.evaluateWithReport(filePath, 3, 4);
+        assertEquals(12, report.getResult());
+        assertTrue(report.getUsage().getCpuNanos(JythonMetrics.Phase.EXECUTE) > 0);
+        assertTrue(report.getUsage().getAllocatedBytes(JythonMetrics.Phase.EXECUTE) > 0);
+
+        assertEquals(12, JythonScript.evaluateWithReport(new File(filePath), 3, 4).getResult());
+        assertEquals(12, JythonScript.evaluateWithReport(JythonScript.compile(filePath), 3, 4).getResult());
+        assertThrows(JythonScriptException.class, () -> JythonScript.evaluateWithReport((PyCode) null));
+    }
+
+    @Test
+    void testEvaluate_budget() throws JythonScriptException {
+        final PyCode recursion = JythonScript.compile(
+                ClassLoader.getSystemResource(JYTHON_SCRIPT_BASE_PATH + "testRecursion.py").getPath());
+        final ExecutionBudget budget = ExecutionBudget.builder().maxRecursionDepth(50).maxResultSize(10).build();
+
+        assertEquals(20, JythonScript.evaluate(recursion, budget, 20));
+        assertThrows(JythonScriptBudgetExceededException.class, () -> JythonScript.evaluate(recursion, budget, 100));
+        assertThrows(JythonScriptBudgetExceededException.class, () -> JythonScript.execute(recursion, budget, 100));
+        assertThrows(JythonScriptException.class, () -> JythonScript.evaluate(recursion, (ExecutionBudget) null, 20));
+
+        final PyCode list = JythonScript.compileString("result = range(100)");
+        assertThrows(JythonScriptBudgetExceededException.class, () -> JythonScript.evaluate(list, budget));
+    }
+
     @Test
     void testConstructorIsPrivate() throws NoSuchMethodException, IllegalAccessException, InvocationTargetException, InstantiationException {
         final Constructor<JythonScript> constructor = JythonScript.class.getDeclaredConstructor();
@@ -0,0 +1,78 @@
+package com.github.adchilds.jython;
+
+import com.github.adchilds.jython.exception.JythonScriptException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link ResourceMeter} class.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+class ResourceMeterTest {
+
+    @AfterEach
+    void tearDown() {
+        JythonMetrics.reset();
+    }
+
+    @Test
+    void testMeasure() throws JythonScriptException {
+        final ResourceMeter meter = new ResourceMeter();
+
+        final List<Object> allocated = meter.measure(JythonMetrics.Phase.EXECUTE, ResourceMeterTest::allocate);
+        assertEquals(10_000, allocated.size());
+
+        final ResourceUsage usage = meter.report("meter.py", allocated).getUsage();
+        assertTrue(usage.getAllocatedBytes(JythonMetrics.Phase.EXECUTE) > 10_000 * 16);
+        assertEquals(0, usage.getAllocatedBytes(JythonMetrics.Phase.CONVERT));
+        assertEquals(usage.getAllocatedBytes(JythonMetrics.Phase.EXECUTE), usage.getAllocatedBytes());
+        assertEquals(usage.getCpuNanos(JythonMetrics.Phase.EXECUTE), usage.getCpuNanos());
+    }
+
+    @Test
+    void testMeasure_failure() {
+        final ResourceMeter meter = new ResourceMeter();
+
+        // A failing task is still measured
+        assertThrows(JythonScriptException.class, () -> meter.measure(JythonMetrics.Phase.EXECUTE, () -> {
+            allocate();
+            throw new JythonScriptException("Failed.");
+        }));
+
+        assertTrue(meter.report("meter.py", null).getUsage().getAllocatedBytes(JythonMetrics.Phase.EXECUTE) > 0);
+    }
+
+    @Test
+    void testCharge() throws JythonScriptException {
+        final ResourceMeter meter = new ResourceMeter();
+        meter.measure(JythonMetrics.Phase.CONVERT, ResourceMeterTest::allocate);
+
+        // Charged only once
+        meter.charge("meter_charge.py");
+        meter.charge("meter_charge.py");
+
+        final ResourceUsage usage = JythonMetrics.snapshot().getUsage("meter_charge.py");
+        assertEquals(1, usage.getEvaluations());
+        assertTrue(usage.getAllocatedBytes(JythonMetrics.Phase.CONVERT) > 0);
+
+        new ResourceMeter().charge("meter_charge.py");
+        assertEquals(2, JythonMetrics.snapshot().getUsage("meter_charge.py").getEvaluations());
+    }
+
+    private static List<Object> allocate() {
+        final List<Object> objects = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            objects.add(new Object());
+        }
+
+        return objects;
+    }
+
+}
@@ -0,0 +1,104 @@
+package com.github.adchilds.jython;
+
+import com.github.adchilds.jython.exception.JythonScriptException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.python.core.Py;
+import org.python.core.PyCode;
+import org.python.core.PyComplex;
+import org.python.core.PyInteger;
+import org.python.core.PyList;
+import org.python.core.PyObject;
+import org.python.core.PyString;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link ResultConverters} class.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+class ResultConvertersTest {
+
+    @AfterEach
+    void tearDown() {
+        ResultConverters.unregister(PyComplex.class);
+        ResultConverters.unregister(PyInteger.class);
+        ResultConverters.unregister(PyList.class);
+        ResultConverters.unregister(PyObject.class);
+    }
+
+    @Test
+    void testRegister() throws JythonScriptException {
+        final PyCode script = JythonScript.compileString("result = 1 + 2j");
+        assertTrue(JythonScript.evaluate(script) instanceof PyComplex);
+
+        ResultConverters.register(PyComplex.class, complex -> ((PyComplex) complex).imag);
+        assertEquals(2.0, JythonScript.evaluate(script));
+
+        assertTrue(ResultConverters.unregister(PyComplex.class));
+        assertFalse(ResultConverters.unregister(PyComplex.class));
+        assertTrue(JythonScript.evaluate(script) instanceof PyComplex);
+    }
+
+    @Test
+    void testRegister_invalid() {
+        assertThrows(IllegalArgumentException.class, () -> ResultConverters.register(null, object -> object));
+        assertThrows(IllegalArgumentException.class, () -> ResultConverters.register(PyComplex.class, null));
+    }
+
+    @Test
+    void testRegister_overridesBuiltIn() {
+        ResultConverters.register(PyInteger.class, integer -> ((PyInteger) integer).getValue() * 10L);
+        assertEquals(10L, ResultConverters.convert(Py.newInteger(1)));
+
+        // Booleans keep their own conversion
+        assertEquals(true, ResultConverters.convert(Py.True));
+
+        ResultConverters.unregister(PyInteger.class);
+        assertEquals(1, ResultConverters.convert(Py.newInteger(1)));
+    }
+
+    @Test
+    void testRegister_container() {
+        ResultConverters.register(PyList.class, list -> ((PyList) list).size());
+
+        assertEquals(2, ResultConverters.convert(new PyList(new PyObject[] { Py.newInteger(1), Py.newInteger(2) })));
+    }
+
+    @Test
+    void testRegister_lazy() {
+        final PyList list = new PyList(new PyObject[] { Py.newInteger(1), Py.newInteger(2) });
+
+        ResultConverters.register(PyInteger.class, integer -> ((PyInteger) integer).getValue() * 10L);
+        assertEquals(10L, ((List<?>) ResultParser.parse(list, ResultConversion.LAZY)).get(0));
+
+        // Registered container converters take precedence over lazy views
+        ResultConverters.register(PyList.class, object -> ((PyList) object).size());
+        assertEquals(2, ResultParser.parse(list, ResultConversion.LAZY));
+        assertEquals(2, ResultParser.parse(list, ResultConversion.LAZY_MEMOIZED));
+    }
+
+    @Test
+    void testRegister_superclass() {
+        ResultConverters.register(PyObject.class, object -> object.toString());
+
+        assertEquals("None", ResultConverters.convert(Py.None));
+        assertEquals("(1+2j)", ResultConverters.convert(new PyComplex(1, 2)));
+
+        // Built-in conversions of subclasses are still used
+        assertEquals("text", ResultConverters.convert(new PyString("text")));
+    }
+
+    @Test
+    void testConvert() {
+        assertNull(ResultConverters.convert(null));
+        assertSame(Py.None, ResultConverters.convert(Py.None));
+        assertArrayEquals(new Object[] { 1, "a" },
+                (Object[]) ResultConverters.convert(new PyList(new PyObject[] { Py.newInteger(1), Py.newString("a") })));
+    }
+
+}
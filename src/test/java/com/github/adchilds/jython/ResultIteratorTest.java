@@ -0,0 +1,124 @@
+package com.github.adchilds.jython;
+
+import com.github.adchilds.jython.exception.JythonScriptException;
+import com.github.adchilds.jython.exception.UncheckedJythonScriptException;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.python.core.Py;
+import org.python.core.PyList;
+import org.python.core.PyObject;
+import org.python.core.PySystemState;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link ResultIterator} class.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+class ResultIteratorTest {
+
+    @BeforeAll
+    static void initialize() {
+        PySystemState.initialize();
+    }
+
+    @Test
+    void testIterate_notIterable() {
+        assertThrows(JythonScriptException.class, () -> ResultIterator.iterate(Py.newInteger(1)));
+    }
+
+    @Test
+    void testIterator() throws JythonScriptException {
+        final AtomicInteger closeCount = new AtomicInteger();
+        final ResultIterator iterator = newIterator(closeCount, Py.newInteger(1), Py.newString("a"));
+
+        assertTrue(iterator.hasNext());
+        assertEquals(1, iterator.next());
+        assertEquals("a", iterator.next());
+        assertEquals(0, closeCount.get());
+
+        // Exhausting the iterator closes it exactly once
+        assertFalse(iterator.hasNext());
+        assertFalse(iterator.hasNext());
+        assertThrows(NoSuchElementException.class, iterator::next);
+        assertEquals(1, closeCount.get());
+
+        iterator.close();
+        assertEquals(1, closeCount.get());
+    }
+
+    @Test
+    void testClose() throws JythonScriptException {
+        final AtomicInteger closeCount = new AtomicInteger();
+        final ResultIterator iterator = newIterator(closeCount, Py.newInteger(1), Py.newInteger(2));
+
+        assertEquals(1, iterator.next());
+        iterator.close();
+
+        assertFalse(iterator.hasNext());
+        assertEquals(1, closeCount.get());
+    }
+
+    @Test
+    void testStream() throws JythonScriptException {
+        final AtomicInteger closeCount = new AtomicInteger();
+
+        try (Stream<Object> stream = newIterator(closeCount, Py.newInteger(1), Py.newInteger(2), Py.newInteger(3)).stream()) {
+            assertEquals(Arrays.asList(1, 2, 3), stream.collect(Collectors.toList()));
+        }
+
+        assertEquals(1, closeCount.get());
+    }
+
+    @Test
+    void testStream_parallel() throws JythonScriptException {
+        final PyObject[] items = new PyObject[10000];
+        for (int i = 0; i < items.length; i++) {
+            items[i] = Py.newInteger(i);
+        }
+
+        try (Stream<Object> stream = newIterator(new AtomicInteger(), items).stream(64)) {
+            final List<Object> results = stream.parallel().map(item -> (Integer) item * 2).collect(Collectors.toList());
+
+            assertEquals(items.length, results.size());
+            for (int i = 0; i < results.size(); i++) {
+                assertEquals(i * 2, results.get(i));
+            }
+        }
+    }
+
+    @Test
+    void testStream_invalidPrefetch() throws JythonScriptException {
+        assertThrows(IllegalArgumentException.class, () -> newIterator(new AtomicInteger()).stream(0));
+    }
+
+    @Test
+    void testIterator_scriptError() throws JythonScriptException {
+        final ResultIterator iterator = JythonScript.evaluateToIterator(JythonScript.compileString(
+                "def generate():\n    yield 1\n    raise ValueError('failure')\n\nresult = generate()"));
+
+        assertEquals(1, iterator.next());
+
+        final UncheckedJythonScriptException exception = assertThrows(UncheckedJythonScriptException.class, iterator::hasNext);
+        assertTrue(exception.getMessage().contains("ValueError"));
+
+        // The iterator is closed after an error
+        assertFalse(iterator.hasNext());
+    }
+
+    private static ResultIterator newIterator(final AtomicInteger closeCount, final PyObject... items)
+            throws JythonScriptException {
+        return new ResultIterator(ResultIterator.iterate(new PyList(items)), ResultConversion.EAGER,
+                closeCount::incrementAndGet);
+    }
+
+}
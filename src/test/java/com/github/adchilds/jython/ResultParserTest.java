@@ -0,0 +1,262 @@
+package com.github.adchilds.jython;
+
+import com.github.adchilds.jython.exception.JythonScriptException;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.python.core.Py;
+import org.python.core.PyArray;
+import org.python.core.PyDictionary;
+import org.python.core.PyList;
+import org.python.core.PyLong;
+import org.python.core.PyObject;
+import org.python.core.PySystemState;
+import org.python.core.PyTuple;
+import org.python.core.imp;
+import org.python.util.PythonInterpreter;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link ResultParser} class.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+class ResultParserTest {
+
+    @BeforeAll
+    static void initialize() {
+        PySystemState.initialize();
+    }
+
+    @Test
+    void testParse_scalars() {
+        assertEquals(true, ResultParser.parse(Py.True));
+        assertEquals(1, ResultParser.parse(Py.newInteger(1)));
+        assertEquals(1.5f, ResultParser.parse(Py.newFloat(1.5)));
+        assertEquals("text", ResultParser.parse(Py.newString("text")));
+        assertEquals("\u00e9t\u00e9", ResultParser.parse(Py.newUnicode("\u00e9t\u00e9")));
+        assertEquals(1L, ResultParser.parse(Py.newLong(1)));
+        assertNull(ResultParser.parse(null));
+        assertSame(Py.None, ResultParser.parse(Py.None));
+    }
+
+    @Test
+    void testParse_bigLong() {
+        final BigInteger big = BigInteger.ONE.shiftLeft(100);
+
+        assertEquals(big, ResultParser.parse(Py.newLong(big)));
+        assertEquals(Long.MIN_VALUE, ResultParser.parse(Py.newLong(BigInteger.valueOf(Long.MIN_VALUE))));
+    }
+
+    @Test
+    void testParse_byteArray() {
+        assertArrayEquals(new byte[] { 1, 2, -1 }, (byte[]) ResultParser.parse(eval("bytearray([1, 2, 255])")));
+    }
+
+    @Test
+    void testParse_containers() {
+        final Object[] list = (Object[]) ResultParser.parse(eval("[1, 'a', (2, 3), {'k': [4]}, {5}, frozenset([6])]"));
+
+        assertEquals(1, list[0]);
+        assertEquals("a", list[1]);
+        assertEquals(Arrays.asList(2, 3), list[2]);
+        assertArrayEquals(new Object[] { 4 }, (Object[]) ((Map<?, ?>) list[3]).get("k"));
+        assertEquals(Collections.singleton(5), list[4]);
+        assertEquals(Collections.singleton(6), list[5]);
+
+        // Tuples and frozensets are immutable
+        assertThrows(UnsupportedOperationException.class, () -> ((List<?>) list[2]).clear());
+        assertThrows(UnsupportedOperationException.class, () -> ((Set<?>) list[5]).clear());
+    }
+
+    @Test
+    void testParse_tupleKeys() {
+        final Map<?, ?> map = (Map<?, ?>) ResultParser.parse(eval("{(1, 2): 'a', frozenset([3]): 'b'}"));
+
+        assertEquals("a", map.get(Arrays.asList(1, 2)));
+        assertEquals("b", map.get(Collections.singleton(3)));
+    }
+
+    @Test
+    void testParse_derivedTypes() {
+        final PyObject list = eval("type('MyList', (list,), {})([1, 2])");
+
+        assertArrayEquals(new Object[] { 1, 2 }, (Object[]) ResultParser.parse(list));
+    }
+
+    @Test
+    void testParse_cycle() {
+        final PyList list = new PyList(new PyObject[] { Py.newInteger(1) });
+        list.append(list);
+
+        final Object[] parsed = (Object[]) ResultParser.parse(list);
+        assertEquals(1, parsed[0]);
+        assertEquals(new ResultConverters.CyclicReference("list"), parsed[1]);
+    }
+
+    @Test
+    void testParse_cycle_hashable() {
+        final PyDictionary dict = new PyDictionary();
+        dict.__setitem__(Py.newString("value"), Py.newInteger(1));
+        dict.__setitem__(Py.newString("self"), dict);
+
+        final Map<?, ?> parsed = (Map<?, ?>) ResultParser.parse(dict);
+        assertEquals(1, parsed.get("value"));
+        assertEquals("dict", ((ResultConverters.CyclicReference) parsed.get("self")).getType());
+
+        // Neither hashing, comparing nor printing the result recurses forever
+        final Map<?, ?> again = (Map<?, ?>) ResultParser.parse(dict);
+        assertEquals(parsed.hashCode(), again.hashCode());
+        assertEquals(parsed, again);
+        assertTrue(parsed.toString().contains("<cyclic reference to dict>"));
+    }
+
+    @Test
+    void testParse_cycle_indirect() {
+        final PyDictionary dict = new PyDictionary();
+        final PyList list = new PyList(new PyObject[] { dict });
+        dict.__setitem__(Py.newString("list"), list);
+
+        final Object[] parsed = (Object[]) ResultParser.parse(list);
+        assertEquals(new ResultConverters.CyclicReference("list"), ((Map<?, ?>) parsed[0]).get("list"));
+    }
+
+    @Test
+    void testParse_cycle_deep() {
+        final PyList root = new PyList();
+
+        PyList list = root;
+        for (int i = 0; i < 1_000; i++) {
+            final PyList nested = new PyList();
+            list.append(nested);
+            list = nested;
+        }
+        list.append(root);
+
+        Object parsed = ResultParser.parse(root);
+        for (int i = 0; i <= 1_000; i++) {
+            parsed = ((Object[]) parsed)[0];
+        }
+
+        assertEquals(new ResultConverters.CyclicReference("list"), parsed);
+    }
+
+    @Test
+    void testParse_sharedReferences() {
+        final PyList shared = new PyList(new PyObject[] { Py.newInteger(1) });
+        final Object[] parsed = (Object[]) ResultParser.parse(new PyList(new PyObject[] { shared, shared }));
+
+        assertArrayEquals((Object[]) parsed[0], (Object[]) parsed[1]);
+    }
+
+    @Test
+    void testParse_deepNesting() {
+        PyList list = new PyList();
+        for (int i = 0; i < 100_000; i++) {
+            list = new PyList(new PyObject[] { list });
+        }
+
+        Object parsed = ResultParser.parse(list);
+        int depth = 0;
+        while (((Object[]) parsed).length > 0) {
+            parsed = ((Object[]) parsed)[0];
+            depth++;
+        }
+
+        assertEquals(100_000, depth);
+    }
+
+    @Test
+    void testParseIntArray() throws JythonScriptException {
+        final PyObject[] elements = { Py.newInteger(1), Py.newLong(2), Py.True };
+
+        assertArrayEquals(new int[] { 1, 2, 1 }, ResultParser.parseIntArray(new PyList(elements)));
+        assertArrayEquals(new int[] { 1, 2, 1 }, ResultParser.parseIntArray(new PyTuple(elements)));
+        assertArrayEquals(new int[0], ResultParser.parseIntArray(new PyList()));
+    }
+
+    @Test
+    void testParseIntArray_pyArray() throws JythonScriptException {
+        for (final String typecode : new String[] { "b", "B", "h", "H", "i", "I", "l", "L" }) {
+            assertArrayEquals(new int[] { 1, 2, 3 }, ResultParser.parseIntArray(newPyArray(typecode)), typecode);
+        }
+
+        assertThrows(JythonScriptException.class, () -> ResultParser.parseIntArray(newPyArray("d")));
+    }
+
+    @Test
+    void testParseIntArray_overflow() {
+        final PyObject tooLarge = new PyLong(BigInteger.valueOf(Integer.MAX_VALUE).add(BigInteger.ONE));
+
+        assertThrows(JythonScriptException.class, () -> ResultParser.parseIntArray(new PyList(new PyObject[] { tooLarge })));
+    }
+
+    @Test
+    void testParseIntArray_unsupported() {
+        assertThrows(JythonScriptException.class, () -> ResultParser.parseIntArray(Py.newInteger(1)));
+        assertThrows(JythonScriptException.class, () -> ResultParser.parseIntArray(new PyDictionary()));
+        assertThrows(JythonScriptException.class, () -> ResultParser.parseIntArray(new PyList(new PyObject[] { Py.newFloat(1.5) })));
+        assertThrows(JythonScriptException.class, () -> ResultParser.parseIntArray(new PyList(new PyObject[] { Py.newString("1") })));
+    }
+
+    @Test
+    void testParseLongArray() throws JythonScriptException {
+        final PyObject[] elements = { Py.newInteger(1), new PyLong(Long.MAX_VALUE) };
+
+        assertArrayEquals(new long[] { 1, Long.MAX_VALUE }, ResultParser.parseLongArray(new PyList(elements)));
+        assertArrayEquals(new long[] { 1, Long.MAX_VALUE }, ResultParser.parseLongArray(new PyTuple(elements)));
+
+        for (final String typecode : new String[] { "b", "B", "h", "H", "i", "I", "l", "L" }) {
+            assertArrayEquals(new long[] { 1, 2, 3 }, ResultParser.parseLongArray(newPyArray(typecode)), typecode);
+        }
+    }
+
+    @Test
+    void testParseLongArray_unsupported() {
+        final PyObject tooLarge = new PyLong(BigInteger.valueOf(Long.MAX_VALUE).add(BigInteger.ONE));
+
+        assertThrows(JythonScriptException.class, () -> ResultParser.parseLongArray(new PyList(new PyObject[] { tooLarge })));
+        assertThrows(JythonScriptException.class, () -> ResultParser.parseLongArray(new PyList(new PyObject[] { Py.newFloat(1.5) })));
+        assertThrows(JythonScriptException.class, () -> ResultParser.parseLongArray(newPyArray("f")));
+    }
+
+    @Test
+    void testParseDoubleArray() throws JythonScriptException {
+        final PyObject[] elements = { Py.newFloat(1.5), Py.newInteger(2), Py.newLong(3) };
+
+        assertArrayEquals(new double[] { 1.5, 2, 3 }, ResultParser.parseDoubleArray(new PyList(elements)));
+        assertArrayEquals(new double[] { 1.5, 2, 3 }, ResultParser.parseDoubleArray(new PyTuple(elements)));
+
+        for (final String typecode : new String[] { "b", "B", "h", "H", "i", "I", "l", "L", "f", "d" }) {
+            assertArrayEquals(new double[] { 1, 2, 3 }, ResultParser.parseDoubleArray(newPyArray(typecode)), typecode);
+        }
+    }
+
+    @Test
+    void testParseDoubleArray_unsupported() {
+        assertThrows(JythonScriptException.class, () -> ResultParser.parseDoubleArray(new PyList(new PyObject[] { Py.None })));
+        assertThrows(JythonScriptException.class, () -> ResultParser.parseDoubleArray(Py.newString("1.0")));
+    }
+
+    private static PyObject eval(final String expression) {
+        try (PythonInterpreter interpreter = new PythonInterpreter()) {
+            return interpreter.eval(expression);
+        }
+    }
+
+    private static PyArray newPyArray(final String typecode) {
+        final PyObject arrayModule = imp.importName("array", true);
+
+        return (PyArray) arrayModule.__getattr__("array").__call__(Py.newString(typecode),
+                new PyList(new PyObject[] { Py.newInteger(1), Py.newInteger(2), Py.newInteger(3) }));
+    }
+
+}
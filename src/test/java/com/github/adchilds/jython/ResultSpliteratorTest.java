@@ -0,0 +1,75 @@
+package com.github.adchilds.jython;
+
+import com.github.adchilds.jython.exception.JythonScriptException;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.python.core.Py;
+import org.python.core.PyList;
+import org.python.core.PyObject;
+import org.python.core.PySystemState;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link ResultSpliterator} class.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+class ResultSpliteratorTest {
+
+    @BeforeAll
+    static void initialize() {
+        PySystemState.initialize();
+    }
+
+    @Test
+    void testTrySplit_boundedPrefetch() throws JythonScriptException {
+        final ResultSpliterator spliterator = newSpliterator(10, 4);
+
+        // Every split holds at most the prefetch limit, in order
+        final List<Object> items = new ArrayList<>();
+        Spliterator<Object> split;
+        while ((split = spliterator.trySplit()) != null) {
+            assertTrue(split.estimateSize() <= 4);
+            split.forEachRemaining(items::add);
+        }
+
+        assertEquals(10, items.size());
+        for (int i = 0; i < items.size(); i++) {
+            assertEquals(i, items.get(i));
+        }
+
+        assertFalse(spliterator.tryAdvance(item -> fail("Spliterator should be exhausted")));
+    }
+
+    @Test
+    void testTryAdvance() throws JythonScriptException {
+        final ResultSpliterator spliterator = newSpliterator(2, 4);
+        final List<Object> items = new ArrayList<>();
+
+        assertTrue(spliterator.tryAdvance(items::add));
+        assertTrue(spliterator.tryAdvance(items::add));
+        assertFalse(spliterator.tryAdvance(items::add));
+        assertNull(spliterator.trySplit());
+
+        assertEquals(2, items.size());
+        assertTrue(spliterator.hasCharacteristics(Spliterator.ORDERED));
+        assertEquals(Long.MAX_VALUE, spliterator.estimateSize());
+    }
+
+    private static ResultSpliterator newSpliterator(final int size, final int prefetch) throws JythonScriptException {
+        final PyObject[] items = new PyObject[size];
+        for (int i = 0; i < size; i++) {
+            items[i] = Py.newInteger(i);
+        }
+
+        return new ResultSpliterator(new ResultIterator(ResultIterator.iterate(new PyList(items)), ResultConversion.EAGER,
+                () -> { }), prefetch);
+    }
+
+}
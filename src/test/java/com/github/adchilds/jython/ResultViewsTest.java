@@ -0,0 +1,154 @@
+package com.github.adchilds.jython;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.python.core.Py;
+import org.python.core.PyDictionary;
+import org.python.core.PyList;
+import org.python.core.PyObject;
+import org.python.core.PySet;
+import org.python.core.PySystemState;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link ResultViews} class.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+class ResultViewsTest {
+
+    @BeforeAll
+    static void initialize() {
+        PySystemState.initialize();
+    }
+
+    @Test
+    void testListView() {
+        final PyList pyList = new PyList(new PyObject[] { Py.newString("a"), Py.newInteger(1), Py.newFloat(2.0) });
+        final List<Object> view = new ResultViews.ListView(pyList, false);
+
+        assertEquals(3, view.size());
+        assertEquals("a", view.get(0));
+        assertEquals(1, view.get(1));
+        assertEquals(2.0f, view.get(2));
+        assertEquals(Arrays.asList("a", 1, 2.0f), view);
+        assertThrows(IndexOutOfBoundsException.class, () -> view.get(3));
+        assertThrows(IndexOutOfBoundsException.class, () -> view.get(-1));
+    }
+
+    @Test
+    void testListView_readOnly() {
+        final List<Object> view = new ResultViews.ListView(new PyList(new PyObject[] { Py.newInteger(1) }), false);
+
+        assertThrows(UnsupportedOperationException.class, () -> view.add(2));
+        assertThrows(UnsupportedOperationException.class, () -> view.set(0, 2));
+        assertThrows(UnsupportedOperationException.class, () -> view.remove(0));
+        assertThrows(UnsupportedOperationException.class, view::clear);
+    }
+
+    @Test
+    void testListView_live() {
+        final PyList pyList = new PyList(new PyObject[] { Py.newInteger(1) });
+        final List<Object> view = new ResultViews.ListView(pyList, false);
+
+        pyList.append(Py.newInteger(2));
+
+        assertEquals(Arrays.asList(1, 2), view);
+    }
+
+    @Test
+    void testListView_memoized() {
+        final PyList inner = new PyList(new PyObject[] { Py.newInteger(1) });
+        final PyList pyList = new PyList(new PyObject[] { inner, Py.newInteger(2) });
+
+        final List<Object> memoized = new ResultViews.ListView(pyList, true);
+        assertSame(memoized.get(0), memoized.get(0));
+
+        final List<Object> unmemoized = new ResultViews.ListView(pyList, false);
+        assertNotSame(unmemoized.get(0), unmemoized.get(0));
+        assertEquals(unmemoized.get(0), unmemoized.get(0));
+    }
+
+    @Test
+    void testListView_nested() {
+        final PyList inner = new PyList(new PyObject[] { Py.newString("x"), Py.newString("y") });
+        final PyList pyList = new PyList(new PyObject[] { inner });
+
+        final Object nested = new ResultViews.ListView(pyList, false).get(0);
+
+        assertTrue(nested instanceof List);
+        assertEquals(Arrays.asList("x", "y"), nested);
+    }
+
+    @Test
+    void testMapView() {
+        final PyDictionary pyDict = new PyDictionary();
+        pyDict.__setitem__(Py.newString("a"), Py.newInteger(1));
+        pyDict.__setitem__(Py.newInteger(2), Py.newString("b"));
+
+        final Map<Object, Object> view = new ResultViews.MapView(pyDict, false);
+
+        assertEquals(2, view.size());
+        assertEquals(1, view.get("a"));
+        assertEquals("b", view.get(2));
+        assertNull(view.get("missing"));
+        assertTrue(view.containsKey("a"));
+        assertFalse(view.containsKey("b"));
+
+        final Map<Object, Object> expected = new HashMap<>();
+        expected.put("a", 1);
+        expected.put(2, "b");
+        assertEquals(expected, view);
+    }
+
+    @Test
+    void testMapView_readOnly() {
+        final PyDictionary pyDict = new PyDictionary();
+        pyDict.__setitem__(Py.newString("a"), Py.newInteger(1));
+
+        final Map<Object, Object> view = new ResultViews.MapView(pyDict, false);
+
+        assertThrows(UnsupportedOperationException.class, () -> view.put("b", 2));
+        assertThrows(UnsupportedOperationException.class, () -> view.remove("a"));
+        assertThrows(UnsupportedOperationException.class, view::clear);
+        assertThrows(UnsupportedOperationException.class, () -> view.entrySet().iterator().next().setValue(2));
+    }
+
+    @Test
+    void testMapView_memoized() {
+        final PyDictionary pyDict = new PyDictionary();
+        pyDict.__setitem__(Py.newString("a"), new PyList(new PyObject[] { Py.newInteger(1) }));
+
+        final Map<Object, Object> view = new ResultViews.MapView(pyDict, true);
+
+        assertSame(view.get("a"), view.get("a"));
+        assertSame(view.get("a"), view.values().iterator().next());
+    }
+
+    @Test
+    void testSetView() {
+        final PySet pySet = new PySet();
+        pySet.add(Py.newString("a"));
+        pySet.add(Py.newInteger(1));
+
+        final Set<Object> view = new ResultViews.SetView(pySet, false);
+
+        assertEquals(2, view.size());
+        assertTrue(view.contains("a"));
+        assertTrue(view.contains(1));
+        assertFalse(view.contains("b"));
+        assertEquals(new HashSet<>(Arrays.asList("a", 1)), view);
+        assertThrows(UnsupportedOperationException.class, () -> view.add("b"));
+        assertThrows(UnsupportedOperationException.class, () -> view.remove("a"));
+    }
+
+}
@@ -0,0 +1,162 @@
+package com.github.adchilds.jython;
+
+import com.github.adchilds.jython.exception.JythonScriptException;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link RuntimeConfiguration} class. As the Jython runtime is initialized only once per JVM, the effect
+ * of each configuration on a cold start is measured in a separate JVM.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+class RuntimeConfigurationTest {
+
+    @Test
+    void testDefaults() {
+        assertTrue(RuntimeConfiguration.defaults().getProperties().isEmpty());
+        assertTrue(RuntimeConfiguration.defaults().getJavaPackages().isEmpty());
+    }
+
+    @Test
+    void testFastStart() {
+        final Properties properties = RuntimeConfiguration.fastStart().getProperties();
+
+        assertEquals("true", properties.getProperty("python.cachedir.skip"));
+        assertEquals("false", properties.getProperty("python.import.site"));
+    }
+
+    @Test
+    void testBuilder() {
+        final RuntimeConfiguration configuration = RuntimeConfiguration.builder()
+                .packageCacheDirectory(Paths.get("cache"))
+                .scanJavaPackages(true)
+                .importSite(false)
+                .pythonPath("lib", "scripts")
+                .javaPackages("java.util", "com.example.model")
+                .property("python.console.encoding", "UTF-8")
+                .build();
+
+        final Properties properties = configuration.getProperties();
+        assertEquals("cache", properties.getProperty("python.cachedir"));
+        assertEquals("false", properties.getProperty("python.cachedir.skip"));
+        assertEquals("false", properties.getProperty("python.import.site"));
+        assertEquals("lib" + File.pathSeparator + "scripts", properties.getProperty("python.path"));
+        assertEquals("UTF-8", properties.getProperty("python.console.encoding"));
+        assertEquals(Arrays.asList("java.util", "com.example.model"), configuration.getJavaPackages());
+
+        // Configurations are immutable
+        properties.clear();
+        assertEquals(5, configuration.getProperties().size());
+    }
+
+    @Test
+    void testBuilder_invalid() {
+        assertThrows(IllegalArgumentException.class, () -> RuntimeConfiguration.builder().packageCacheDirectory(null));
+        assertThrows(IllegalArgumentException.class, () -> RuntimeConfiguration.builder().pythonPath("lib", ""));
+        assertThrows(IllegalArgumentException.class, () -> RuntimeConfiguration.builder().javaPackages("java.util."));
+        assertThrows(IllegalArgumentException.class, () -> RuntimeConfiguration.builder().javaPackages((String) null));
+        assertThrows(IllegalArgumentException.class, () -> RuntimeConfiguration.builder().property(null, "value"));
+        assertThrows(IllegalArgumentException.class, () -> RuntimeConfiguration.builder().property("key", null));
+    }
+
+    @Test
+    void testConfigureRuntime_alreadyInitialized() throws JythonScriptException {
+        JythonScript.compileString("pass");
+
+        assertNotNull(JythonScript.getRuntimeConfiguration());
+        assertThrows(JythonScriptException.class, () -> JythonScript.configureRuntime(RuntimeConfiguration.fastStart()));
+        assertThrows(JythonScriptException.class, () -> JythonScript.configureRuntime(null));
+    }
+
+    @Test
+    void testColdStart() throws Exception {
+        final String[] defaults = coldStart("defaults");
+        final String[] fastStart = coldStart("fastStart");
+
+        // The 'site' module is only imported by default
+        assertEquals("True", defaults[1]);
+        assertEquals("False", fastStart[1]);
+
+        // Each child reports how long it took until its first result
+        assertTrue(Long.parseLong(defaults[0]) >= 0);
+        assertTrue(Long.parseLong(fastStart[0]) >= 0);
+    }
+
+    /**
+     * Starts a new JVM which configures the runtime with the named preset, then evaluates a script.
+     *
+     * @param preset the name of the {@link RuntimeConfiguration} preset
+     * @return the milliseconds taken until the script's result was available, and whether 'site' was imported
+     */
+    private static String[] coldStart(final String preset) throws IOException, InterruptedException {
+        final String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        final Process process = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                ColdStart.class.getName(), preset)
+                .redirectErrorStream(true)
+                .start();
+
+        final StringBuilder output = new StringBuilder();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(),
+                StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                output.append(line).append('\n');
+            }
+        }
+
+        assertTrue(process.waitFor(2, TimeUnit.MINUTES));
+        assertEquals(0, process.exitValue(), output.toString());
+
+        final String[] lines = output.toString().trim().split("\n");
+        return lines[lines.length - 1].split(" ");
+    }
+
+    /**
+     * Configures the runtime with the preset named by the first argument, evaluates a script using Java and Python
+     * imports, and prints the elapsed milliseconds and whether the 'site' module was imported.
+     *
+     * @author Adam Childs
+     * @since 3.0
+     */
+    static final class ColdStart {
+
+        public static void main(final String[] args) throws JythonScriptException {
+            final long start = System.nanoTime();
+
+            JythonScript.configureRuntime("fastStart".equals(args[0]) ? RuntimeConfiguration.fastStart() :
+                    RuntimeConfiguration.defaults());
+
+            final Object result = JythonScript.evaluate(JythonScript.compileString(
+                    "import sys\n" +
+                    "from java.util import ArrayList\n" +
+                    "import java.lang.Math\n" +
+                    "values = ArrayList()\n" +
+                    "values.add(java.lang.Math.abs(-42))\n" +
+                    "result = [values.get(0), 'site' in sys.modules]"));
+
+            final long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            final Object[] values = (Object[]) result;
+
+            if (((Number) values[0]).intValue() != 42) {
+                throw new IllegalStateException("Unexpected result. result=[" + Arrays.toString(values) + "]");
+            }
+
+            System.out.println(elapsedMillis + " " + (Boolean.TRUE.equals(values[1]) ? "True" : "False"));
+        }
+
+    }
+
+}
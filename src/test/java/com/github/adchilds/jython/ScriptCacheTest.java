@@ -0,0 +1,165 @@
+package com.github.adchilds.jython;
+
+import com.github.adchilds.jython.exception.JythonScriptException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.python.core.PyCode;
+import org.python.core.PyTableCode;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link ScriptCache} class.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+class ScriptCacheTest {
+
+    private static final String SCRIPT = "if __name__ == '__main__':\n    result = 42";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testConstructor_invalidMaximumSize() {
+        assertThrows(IllegalArgumentException.class, () -> new ScriptCache(0));
+    }
+
+    @Test
+    void testGet_null() {
+        final ScriptCache cache = new ScriptCache();
+
+        assertThrows(JythonScriptException.class, () -> cache.get((File) null));
+        assertThrows(JythonScriptException.class, () -> cache.get((String) null));
+    }
+
+    @Test
+    void testGet_invalidScript() {
+        final ScriptCache cache = new ScriptCache();
+
+        assertThrows(JythonScriptException.class, () -> cache.get("Invalid Python code..."));
+    }
+
+    @Test
+    void testGet_fileNotFound() {
+        final ScriptCache cache = new ScriptCache();
+
+        assertThrows(JythonScriptException.class, () -> cache.get(tempDir.resolve("notfound.py").toFile()));
+    }
+
+    @Test
+    void testGet_string() throws JythonScriptException {
+        final ScriptCache cache = new ScriptCache();
+
+        final PyCode first = cache.get(SCRIPT);
+        final PyCode second = cache.get(SCRIPT);
+
+        assertSame(first, second);
+        assertEquals(1, cache.getStats().getMissCount());
+        assertEquals(1, cache.getStats().getHitCount());
+        assertEquals(0.5, cache.getStats().getHitRate());
+    }
+
+    @Test
+    void testGet_file() throws Exception {
+        final ScriptCache cache = new ScriptCache();
+        final File file = write("script.py", SCRIPT);
+
+        final PyCode first = cache.get(file);
+        final PyCode second = cache.get(file);
+
+        assertSame(first, second);
+        assertEquals(1, cache.getStats().getMissCount());
+        assertEquals(1, cache.getStats().getHitCount());
+        assertEquals(42, JythonScript.evaluate(second));
+    }
+
+    @Test
+    void testGet_fileModified() throws Exception {
+        final ScriptCache cache = new ScriptCache();
+        final File file = write("script.py", SCRIPT);
+
+        final PyCode original = cache.get(file);
+
+        write("script.py", "if __name__ == '__main__':\n    result = 4242");
+        assertTrue(file.setLastModified(file.lastModified() + 2000));
+
+        final PyCode modified = cache.get(file);
+
+        assertNotSame(original, modified);
+        assertEquals(4242, JythonScript.evaluate(modified));
+
+        // The modified file replaces the entry of the original rather than adding to it
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void testGet_emptyFile() throws Exception {
+        final ScriptCache cache = new ScriptCache();
+        final File file = write("empty.py", "");
+
+        JythonScript.execute(cache.get(file));
+        JythonScript.execute(file);
+    }
+
+    @Test
+    void testGet_identicalSourceKeepsFilename() throws Exception {
+        final ScriptCache cache = new ScriptCache();
+        final File firstFile = write("first.py", SCRIPT);
+        final File secondFile = write("second.py", SCRIPT);
+
+        final PyCode first = cache.get(firstFile);
+        final PyCode second = cache.get(secondFile);
+
+        assertEquals(firstFile.getAbsolutePath(), ((PyTableCode) first).co_filename);
+        assertEquals(secondFile.getAbsolutePath(), ((PyTableCode) second).co_filename);
+        assertEquals(JythonCompiler.DEFAULT_FILENAME, ((PyTableCode) cache.get(SCRIPT)).co_filename);
+
+        // Each file, and the source itself, holds a single entry
+        assertEquals(3, cache.size());
+    }
+
+    @Test
+    void testGet_evictsLeastRecentlyUsed() throws JythonScriptException {
+        final ScriptCache cache = new ScriptCache(2);
+
+        final PyCode first = cache.get("result = 1");
+        cache.get("result = 2");
+
+        // Touch the first entry so that the second becomes the least recently used
+        assertSame(first, cache.get("result = 1"));
+        cache.get("result = 3");
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getStats().getEvictionCount());
+        assertSame(first, cache.get("result = 1"));
+
+        final long misses = cache.getStats().getMissCount();
+        cache.get("result = 2");
+        assertEquals(misses + 1, cache.getStats().getMissCount());
+    }
+
+    @Test
+    void testClear() throws JythonScriptException {
+        final ScriptCache cache = new ScriptCache();
+
+        cache.get(SCRIPT);
+        cache.clear();
+
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getStats().getSize());
+        assertEquals(ScriptCache.DEFAULT_MAXIMUM_SIZE, cache.getMaximumSize());
+    }
+
+    private File write(final String fileName, final String contents) throws IOException {
+        return Files.write(tempDir.resolve(fileName), contents.getBytes(StandardCharsets.UTF_8)).toFile();
+    }
+
+}
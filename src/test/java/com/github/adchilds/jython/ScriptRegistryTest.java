@@ -0,0 +1,180 @@
+package com.github.adchilds.jython;
+
+import com.github.adchilds.jython.exception.JythonScriptException;
+import com.github.adchilds.jython.exception.JythonScriptNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link ScriptRegistry} class.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+class ScriptRegistryTest {
+
+    private static final long TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(20);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testWatch() throws Exception {
+        write("a.py", "result = 1");
+        write("reports/b.py", "result = 2");
+        write("notes.txt", "not a script");
+
+        try (ScriptRegistry registry = ScriptRegistry.watch(directory)) {
+            assertEquals(new HashSet<>(Arrays.asList("a.py", "reports/b.py")), registry.getNames());
+            assertEquals(2, registry.size());
+            assertTrue(registry.contains("reports/b.py"));
+            assertFalse(registry.contains("notes.txt"));
+
+            assertEquals(1, JythonScript.evaluate(registry.get("a.py")));
+            assertEquals(2, JythonScript.evaluate(registry.get("reports/b.py")));
+
+            assertThrows(JythonScriptNotFoundException.class, () -> registry.get("missing.py"));
+            assertThrows(JythonScriptNotFoundException.class, () -> registry.get(null));
+        }
+    }
+
+    @Test
+    void testWatch_emptyFile() throws Exception {
+        write("pkg/__init__.py", "");
+        write("pkg/a.py", "result = 1");
+
+        try (ScriptRegistry registry = ScriptRegistry.watch(directory)) {
+            assertTrue(registry.contains("pkg/__init__.py"));
+            assertNull(registry.getFailure("pkg/__init__.py"));
+
+            JythonScript.execute(registry.get("pkg/__init__.py"));
+            assertEquals(1, JythonScript.evaluate(registry.get("pkg/a.py")));
+        }
+    }
+
+    @Test
+    void testWatch_invalid() throws IOException {
+        assertThrows(JythonScriptException.class, () -> ScriptRegistry.watch(null));
+        assertThrows(JythonScriptException.class, () -> ScriptRegistry.watch(directory.resolve("missing")));
+        assertThrows(JythonScriptException.class, () -> ScriptRegistry.watch(directory, null));
+
+        write("broken.py", "Invalid Python code...");
+        assertThrows(JythonScriptException.class, () -> ScriptRegistry.watch(directory));
+    }
+
+    @Test
+    void testReload_modified() throws Exception {
+        write("a.py", "result = 1");
+
+        try (ScriptRegistry registry = ScriptRegistry.watch(directory)) {
+            write("a.py", "result = 2");
+            awaitResult(registry, "a.py", 2);
+
+            // Replace the file atomically, as a deployment would
+            final Path replacement = Files.createTempFile(directory, "a", ".tmp");
+            Files.write(replacement, "result = 3".getBytes(StandardCharsets.UTF_8));
+            Files.move(replacement, directory.resolve("a.py"), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+            awaitResult(registry, "a.py", 3);
+
+            assertTrue(registry.getReloadCount() >= 2);
+        }
+    }
+
+    @Test
+    void testReload_createdAndDeleted() throws Exception {
+        write("a.py", "result = 1");
+
+        try (ScriptRegistry registry = ScriptRegistry.watch(directory)) {
+            write("b.py", "result = 2");
+            await(() -> registry.contains("b.py"));
+
+            // Scripts within new subdirectories are also loaded, and the subdirectories watched
+            write("reports/c.py", "result = 3");
+            await(() -> registry.contains("reports/c.py"));
+            write("reports/d.py", "result = 4");
+            await(() -> registry.contains("reports/d.py"));
+
+            Files.delete(directory.resolve("a.py"));
+            await(() -> !registry.contains("a.py"));
+
+            assertEquals(new HashSet<>(Arrays.asList("b.py", "reports/c.py", "reports/d.py")), registry.getNames());
+        }
+    }
+
+    @Test
+    void testReload_failureKeepsPreviousVersion() throws Exception {
+        write("a.py", "result = 1");
+
+        try (ScriptRegistry registry = ScriptRegistry.watch(directory)) {
+            write("a.py", "Invalid Python code...");
+            await(() -> registry.getFailure("a.py") != null);
+
+            assertEquals(1, JythonScript.evaluate(registry.get("a.py")));
+            assertTrue(registry.getFailedReloadCount() >= 1);
+
+            write("a.py", "result = 2");
+            awaitResult(registry, "a.py", 2);
+            assertNull(registry.getFailure("a.py"));
+        }
+    }
+
+    @Test
+    void testRefresh() throws Exception {
+        write("a.py", "result = 1");
+        write("b.py", "result = 2");
+
+        final ScriptRegistry registry = ScriptRegistry.watch(directory);
+        registry.close();
+
+        // Once closed, changes are only picked up by refreshing explicitly
+        write("a.py", "result = 3");
+        Files.delete(directory.resolve("b.py"));
+        registry.refresh();
+
+        assertEquals(3, JythonScript.evaluate(registry.get("a.py")));
+        assertFalse(registry.contains("b.py"));
+    }
+
+    private void write(final String name, final String source) throws IOException {
+        final Path file = directory.resolve(name);
+        Files.createDirectories(file.getParent());
+        Files.write(file, source.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void awaitResult(final ScriptRegistry registry, final String name, final Object expected)
+            throws InterruptedException {
+        await(() -> {
+            try {
+                return expected.equals(JythonScript.evaluate(registry.get(name)));
+            } catch (JythonScriptException e) {
+                return false;
+            }
+        });
+    }
+
+    private static void await(final BooleanSupplier condition) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Timed out waiting for the registry to observe a change.");
+            }
+
+            Thread.sleep(20);
+        }
+    }
+
+}
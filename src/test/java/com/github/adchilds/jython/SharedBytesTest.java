@@ -0,0 +1,41 @@
+package com.github.adchilds.jython;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link SharedBytes} class.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+class SharedBytesTest {
+
+    @Test
+    void testOf_null() {
+        assertThrows(IllegalArgumentException.class, () -> SharedBytes.of((byte[]) null));
+        assertThrows(IllegalArgumentException.class, () -> SharedBytes.of((ByteBuffer) null));
+    }
+
+    @Test
+    void testOf_byteBufferViewsRemainingBytes() {
+        final ByteBuffer buffer = ByteBuffer.wrap(new byte[] { 'a', 'b', 'c', 'd' }, 1, 2);
+        final SharedBytes shared = SharedBytes.of(buffer);
+
+        // Moving the buffer afterwards does not change the view
+        buffer.position(0);
+
+        assertEquals(2, shared.length());
+        assertEquals("bc", shared.toPy().tobytes().toString());
+    }
+
+    @Test
+    void testLength() {
+        assertEquals(3, SharedBytes.of(new byte[3]).length());
+        assertEquals("SharedBytes[length=3]", SharedBytes.of(new byte[3]).toString());
+    }
+
+}
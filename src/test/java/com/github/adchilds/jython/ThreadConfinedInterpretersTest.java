@@ -0,0 +1,176 @@
+package com.github.adchilds.jython;
+
+import com.github.adchilds.jython.exception.JythonScriptException;
+import org.junit.jupiter.api.Test;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link ThreadConfinedInterpreters} class.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+class ThreadConfinedInterpretersTest {
+
+    @Test
+    void testConstructor_invalidSize() {
+        assertThrows(IllegalArgumentException.class, () -> new ThreadConfinedInterpreters(0));
+    }
+
+    @Test
+    void testBorrow_sameThread() throws JythonScriptException {
+        final ThreadConfinedInterpreters interpreters = new ThreadConfinedInterpreters(2);
+
+        final ScriptInterpreter interpreter = interpreters.borrow();
+        interpreter.prepare().exec("leftover = 1");
+        interpreters.release(interpreter);
+
+        // The same interpreter, reset, on every call from this thread
+        final ScriptInterpreter again = interpreters.borrow();
+        assertSame(interpreter, again);
+        assertNull(again.getInterpreter().get("leftover"));
+        interpreters.release(again);
+
+        assertEquals(2, interpreters.size());
+        assertEquals(1, interpreters.available());
+
+        interpreters.close();
+    }
+
+    @Test
+    void testBorrow_otherThread() throws Exception {
+        final ThreadConfinedInterpreters interpreters = new ThreadConfinedInterpreters(2);
+
+        final ScriptInterpreter mine = interpreters.borrow();
+        final ScriptInterpreter theirs = CompletableFuture.supplyAsync(() -> {
+            try {
+                final ScriptInterpreter interpreter = interpreters.borrow();
+                interpreters.release(interpreter);
+
+                return interpreter;
+            } catch (JythonScriptException e) {
+                throw new IllegalStateException(e);
+            }
+        }).get(30, TimeUnit.SECONDS);
+
+        assertNotSame(mine, theirs);
+        interpreters.release(mine);
+
+        interpreters.close();
+    }
+
+    @Test
+    void testBorrow_nested() throws JythonScriptException {
+        final ThreadConfinedInterpreters interpreters = new ThreadConfinedInterpreters(1);
+
+        final ScriptInterpreter outer = interpreters.borrow();
+        final ScriptInterpreter nested = interpreters.borrow();
+        assertNotSame(outer, nested);
+
+        // The temporary interpreter is discarded on release
+        interpreters.release(nested);
+        interpreters.release(outer);
+        assertSame(outer, interpreters.borrow());
+
+        interpreters.close();
+    }
+
+    @Test
+    void testBorrow_exitedThreads() throws Exception {
+        final ThreadConfinedInterpreters interpreters = new ThreadConfinedInterpreters(1);
+
+        for (int i = 0; i < 3; i++) {
+            final Thread thread = new Thread(() -> {
+                try {
+                    interpreters.release(interpreters.borrow());
+                } catch (JythonScriptException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            thread.start();
+            thread.join(30_000);
+        }
+
+        // Each new thread beyond the expected one closed the interpreters of those that had exited
+        assertEquals(1, interpreters.available());
+
+        interpreters.release(interpreters.borrow());
+        assertEquals(1, interpreters.available());
+
+        interpreters.close();
+    }
+
+    @Test
+    void testInitialize() throws JythonScriptException {
+        final ThreadConfinedInterpreters interpreters = new ThreadConfinedInterpreters(1);
+        interpreters.initialize(JythonScript.compileString("import json"));
+
+        final ScriptInterpreter interpreter = interpreters.borrow();
+        assertNotNull(interpreter.getSystemState().modules.__finditem__("json"));
+        interpreters.release(interpreter);
+
+        assertThrows(JythonScriptException.class,
+                () -> interpreters.initialize(JythonScript.compileString("import no_such_module")));
+
+        interpreters.close();
+    }
+
+    @Test
+    void testReleaseCurrentThread() throws JythonScriptException {
+        final ThreadConfinedInterpreters interpreters = new ThreadConfinedInterpreters(1);
+
+        final ScriptInterpreter interpreter = interpreters.borrow();
+        interpreters.release(interpreter);
+        interpreters.releaseCurrentThread();
+        assertEquals(0, interpreters.available());
+
+        // A new interpreter is created on the thread's next use
+        final ScriptInterpreter replacement = interpreters.borrow();
+        assertNotSame(interpreter, replacement);
+        interpreters.release(replacement);
+
+        interpreters.close();
+    }
+
+    @Test
+    void testClose() throws JythonScriptException {
+        final ThreadConfinedInterpreters interpreters = new ThreadConfinedInterpreters(1);
+        final ScriptInterpreter interpreter = interpreters.borrow();
+
+        interpreters.close();
+        assertThrows(JythonScriptException.class, interpreters::borrow);
+
+        // Interpreters in use when closed are closed as they are released
+        interpreters.release(interpreter);
+        assertEquals(0, interpreters.available());
+    }
+
+    @Test
+    void testClose_releasesThreadInterpreters() throws Exception {
+        final ThreadConfinedInterpreters interpreters = new ThreadConfinedInterpreters(1);
+        final WeakReference<ScriptInterpreter> interpreter = useInterpreter(interpreters);
+
+        interpreters.close();
+
+        // This thread's ThreadLocal no longer holds on to the closed interpreter
+        for (int i = 0; i < 50 && interpreter.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertNull(interpreter.get());
+    }
+
+    private static WeakReference<ScriptInterpreter> useInterpreter(final ThreadConfinedInterpreters interpreters)
+            throws JythonScriptException {
+        final ScriptInterpreter interpreter = interpreters.borrow();
+        interpreters.release(interpreter);
+
+        return new WeakReference<>(interpreter);
+    }
+
+}
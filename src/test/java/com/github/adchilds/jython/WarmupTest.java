@@ -0,0 +1,78 @@
+package com.github.adchilds.jython;
+
+import com.github.adchilds.jython.exception.JythonScriptException;
+import org.junit.jupiter.api.Test;
+import org.python.core.PyCode;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link Warmup} class.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+class WarmupTest {
+
+    @Test
+    void testBuilder() throws JythonScriptException {
+        final PyCode pyCode = JythonScript.compileString("x = 1");
+        final Warmup warmup = Warmup.builder()
+                .importModules("json", "os.path")
+                .script(pyCode)
+                .script(pyCode, 1, 2)
+                .invocations(10)
+                .build();
+
+        assertEquals(Arrays.asList("json", "os.path"), warmup.getModules());
+        assertEquals(2, warmup.getScriptCount());
+        assertEquals(10, warmup.getInvocations());
+        assertEquals("Warmup[modules=[json, os.path], scripts=2, invocations=10]", warmup.toString());
+    }
+
+    @Test
+    void testBuilder_invalid() {
+        assertThrows(IllegalArgumentException.class, () -> Warmup.builder().importModules((String) null));
+        assertThrows(IllegalArgumentException.class, () -> Warmup.builder().importModules(""));
+        assertThrows(IllegalArgumentException.class, () -> Warmup.builder().importModules("os; import sys"));
+        assertThrows(IllegalArgumentException.class, () -> Warmup.builder().importModules("os."));
+        assertThrows(IllegalArgumentException.class, () -> Warmup.builder().script(null));
+        assertThrows(IllegalArgumentException.class, () -> Warmup.builder().invocations(0));
+    }
+
+    @Test
+    void testRuntimeOnly() throws JythonScriptException {
+        assertEquals(Collections.emptyList(), Warmup.runtimeOnly().getModules());
+        assertEquals(0, Warmup.runtimeOnly().getScriptCount());
+        assertNull(Warmup.runtimeOnly().compileImports());
+    }
+
+    @Test
+    void testRunInBackground() throws Exception {
+        final Thread caller = Thread.currentThread();
+        final Thread[] worker = new Thread[1];
+
+        Warmup.runInBackground(() -> worker[0] = Thread.currentThread()).get(10, TimeUnit.SECONDS);
+
+        assertNotSame(caller, worker[0]);
+        assertTrue(worker[0].isDaemon());
+        assertTrue(worker[0].getName().startsWith("jythonscript-warmup-"));
+    }
+
+    @Test
+    void testRunInBackground_failure() {
+        final CompletableFuture<Void> ready = Warmup.runInBackground(() -> {
+            throw new JythonScriptException("failure");
+        });
+
+        final ExecutionException exception = assertThrows(ExecutionException.class, () -> ready.get(10, TimeUnit.SECONDS));
+        assertTrue(exception.getCause() instanceof JythonScriptException);
+    }
+
+}
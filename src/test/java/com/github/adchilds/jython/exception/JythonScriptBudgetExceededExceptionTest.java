@@ -0,0 +1,67 @@
+package com.github.adchilds.jython.exception;
+
+import com.github.adchilds.jython.ExecutionBudget;
+import com.github.adchilds.jython.JythonScript;
+import com.github.adchilds.jython.JythonScriptTest;
+import org.junit.jupiter.api.Test;
+import org.python.core.PyCode;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link JythonScriptBudgetExceededException} class.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+class JythonScriptBudgetExceededExceptionTest {
+
+    private final String EXCEPTION_MESSAGE = "An exception was thrown.";
+
+    @Test
+    void testJythonScriptBudgetExceededException_infiniteLoop() throws JythonScriptException {
+        final String filePath =
+                ClassLoader.getSystemResource(JythonScriptTest.JYTHON_SCRIPT_BASE_PATH + "testInfiniteLoop.py").getPath();
+        final PyCode pyCode = JythonScript.compile(filePath);
+        final ExecutionBudget budget = ExecutionBudget.builder().maxLines(1000).build();
+
+        assertThrows(JythonScriptBudgetExceededException.class, () -> JythonScript.evaluate(pyCode, budget));
+    }
+
+    @Test
+    void testJythonScriptBudgetExceededException() {
+        assertThrows(JythonScriptBudgetExceededException.class, () -> {
+            throw new JythonScriptBudgetExceededException();
+        });
+    }
+
+    @Test
+    void testJythonScriptBudgetExceededException_message() {
+        final Throwable exception = assertThrows(JythonScriptBudgetExceededException.class, () -> {
+            throw new JythonScriptBudgetExceededException(EXCEPTION_MESSAGE);
+        });
+
+        assertEquals(EXCEPTION_MESSAGE, exception.getMessage());
+        assertNull(exception.getCause());
+    }
+
+    @Test
+    void testJythonScriptBudgetExceededException_messageCause() {
+        final Throwable exception = assertThrows(JythonScriptBudgetExceededException.class, () -> {
+            throw new JythonScriptBudgetExceededException(EXCEPTION_MESSAGE, new RuntimeException("Source"));
+        });
+
+        assertEquals(EXCEPTION_MESSAGE, exception.getMessage());
+        assertEquals(RuntimeException.class, exception.getCause().getClass());
+    }
+
+    @Test
+    void testJythonScriptBudgetExceededException_cause() {
+        final Throwable exception = assertThrows(JythonScriptBudgetExceededException.class, () -> {
+            throw new JythonScriptBudgetExceededException(new RuntimeException("Source"));
+        });
+
+        assertEquals(RuntimeException.class, exception.getCause().getClass());
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,53 @@
+package com.github.adchilds.jython.exception;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link JythonScriptCancelledException} class.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+class JythonScriptCancelledExceptionTest {
+
+    private final String EXCEPTION_MESSAGE = "An exception was thrown.";
+
+    @Test
+    void testJythonScriptCancelledException() {
+        assertThrows(JythonScriptCancelledException.class, () -> {
+            throw new JythonScriptCancelledException();
+        });
+    }
+
+    @Test
+    void testJythonScriptCancelledException_message() {
+        final Throwable exception = assertThrows(JythonScriptCancelledException.class, () -> {
+            throw new JythonScriptCancelledException(EXCEPTION_MESSAGE);
+        });
+
+        assertEquals(EXCEPTION_MESSAGE, exception.getMessage());
+        assertNull(exception.getCause());
+    }
+
+    @Test
+    void testJythonScriptCancelledException_messageCause() {
+        final Throwable exception = assertThrows(JythonScriptCancelledException.class, () -> {
+            throw new JythonScriptCancelledException(EXCEPTION_MESSAGE, new RuntimeException("Source"));
+        });
+
+        assertEquals(EXCEPTION_MESSAGE, exception.getMessage());
+        assertEquals(RuntimeException.class, exception.getCause().getClass());
+    }
+
+    @Test
+    void testJythonScriptCancelledException_cause() {
+        final Throwable exception = assertThrows(JythonScriptCancelledException.class, () -> {
+            throw new JythonScriptCancelledException(new RuntimeException("Source"));
+        });
+
+        assertEquals(RuntimeException.class, exception.getCause().getClass());
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,67 @@
+package com.github.adchilds.jython.exception;
+
+import com.github.adchilds.jython.JythonScript;
+import com.github.adchilds.jython.JythonScriptTest;
+import org.junit.jupiter.api.Test;
+import org.python.core.PyCode;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link JythonScriptTimeoutException} class.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+class JythonScriptTimeoutExceptionTest {
+
+    private final String EXCEPTION_MESSAGE = "An exception was thrown.";
+
+    @Test
+    void testJythonScriptTimeoutException_infiniteLoop() throws JythonScriptException {
+        final String filePath =
+                ClassLoader.getSystemResource(JythonScriptTest.JYTHON_SCRIPT_BASE_PATH + "testInfiniteLoop.py").getPath();
+        final PyCode pyCode = JythonScript.compile(filePath);
+
+        assertThrows(JythonScriptTimeoutException.class, () -> JythonScript.evaluate(pyCode, Duration.ofMillis(100)));
+    }
+
+    @Test
+    void testJythonScriptTimeoutException() {
+        assertThrows(JythonScriptTimeoutException.class, () -> {
+            throw new JythonScriptTimeoutException();
+        });
+    }
+
+    @Test
+    void testJythonScriptTimeoutException_message() {
+        final Throwable exception = assertThrows(JythonScriptTimeoutException.class, () -> {
+            throw new JythonScriptTimeoutException(EXCEPTION_MESSAGE);
+        });
+
+        assertEquals(EXCEPTION_MESSAGE, exception.getMessage());
+        assertNull(exception.getCause());
+    }
+
+    @Test
+    void testJythonScriptTimeoutException_messageCause() {
+        final Throwable exception = assertThrows(JythonScriptTimeoutException.class, () -> {
+            throw new JythonScriptTimeoutException(EXCEPTION_MESSAGE, new RuntimeException("Source"));
+        });
+
+        assertEquals(EXCEPTION_MESSAGE, exception.getMessage());
+        assertEquals(RuntimeException.class, exception.getCause().getClass());
+    }
+
+    @Test
+    void testJythonScriptTimeoutException_cause() {
+        final Throwable exception = assertThrows(JythonScriptTimeoutException.class, () -> {
+            throw new JythonScriptTimeoutException(new RuntimeException("Source"));
+        });
+
+        assertEquals(RuntimeException.class, exception.getCause().getClass());
+    }
+
+}
\ No newline at end of file
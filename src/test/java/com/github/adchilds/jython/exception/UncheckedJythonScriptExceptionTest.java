@@ -0,0 +1,59 @@
+package com.github.adchilds.jython.exception;
+
+import com.github.adchilds.jython.JythonEngine;
+import com.github.adchilds.jython.JythonScript;
+import org.junit.jupiter.api.Test;
+import org.python.core.PyCode;
+
+import java.util.Arrays;
+import java.util.Iterator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link UncheckedJythonScriptException} class.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+class UncheckedJythonScriptExceptionTest {
+
+    private final String EXCEPTION_MESSAGE = "An exception was thrown.";
+
+    @Test
+    void testUncheckedJythonScriptException_batchFailure() throws JythonScriptException {
+        final PyCode compiledScript = JythonScript.compileString("raise ValueError('failure')");
+
+        try (JythonEngine engine = JythonEngine.builder().poolSize(1).build()) {
+            final Iterator<Object> results = engine.evaluateBatch(compiledScript, Arrays.asList(new Object[0], new Object[0]).iterator());
+
+            final UncheckedJythonScriptException exception = assertThrows(UncheckedJythonScriptException.class, results::hasNext);
+            assertNotNull(exception.getCause());
+        }
+    }
+
+    @Test
+    void testUncheckedJythonScriptException_cause() {
+        final JythonScriptException cause = new JythonScriptException(EXCEPTION_MESSAGE);
+
+        final UncheckedJythonScriptException exception = assertThrows(UncheckedJythonScriptException.class, () -> {
+            throw new UncheckedJythonScriptException(cause);
+        });
+
+        assertEquals(EXCEPTION_MESSAGE, exception.getMessage());
+        assertSame(cause, exception.getCause());
+    }
+
+    @Test
+    void testUncheckedJythonScriptException_messageCause() {
+        final JythonScriptException cause = new JythonResultNotFoundException("Source");
+
+        final UncheckedJythonScriptException exception = assertThrows(UncheckedJythonScriptException.class, () -> {
+            throw new UncheckedJythonScriptException(EXCEPTION_MESSAGE, cause);
+        });
+
+        assertEquals(EXCEPTION_MESSAGE, exception.getMessage());
+        assertEquals(JythonResultNotFoundException.class, exception.getCause().getClass());
+    }
+
+}
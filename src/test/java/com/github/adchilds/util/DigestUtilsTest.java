@@ -0,0 +1,49 @@
+package com.github.adchilds.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link DigestUtils} class.
+ *
+ * @author Adam Childs
+ * @since 3.0
+ */
+class DigestUtilsTest {
+
+    @Test
+    void testSha256Hex_empty() {
+        assertEquals("e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855", DigestUtils.sha256Hex(""));
+    }
+
+    @Test
+    void testSha256Hex_string() {
+        assertEquals("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad", DigestUtils.sha256Hex("abc"));
+    }
+
+    @Test
+    void testSha256Hex_bytes() {
+        assertEquals(DigestUtils.sha256Hex("abc"), DigestUtils.sha256Hex("abc".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void testSha256Hex_different() {
+        assertNotEquals(DigestUtils.sha256Hex("a"), DigestUtils.sha256Hex("b"));
+    }
+
+    @Test
+    void testConstructorIsPrivate() throws NoSuchMethodException, IllegalAccessException, InvocationTargetException, InstantiationException {
+        final Constructor<DigestUtils> constructor = DigestUtils.class.getDeclaredConstructor();
+
+        assertTrue(Modifier.isPrivate(constructor.getModifiers()));
+        constructor.setAccessible(true);
+        constructor.newInstance();
+    }
+
+}
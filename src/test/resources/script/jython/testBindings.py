@@ -0,0 +1,4 @@
+import sys
+
+if __name__ == '__main__':
+    result = [width * height, len(sys.argv) - 1]
@@ -0,0 +1,8 @@
+import sys
+
+if __name__ == '__main__':
+    # Report whether state leaked in from a previous execution, then deliberately leave some behind
+    clean = 'marker' not in globals()
+    marker = True
+
+    result = [clean, len(sys.argv) - 1]
\ No newline at end of file
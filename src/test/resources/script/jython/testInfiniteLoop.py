@@ -0,0 +1,8 @@
+if __name__ == '__main__':
+    # Never completes on its own, even swallowing any exception raised within the loop; used to test timeouts and
+    # cancellation
+    while True:
+        try:
+            pass
+        except:
+            pass
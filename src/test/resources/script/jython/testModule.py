@@ -0,0 +1,23 @@
+calls = 0
+
+
+def multiply(a, b):
+    global calls
+    calls += 1
+
+    return a * b
+
+
+class Counter(object):
+
+    def __init__(self, start):
+        self.count = start
+
+    def increment(self, amount=1):
+        self.count += amount
+
+        return self.count
+
+
+if __name__ == '__main__':
+    raise Exception('The main block must not run when loaded as a module.')
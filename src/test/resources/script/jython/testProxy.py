@@ -0,0 +1,43 @@
+from java.lang import Runnable
+
+
+class Greeter(object):
+
+    def __init__(self, greeting):
+        self.greeting = greeting
+        self.greeted = []
+
+    def greet(self, name):
+        self.greeted.append(name)
+
+        return self.greeting + ', ' + name
+
+    def count(self):
+        return len(self.greeted)
+
+    def history(self):
+        return self.greeted
+
+    def reset(self):
+        self.greeted = []
+
+    def fail(self):
+        return 1 / 0
+
+    def wrongType(self):
+        return 42
+
+
+class ByLength(object):
+
+    def compare(self, left, right):
+        return len(left) - len(right)
+
+
+class Task(Runnable):
+
+    def __init__(self):
+        self.ran = False
+
+    def run(self):
+        self.ran = True
@@ -0,0 +1,10 @@
+import sys
+
+def depth(n):
+    if n == 0:
+        return 0
+
+    return 1 + depth(n - 1)
+
+if __name__ == '__main__':
+    result = depth(int(sys.argv[1]))
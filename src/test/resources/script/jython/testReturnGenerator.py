@@ -0,0 +1,14 @@
+import sys
+
+def records(count, fail_at):
+    for i in xrange(count):
+        if i == fail_at:
+            raise ValueError('failure at %d' % i)
+
+        yield i
+
+if __name__ == '__main__':
+    count = sys.argv[1]
+    fail_at = sys.argv[2] if len(sys.argv) > 2 else -1
+
+    result = records(count, fail_at)
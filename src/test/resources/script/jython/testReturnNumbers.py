@@ -0,0 +1,14 @@
+import array
+import sys
+
+if __name__ == '__main__':
+    kind = sys.argv[1]
+
+    if kind == 'list':
+        result = [1, 2, 3]
+    elif kind == 'tuple':
+        result = (1, 2, 3)
+    elif kind == 'array':
+        result = array.array(str(sys.argv[2]), [1, 2, 3])
+    elif kind == 'floats':
+        result = [1.5, 2, 3L]
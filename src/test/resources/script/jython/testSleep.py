@@ -0,0 +1,8 @@
+import sys
+import time
+
+if __name__ == '__main__':
+    # Blocks in Java code rather than running Python lines; used to test that blocked scripts are interrupted
+    time.sleep(int(sys.argv[1]))
+
+    result = 'slept'
@@ -0,0 +1,5 @@
+import sys
+
+if __name__ == '__main__':
+    # Count each invocation with the Java counter passed in as the first argument
+    sys.argv[1].incrementAndGet()